@@ -52,7 +52,7 @@ import {
 } from "@mojaloop/settlements-bc-domain-lib";
 import { CallSecurityContext, ForbiddenError, UnauthorizedError } from "@mojaloop/security-bc-public-types-lib";
 import {
-	BatchSearchResults, BatchTransferSearchResults, ISettlementConfig
+	BatchSearchResults, BatchTransferCursorSearchResults, BatchTransferSearchResults, ISettlementConfig
 } from "@mojaloop/settlements-bc-public-types-lib";
 import express from "express";
 import { ITokenHelper, IAuthorizationClient } from "@mojaloop/security-bc-public-types-lib";
@@ -410,11 +410,16 @@ export class ExpressRoutes {
 		const pageSizeStr = req.query.pageSize as string || req.query.pagesize as string;
 		const pageSize = pageSizeStr ? parseInt(pageSizeStr) : MAX_ENTRIES_PER_PAGE;
 
+		// Optional cursor pagination by batchId - an empty cursor requests the first page
+		const cursor = req.query.cursor !== undefined ? req.query.cursor as string : null;
+
 		try {
 			// @ts-ignore
 			this._enforcePrivilege(req.securityContext!, Privileges.RETRIEVE_SETTLEMENT_BATCH);
-			let result: BatchTransferSearchResults;
-			if (batchId) {
+			let result: BatchTransferSearchResults | BatchTransferCursorSearchResults;
+			if (batchId && cursor !== null) {
+				result = await this._batchTransferRepo.getBatchTransfersByBatchIdsAfter([batchId], cursor || null, pageSize);
+			} else if (batchId) {
 				result = await this._batchTransferRepo.getBatchTransfersByBatchIds([batchId], pageIndex, pageSize);
 			} else if (batchName) {
 				const transfers = await this._batchTransferRepo.getBatchTransfersByBatchNames([batchName]);
@@ -452,6 +452,45 @@ describe("Settlement BC api-svc route test", () => {
         expect(response.body.items.length).toBe(2);
     });
 
+    test("GET /transfers - should walk batchTransfers by batchId with a cursor", async () => {
+
+        //Arrange
+        jest.spyOn(tokenHelper, "getCallSecurityContextFromAccessToken")
+            .mockResolvedValueOnce(securityContext)
+            .mockResolvedValueOnce(securityContext);
+
+        //Act
+        const firstPage = await request(server)
+            .get(`/transfers`)
+            .query({
+                batchId: `${mockedSettlementBatch.id}`,
+                cursor: "",
+                pageSize: 1
+            })
+            .set('authorization', AUTH_TOKEN);
+        const lastPage = await request(server)
+            .get(`/transfers`)
+            .query({
+                batchId: `${mockedSettlementBatch.id}`,
+                cursor: firstPage.body.nextCursor,
+                pageSize: 1
+            })
+            .set('authorization', AUTH_TOKEN);
+
+        //Assert
+        expect(firstPage.status).toBe(200);
+        expect(firstPage.body.items.length).toBe(1);
+        expect(firstPage.body.items[0].transferId).toBe("T001");
+        expect(firstPage.body.hasNext).toBe(true);
+        expect(firstPage.body.nextCursor).toBe("T001");
+        expect(firstPage.body.totalPages).toBeUndefined();
+        expect(lastPage.status).toBe(200);
+        expect(lastPage.body.items.length).toBe(1);
+        expect(lastPage.body.items[0].transferId).toBe("T002");
+        expect(lastPage.body.hasNext).toBe(false);
+        expect(lastPage.body.nextCursor).toBeNull();
+    });
+
     test("GET /transfers - should fetch batchTransfers by batchName", async () => {
 
         //Arrange
@@ -37,6 +37,7 @@ import {
 	BatchSearchResults,
 	MatrixSearchResults,
 	BatchTransferSearchResults,
+	BatchTransferCursorSearchResults,
 } from "@mojaloop/settlements-bc-public-types-lib";
 
 import {
@@ -103,6 +104,9 @@ export interface ISettlementBatchRepo {
 	): Promise<BatchSearchResults>;
 }
 
+// maximum page size of cursor pagination, shared by all the batch transfer repos
+export const MAX_ENTRIES_PER_CURSOR_PAGE = 1000;
+
 export interface ISettlementBatchTransferRepo {
 	init(): Promise<void>;
 	destroy(): Promise<void>;
@@ -112,6 +116,13 @@ export interface ISettlementBatchTransferRepo {
 		pageIndex?: number, 
 		pageSize?: number
 	): Promise<BatchTransferSearchResults>;
+	// cursor (keyset) pagination ordered by transferId, pass a null cursor for the first page
+	// the pageSize is limited to MAX_ENTRIES_PER_CURSOR_PAGE
+	getBatchTransfersByBatchIdsAfter(
+		batchIds: string[],
+		cursor: string | null,
+		pageSize: number
+	): Promise<BatchTransferCursorSearchResults>;
 	getBatchTransfersByBatchNames(batchNames: string[]): Promise<ISettlementBatchTransfer[]>;
 	getBatchTransfersByTransferId(transferId: string): Promise<ISettlementBatchTransfer[]>;
 
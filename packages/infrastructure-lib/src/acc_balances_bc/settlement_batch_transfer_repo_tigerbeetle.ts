@@ -35,6 +35,7 @@ import {
 	ISettlementBatchTransferRepo
 } from "@mojaloop/settlements-bc-domain-lib";
 import {
+	BatchTransferCursorSearchResults,
 	BatchTransferSearchResults,
 	ISettlementBatchAccount,
 	ISettlementBatchTransfer
@@ -111,6 +112,21 @@ export class SettlementBatchTransferRepoTigerBeetle implements ISettlementBatchT
 		return Promise.resolve(searchResultsEmpty);
 	}
 
+	async getBatchTransfersByBatchIdsAfter(
+		batchIds: string[],
+		cursor: string | null,
+		pageSize: number
+	): Promise<BatchTransferCursorSearchResults>{
+		// TODO transfer lookup by batch is not supported on TigerBeetle yet.
+		const searchResults: BatchTransferCursorSearchResults = {
+			pageSize: pageSize,
+			items: [],
+			hasNext: false,
+			nextCursor: null
+		};
+		return Promise.resolve(searchResults);
+	}
+
 	async getBatchTransfersByBatchNames(batchNames: string[]): Promise<ISettlementBatchTransfer[]> {
 		return Promise.resolve([]);
 	}
@@ -36,12 +36,17 @@ import {MongoClient, Collection} from "mongodb";
 import {
 	UnableToInitRepoError
 } from "@mojaloop/settlements-bc-domain-lib";
-import {BatchTransferSearchResults, ISettlementBatchTransfer} from "@mojaloop/settlements-bc-public-types-lib";
-import {ISettlementBatchTransferRepo} from "@mojaloop/settlements-bc-domain-lib";
+import {
+	BatchTransferCursorSearchResults,
+	BatchTransferSearchResults,
+	ISettlementBatchTransfer
+} from "@mojaloop/settlements-bc-public-types-lib";
+import {ISettlementBatchTransferRepo, MAX_ENTRIES_PER_CURSOR_PAGE} from "@mojaloop/settlements-bc-domain-lib";
 import {FindOptions} from "mongodb/mongodb";
 
 
 const MAX_ENTRIES_PER_PAGE = 100;
+const BATCH_CURSOR_INDEX_NAME = "batchId_1_transferId_1";
 
 
 export class MongoSettlementTransferRepo implements ISettlementBatchTransferRepo {
@@ -83,6 +88,10 @@ export class MongoSettlementTransferRepo implements ISettlementBatchTransferRepo
 				this._collection = await db.createCollection(this._collectionName);
 				await this._collection.createIndex({"transferId": 1}, {unique: true});
 			}
+			// cursor pagination by batch, also added to collections created before the index was introduced
+			if (!await this._collection.indexExists(BATCH_CURSOR_INDEX_NAME)) {
+				await this._collection.createIndex({"batchId": 1, "transferId": 1}, {name: BATCH_CURSOR_INDEX_NAME});
+			}
 			this._logger.info("MongoSettlementBatchRepo - initialised");
 		} catch (error: unknown) {
 			this._logger.error(error, "MongoSettlementBatchRepo - initialisation failed");
@@ -153,6 +162,47 @@ export class MongoSettlementTransferRepo implements ISettlementBatchTransferRepo
 		}
 	}
 
+	/**
+	 * Get batch transfers for all batches matching the passed ids, ordered by transferId, after the passed cursor.
+	 * Unlike skip based pagination the cost of a page does not grow with the page index and no count is required,
+	 * so every page of a large batch can be walked - the next page is requested with the returned nextCursor
+	 * @param batchIds
+	 * @param cursor transferId of the last transfer of the previous page, null for the first page
+	 * @param pageSize
+	 */
+	async getBatchTransfersByBatchIdsAfter(
+		batchIds: string[],
+		cursor: string | null,
+		pageSize: number
+	): Promise<BatchTransferCursorSearchResults> {
+		try {
+			pageSize = Math.min(Math.max(pageSize, 1), MAX_ENTRIES_PER_CURSOR_PAGE);
+			const match: any = { batchId: { $in: batchIds } };
+			if (cursor) match.transferId = { $gt: cursor };
+
+			// one extra to know if there is a next page
+			const resultArr = await this._collection.find(
+				match,
+				{ sort: { transferId: 1 }, limit: pageSize + 1 }
+			).project({_id: 0}).toArray();
+
+			const hasNext = resultArr.length > pageSize;
+			const items = (hasNext ? resultArr.slice(0, pageSize) : resultArr) as ISettlementBatchTransfer[];
+
+			const searchResults: BatchTransferCursorSearchResults = {
+				pageSize: pageSize,
+				items: items,
+				hasNext: hasNext,
+				nextCursor: hasNext ? items[items.length - 1].transferId : null
+			};
+
+			return searchResults;
+
+		} catch (error: any) {
+			throw new Error("Unable to get transfers by batchIds after cursor from repo - msg: " + error.message);
+		}
+	}
+
 	async getBatchTransfersByBatchNames(batchNames: string[]): Promise<ISettlementBatchTransfer[]> {
 		try {
 			const batches = await this._collection.find({batchName: {$in: batchNames}}).project({_id: 0}).toArray();
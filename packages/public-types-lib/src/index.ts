@@ -222,3 +222,12 @@ export type MatrixSearchResults = SearchResults & {
 export type BatchTransferSearchResults = SearchResults & {
 	items: ISettlementBatchTransfer[];
 }
+
+// Cursor (keyset) pagination - no count is run per page, so the total number of pages is unknown,
+// only whether a next page exists. The next page is requested with nextCursor, null on the last page.
+export type BatchTransferCursorSearchResults = {
+	pageSize: number;
+	items: ISettlementBatchTransfer[];
+	hasNext: boolean;
+	nextCursor: string | null;
+}
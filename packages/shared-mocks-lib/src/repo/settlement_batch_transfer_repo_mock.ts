@@ -29,8 +29,12 @@ optionally within square brackets <email>.
 
 "use strict";
 
-import {ISettlementBatchTransferRepo} from "@mojaloop/settlements-bc-domain-lib";
-import { BatchTransferSearchResults, ISettlementBatchTransfer } from "@mojaloop/settlements-bc-public-types-lib";
+import {ISettlementBatchTransferRepo, MAX_ENTRIES_PER_CURSOR_PAGE} from "@mojaloop/settlements-bc-domain-lib";
+import {
+	BatchTransferCursorSearchResults,
+	BatchTransferSearchResults,
+	ISettlementBatchTransfer
+} from "@mojaloop/settlements-bc-public-types-lib";
 
 const MAX_ENTRIES_PER_PAGE = 100;
 
@@ -82,6 +86,28 @@ export class SettlementBatchTransferRepoMock implements ISettlementBatchTransfer
 		return Promise.resolve(searchResults);
 	}
 
+	async getBatchTransfersByBatchIdsAfter(
+		batchIds: string[],
+		cursor: string | null,
+		pageSize: number
+	): Promise<BatchTransferCursorSearchResults>{
+		pageSize = Math.min(Math.max(pageSize, 1), MAX_ENTRIES_PER_CURSOR_PAGE);
+
+		const matching = this._list
+			.filter(value => batchIds.includes(value.batchId) && (!cursor || value.transferId > cursor))
+			.sort((a, b) => a.transferId < b.transferId ? -1 : (a.transferId > b.transferId ? 1 : 0));
+		const items = matching.slice(0, pageSize);
+		const hasNext = matching.length > pageSize;
+
+		const searchResults: BatchTransferCursorSearchResults = {
+			pageSize: pageSize,
+			items: items,
+			hasNext: hasNext,
+			nextCursor: hasNext ? items[items.length - 1].transferId : null
+		};
+		return Promise.resolve(searchResults);
+	}
+
 	async getBatchTransfersByBatchNames(batchNames: string[]): Promise<ISettlementBatchTransfer[]> {
 		return this._list.filter(value => batchNames.includes(value.batchName));
 	}
@@ -32,7 +32,11 @@ optionally within square brackets <email>.
 /* eslint-disable @typescript-eslint/no-unused-vars */
 
 import {ISettlementBatchTransferRepo} from "@mojaloop/settlements-bc-domain-lib";
-import { BatchTransferSearchResults, ISettlementBatchTransfer } from "@mojaloop/settlements-bc-public-types-lib";
+import {
+	BatchTransferCursorSearchResults,
+	BatchTransferSearchResults,
+	ISettlementBatchTransfer
+} from "@mojaloop/settlements-bc-public-types-lib";
 
 const MAX_ENTRIES_PER_PAGE = 100;
 
@@ -63,6 +67,20 @@ export class SettlementBatchTransferRepoVoid implements ISettlementBatchTransfer
 		return Promise.resolve(searchResults);
 	}
 
+	async getBatchTransfersByBatchIdsAfter(
+		batchIds: string[],
+		cursor: string | null,
+		pageSize: number
+	): Promise<BatchTransferCursorSearchResults>{
+		const searchResults: BatchTransferCursorSearchResults = {
+			pageSize: pageSize,
+			items: [],
+			hasNext: false,
+			nextCursor: null
+		};
+		return Promise.resolve(searchResults);
+	}
+
 	async getBatchTransfersByBatchNames(batchNames: string[]): Promise<ISettlementBatchTransfer[]> {
 		return [];
 	}
@@ -0,0 +1,104 @@
+package io.mojaloop.settlement.jmeter.jmh;
+
+import io.mojaloop.settlement.jmeter.plugin.metrics.HeapFootprintReport;
+import io.mojaloop.settlement.jmeter.plugin.rest.client.json.codec.JSONCodec;
+import io.mojaloop.settlement.jmeter.plugin.rest.client.json.codec.JSONCodecs;
+import io.mojaloop.settlement.jmeter.plugin.rest.client.json.matrix.SettlementMatrix;
+import io.mojaloop.settlement.jmeter.plugin.rest.client.json.transfer.ProcessTransferCmd;
+import io.mojaloop.settlement.jmeter.plugin.rest.client.json.transfer.TransferReq;
+import io.mojaloop.settlement.jmeter.plugin.rest.client.json.transfer.TransferReqOverlay;
+import io.mojaloop.settlement.jmeter.plugin.rest.client.json.transfer.TransferRsp;
+import org.json.JSONObject;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Date;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the {@code orgjson} and {@code streaming} codecs on the hot paths of a run:
+ * encoding a transfer (REST and Kafka) and decoding the transfer and matrix responses.
+ *
+ * Build with the {@code jmh} profile and run with the GC profiler to also compare the allocation rate:
+ * <pre>
+ * java -cp target/settlement-bc-jmeter-jar-with-dependencies.jar org.openjdk.jmh.Main JSONCodecBenchmark -prof gc
+ * </pre>
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class JSONCodecBenchmark {
+
+	@Param({"orgjson", "streaming"})
+	public String codec;
+
+	/**
+	 * Batches in the matrix response, every batch adds a currency and participant balance.
+	 */
+	@Param({"10", "1000"})
+	public int matrixBatches;
+
+	private JSONCodec jsonCodec;
+	private TransferReqOverlay transfer;
+	private ProcessTransferCmd transferCmd;
+	private byte[] transferRsp;
+	private byte[] matrix;
+
+	@Setup
+	public void setup() {
+		this.jsonCodec = JSONCodecs.forName(this.codec);
+
+		TransferReq row = new TransferReq(new JSONObject()
+				.put(TransferReq.JSONMapping.PAYER_FSP_ID, "participant-payer")
+				.put(TransferReq.JSONMapping.PAYEE_FSP_ID, "participant-payee")
+				.put(TransferReq.JSONMapping.CURRENCY_CODE, "USD")
+				.put(TransferReq.JSONMapping.AMOUNT, "1250.50")
+				.put(TransferReq.JSONMapping.SETTLEMENT_MODEL, "DEFAULT"));
+		this.transfer = row.overlay(UUID.randomUUID().toString(), new Date());
+
+		this.transferCmd = new ProcessTransferCmd(new JSONObject());
+		this.transferCmd.setAggregateId(this.transfer.getTransferId());
+		this.transferCmd.setMsgKey(this.transfer.getTransferId());
+		this.transferCmd.setMsgId(this.transfer.getTransferId());
+		this.transferCmd.setMsgTimestamp(System.currentTimeMillis());
+		this.transferCmd.setPayload(this.transfer);
+
+		this.transferRsp = new JSONObject().put("batchId", "DEFAULT.USD.2024.01.01.00.00.001")
+				.toString().getBytes(StandardCharsets.UTF_8);
+		this.matrix = HeapFootprintReport.matrixResponse(this.matrixBatches).toString().getBytes(StandardCharsets.UTF_8);
+	}
+
+	@Benchmark
+	public byte[] encodeTransfer() {
+		return this.jsonCodec.encode(this.transfer);
+	}
+
+	@Benchmark
+	public byte[] encodeTransferCmd() {
+		return this.jsonCodec.encode(this.transferCmd);
+	}
+
+	@Benchmark
+	public TransferRsp decodeTransferRsp() {
+		return this.jsonCodec.decode(this.transferRsp, TransferRsp.JSON_TYPE);
+	}
+
+	@Benchmark
+	public SettlementMatrix decodeMatrix() {
+		return this.jsonCodec.decode(this.matrix, SettlementMatrix.JSON_TYPE);
+	}
+}
@@ -1,14 +1,36 @@
 package io.mojaloop.settlement.jmeter.main;
 
+import io.mojaloop.settlement.jmeter.plugin.distributed.Coordinator;
+import io.mojaloop.settlement.jmeter.plugin.distributed.Worker;
 import io.mojaloop.settlement.jmeter.plugin.kafka.TxnProducer;
+import io.mojaloop.settlement.jmeter.plugin.load.KneeFinder;
+import io.mojaloop.settlement.jmeter.plugin.load.LoadDriver;
+import io.mojaloop.settlement.jmeter.plugin.load.LoadTarget;
+import io.mojaloop.settlement.jmeter.plugin.load.MatrixScalingBenchmark;
+import io.mojaloop.settlement.jmeter.plugin.load.PlanRunner;
+import io.mojaloop.settlement.jmeter.plugin.metrics.ErrorOutcomes;
+import io.mojaloop.settlement.jmeter.plugin.metrics.HeapFootprintReport;
+import io.mojaloop.settlement.jmeter.plugin.metrics.IdGeneratorReport;
+import io.mojaloop.settlement.jmeter.plugin.metrics.MergedMetricsReport;
+import io.mojaloop.settlement.jmeter.plugin.metrics.RunComparator;
+import io.mojaloop.settlement.jmeter.plugin.metrics.RunResult;
+import io.mojaloop.settlement.jmeter.plugin.metrics.TimeSeriesReport;
+import io.mojaloop.settlement.jmeter.plugin.rest.client.SettlementBCRestClient;
+import io.mojaloop.settlement.jmeter.plugin.rest.client.TokenStandIn;
 import io.mojaloop.settlement.jmeter.plugin.rest.client.json.testdata.TestDataCarrier;
 import io.mojaloop.settlement.jmeter.plugin.rest.client.json.transfer.TransferReq;
 import io.mojaloop.settlement.jmeter.plugin.util.TestDataUtil;
-import org.json.JSONObject;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
 import java.util.Date;
+import java.util.EnumMap;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
 import java.util.UUID;
 import java.util.concurrent.ExecutionException;
 
@@ -22,7 +44,11 @@ public class Main {
                     return;
                 }
                 File testPlanConfFile = new File(args[1]), outFile = new File(args[2]);
-                TestDataUtil.generateTestData(testPlanConfFile, outFile);
+                List<TestDataCarrier> generated = TestDataUtil.generateTestData(testPlanConfFile, outFile);
+                Map<TestDataCarrier.ActionType, Integer> mix = new EnumMap<>(TestDataCarrier.ActionType.class);
+                generated.forEach(itm -> mix.merge(itm.getActionType(), 1, Integer::sum));
+                mix.forEach((actionType, count) -> System.out.printf(Locale.ROOT, "%-32s %8d %6.2f%%%n",
+                        actionType, count, count * 100d / generated.size()));
                 System.out.println("Success!");
             break;
             case "print_test_data":
@@ -42,6 +68,97 @@ public class Main {
                     }
                 });
             break;
+            case "metrics_report":
+                if (args.length < 2 || args.length > 4) {
+                    printUsage();
+                    return;
+                }
+                int windowSecs = args.length > 2 ? Integer.parseInt(args[2]) : 10;
+                String filter = args.length > 3 ? args[3] : null;
+                System.out.println(new MergedMetricsReport(new File(args[1]), filter).render(windowSecs));
+            break;
+            case "timeseries_report":
+                if (args.length < 2 || args.length > 5) {
+                    printUsage();
+                    return;
+                }
+                boolean summary = args.length < 3 || "summary".equalsIgnoreCase(args[2]);
+                int seriesWindowSecs = args.length > 3 ? Integer.parseInt(args[3]) : 0;
+                TimeSeriesReport seriesReport = new TimeSeriesReport(new File(args[1]), args.length > 4 ? args[4] : null);
+                System.out.println(summary ? seriesReport.summarise(seriesWindowSecs) : seriesReport.render(seriesWindowSecs));
+            break;
+            case "find_knee":
+                if (args.length < 3) {
+                    printUsage();
+                    return;
+                }
+                findKnee(args);
+            break;
+            case "matrix_scaling":
+                if (args.length < 2) {
+                    printUsage();
+                    return;
+                }
+                MatrixScalingBenchmark.Config scalingConfig = MatrixScalingBenchmark.Config.parse(args, 2);
+                MatrixScalingBenchmark benchmark = new MatrixScalingBenchmark(
+                        LoggerFactory.getLogger(MatrixScalingBenchmark.class), new SettlementBCRestClient(args[1]), scalingConfig);
+                benchmark.run();
+                System.out.print(benchmark.render());
+                if (!scalingConfig.getOut().isEmpty()) System.out.printf("Measurements written to '%s'.%n", scalingConfig.getOut());
+            break;
+            case "heap_footprint":
+                HeapFootprintReport footprintReport = new HeapFootprintReport(HeapFootprintReport.Config.parse(args, 1));
+                footprintReport.run();
+                System.out.print(footprintReport.render());
+            break;
+            case "token_stand_in":
+                if (args.length < 2 || args.length > 3) {
+                    printUsage();
+                    return;
+                }
+                tokenStandIn(Integer.parseInt(args[1]), args.length > 2 ? Long.parseLong(args[2]) : 300L);
+            break;
+            case "id_generators":
+                IdGeneratorReport idReport = new IdGeneratorReport(IdGeneratorReport.Config.parse(args, 1));
+                idReport.run();
+                System.out.print(idReport.render());
+            break;
+            case "compare":
+                if (args.length < 3) {
+                    printUsage();
+                    return;
+                }
+                RunComparator comparator = new RunComparator(RunComparator.Config.parse(args, 3));
+                boolean regressed = comparator.compare(
+                        RunResult.read(new File(args[1])), RunResult.read(new File(args[2])));
+                System.out.print(comparator.render());
+                if (regressed) {
+                    System.out.println("Performance REGRESSION detected.");
+                    System.exit(1);
+                }
+                System.out.println("No regression.");
+            break;
+            case "run_plan":
+                if (args.length < 3) {
+                    printUsage();
+                    return;
+                }
+                runPlan(args);
+            break;
+            case "coordinator":
+                if (args.length < 3) {
+                    printUsage();
+                    return;
+                }
+                coordinate(args);
+            break;
+            case "worker":
+                if (args.length != 2) {
+                    printUsage();
+                    return;
+                }
+                work(args[1]);
+            break;
             case "test_kafka":
                 TxnProducer prod = new TxnProducer();
                 //http://localhost:3600
@@ -64,17 +181,101 @@ public class Main {
         }
     }
 
-    private static TransferReq testReq() {
-        TransferReq returnVal = new TransferReq(new JSONObject());
-        returnVal.setTimestamp(new Date());
-        returnVal.setAmount("1200");
-        returnVal.setSettlementModel("DEFAULT");
-        returnVal.setCurrencyCode("USD");
-        returnVal.setTransferId(UUID.randomUUID().toString());
-        returnVal.setPayerFspId(UUID.randomUUID().toString());
-        returnVal.setPayeeFspId(UUID.randomUUID().toString());
+    private static void findKnee(String[] args) {
+        Logger logger = LoggerFactory.getLogger(KneeFinder.class);
+        List<TestDataCarrier> testData = TestDataUtil.readTestDataFromFile(new File(args[1]));
+        List<String> options = new ArrayList<>();
+        try (LoadTarget target = LoadTarget.fromArgs(args[2], args, 3, options)) {
+            KneeFinder.Config config = KneeFinder.Config.parse(options.toArray(new String[0]), 0);
+            LoadDriver driver = new LoadDriver(logger, testData, target.open(logger, config.getMaxConcurrency()), runnable -> {
+                Thread thread = new Thread(runnable);
+                thread.setDaemon(true);
+                return thread;
+            });
+            KneeFinder finder = new KneeFinder(logger, driver, config);
+            KneeFinder.Step knee = finder.search();
+            finder.writeCurve(new File(config.getOut()));
+
+            System.out.printf("Curve written to '%s'.%n", config.getOut());
+            if (knee == null) {
+                System.out.println("No step within the limits, lower the start load.");
+            } else {
+                System.out.printf(Locale.ROOT, "Max sustainable rate: %.1f/s at %s=%.0f (p99=%.1fms, errors=%.2f%%).%n",
+                        knee.getWindow().getThroughput(), config.getMode(), knee.getLevel(),
+                        knee.getWindow().getHistogram().getPercentileMillis(99),
+                        knee.getWindow().getErrorRate() * 100d);
+            }
+        } catch (InterruptedException eParam) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Knee search interrupted.", eParam);
+        }
+    }
+
+    private static void runPlan(String[] args) {
+        Logger logger = LoggerFactory.getLogger(PlanRunner.class);
+        List<TestDataCarrier> testData = TestDataUtil.readTestDataFromFile(new File(args[1]));
+        List<String> options = new ArrayList<>();
+        try (LoadTarget target = LoadTarget.fromArgs(args[2], args, 3, options)) {
+            PlanRunner.Config config = PlanRunner.Config.parse(options.toArray(new String[0]), 0);
+            RunResult result = new PlanRunner(logger, testData, target.open(logger, config.getUsers()), config, args[2]).run();
+            System.out.print(PlanRunner.summary(result));
+            System.out.println(ErrorOutcomes.report());
+            if (!config.getOut().isEmpty()) System.out.printf("Result log written to '%s'.%n", config.getOut());
+            if (!config.getResultFile().isEmpty()) System.out.printf("Harness result written to '%s'.%n", config.getResultFile());
+        } catch (InterruptedException eParam) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Plan run interrupted.", eParam);
+        }
+    }
+
+    private static void coordinate(String[] args) {
+        Logger logger = LoggerFactory.getLogger(Coordinator.class);
+        List<TestDataCarrier> testData = TestDataUtil.readTestDataFromFile(new File(args[1]));
+        Coordinator.Config config = Coordinator.Config.parse(args, 3);
+        try {
+            RunResult result = new Coordinator(logger, config).run(testData, args[2]);
+            System.out.print(PlanRunner.summary(result));
+            if (!config.getResultFile().isEmpty()) System.out.printf("Merged harness result written to '%s'.%n", config.getResultFile());
+        } catch (IOException ioErr) {
+            throw new IllegalStateException(String.format("Distributed run failed. %s", ioErr.getMessage()), ioErr);
+        }
+    }
 
-        return returnVal;
+    private static void tokenStandIn(int port, long expiresInSecs) {
+        TokenStandIn standIn = new TokenStandIn(LoggerFactory.getLogger(TokenStandIn.class), port, expiresInSecs);
+        standIn.start();
+        try {
+            Thread.currentThread().join();
+        } catch (InterruptedException eParam) {
+            Thread.currentThread().interrupt();
+        } finally {
+            standIn.stop();
+        }
+    }
+
+    private static void work(String coordinator) {
+        Logger logger = LoggerFactory.getLogger(Worker.class);
+        try {
+            RunResult result = Worker.forAddress(logger, coordinator).run();
+            System.out.print(PlanRunner.summary(result));
+        } catch (IOException ioErr) {
+            throw new IllegalStateException(String.format("Worker failed. %s", ioErr.getMessage()), ioErr);
+        } catch (InterruptedException eParam) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Worker interrupted.", eParam);
+        }
+    }
+
+    private static TransferReq testReq() {
+        return new TransferReq(
+                UUID.randomUUID().toString(),
+                UUID.randomUUID().toString(),
+                UUID.randomUUID().toString(),
+                "USD",
+                "1200",
+                new Date(),
+                "DEFAULT"
+        );
     }
 
     private static void printUsage() {
@@ -1,10 +1,29 @@
 package io.mojaloop.settlement.jmeter.plugin;
 
 import io.mojaloop.settlement.jmeter.plugin.kafka.TxnProducer;
+import io.mojaloop.settlement.jmeter.plugin.metrics.ErrorOutcomes;
+import io.mojaloop.settlement.jmeter.plugin.metrics.HarnessMetrics;
+import io.mojaloop.settlement.jmeter.plugin.metrics.MergedMetricsReport;
+import io.mojaloop.settlement.jmeter.plugin.metrics.PhaseBreakdown;
+import io.mojaloop.settlement.jmeter.plugin.metrics.PrometheusEndpoint;
+import io.mojaloop.settlement.jmeter.plugin.metrics.RunRecorder;
+import io.mojaloop.settlement.jmeter.plugin.metrics.ServiceMetricsScraper;
+import io.mojaloop.settlement.jmeter.plugin.metrics.TimeSeriesRecorder;
+import io.mojaloop.settlement.jmeter.plugin.rest.client.AccessTokens;
 import io.mojaloop.settlement.jmeter.plugin.rest.client.SettlementBCRestClient;
+import io.mojaloop.settlement.jmeter.plugin.rest.client.json.ABaseJSONObject;
+import io.mojaloop.settlement.jmeter.plugin.rest.client.json.codec.JSONCodecs;
+import io.mojaloop.settlement.jmeter.plugin.rest.client.json.matrix.SettlementMatrixFields;
 import io.mojaloop.settlement.jmeter.plugin.rest.client.json.testdata.TestDataCarrier;
+import io.mojaloop.settlement.jmeter.plugin.runner.ActionHandlerRegistry;
+import io.mojaloop.settlement.jmeter.plugin.runner.DispatchOverhead;
+import io.mojaloop.settlement.jmeter.plugin.runner.FixtureCatalog;
+import io.mojaloop.settlement.jmeter.plugin.runner.FixtureSeeder;
+import io.mojaloop.settlement.jmeter.plugin.runner.MatrixCompletion;
+import io.mojaloop.settlement.jmeter.plugin.runner.ResponseCapture;
 import io.mojaloop.settlement.jmeter.plugin.runner.SamplerRunner;
 import io.mojaloop.settlement.jmeter.plugin.util.TestDataUtil;
+import io.mojaloop.settlement.jmeter.plugin.util.id.IdGenerators;
 import org.apache.jmeter.config.Arguments;
 import org.apache.jmeter.protocol.java.sampler.AbstractJavaSamplerClient;
 import org.apache.jmeter.protocol.java.sampler.JavaSamplerContext;
@@ -16,6 +35,7 @@ import java.io.File;
 import java.net.MalformedURLException;
 import java.net.URL;
 import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * Custom sampler for MJL Settlement-BC.
@@ -31,17 +51,60 @@ public class StressTestMappingSampler extends AbstractJavaSamplerClient {
 		private static final String _2_URL = "url";
 		private static final String _3_TOPIC = "topic";
 		private static final String _4_URL_REST_API = "urlRestApi";
+		private static final String _5_RESPONSE_CAPTURE = "responseCapture";
+		private static final String _6_SEED_CONFIG = "seedConfig";
+		private static final String _7_FIXTURE_CATALOG = "fixtureCatalog";
+		private static final String _8_METRICS_PORT = "metricsPort";
+		private static final String _9_SERVICE_METRICS = "serviceMetrics";
+		private static final String _10_SERVICE_METRICS_FILE = "serviceMetricsFile";
+		private static final String _11_SERVICE_METRICS_INTERVAL = "serviceMetricsIntervalSecs";
+		private static final String _12_RESULT_FILE = "resultFile";
+		private static final String _13_TIME_SERIES_FILE = "timeSeriesFile";
+		private static final String _14_TIME_SERIES_WINDOW = "timeSeriesWindowSecs";
+		private static final String _15_MATRIX_COMPLETION_TIMEOUT = "matrixCompletionTimeoutSecs";
+		private static final String _16_JSON_CODEC = "jsonCodec";
+		private static final String _17_RETAIN_SOURCE_JSON = "retainSourceJson";
+		private static final String _18_MATRIX_FIELDS = "matrixFields";
+		private static final String _19_TOKEN_URL = "tokenUrl";
+		private static final String _20_TOKEN_CLIENT_ID = "tokenClientId";
+		private static final String _21_TOKEN_CLIENT_SECRET = "tokenClientSecret";
+		private static final String _22_ID_GENERATOR = "idGenerator";
+		private static final String _23_CLIENT_BREAKDOWN = "clientBreakdown";
 	}
 
+	private static final AtomicInteger ACTIVE_SAMPLERS = new AtomicInteger();
+
 	private Logger logger = this.getNewLogger();
 
 	private String inputFile = null;
 	private String url = "http://localhost:3001";//localhost:9092
 	private String urlRestApi = "http://localhost:3600";
 	private String topic = "";//SettlementsBcCommands
+	private String responseCapture = ResponseCapture.ERRORS;//none|errors|1-in-N|full
+	private String seedConfig = "";//ExecutionPlanConfig.json with a 'seed' section
+	private String fixtureCatalog = "";//fixture-catalog.json
+	private int metricsPort = 0;//9464, 0 to disable
+	private String serviceMetrics = "";//api-svc=http://localhost:3600/metrics,command-handler-svc=...
+	private String serviceMetricsFile = "service-metrics.csv";
+	private int serviceMetricsIntervalSecs = 5;
+	private String resultFile = "";//harness-result.csv
+	private String timeSeriesFile = "";//time-series.csv
+	private int timeSeriesWindowSecs = 1;
+	private int matrixCompletionTimeoutSecs = 0;//60, 0 to only sample the acceptance of matrix actions
+	private String jsonCodec = "orgjson";//orgjson|streaming
+	private boolean retainSourceJson = ABaseJSONObject.isRetainSource();//false to drop the parsed JSONObject trees
+	private String matrixFields = "";//get_static_matrix=batches+balancesByCurrency,matrix_settle=batches
+	private String tokenUrl = "";//http://localhost:3201/token, empty to send the '{{access_token}}' placeholder
+	private String tokenClientId = "";
+	private String tokenClientSecret = "";
+	private String idGenerator = "secure";//secure|threadLocal|timeOrdered
+	private boolean clientBreakdown = false;//true to log the client time per phase and the dispatch overhead
 
 	private SettlementBCRestClient settleClient = null;
 	private TxnProducer txnProducer = null;
+	private SamplerRunner samplerRunner = null;
+	private URL sampleUrl = null;
+	private String[] sampleLabels;
 
 	private int counter;
 	private int commandCount;
@@ -51,14 +114,18 @@ public class StressTestMappingSampler extends AbstractJavaSamplerClient {
 	@Override
 	public void setupTest(JavaSamplerContext context) {
 		super.setupTest(context);
+		ACTIVE_SAMPLERS.incrementAndGet();
 		this.logger.info("Initiating test data. {}", JMeterUtils.getJMeterProperties());
 		this.counter = 0;
 
 		// Set Params:
 		this.inputFile = context.getParameter(Arg._1_INPUT_FILE);
+		this.retainSourceJson = Boolean.parseBoolean(
+				context.getParameter(Arg._17_RETAIN_SOURCE_JSON, Boolean.toString(this.retainSourceJson)));
+		ABaseJSONObject.setRetainSource(this.retainSourceJson);
 
 		File inputFileVal = new File(this.inputFile);
-		this.allTestData = TestDataUtil.readTestDataFromFile(inputFileVal);
+		this.allTestData = TestDataUtil.readSharedTestDataFromFile(inputFileVal);
 		if (this.allTestData.isEmpty()) {
 			throw new IllegalStateException(
 					String.format("No test data. Please provide '%s' parameter data and content.",
@@ -72,6 +139,40 @@ public class StressTestMappingSampler extends AbstractJavaSamplerClient {
 		this.url = context.getParameter(Arg._2_URL, this.url);
 		this.topic = context.getParameter(Arg._3_TOPIC, this.topic);
 		this.urlRestApi = context.getParameter(Arg._4_URL_REST_API, this.urlRestApi);
+		this.responseCapture = context.getParameter(Arg._5_RESPONSE_CAPTURE, this.responseCapture);
+		this.seedConfig = context.getParameter(Arg._6_SEED_CONFIG, this.seedConfig);
+		this.fixtureCatalog = context.getParameter(Arg._7_FIXTURE_CATALOG, this.fixtureCatalog);
+		this.metricsPort = context.getIntParameter(Arg._8_METRICS_PORT, this.metricsPort);
+		PrometheusEndpoint.startOnce(this.logger, this.metricsPort);
+		this.serviceMetrics = context.getParameter(Arg._9_SERVICE_METRICS, this.serviceMetrics);
+		this.serviceMetricsFile = context.getParameter(Arg._10_SERVICE_METRICS_FILE, this.serviceMetricsFile);
+		this.serviceMetricsIntervalSecs = context.getIntParameter(Arg._11_SERVICE_METRICS_INTERVAL, this.serviceMetricsIntervalSecs);
+		ServiceMetricsScraper.startOnce(this.logger, this.serviceMetrics,
+				new File(this.serviceMetricsFile), this.serviceMetricsIntervalSecs);
+		this.resultFile = context.getParameter(Arg._12_RESULT_FILE, this.resultFile);
+		if (this.isResultFile()) RunRecorder.enable();
+		this.timeSeriesFile = context.getParameter(Arg._13_TIME_SERIES_FILE, this.timeSeriesFile);
+		this.timeSeriesWindowSecs = context.getIntParameter(Arg._14_TIME_SERIES_WINDOW, this.timeSeriesWindowSecs);
+		if (this.timeSeriesFile != null && !this.timeSeriesFile.trim().isEmpty()) {
+			TimeSeriesRecorder.startOnce(this.logger, new File(this.timeSeriesFile.trim()), this.timeSeriesWindowSecs);
+		}
+
+		this.clientBreakdown = Boolean.parseBoolean(
+				context.getParameter(Arg._23_CLIENT_BREAKDOWN, Boolean.toString(this.clientBreakdown)));
+		if (this.clientBreakdown) {
+			PhaseBreakdown.enable();
+			DispatchOverhead.enable();
+		}
+
+		this.jsonCodec = context.getParameter(Arg._16_JSON_CODEC, this.jsonCodec);
+		JSONCodecs.use(this.jsonCodec);
+		this.idGenerator = context.getParameter(Arg._22_ID_GENERATOR, this.idGenerator);
+		IdGenerators.use(this.idGenerator);
+
+		this.tokenUrl = context.getParameter(Arg._19_TOKEN_URL, this.tokenUrl);
+		this.tokenClientId = context.getParameter(Arg._20_TOKEN_CLIENT_ID, this.tokenClientId);
+		this.tokenClientSecret = context.getParameter(Arg._21_TOKEN_CLIENT_SECRET, this.tokenClientSecret);
+		AccessTokens.startOnce(this.logger, this.tokenUrl, this.tokenClientId, this.tokenClientSecret);
 
 		if (this.isRest()) {
 			this.settleClient = new SettlementBCRestClient(this.url);
@@ -84,6 +185,45 @@ public class StressTestMappingSampler extends AbstractJavaSamplerClient {
 			this.logger.info("Kafka: Initiation of test data for [{}:{}:{}] COMPLETE.",
 					this.url, this.topic, this.urlRestApi);
 		}
+		this.matrixFields = context.getParameter(Arg._18_MATRIX_FIELDS, this.matrixFields);
+		this.settleClient.setMatrixFields(SettlementMatrixFields.parse(this.matrixFields));
+
+		if (this.isFixtureCatalog()) {
+			FixtureCatalog.loadOnce(this.logger, this.settleClient, new File(this.fixtureCatalog.trim()));
+		}
+		if (this.seedConfig != null && !this.seedConfig.trim().isEmpty()) {
+			FixtureSeeder.seedOnce(
+					this.logger,
+					this.settleClient,
+					TestDataUtil.readTestPlanConfig(new File(this.seedConfig.trim()))
+			);
+		}
+
+		this.matrixCompletionTimeoutSecs = context.getIntParameter(Arg._15_MATRIX_COMPLETION_TIMEOUT, this.matrixCompletionTimeoutSecs);
+		MatrixCompletion matrixCompletion = this.matrixCompletionTimeoutSecs > 0 ?
+				new MatrixCompletion(this.settleClient, this.matrixCompletionTimeoutSecs) : null;
+		this.samplerRunner = new SamplerRunner(
+				this.logger,
+				ActionHandlerRegistry.createDefault(this.settleClient, this.txnProducer, matrixCompletion),
+				ResponseCapture.parse(this.responseCapture)
+		);
+		this.sampleLabels = new String[TestDataCarrier.ActionType.values().length];
+		for (TestDataCarrier.ActionType actionType : TestDataCarrier.ActionType.values()) {
+			this.sampleLabels[actionType.ordinal()] = String.format("[%s]:[%s]", this.url, actionType.name());
+		}
+		try {
+			if (this.isRest()) this.sampleUrl = new URL(this.url);
+		} catch (MalformedURLException eParam) {
+			throw new IllegalStateException(eParam.getMessage(), eParam);
+		}
+	}
+
+	private boolean isFixtureCatalog() {
+		return this.fixtureCatalog != null && !this.fixtureCatalog.trim().isEmpty();
+	}
+
+	private boolean isResultFile() {
+		return this.resultFile != null && !this.resultFile.trim().isEmpty();
 	}
 
 	private boolean isRest() {
@@ -98,6 +238,25 @@ public class StressTestMappingSampler extends AbstractJavaSamplerClient {
 		defaultParameters.addArgument(Arg._2_URL, this.url);
 		defaultParameters.addArgument(Arg._3_TOPIC, this.topic);
 		defaultParameters.addArgument(Arg._4_URL_REST_API, this.urlRestApi);
+		defaultParameters.addArgument(Arg._5_RESPONSE_CAPTURE, this.responseCapture);
+		defaultParameters.addArgument(Arg._6_SEED_CONFIG, this.seedConfig);
+		defaultParameters.addArgument(Arg._7_FIXTURE_CATALOG, this.fixtureCatalog);
+		defaultParameters.addArgument(Arg._8_METRICS_PORT, Integer.toString(this.metricsPort));
+		defaultParameters.addArgument(Arg._9_SERVICE_METRICS, this.serviceMetrics);
+		defaultParameters.addArgument(Arg._10_SERVICE_METRICS_FILE, this.serviceMetricsFile);
+		defaultParameters.addArgument(Arg._11_SERVICE_METRICS_INTERVAL, Integer.toString(this.serviceMetricsIntervalSecs));
+		defaultParameters.addArgument(Arg._12_RESULT_FILE, this.resultFile);
+		defaultParameters.addArgument(Arg._13_TIME_SERIES_FILE, this.timeSeriesFile);
+		defaultParameters.addArgument(Arg._14_TIME_SERIES_WINDOW, Integer.toString(this.timeSeriesWindowSecs));
+		defaultParameters.addArgument(Arg._15_MATRIX_COMPLETION_TIMEOUT, Integer.toString(this.matrixCompletionTimeoutSecs));
+		defaultParameters.addArgument(Arg._16_JSON_CODEC, this.jsonCodec);
+		defaultParameters.addArgument(Arg._17_RETAIN_SOURCE_JSON, Boolean.toString(this.retainSourceJson));
+		defaultParameters.addArgument(Arg._18_MATRIX_FIELDS, this.matrixFields);
+		defaultParameters.addArgument(Arg._19_TOKEN_URL, this.tokenUrl);
+		defaultParameters.addArgument(Arg._20_TOKEN_CLIENT_ID, this.tokenClientId);
+		defaultParameters.addArgument(Arg._21_TOKEN_CLIENT_SECRET, this.tokenClientSecret);
+		defaultParameters.addArgument(Arg._22_ID_GENERATOR, this.idGenerator);
+		defaultParameters.addArgument(Arg._23_CLIENT_BREAKDOWN, Boolean.toString(this.clientBreakdown));
 		return defaultParameters;
 	}
 
@@ -107,22 +266,21 @@ public class StressTestMappingSampler extends AbstractJavaSamplerClient {
 		if (this.allTestData == null || this.allTestData.isEmpty()) return returnVal;
 
 		TestDataCarrier testData = this.allTestData.get(this.counter);
-		returnVal.setSentBytes(testData.toString().getBytes().length);
 
-		String testDataType = testData.getActionType().name();
 		try {
-			returnVal.setSampleLabel(String.format("[%s]:[%s]", this.url, testDataType));
+			returnVal.setSampleLabel(this.sampleLabels[testData.getActionType().ordinal()]);
 
-			if (this.isRest()) returnVal.setURL(new URL(this.url));
+			if (this.sampleUrl != null) returnVal.setURL(this.sampleUrl);
 
 			returnVal.setDataType(SampleResult.TEXT);
 			returnVal.setContentType("application/json");
 
+			SamplerRunner.think(testData);
+
 			// the execution utility...
-			SamplerRunner sr = new SamplerRunner(this.logger, this.settleClient, this.txnProducer);
-			sr.execute(testData, returnVal, this.counter + 1);
-		} catch (MalformedURLException eParam) {
-			throw new IllegalStateException(eParam.getMessage(), eParam);
+			this.samplerRunner.execute(testData, returnVal, this.counter + 1);
+		} catch (InterruptedException eParam) {
+			Thread.currentThread().interrupt();
 		} finally {
 			this.counter++;
 			if (this.counter >= this.commandCount) this.counter = 0;
@@ -133,7 +291,39 @@ public class StressTestMappingSampler extends AbstractJavaSamplerClient {
 	@Override
 	public void teardownTest(JavaSamplerContext context) {
 		super.teardownTest(context);
-		SamplerRunner.clearQueues();
 		if (this.txnProducer != null) this.txnProducer.destroy();
+
+		// Last sampler out clears and reports for the whole JVM:
+		if (ACTIVE_SAMPLERS.decrementAndGet() == 0) {
+			if (this.isFixtureCatalog()) {
+				new FixtureCatalog(this.logger, this.settleClient, new File(this.fixtureCatalog.trim())).save();
+			}
+			SamplerRunner.clearQueues();
+			FixtureCatalog.reset();
+			FixtureSeeder.reset();
+			TestDataUtil.clearSharedTestData();
+			if (DispatchOverhead.isEnabled()) this.logger.info(DispatchOverhead.report());
+			if (PhaseBreakdown.isEnabled()) this.logger.info(PhaseBreakdown.report());
+			this.logger.info(ErrorOutcomes.report());
+			DispatchOverhead.reset();
+			PhaseBreakdown.reset();
+			ErrorOutcomes.reset();
+			File seriesFile = ServiceMetricsScraper.stopRunning();
+			if (seriesFile != null) {
+				File reportFile = MergedMetricsReport.writeReport(seriesFile, this.serviceMetricsIntervalSecs);
+				this.logger.info("Harness vs. service latency report written to '{}'.", reportFile);
+			}
+			if (this.isResultFile() && RunRecorder.isEnabled()) {
+				File runFile = new File(this.resultFile.trim());
+				RunRecorder.snapshot().write(runFile);
+				this.logger.info("Harness result written to '{}'.", runFile);
+			}
+			RunRecorder.reset();
+			File timeSeries = TimeSeriesRecorder.stopRunning();
+			if (timeSeries != null) this.logger.info("Time series written to '{}'.", timeSeries);
+			PrometheusEndpoint.stop();
+			AccessTokens.stopRunning();
+			HarnessMetrics.reset();
+		}
 	}
 }
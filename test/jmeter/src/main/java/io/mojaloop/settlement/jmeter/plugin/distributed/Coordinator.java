@@ -0,0 +1,170 @@
+package io.mojaloop.settlement.jmeter.plugin.distributed;
+
+import io.mojaloop.settlement.jmeter.plugin.metrics.RunResult;
+import io.mojaloop.settlement.jmeter.plugin.rest.client.json.testdata.TestDataCarrier;
+import io.mojaloop.settlement.jmeter.plugin.util.KeyValueArgs;
+import lombok.Getter;
+import lombok.Setter;
+import org.json.JSONArray;
+import org.json.JSONObject;
+import org.slf4j.Logger;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.net.SocketTimeoutException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Coordinator of a distributed run.
+ *
+ * Waits for the configured number of workers, splits the plan round-robin into disjoint shards
+ * (keeping the action mix of every shard), and sends every worker its shard with the run options.
+ * Once all the workers are ready, they are started at the same wall clock time. The worker results
+ * are merged losslessly (histogram bucket counts are added) into a single harness result.
+ */
+public class Coordinator {
+	/**
+	 * Coordinator configuration, parsed from {@code key=value} arguments. Options that are not
+	 * coordinator options are passed on to the workers ({@code run_plan} and target options).
+	 */
+	@Getter
+	@Setter
+	public static class Config {
+		private int workers = 2;
+		private int port = 7711;
+		private int acceptTimeoutSecs = 120;
+		private int startDelaySecs = 2;
+		private String resultFile = "harness-result.csv";
+		private final List<String> workerOptions = new ArrayList<>();
+
+		/**
+		 * Parses {@code key=value} arguments.
+		 *
+		 * @param args The arguments.
+		 * @param offset Index of the first {@code key=value} argument.
+		 * @return Config with the defaults for missing keys.
+		 */
+		public static Config parse(String[] args, int offset) {
+			Config returnVal = new Config();
+			KeyValueArgs.parse(args, offset, (key, value) -> {
+				switch (key) {
+					case "workers": returnVal.setWorkers(Integer.parseInt(value)); break;
+					case "port": returnVal.setPort(Integer.parseInt(value)); break;
+					case "acceptTimeoutSecs": returnVal.setAcceptTimeoutSecs(Integer.parseInt(value)); break;
+					case "startDelaySecs": returnVal.setStartDelaySecs(Integer.parseInt(value)); break;
+					case "resultFile": returnVal.setResultFile(value); break;
+					default: returnVal.workerOptions.add(key + "=" + value);
+				}
+			});
+			if (returnVal.workers < 1) throw new IllegalArgumentException("At least one worker is required.");
+			return returnVal;
+		}
+
+		/**
+		 * Run options of a single worker. Files written by the workers get the shard as suffix, the
+		 * harness result is only written (merged) by the coordinator.
+		 */
+		List<String> optionsForShard(int shard) {
+			List<String> returnVal = new ArrayList<>();
+			boolean out = false;
+			for (String option : this.workerOptions) {
+				if (option.startsWith("resultFile=")) continue;
+				if (option.startsWith("out=") || option.startsWith("timeSeriesFile=")) {
+					out |= option.startsWith("out=");
+					returnVal.add(option.endsWith("=") ? option : String.format("%s.shard%d", option, shard + 1));
+					continue;
+				}
+				returnVal.add(option);
+			}
+			returnVal.add("resultFile=");
+			if (!out) returnVal.add("out=");
+			return returnVal;
+		}
+	}
+
+	private final Logger logger;
+	private final Config config;
+
+	public Coordinator(Logger logger, Config config) {
+		this.logger = logger;
+		this.config = config;
+	}
+
+	/**
+	 * Runs the plan on the workers.
+	 *
+	 * @param testData The full plan.
+	 * @param url The target URL.
+	 * @return The merged result, also written to the configured result file.
+	 * @throws IOException When a worker failed or did not connect in time.
+	 */
+	public RunResult run(List<TestDataCarrier> testData, String url) throws IOException {
+		int workerCount = this.config.getWorkers();
+		if (testData.size() < workerCount) {
+			throw new IllegalArgumentException(String.format("%d samples can not be split into %d shards.", testData.size(), workerCount));
+		}
+
+		List<Protocol.Connection> connections = new ArrayList<>(workerCount);
+		try (ServerSocket server = new ServerSocket(this.config.getPort())) {
+			server.setSoTimeout((int) TimeUnit.SECONDS.toMillis(this.config.getAcceptTimeoutSecs()));
+			this.logger.info("Coordinator waiting for {} workers on port {}.", workerCount, server.getLocalPort());
+			while (connections.size() < workerCount) {
+				Protocol.Connection connection;
+				try {
+					connection = new Protocol.Connection(server.accept());
+				} catch (SocketTimeoutException timeout) {
+					throw new IOException(String.format("Only %d of %d workers connected within %ds.",
+							connections.size(), workerCount, this.config.getAcceptTimeoutSecs()), timeout);
+				}
+				connections.add(connection);
+				JSONObject hello = connection.receive(Protocol.TYPE_HELLO);
+				this.logger.info("Worker {} '{}' connected from {}.", connections.size(),
+						hello.optString(Protocol.NAME), connection.getRemote());
+			}
+
+			for (int shard = 0; shard < workerCount; shard++) {
+				JSONArray shardData = new JSONArray();
+				for (int index = shard; index < testData.size(); index += workerCount) {
+					shardData.put(testData.get(index).toJsonObject());
+				}
+				connections.get(shard).send(Protocol.TYPE_PLAN, new JSONObject()
+						.put(Protocol.SHARD, shard)
+						.put(Protocol.SHARDS, workerCount)
+						.put(Protocol.URL, url)
+						.put(Protocol.OPTIONS, new JSONArray(this.config.optionsForShard(shard)))
+						.put(Protocol.TEST_DATA, shardData));
+			}
+			for (Protocol.Connection connection : connections) connection.receive(Protocol.TYPE_READY);
+
+			long startAt = System.currentTimeMillis() + TimeUnit.SECONDS.toMillis(this.config.getStartDelaySecs());
+			for (Protocol.Connection connection : connections) {
+				connection.send(Protocol.TYPE_START, new JSONObject().put(Protocol.AT_MILLIS, startAt));
+			}
+			this.logger.info("All {} workers ready, starting in {}s.", workerCount, this.config.getStartDelaySecs());
+
+			RunResult returnVal = new RunResult(0L);
+			for (int shard = 0; shard < workerCount; shard++) {
+				JSONObject result = connections.get(shard).receive(Protocol.TYPE_RESULT);
+				RunResult shardResult = RunResult.fromJsonObject(result.getJSONObject(Protocol.RESULT));
+				this.logger.info("Shard {} completed in {}ms.", shard + 1, shardResult.getDurationMillis());
+				returnVal.merge(shardResult);
+			}
+			if (!this.config.getResultFile().isEmpty()) returnVal.write(new File(this.config.getResultFile()));
+			return returnVal;
+		} catch (IOException | RuntimeException except) {
+			for (Protocol.Connection connection : connections) connection.sendError(except);
+			throw except;
+		} finally {
+			for (Protocol.Connection connection : connections) {
+				try {
+					connection.close();
+				} catch (IOException ioErr) {
+					this.logger.warn("Unable to close worker connection. {}", ioErr.getMessage());
+				}
+			}
+		}
+	}
+}
@@ -0,0 +1,101 @@
+package io.mojaloop.settlement.jmeter.plugin.distributed;
+
+import org.json.JSONObject;
+
+import java.io.*;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Coordinator/worker protocol, one JSON object per line over TCP.
+ *
+ * <pre>
+ * worker      -> coordinator  hello  {name}
+ * coordinator -> worker       plan   {shard, shards, url, options[], testData[]}
+ * worker      -> coordinator  ready
+ * coordinator -> worker       start  {atMillis}
+ * worker      -> coordinator  result {result}
+ * </pre>
+ * Either side may send {@code error {message}} instead of the expected message.
+ */
+public final class Protocol {
+	public static final String TYPE = "type";
+	public static final String TYPE_HELLO = "hello";
+	public static final String TYPE_PLAN = "plan";
+	public static final String TYPE_READY = "ready";
+	public static final String TYPE_START = "start";
+	public static final String TYPE_RESULT = "result";
+	public static final String TYPE_ERROR = "error";
+
+	public static final String NAME = "name";
+	public static final String SHARD = "shard";
+	public static final String SHARDS = "shards";
+	public static final String URL = "url";
+	public static final String OPTIONS = "options";
+	public static final String TEST_DATA = "testData";
+	public static final String AT_MILLIS = "atMillis";
+	public static final String RESULT = "result";
+	public static final String MESSAGE = "message";
+
+	private Protocol() {
+	}
+
+	/**
+	 * A connection between the coordinator and a worker.
+	 */
+	public static final class Connection implements Closeable {
+		private final Socket socket;
+		private final BufferedReader reader;
+		private final Writer writer;
+
+		public Connection(Socket socket) throws IOException {
+			this.socket = socket;
+			this.reader = new BufferedReader(new InputStreamReader(socket.getInputStream(), StandardCharsets.UTF_8));
+			this.writer = new BufferedWriter(new OutputStreamWriter(socket.getOutputStream(), StandardCharsets.UTF_8));
+		}
+
+		public void send(String type, JSONObject message) throws IOException {
+			message.put(TYPE, type);
+			this.writer.write(message.toString());
+			this.writer.write('\n');
+			this.writer.flush();
+		}
+
+		/**
+		 * Reads the next message, which must be of {@code expectedType}.
+		 *
+		 * @param expectedType The expected message type.
+		 * @return The message.
+		 * @throws IOException When the connection closed, or an error or unexpected message was received.
+		 */
+		public JSONObject receive(String expectedType) throws IOException {
+			String line = this.reader.readLine();
+			if (line == null) throw new EOFException(String.format("Connection closed while waiting for '%s'.", expectedType));
+
+			JSONObject returnVal = new JSONObject(line);
+			String type = returnVal.optString(TYPE);
+			if (TYPE_ERROR.equals(type)) throw new IOException(String.format("Peer failed. %s", returnVal.optString(MESSAGE)));
+			if (!expectedType.equals(type)) {
+				throw new IOException(String.format("Expected '%s', received '%s'.", expectedType, type));
+			}
+			return returnVal;
+		}
+
+		public void sendError(Throwable error) {
+			try {
+				this.send(TYPE_ERROR, new JSONObject().put(MESSAGE, String.valueOf(error.getMessage())));
+			} catch (IOException ignored) {
+				// The peer is gone, nothing to report to.
+			}
+		}
+
+		public String getRemote() {
+			return this.socket.getRemoteSocketAddress().toString();
+		}
+
+		@Override
+		public void close() throws IOException {
+			this.socket.close();
+		}
+	}
+}
@@ -0,0 +1,98 @@
+package io.mojaloop.settlement.jmeter.plugin.distributed;
+
+import io.mojaloop.settlement.jmeter.plugin.load.LoadTarget;
+import io.mojaloop.settlement.jmeter.plugin.load.PlanRunner;
+import io.mojaloop.settlement.jmeter.plugin.metrics.RunResult;
+import io.mojaloop.settlement.jmeter.plugin.rest.client.json.testdata.TestDataCarrier;
+import io.mojaloop.settlement.jmeter.plugin.runner.ActionHandlerRegistry;
+import org.json.JSONArray;
+import org.json.JSONObject;
+import org.slf4j.Logger;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.net.Socket;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Worker JVM of a distributed run.
+ *
+ * Connects to the coordinator, receives its shard of the plan and the run options, prepares
+ * the target (and seeds its own fixtures when configured), and starts the run at the time set
+ * by the coordinator. The result of the shard is returned to the coordinator.
+ */
+public class Worker {
+	private final Logger logger;
+	private final String host;
+	private final int port;
+
+	public Worker(Logger logger, String host, int port) {
+		this.logger = logger;
+		this.host = host;
+		this.port = port;
+	}
+
+	/**
+	 * Creates the worker for a {@code host:port} coordinator address.
+	 *
+	 * @param logger The logger.
+	 * @param coordinator The coordinator address, {@code localhost} when only the port is given.
+	 * @return The worker.
+	 */
+	public static Worker forAddress(Logger logger, String coordinator) {
+		int separator = coordinator.lastIndexOf(':');
+		if (separator < 0) return new Worker(logger, "localhost", Integer.parseInt(coordinator));
+		return new Worker(logger, coordinator.substring(0, separator), Integer.parseInt(coordinator.substring(separator + 1)));
+	}
+
+	/**
+	 * Runs a single shard for the coordinator.
+	 *
+	 * @return The result of the shard, also sent to the coordinator.
+	 * @throws IOException When the coordinator is not reachable or failed.
+	 * @throws InterruptedException When interrupted while running.
+	 */
+	public RunResult run() throws IOException, InterruptedException {
+		try (Protocol.Connection connection = new Protocol.Connection(new Socket(this.host, this.port))) {
+			connection.send(Protocol.TYPE_HELLO, new JSONObject().put(Protocol.NAME, ManagementFactory.getRuntimeMXBean().getName()));
+			JSONObject plan = connection.receive(Protocol.TYPE_PLAN);
+			int shard = plan.getInt(Protocol.SHARD);
+
+			List<TestDataCarrier> testData = new ArrayList<>();
+			JSONArray testDataArray = plan.getJSONArray(Protocol.TEST_DATA);
+			for (int index = 0; index < testDataArray.length(); index++) {
+				testData.add(new TestDataCarrier(testDataArray.getJSONObject(index)));
+			}
+			List<String> args = new ArrayList<>();
+			plan.getJSONArray(Protocol.OPTIONS).forEach(itm -> args.add(itm.toString()));
+			String url = plan.getString(Protocol.URL);
+			this.logger.info("Worker received shard {} of {} with {} samples for '{}'.",
+					shard + 1, plan.getInt(Protocol.SHARDS), testData.size(), url);
+
+			List<String> options = new ArrayList<>();
+			try (LoadTarget target = LoadTarget.fromArgs(url, args.toArray(new String[0]), 0, options)) {
+				PlanRunner runner;
+				try {
+					PlanRunner.Config config = PlanRunner.Config.parse(options.toArray(new String[0]), 0);
+					ActionHandlerRegistry registry = target.open(this.logger, config.getUsers());
+					runner = new PlanRunner(this.logger, testData, registry, config, url);
+				} catch (RuntimeException except) {
+					connection.sendError(except);
+					throw except;
+				}
+				connection.send(Protocol.TYPE_READY, new JSONObject());
+
+				long startAt = connection.receive(Protocol.TYPE_START).getLong(Protocol.AT_MILLIS);
+				long wait = startAt - System.currentTimeMillis();
+				if (wait > 0L) Thread.sleep(wait);
+				this.logger.info("Worker starting shard {} ({}ms after the agreed start).",
+						shard + 1, System.currentTimeMillis() - startAt);
+
+				RunResult returnVal = runner.run();
+				connection.send(Protocol.TYPE_RESULT, new JSONObject().put(Protocol.RESULT, returnVal.toJsonObject()));
+				return returnVal;
+			}
+		}
+	}
+}
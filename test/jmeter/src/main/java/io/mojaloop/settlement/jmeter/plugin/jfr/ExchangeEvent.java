@@ -0,0 +1,32 @@
+package io.mojaloop.settlement.jmeter.plugin.jfr;
+
+import jdk.jfr.*;
+
+/**
+ * JFR event for a single HTTP exchange performed by {@code ABaseRESTClient}.
+ */
+@Name(ExchangeEvent.NAME)
+@Label("Settlement HTTP Exchange")
+@Category({"Mojaloop", "Settlement"})
+@Description("A single HTTP exchange with Settlement-BC.")
+@StackTrace(false)
+final class ExchangeEvent extends Event {
+	static final String NAME = "io.mojaloop.settlement.Exchange";
+
+	@Label("Method")
+	String method;
+
+	@Label("Path")
+	String path;
+
+	@Label("Bytes Sent")
+	@DataAmount
+	long sentBytes;
+
+	@Label("Bytes Received")
+	@DataAmount
+	long receivedBytes;
+
+	@Label("Outcome")
+	String outcome;
+}
@@ -0,0 +1,127 @@
+package io.mojaloop.settlement.jmeter.plugin.jfr;
+
+/**
+ * Emits the settlement JFR events, {@code SampleEvent} and {@code ExchangeEvent}.
+ *
+ * The event classes are only touched when the JVM provides {@code jdk.jfr}, so the plugin
+ * still runs on JVMs without Flight Recorder. While no recording is active, {@code begin}
+ * and {@code commit} are no-ops and the JIT removes the event allocation.
+ * Events are returned as {@code Object} so callers never link against {@code jdk.jfr}.
+ */
+public final class JfrEvents {
+	public static final String OUTCOME_SUCCESS = "SUCCESS";
+
+	private static final boolean AVAILABLE = isAvailable();
+
+	private JfrEvents() {
+	}
+
+	private static boolean isAvailable() {
+		try {
+			Class.forName("jdk.jfr.Event", false, JfrEvents.class.getClassLoader());
+			return true;
+		} catch (ClassNotFoundException | LinkageError except) {
+			return false;
+		}
+	}
+
+	/**
+	 * Starts the event for a sample.
+	 *
+	 * @return The event, {@code null} when JFR is not available or the event is disabled.
+	 */
+	public static Object beginSample() {
+		if (!AVAILABLE) return null;
+
+		SampleEvent event = new SampleEvent();
+		if (!event.isEnabled()) return null;
+
+		event.begin();
+		return event;
+	}
+
+	/**
+	 * Ends and commits the sample event started via {@link #beginSample()}.
+	 *
+	 * @param sampleEvent The event, ignored when {@code null}.
+	 * @param actionType The sampled action.
+	 * @param matrixId The matrix the action applied to, may be {@code null}.
+	 * @param batchId The batch the action applied to, may be {@code null}.
+	 * @param sampleNo Sample number of the sampler thread.
+	 * @param sentBytes Bytes sent.
+	 * @param receivedBytes Bytes received.
+	 * @param outcome {@link #OUTCOME_SUCCESS} or the error code.
+	 */
+	public static void commitSample(
+			Object sampleEvent,
+			String actionType,
+			String matrixId,
+			String batchId,
+			long sampleNo,
+			long sentBytes,
+			long receivedBytes,
+			String outcome
+	) {
+		if (sampleEvent == null) return;
+
+		SampleEvent event = (SampleEvent) sampleEvent;
+		event.end();
+		if (!event.shouldCommit()) return;
+
+		event.actionType = actionType;
+		event.matrixId = matrixId;
+		event.batchId = batchId;
+		event.sampleNo = sampleNo;
+		event.sentBytes = sentBytes;
+		event.receivedBytes = receivedBytes;
+		event.outcome = outcome;
+		event.commit();
+	}
+
+	/**
+	 * Starts the event for an HTTP exchange.
+	 *
+	 * @return The event, {@code null} when JFR is not available or the event is disabled.
+	 */
+	public static Object beginExchange() {
+		if (!AVAILABLE) return null;
+
+		ExchangeEvent event = new ExchangeEvent();
+		if (!event.isEnabled()) return null;
+
+		event.begin();
+		return event;
+	}
+
+	/**
+	 * Ends and commits the exchange event started via {@link #beginExchange()}.
+	 *
+	 * @param exchangeEvent The event, ignored when {@code null}.
+	 * @param method The HTTP method.
+	 * @param path The path after the base endpoint.
+	 * @param sentBytes Bytes sent.
+	 * @param receivedBytes Bytes received.
+	 * @param outcome {@link #OUTCOME_SUCCESS} or the error code.
+	 */
+	public static void commitExchange(
+			Object exchangeEvent,
+			String method,
+			String path,
+			long sentBytes,
+			long receivedBytes,
+			String outcome
+	) {
+		if (exchangeEvent == null) return;
+
+		ExchangeEvent event = (ExchangeEvent) exchangeEvent;
+		event.end();
+		if (!event.shouldCommit()) return;
+
+		event.method = method;
+		event.path = path;
+		event.sentBytes = sentBytes;
+		event.receivedBytes = receivedBytes;
+		event.outcome = outcome;
+		event.commit();
+	}
+}
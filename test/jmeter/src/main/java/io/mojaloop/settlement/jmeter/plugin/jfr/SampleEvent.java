@@ -0,0 +1,38 @@
+package io.mojaloop.settlement.jmeter.plugin.jfr;
+
+import jdk.jfr.*;
+
+/**
+ * JFR event for a single settlement sample executed by {@code SamplerRunner}.
+ */
+@Name(SampleEvent.NAME)
+@Label("Settlement Sample")
+@Category({"Mojaloop", "Settlement"})
+@Description("A single sample of a settlement action.")
+@StackTrace(false)
+final class SampleEvent extends Event {
+	static final String NAME = "io.mojaloop.settlement.Sample";
+
+	@Label("Action Type")
+	String actionType;
+
+	@Label("Matrix Id")
+	String matrixId;
+
+	@Label("Batch Id")
+	String batchId;
+
+	@Label("Sample Number")
+	long sampleNo;
+
+	@Label("Bytes Sent")
+	@DataAmount
+	long sentBytes;
+
+	@Label("Bytes Received")
+	@DataAmount
+	long receivedBytes;
+
+	@Label("Outcome")
+	String outcome;
+}
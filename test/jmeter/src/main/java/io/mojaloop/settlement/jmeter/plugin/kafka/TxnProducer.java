@@ -1,9 +1,12 @@
 package io.mojaloop.settlement.jmeter.plugin.kafka;
 
+import io.mojaloop.settlement.jmeter.plugin.rest.client.json.ABaseJSONObject;
+import io.mojaloop.settlement.jmeter.plugin.rest.client.json.codec.JSONCodecs;
 import io.mojaloop.settlement.jmeter.plugin.rest.client.json.transfer.ProcessTransferCmd;
-import io.mojaloop.settlement.jmeter.plugin.rest.client.json.transfer.TransferReq;
+import io.mojaloop.settlement.jmeter.plugin.rest.client.json.transfer.Transfer;
 import org.apache.kafka.clients.ClientDnsLookup;
 import org.apache.kafka.clients.producer.*;
+import org.apache.kafka.common.serialization.ByteArraySerializer;
 import org.apache.kafka.common.serialization.StringSerializer;
 import org.json.JSONObject;
 
@@ -14,7 +17,7 @@ import java.util.Properties;
 import java.util.concurrent.ExecutionException;
 
 public class TxnProducer {
-    private Producer<String, String> producer;
+    private Producer<String, byte[]> producer;
     private String topic;
 
     public void init(String url, String topic) {
@@ -26,7 +29,7 @@ public class TxnProducer {
         }
         props.put(ProducerConfig.BOOTSTRAP_SERVERS_CONFIG, url);//"localhost:9092"
         props.put(ProducerConfig.KEY_SERIALIZER_CLASS_CONFIG, StringSerializer.class.getName());
-        props.put(ProducerConfig.VALUE_SERIALIZER_CLASS_CONFIG, StringSerializer.class.getName());
+        props.put(ProducerConfig.VALUE_SERIALIZER_CLASS_CONFIG, ByteArraySerializer.class.getName());
         props.put("acks", "all");
         //props.put(ProducerConfig.CLIENT_DNS_LOOKUP_CONFIG, ClientDnsLookup.RESOLVE_CANONICAL_BOOTSTRAP_SERVERS_ONLY.toString());
         props.put(ProducerConfig.CLIENT_DNS_LOOKUP_CONFIG, ClientDnsLookup.USE_ALL_DNS_IPS.toString());
@@ -37,9 +40,9 @@ public class TxnProducer {
 
     private RecordMetadata send(
             String key,
-            String value
+            byte[] value
     ) throws ExecutionException, InterruptedException {
-        final ProducerRecord<String, String> record = new ProducerRecord<>(this.topic, key, value);
+        final ProducerRecord<String, byte[]> record = new ProducerRecord<>(this.topic, key, value);
         RecordMetadata metadata = this.producer.send(record, new Callback() {
             @Override
             public void onCompletion(RecordMetadata recordMetadataParam, Exception eParam) {
@@ -49,7 +52,7 @@ public class TxnProducer {
         return metadata;
     }
 
-    public RecordMetadata send(TransferReq req) throws ExecutionException, InterruptedException {
+    public <T extends ABaseJSONObject & Transfer> RecordMetadata send(T req) throws ExecutionException, InterruptedException {
 
         ProcessTransferCmd cmd = new ProcessTransferCmd(new JSONObject());
         cmd.setAggregateId(req.getTransferId());
@@ -58,7 +61,7 @@ public class TxnProducer {
         cmd.setMsgTimestamp(new Date().getTime());
         cmd.setMsgId(req.getTransferId());
 
-        return this.send(req.getTransferId(), cmd.toString());
+        return this.send(req.getTransferId(), JSONCodecs.current().encode(cmd));
     }
 
     public void destroy() {
@@ -0,0 +1,217 @@
+package io.mojaloop.settlement.jmeter.plugin.load;
+
+import io.mojaloop.settlement.jmeter.plugin.util.KeyValueArgs;
+import lombok.Getter;
+import lombok.Setter;
+import org.slf4j.Logger;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Finds the saturation point (knee) of the configured action mix.
+ *
+ * The offered load (concurrency or rate) is stepped up. Each step is held until the p99 of
+ * consecutive windows is stable (or the maximum hold time passed), and the search stops once
+ * the p99 of a step crosses the threshold or the error rate exceeds the limit.
+ * The result is the throughput-vs-latency curve and the maximum sustainable rate, being the
+ * highest throughput of a step within the limits.
+ */
+public class KneeFinder {
+	/**
+	 * The kind of load that is stepped.
+	 */
+	public enum Mode {
+		concurrency,
+		rate
+	}
+
+	/**
+	 * Search configuration, parsed from {@code key=value} arguments.
+	 */
+	@Getter
+	@Setter
+	public static class Config {
+		private Mode mode = Mode.concurrency;
+		private double start = 4;
+		private double step = 4;
+		private double growth = 1.0;
+		private double max = 256;
+		private int threads = 256;
+		private int windowSecs = 5;
+		private int maxHoldSecs = 60;
+		private double stability = 0.1;
+		private double p99Ms = 500;
+		private double maxErrorRate = 0.01;
+		private String out = "knee-curve.csv";
+
+		/**
+		 * Parses {@code key=value} arguments, unknown keys are rejected.
+		 *
+		 * @param args The arguments.
+		 * @param offset Index of the first {@code key=value} argument.
+		 * @return Config with the defaults for missing keys.
+		 */
+		public static Config parse(String[] args, int offset) {
+			Config returnVal = new Config();
+			KeyValueArgs.parse(args, offset, (key, value) -> {
+				switch (key) {
+					case "mode": returnVal.setMode(Mode.valueOf(value.toLowerCase(Locale.ROOT))); break;
+					case "start": returnVal.setStart(Double.parseDouble(value)); break;
+					case "step": returnVal.setStep(Double.parseDouble(value)); break;
+					case "growth": returnVal.setGrowth(Double.parseDouble(value)); break;
+					case "max": returnVal.setMax(Double.parseDouble(value)); break;
+					case "threads": returnVal.setThreads(Integer.parseInt(value)); break;
+					case "windowSecs": returnVal.setWindowSecs(Integer.parseInt(value)); break;
+					case "maxHoldSecs": returnVal.setMaxHoldSecs(Integer.parseInt(value)); break;
+					case "stability": returnVal.setStability(Double.parseDouble(value)); break;
+					case "p99Ms": returnVal.setP99Ms(Double.parseDouble(value)); break;
+					case "maxErrorRate": returnVal.setMaxErrorRate(Double.parseDouble(value)); break;
+					case "out": returnVal.setOut(value); break;
+					default: throw new IllegalArgumentException(String.format("Unknown knee finder option '%s'.", key));
+				}
+			});
+			return returnVal;
+		}
+
+		/**
+		 * @return The most samples in flight during the search, the workers in rate mode or the highest concurrency.
+		 */
+		public int getMaxConcurrency() {
+			return this.mode == Mode.rate ? this.threads : (int) Math.ceil(this.max);
+		}
+
+		double next(double level) {
+			return this.growth > 1.0 ? Math.ceil(level * this.growth) : level + this.step;
+		}
+	}
+
+	/**
+	 * A measured point on the curve.
+	 */
+	@Getter
+	public static class Step {
+		private final double level;
+		private final LoadDriver.Window window;
+		private final boolean stable;
+		private final boolean withinLimits;
+
+		Step(double level, LoadDriver.Window window, boolean stable, boolean withinLimits) {
+			this.level = level;
+			this.window = window;
+			this.stable = stable;
+			this.withinLimits = withinLimits;
+		}
+	}
+
+	private final Logger logger;
+	private final LoadDriver driver;
+	private final Config config;
+	@Getter
+	private final List<Step> curve = new ArrayList<>();
+
+	public KneeFinder(Logger logger, LoadDriver driver, Config config) {
+		this.logger = logger;
+		this.driver = driver;
+		this.config = config;
+	}
+
+	/**
+	 * Runs the search until a step breaches the limits or the maximum load is reached.
+	 *
+	 * @return The last step within the limits with the highest throughput, {@code null} if none.
+	 * @throws InterruptedException When interrupted while holding a step.
+	 */
+	public Step search() throws InterruptedException {
+		Step returnVal = null;
+		try {
+			for (double level = this.config.getStart(); level <= this.config.getMax(); level = this.config.next(level)) {
+				Step step = this.runStep(level);
+				this.curve.add(step);
+				this.logger.info(String.format(Locale.ROOT,
+						"Knee step %s=%.0f: %.1f/s, p50=%.1fms, p99=%.1fms, errors=%.2f%%%s%s",
+						this.config.getMode(), level, step.getWindow().getThroughput(),
+						step.getWindow().getHistogram().getPercentileMillis(50),
+						step.getWindow().getHistogram().getPercentileMillis(99),
+						step.getWindow().getErrorRate() * 100d,
+						step.isStable() ? "" : " (not stable)",
+						step.isWithinLimits() ? "" : " BREACH"));
+				if (!step.isWithinLimits()) break;
+
+				if (returnVal == null || step.getWindow().getThroughput() > returnVal.getWindow().getThroughput()) {
+					returnVal = step;
+				}
+			}
+		} finally {
+			this.driver.stop();
+		}
+		return returnVal;
+	}
+
+	private Step runStep(double level) throws InterruptedException {
+		if (this.config.getMode() == Mode.rate) this.driver.setRate(level, this.config.getThreads());
+		else this.driver.setConcurrency((int) level);
+
+		long windowMs = TimeUnit.SECONDS.toMillis(this.config.getWindowSecs());
+		int maxWindows = Math.max(3, this.config.getMaxHoldSecs() / Math.max(1, this.config.getWindowSecs()));
+
+		// The first window after a load change is warm-up:
+		Thread.sleep(windowMs);
+		this.driver.resetPacing();
+		this.driver.snapshot();
+
+		LoadDriver.Window measured = new LoadDriver.Window();
+		double previousP99 = -1d;
+		boolean stable = false;
+		for (int windowNo = 1; windowNo < maxWindows; windowNo++) {
+			Thread.sleep(windowMs);
+			LoadDriver.Window window = this.driver.snapshot();
+			measured.merge(window);
+
+			double p99 = window.getHistogram().getPercentileMillis(99);
+			if (previousP99 > 0d && Math.abs(p99 - previousP99) <= previousP99 * this.config.getStability()) {
+				stable = true;
+				break;
+			}
+			// Stop holding a step that is clearly over the limits:
+			if (window.getSamples() > 0 && window.getErrorRate() > this.config.getMaxErrorRate()) break;
+			previousP99 = p99;
+		}
+
+		boolean withinLimits = measured.getSamples() > 0 &&
+				measured.getHistogram().getPercentileMillis(99) <= this.config.getP99Ms() &&
+				measured.getErrorRate() <= this.config.getMaxErrorRate();
+		return new Step(level, measured, stable, withinLimits);
+	}
+
+	/**
+	 * Writes the curve as CSV.
+	 *
+	 * @param file The output file.
+	 */
+	public void writeCurve(File file) {
+		try (PrintWriter writer = new PrintWriter(new OutputStreamWriter(
+				new FileOutputStream(file, false), StandardCharsets.UTF_8))) {
+			writer.println(String.format("%s,throughput_per_sec,p50_ms,p90_ms,p99_ms,max_ms,error_rate,samples,stable,within_limits",
+					this.config.getMode()));
+			for (Step step : this.curve) {
+				LoadDriver.Window window = step.getWindow();
+				writer.println(String.format(Locale.ROOT, "%.0f,%.2f,%.3f,%.3f,%.3f,%.3f,%.5f,%d,%b,%b",
+						step.getLevel(), window.getThroughput(),
+						window.getHistogram().getPercentileMillis(50),
+						window.getHistogram().getPercentileMillis(90),
+						window.getHistogram().getPercentileMillis(99),
+						window.getHistogram().getMaxMicros() / 1000d,
+						window.getErrorRate(), window.getSamples(), step.isStable(), step.isWithinLimits()));
+			}
+		} catch (IOException ioErr) {
+			throw new IllegalStateException(String.format(
+					"Unable to write to '%s'. %s.",
+					file.getAbsolutePath(), ioErr.getMessage()), ioErr);
+		}
+	}
+}
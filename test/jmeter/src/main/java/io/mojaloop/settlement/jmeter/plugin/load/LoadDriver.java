@@ -0,0 +1,249 @@
+package io.mojaloop.settlement.jmeter.plugin.load;
+
+import io.mojaloop.settlement.jmeter.plugin.metrics.LatencyHistogram;
+import io.mojaloop.settlement.jmeter.plugin.rest.client.json.testdata.TestDataCarrier;
+import io.mojaloop.settlement.jmeter.plugin.runner.ActionHandlerRegistry;
+import io.mojaloop.settlement.jmeter.plugin.runner.ResponseCapture;
+import io.mojaloop.settlement.jmeter.plugin.runner.SamplerRunner;
+import org.apache.jmeter.samplers.SampleResult;
+import org.slf4j.Logger;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Drives the test data through {@code SamplerRunner} outside of JMeter, with an adjustable load.
+ *
+ * Load is either closed (a number of active workers, each sending the next sample as soon as
+ * the previous one completed) or open (a target rate, paced across all the workers).
+ * With an open load the latency is measured from the intended start of the sample, so time
+ * spent waiting for a free worker while the system is saturated is part of the latency.
+ * Each worker owns a {@code SamplerRunner} and its own statistics, which are merged on {@link #snapshot()}.
+ */
+public class LoadDriver {
+	private static final long IDLE_PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(5);
+
+	private final Logger logger;
+	private final List<TestDataCarrier> testData;
+	private final ActionHandlerRegistry registry;
+	private final ThreadFactory threadFactory;
+	private final List<Worker> workers = new ArrayList<>();
+
+	private volatile boolean running;
+	private volatile int activeWorkers;
+	private volatile long intervalNanos;
+	private final AtomicLong nextSlotNanos = new AtomicLong();
+	private long windowStartNanos;
+
+	/**
+	 * Statistics of all the samples completed in a window.
+	 */
+	public static final class Window {
+		private final LatencyHistogram histogram = new LatencyHistogram();
+		private long success;
+		private long errors;
+		private long durationNanos;
+
+		public Window() {
+		}
+
+		Window(long durationNanos) {
+			this.durationNanos = durationNanos;
+		}
+
+		synchronized void record(long latencyNanos, boolean successful) {
+			this.histogram.recordNanos(latencyNanos);
+			if (successful) this.success++;
+			else this.errors++;
+		}
+
+		synchronized void drainTo(Window target) {
+			target.histogram.merge(this.histogram);
+			target.success += this.success;
+			target.errors += this.errors;
+			this.histogram.reset();
+			this.success = 0L;
+			this.errors = 0L;
+		}
+
+		public LatencyHistogram getHistogram() {
+			return this.histogram;
+		}
+
+		public long getSuccess() {
+			return this.success;
+		}
+
+		public long getErrors() {
+			return this.errors;
+		}
+
+		public long getDurationNanos() {
+			return this.durationNanos;
+		}
+
+		public long getSamples() {
+			return this.success + this.errors;
+		}
+
+		public double getThroughput() {
+			return this.durationNanos <= 0L ? 0d : this.success / (this.durationNanos / 1_000_000_000d);
+		}
+
+		public double getErrorRate() {
+			long samples = this.getSamples();
+			return samples == 0L ? 0d : this.errors / (double) samples;
+		}
+
+		/**
+		 * Adds {@code other} to {@code this} window, the durations are added.
+		 *
+		 * @param other The window to add.
+		 * @return {@code this}
+		 */
+		public Window merge(Window other) {
+			this.histogram.merge(other.histogram);
+			this.success += other.success;
+			this.errors += other.errors;
+			this.durationNanos += other.durationNanos;
+			return this;
+		}
+	}
+
+	/**
+	 * Creates the driver.
+	 *
+	 * @param logger The logger.
+	 * @param testData The test data, shared between all the workers.
+	 * @param registry The action handlers, shared between all the workers.
+	 * @param threadFactory Creates the worker threads.
+	 */
+	public LoadDriver(
+			Logger logger,
+			List<TestDataCarrier> testData,
+			ActionHandlerRegistry registry,
+			ThreadFactory threadFactory
+	) {
+		if (testData == null || testData.isEmpty()) throw new IllegalArgumentException("No test data.");
+
+		this.logger = logger;
+		this.testData = testData;
+		this.registry = registry;
+		this.threadFactory = threadFactory;
+	}
+
+	/**
+	 * Closed load, {@code concurrency} workers send samples back to back.
+	 *
+	 * @param concurrency The number of active workers.
+	 */
+	public synchronized void setConcurrency(int concurrency) {
+		this.intervalNanos = 0L;
+		this.ensureWorkers(concurrency);
+		this.activeWorkers = concurrency;
+	}
+
+	/**
+	 * Open load, samples are started at {@code ratePerSec} using up to {@code maxWorkers} workers.
+	 *
+	 * @param ratePerSec The target rate.
+	 * @param maxWorkers The maximum number of samples in flight.
+	 */
+	public synchronized void setRate(double ratePerSec, int maxWorkers) {
+		if (ratePerSec <= 0d) throw new IllegalArgumentException("Rate must be positive.");
+
+		this.ensureWorkers(maxWorkers);
+		long now = System.nanoTime();
+		this.nextSlotNanos.accumulateAndGet(now, Math::max);
+		this.intervalNanos = Math.max(1L, (long) (1_000_000_000d / ratePerSec));
+		this.activeWorkers = maxWorkers;
+	}
+
+	private void ensureWorkers(int count) {
+		this.running = true;
+		if (this.windowStartNanos == 0L) this.windowStartNanos = System.nanoTime();
+		while (this.workers.size() < count) {
+			Worker worker = new Worker(this.workers.size());
+			this.workers.add(worker);
+			Thread thread = this.threadFactory.newThread(worker);
+			thread.setName(String.format("load-worker-%d", worker.index));
+			thread.start();
+		}
+	}
+
+	/**
+	 * Drops the backlog of an open load, the next sample is intended to start now.
+	 * Used after a warm-up, so the warm-up backlog is not measured as latency.
+	 */
+	public void resetPacing() {
+		long now = System.nanoTime();
+		this.nextSlotNanos.accumulateAndGet(now, Math::max);
+	}
+
+	/**
+	 * Statistics of the samples completed since the previous snapshot.
+	 *
+	 * @return The merged window of all the workers.
+	 */
+	public synchronized Window snapshot() {
+		long now = System.nanoTime();
+		Window returnVal = new Window(now - this.windowStartNanos);
+		for (Worker worker : this.workers) worker.window.drainTo(returnVal);
+		this.windowStartNanos = now;
+		return returnVal;
+	}
+
+	public void stop() {
+		this.running = false;
+		this.activeWorkers = 0;
+	}
+
+	public int getWorkerCount() {
+		return this.workers.size();
+	}
+
+	private final class Worker implements Runnable {
+		private final int index;
+		private final Window window = new Window();
+
+		private Worker(int index) {
+			this.index = index;
+		}
+
+		@Override
+		public void run() {
+			SamplerRunner runner = new SamplerRunner(LoadDriver.this.logger, LoadDriver.this.registry, ResponseCapture.parse("none"));
+			int size = LoadDriver.this.testData.size();
+			int dataIndex = (int) ((this.index * 7919L) % size);
+			while (LoadDriver.this.running) {
+				if (this.index >= LoadDriver.this.activeWorkers) {
+					LockSupport.parkNanos(IDLE_PARK_NANOS);
+					continue;
+				}
+
+				long intended;
+				long interval = LoadDriver.this.intervalNanos;
+				if (interval > 0L) {
+					intended = LoadDriver.this.nextSlotNanos.getAndAdd(interval);
+					long wait;
+					while ((wait = intended - System.nanoTime()) > 0L) LockSupport.parkNanos(wait);
+				} else {
+					intended = System.nanoTime();
+				}
+
+				TestDataCarrier sample = LoadDriver.this.testData.get(dataIndex);
+				SampleResult result = new SampleResult();
+				result.setSampleLabel(sample.getActionType().name());
+				runner.execute(sample, result, dataIndex + 1);
+				this.window.record(System.nanoTime() - intended, result.isSuccessful());
+
+				dataIndex++;
+				if (dataIndex >= size) dataIndex = 0;
+			}
+		}
+	}
+}
@@ -0,0 +1,135 @@
+package io.mojaloop.settlement.jmeter.plugin.load;
+
+import io.mojaloop.settlement.jmeter.plugin.kafka.TxnProducer;
+import io.mojaloop.settlement.jmeter.plugin.rest.client.ABaseRESTClient;
+import io.mojaloop.settlement.jmeter.plugin.rest.client.AccessTokens;
+import io.mojaloop.settlement.jmeter.plugin.rest.client.SettlementBCRestClient;
+import io.mojaloop.settlement.jmeter.plugin.rest.client.json.codec.JSONCodecs;
+import io.mojaloop.settlement.jmeter.plugin.rest.client.json.matrix.SettlementMatrixFields;
+import io.mojaloop.settlement.jmeter.plugin.runner.ActionHandlerRegistry;
+import io.mojaloop.settlement.jmeter.plugin.runner.FixtureSeeder;
+import io.mojaloop.settlement.jmeter.plugin.runner.MatrixCompletion;
+import io.mojaloop.settlement.jmeter.plugin.util.TestDataUtil;
+import io.mojaloop.settlement.jmeter.plugin.util.id.IdGenerators;
+import lombok.Getter;
+import org.slf4j.Logger;
+
+import java.io.File;
+import java.util.List;
+
+/**
+ * The Settlement-BC endpoint a headless load run is sent to.
+ *
+ * Mirrors the sampler arguments: a {@code http} URL sends over REST, any other URL is
+ * a Kafka bootstrap server with {@code topic}, and {@code restUrl} is used for the REST calls.
+ * Target options are given as {@code topic=}, {@code restUrl=}, {@code seed=} (plan config to seed from)
+ * {@code matrixCompletionTimeoutSecs=} (wait for matrix actions to complete, 0 to sample the acceptance only)
+ * {@code jsonCodec=} ({@code orgjson} or {@code streaming}), {@code matrixFields=}
+ * (the nested matrix fields per action, see {@link SettlementMatrixFields#parse(String)})
+ * {@code tokenUrl=}, {@code tokenClientId=}, {@code tokenClientSecret=} (see {@link AccessTokens})
+ * and {@code idGenerator=} ({@code secure}, {@code threadLocal} or {@code timeOrdered}).
+ */
+@Getter
+public class LoadTarget implements AutoCloseable {
+	public static final String OPT_TOPIC = "topic";
+	public static final String OPT_REST_URL = "restUrl";
+	public static final String OPT_SEED = "seed";
+	public static final String OPT_MATRIX_COMPLETION_TIMEOUT = "matrixCompletionTimeoutSecs";
+	public static final String OPT_JSON_CODEC = "jsonCodec";
+	public static final String OPT_MATRIX_FIELDS = "matrixFields";
+	public static final String OPT_TOKEN_URL = "tokenUrl";
+	public static final String OPT_TOKEN_CLIENT_ID = "tokenClientId";
+	public static final String OPT_TOKEN_CLIENT_SECRET = "tokenClientSecret";
+	public static final String OPT_ID_GENERATOR = "idGenerator";
+
+	private final String url;
+	private String topic = "SettlementsBcCommands";
+	private String restUrl = "http://localhost:3600";
+	private String seedConfig = null;
+	private int matrixCompletionTimeoutSecs = 0;
+	private String jsonCodec = "";
+	private String matrixFields = "";
+	private String tokenUrl = "";
+	private String tokenClientId = "";
+	private String tokenClientSecret = "";
+	private String idGenerator = "";
+
+	private SettlementBCRestClient settleClient;
+	private TxnProducer txnProducer;
+
+	public LoadTarget(String url) {
+		this.url = url;
+	}
+
+	/**
+	 * Creates the target for {@code url} and takes the target options from {@code args}.
+	 *
+	 * @param url The endpoint URL.
+	 * @param args All the arguments.
+	 * @param offset Index of the first {@code key=value} argument.
+	 * @param remaining Receives the arguments that are not target options.
+	 * @return The target.
+	 */
+	public static LoadTarget fromArgs(String url, String[] args, int offset, List<String> remaining) {
+		LoadTarget returnVal = new LoadTarget(url);
+		for (int index = offset; index < args.length; index++) {
+			String arg = args[index];
+			if (arg.startsWith(OPT_TOPIC + "=")) returnVal.topic = arg.substring(OPT_TOPIC.length() + 1);
+			else if (arg.startsWith(OPT_REST_URL + "=")) returnVal.restUrl = arg.substring(OPT_REST_URL.length() + 1);
+			else if (arg.startsWith(OPT_SEED + "=")) returnVal.seedConfig = arg.substring(OPT_SEED.length() + 1);
+			else if (arg.startsWith(OPT_MATRIX_COMPLETION_TIMEOUT + "=")) {
+				returnVal.matrixCompletionTimeoutSecs = Integer.parseInt(arg.substring(OPT_MATRIX_COMPLETION_TIMEOUT.length() + 1));
+			}
+			else if (arg.startsWith(OPT_JSON_CODEC + "=")) returnVal.jsonCodec = arg.substring(OPT_JSON_CODEC.length() + 1);
+			else if (arg.startsWith(OPT_MATRIX_FIELDS + "=")) returnVal.matrixFields = arg.substring(OPT_MATRIX_FIELDS.length() + 1);
+			else if (arg.startsWith(OPT_TOKEN_URL + "=")) returnVal.tokenUrl = arg.substring(OPT_TOKEN_URL.length() + 1);
+			else if (arg.startsWith(OPT_TOKEN_CLIENT_ID + "=")) returnVal.tokenClientId = arg.substring(OPT_TOKEN_CLIENT_ID.length() + 1);
+			else if (arg.startsWith(OPT_TOKEN_CLIENT_SECRET + "=")) {
+				returnVal.tokenClientSecret = arg.substring(OPT_TOKEN_CLIENT_SECRET.length() + 1);
+			}
+			else if (arg.startsWith(OPT_ID_GENERATOR + "=")) returnVal.idGenerator = arg.substring(OPT_ID_GENERATOR.length() + 1);
+			else remaining.add(arg);
+		}
+		return returnVal;
+	}
+
+	public boolean isRest() {
+		return this.url.toLowerCase().trim().startsWith("http");
+	}
+
+	/**
+	 * Connects to the target, seeds the fixtures when configured and creates the handlers.
+	 * All the callers share the REST client, its connection pool is sized for {@code concurrency},
+	 * so waiting for a connection is not measured as server latency.
+	 *
+	 * @param logger The logger.
+	 * @param concurrency Maximum number of concurrent samples.
+	 * @return Handlers for all the supported actions.
+	 */
+	public ActionHandlerRegistry open(Logger logger, int concurrency) {
+		JSONCodecs.use(this.jsonCodec);
+		IdGenerators.use(this.idGenerator);
+		AccessTokens.startOnce(logger, this.tokenUrl, this.tokenClientId, this.tokenClientSecret);
+		if (this.isRest()) {
+			this.settleClient = new SettlementBCRestClient(this.url);
+		} else {
+			this.txnProducer = new TxnProducer();
+			this.txnProducer.init(this.url, this.topic);
+			this.settleClient = new SettlementBCRestClient(this.restUrl);
+		}
+		this.settleClient.setMaxConnections(Math.max(ABaseRESTClient.DEFAULT_MAX_CONNECTIONS, concurrency));
+		this.settleClient.setMatrixFields(SettlementMatrixFields.parse(this.matrixFields));
+		if (this.seedConfig != null && !this.seedConfig.trim().isEmpty()) {
+			FixtureSeeder.seedOnce(logger, this.settleClient, TestDataUtil.readTestPlanConfig(new File(this.seedConfig.trim())));
+		}
+		MatrixCompletion matrixCompletion = this.matrixCompletionTimeoutSecs > 0 ?
+				new MatrixCompletion(this.settleClient, this.matrixCompletionTimeoutSecs) : null;
+		return ActionHandlerRegistry.createDefault(this.settleClient, this.txnProducer, matrixCompletion);
+	}
+
+	@Override
+	public void close() {
+		if (this.txnProducer != null) this.txnProducer.destroy();
+		AccessTokens.stopRunning();
+	}
+}
@@ -0,0 +1,506 @@
+package io.mojaloop.settlement.jmeter.plugin.load;
+
+import io.mojaloop.settlement.jmeter.plugin.rest.client.SettlementBCRestClient;
+import io.mojaloop.settlement.jmeter.plugin.rest.client.json.batch.SettlementBatch;
+import io.mojaloop.settlement.jmeter.plugin.rest.client.json.matrix.CreateStaticSettlementMatrix;
+import io.mojaloop.settlement.jmeter.plugin.rest.client.json.matrix.SettlementMatrix;
+import io.mojaloop.settlement.jmeter.plugin.rest.client.json.testdata.TestDataCarrier;
+import io.mojaloop.settlement.jmeter.plugin.rest.client.json.testdata.TestPlanConfig;
+import io.mojaloop.settlement.jmeter.plugin.runner.FixtureBuilder;
+import io.mojaloop.settlement.jmeter.plugin.runner.MatrixCompletion;
+import io.mojaloop.settlement.jmeter.plugin.runner.handler.ABaseActionHandler;
+import io.mojaloop.settlement.jmeter.plugin.util.KeyValueArgs;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.Setter;
+import org.json.JSONArray;
+import org.json.JSONObject;
+import org.slf4j.Logger;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+import java.util.concurrent.*;
+
+/**
+ * Measures how matrix generation scales with the data in the matrix.
+ *
+ * Tiers are swept one dimension at a time (batch count, transfers per batch and participant count),
+ * the other dimensions are kept at their first (base) value. For every tier fresh settlement models
+ * and transfers are created, and a static matrix over the resulting batches is created, recalculated,
+ * closed, locked and settled. Every action records the acceptance latency, the completion latency
+ * (until the matrix left {@code BUSY}) and the server reported {@code generationDurationSecs}.
+ * A power law {@code y = a * x^b} is fitted per dimension and action on the median completion
+ * latency, an exponent close to 1 means generation is linear in that dimension.
+ */
+public class MatrixScalingBenchmark {
+	private static final String MODEL_PREFIX = "SCALE_";
+
+	/**
+	 * The data dimensions that are swept.
+	 */
+	public enum Dimension {
+		batches,
+		transfersPerBatch,
+		participants
+	}
+
+	/**
+	 * Benchmark configuration, parsed from {@code key=value} arguments.
+	 */
+	@Getter
+	@Setter
+	public static class Config {
+		private List<Integer> batches = Arrays.asList(1, 4, 16);
+		private List<Integer> transfersPerBatch = Arrays.asList(10, 100, 1000);
+		private List<Integer> participants = Arrays.asList(4, 16, 64);
+		private int repeats = 3;
+		private int concurrency = 16;
+		private String currency = "USD";
+		private int timeoutSecs = 120;
+		private String out = "matrix-scaling.csv";
+
+		/**
+		 * Parses {@code key=value} arguments, unknown keys are rejected.
+		 * Tier lists are comma separated, e.g. {@code batches=1,4,16,64}.
+		 *
+		 * @param args The arguments.
+		 * @param offset Index of the first {@code key=value} argument.
+		 * @return Config with the defaults for missing keys.
+		 */
+		public static Config parse(String[] args, int offset) {
+			Config returnVal = new Config();
+			KeyValueArgs.parse(args, offset, (key, value) -> {
+				switch (key) {
+					case "batches": returnVal.setBatches(parseTiers(key, value)); break;
+					case "transfersPerBatch": returnVal.setTransfersPerBatch(parseTiers(key, value)); break;
+					case "participants": returnVal.setParticipants(parseTiers(key, value)); break;
+					case "repeats": returnVal.setRepeats(Integer.parseInt(value)); break;
+					case "concurrency": returnVal.setConcurrency(Integer.parseInt(value)); break;
+					case "currency": returnVal.setCurrency(value); break;
+					case "timeoutSecs": returnVal.setTimeoutSecs(Integer.parseInt(value)); break;
+					case "out": returnVal.setOut(value); break;
+					default: throw new IllegalArgumentException(String.format("Unknown matrix scaling option '%s'.", key));
+				}
+			});
+			if (returnVal.participants.get(0) < 2) throw new IllegalArgumentException("At least two participants are required.");
+			if (returnVal.repeats < 1) throw new IllegalArgumentException("At least one recalculation is required.");
+			return returnVal;
+		}
+
+		private static List<Integer> parseTiers(String key, String value) {
+			List<Integer> returnVal = new ArrayList<>();
+			for (String tier : value.split(",")) {
+				if (tier.trim().isEmpty()) continue;
+				int parsed = Integer.parseInt(tier.trim());
+				if (parsed < 1) throw new IllegalArgumentException(String.format("Tier '%s' of '%s' must be positive.", tier, key));
+				returnVal.add(parsed);
+			}
+			if (returnVal.isEmpty()) throw new IllegalArgumentException(String.format("No tiers for '%s'.", key));
+			return returnVal;
+		}
+
+		List<Integer> tiersOf(Dimension dimension) {
+			switch (dimension) {
+				case batches: return this.batches;
+				case transfersPerBatch: return this.transfersPerBatch;
+				default: return this.participants;
+			}
+		}
+	}
+
+	/**
+	 * A combination of data sizes.
+	 */
+	@Getter
+	@EqualsAndHashCode
+	@RequiredArgsConstructor
+	public static class Tier {
+		private final int batches;
+		private final int transfersPerBatch;
+		private final int participants;
+
+		int valueOf(Dimension dimension) {
+			switch (dimension) {
+				case batches: return this.batches;
+				case transfersPerBatch: return this.transfersPerBatch;
+				default: return this.participants;
+			}
+		}
+
+		Tier with(Dimension dimension, int value) {
+			switch (dimension) {
+				case batches: return new Tier(value, this.transfersPerBatch, this.participants);
+				case transfersPerBatch: return new Tier(this.batches, value, this.participants);
+				default: return new Tier(this.batches, this.transfersPerBatch, value);
+			}
+		}
+
+		@Override
+		public String toString() {
+			return String.format("%dx%dx%d", this.batches, this.transfersPerBatch, this.participants);
+		}
+	}
+
+	/**
+	 * A single matrix action of a tier.
+	 */
+	@Getter
+	@Setter
+	public static class Measurement {
+		private Tier tier;
+		private String action;
+		private int repeat;
+		private int actualBatches;
+		private int transfers;
+		private double acceptMs;
+		private double completionMs;
+		private int generationDurationSecs;
+		private SettlementMatrix.State state;
+		private String error;
+
+		public boolean isSuccess() {
+			return this.error == null;
+		}
+	}
+
+	/**
+	 * Power law {@code y = coefficient * x^exponent} fitted with least squares on the log-log values.
+	 */
+	@Getter
+	@RequiredArgsConstructor
+	public static class Fit {
+		private final Dimension dimension;
+		private final String action;
+		private final int points;
+		private final double coefficient;
+		private final double exponent;
+		private final double rSquared;
+
+		/**
+		 * @return Growth description of the exponent.
+		 */
+		public String getGrowth() {
+			if (this.exponent < 0.8d) return "sub-linear";
+			if (this.exponent <= 1.2d) return "linear";
+			return "super-linear";
+		}
+	}
+
+	private final Logger logger;
+	private final SettlementBCRestClient settleClient;
+	private final Config config;
+	private final MatrixCompletion completion;
+	private final FixtureBuilder fixtures;
+	private final String runId = Long.toString(System.currentTimeMillis(), 36).toUpperCase(Locale.ROOT);
+	private final Map<Tier, List<Measurement>> measurements = new LinkedHashMap<>();
+
+	public MatrixScalingBenchmark(Logger logger, SettlementBCRestClient settleClient, Config config) {
+		this.logger = logger;
+		this.settleClient = settleClient;
+		this.config = config;
+		this.completion = new MatrixCompletion(settleClient, config.getTimeoutSecs());
+		this.fixtures = new FixtureBuilder(logger, settleClient);
+	}
+
+	/**
+	 * Base tier first, followed by the tiers of every dimension sweep (the base tier is shared).
+	 *
+	 * @return The tiers in execution order.
+	 */
+	public List<Tier> tiers() {
+		Tier base = new Tier(this.config.getBatches().get(0),
+				this.config.getTransfersPerBatch().get(0), this.config.getParticipants().get(0));
+		Set<Tier> returnVal = new LinkedHashSet<>();
+		returnVal.add(base);
+		for (Dimension dimension : Dimension.values()) {
+			for (int value : this.config.tiersOf(dimension)) returnVal.add(base.with(dimension, value));
+		}
+		return new ArrayList<>(returnVal);
+	}
+
+	/**
+	 * Runs all the tiers, the measurements are appended to the configured CSV file as they complete.
+	 *
+	 * @return The measurements per tier.
+	 */
+	public Map<Tier, List<Measurement>> run() {
+		List<Tier> tiers = this.tiers();
+		ExecutorService executor = Executors.newFixedThreadPool(this.config.getConcurrency());
+		try (PrintWriter writer = this.openOut()) {
+			for (int index = 0; index < tiers.size(); index++) {
+				Tier tier = tiers.get(index);
+				this.logger.info("Tier {} of {} [batches:{}, transfersPerBatch:{}, participants:{}].", index + 1,
+						tiers.size(), tier.getBatches(), tier.getTransfersPerBatch(), tier.getParticipants());
+				List<Measurement> tierMeasurements = this.runTier(executor, index, tier);
+				this.measurements.put(tier, tierMeasurements);
+				if (writer != null) {
+					tierMeasurements.forEach(itm -> writer.println(toCsv(itm)));
+					writer.flush();
+				}
+			}
+		} finally {
+			executor.shutdownNow();
+		}
+		return this.measurements;
+	}
+
+	private List<Measurement> runTier(ExecutorService executor, int tierNo, Tier tier) {
+		long started = System.currentTimeMillis();
+		List<String> models = this.createModels(tierNo, tier);
+		this.postTransfers(executor, tierNo, tier, models);
+
+		int minutesBack = (int) TimeUnit.MILLISECONDS.toMinutes(System.currentTimeMillis() - started) +
+				(int) TimeUnit.SECONDS.toMinutes(FixtureBuilder.BATCH_CREATE_INTERVAL_SECS) + ABaseActionHandler.TIME_BACK_MIN;
+		List<String> batchIds = new ArrayList<>();
+		for (String model : models) {
+			for (SettlementBatch batch : this.settleClient.settlementBatches(model, minutesBack).getItems()) {
+				if (!batchIds.contains(batch.getId())) batchIds.add(batch.getId());
+			}
+		}
+		if (batchIds.isEmpty()) throw new IllegalStateException(String.format("No batches created for tier %s.", tier));
+
+		List<Measurement> returnVal = new ArrayList<>();
+		CreateStaticSettlementMatrix staticMatrix = new CreateStaticSettlementMatrix(new JSONObject());
+		staticMatrix.setType(SettlementMatrix.Type.STATIC);
+		staticMatrix.setMatrixId(UUID.randomUUID().toString());
+		staticMatrix.getBatchIds().addAll(batchIds);
+
+		Measurement created = this.measure(tier, TestDataCarrier.ActionType.create_static_matrix, 1,
+				batchIds.size(), staticMatrix.getMatrixId(), () -> {
+			CreateStaticSettlementMatrix rsp = this.settleClient.createMatrix(staticMatrix);
+			if (rsp.getMatrixId() != null) staticMatrix.setMatrixId(rsp.getMatrixId());
+		});
+		returnVal.add(created);
+		if (!created.isSuccess()) return returnVal;
+
+		List<TestDataCarrier.ActionType> actions = new ArrayList<>();
+		for (int repeat = 0; repeat < this.config.getRepeats(); repeat++) actions.add(TestDataCarrier.ActionType.matrix_recalculate);
+		actions.add(TestDataCarrier.ActionType.matrix_close);
+		actions.add(TestDataCarrier.ActionType.matrix_lock);
+		actions.add(TestDataCarrier.ActionType.matrix_settle);
+
+		int repeat = 0;
+		for (TestDataCarrier.ActionType actionType : actions) {
+			repeat = actionType == TestDataCarrier.ActionType.matrix_recalculate ? repeat + 1 : 1;
+			Measurement measurement = this.measure(tier, actionType, repeat, batchIds.size(),
+					staticMatrix.getMatrixId(), () -> this.settleClient.actionMatrix(staticMatrix.getMatrixId(), actionType));
+			returnVal.add(measurement);
+			// The next actions depend on the state reached by this one:
+			if (!measurement.isSuccess()) break;
+		}
+		return returnVal;
+	}
+
+	private List<String> createModels(int tierNo, Tier tier) {
+		List<String> returnVal = new ArrayList<>();
+		for (int index = 0; index < tier.getBatches(); index++) {
+			String name = String.format("%s%s_%d_%d", MODEL_PREFIX, this.runId, tierNo + 1, index);
+			this.fixtures.createSettlementModel(name, "jmeter-scaling");
+			returnVal.add(name);
+		}
+		return returnVal;
+	}
+
+	private void postTransfers(ExecutorService executor, int tierNo, Tier tier, List<String> models) {
+		JSONArray participants = new JSONArray();
+		for (int index = 0; index < tier.getParticipants(); index++) {
+			participants.put(String.format("scale-%s-%d-p%d", this.runId, tierNo + 1, index));
+		}
+		TestPlanConfig.SettlementTransfer transferConfig = new TestPlanConfig.SettlementTransfer(new JSONObject()
+				.put(TestPlanConfig.SettlementTransfer.JSONMapping.MIN_MAX_AMOUNT, new JSONArray().put(1).put(1000))
+				.put(TestPlanConfig.SettlementTransfer.JSONMapping.CURRENCIES, new JSONArray().put(this.config.getCurrency()))
+				.put(TestPlanConfig.SettlementTransfer.JSONMapping.PARTICIPANTS, participants));
+
+		int count = tier.getBatches() * tier.getTransfersPerBatch();
+		int failed = this.fixtures.postTransfers(executor, transferConfig, count, models);
+		if (failed > 0) {
+			throw new IllegalStateException(String.format("%d of %d transfers of tier %s not assigned to a batch.",
+					failed, count, tier));
+		}
+	}
+
+	/**
+	 * Executes {@code request} and waits for the matrix action to complete.
+	 */
+	private Measurement measure(
+			Tier tier,
+			TestDataCarrier.ActionType actionType,
+			int repeat,
+			int actualBatches,
+			String matrixId,
+			Runnable request
+	) {
+		Measurement returnVal = new Measurement();
+		returnVal.setTier(tier);
+		returnVal.setAction(actionName(actionType));
+		returnVal.setRepeat(repeat);
+		returnVal.setActualBatches(actualBatches);
+		returnVal.setTransfers(tier.getBatches() * tier.getTransfersPerBatch());
+
+		try {
+			Date updatedBefore = actionType == TestDataCarrier.ActionType.create_static_matrix ?
+					null : this.completion.updatedAt(matrixId, actionType);
+
+			long start = System.nanoTime();
+			request.run();
+			returnVal.setAcceptMs((System.nanoTime() - start) / 1e6d);
+
+			SettlementMatrix matrix = this.completion.await(matrixId, actionType, updatedBefore, start).getMatrix();
+			returnVal.setCompletionMs((System.nanoTime() - start) / 1e6d);
+			returnVal.setGenerationDurationSecs(matrix.getGenerationDurationSecs());
+			returnVal.setState(matrix.getState());
+		} catch (RuntimeException except) {
+			returnVal.setError(except.getMessage() == null ? except.getClass().getSimpleName() : except.getMessage());
+			this.logger.warn("Matrix '{}' {} of tier {} failed. {}", matrixId, returnVal.getAction(), tier, returnVal.getError());
+		}
+		return returnVal;
+	}
+
+	/**
+	 * Fits the median completion latency of every action against the tiers of each dimension sweep.
+	 * Dimensions with less than two tiers are not fitted.
+	 *
+	 * @return The fits.
+	 */
+	public List<Fit> fits() {
+		List<Tier> tiers = this.tiers();
+		Tier base = tiers.get(0);
+		List<Fit> returnVal = new ArrayList<>();
+		for (Dimension dimension : Dimension.values()) {
+			Map<String, List<double[]>> points = new LinkedHashMap<>();
+			for (int value : this.config.tiersOf(dimension)) {
+				List<Measurement> tierMeasurements = this.measurements.get(base.with(dimension, value));
+				if (tierMeasurements == null) continue;
+
+				Map<String, List<Double>> completion = new LinkedHashMap<>();
+				int actualBatches = value;
+				for (Measurement measurement : tierMeasurements) {
+					if (!measurement.isSuccess()) continue;
+					completion.computeIfAbsent(measurement.getAction(), key -> new ArrayList<>()).add(measurement.getCompletionMs());
+					actualBatches = measurement.getActualBatches();
+				}
+				double x = dimension == Dimension.batches ? actualBatches : value;
+				completion.forEach((action, values) ->
+						points.computeIfAbsent(action, key -> new ArrayList<>()).add(new double[]{x, median(values)}));
+			}
+			points.forEach((action, xy) -> {
+				Fit fit = fit(dimension, action, xy);
+				if (fit != null) returnVal.add(fit);
+			});
+		}
+		return returnVal;
+	}
+
+	static Fit fit(Dimension dimension, String action, List<double[]> xy) {
+		int count = 0;
+		double sumX = 0d, sumY = 0d, sumXX = 0d, sumXY = 0d;
+		for (double[] point : xy) {
+			if (point[0] <= 0d || point[1] <= 0d) continue;
+			double logX = Math.log(point[0]), logY = Math.log(point[1]);
+			sumX += logX;
+			sumY += logY;
+			sumXX += logX * logX;
+			sumXY += logX * logY;
+			count++;
+		}
+		double denominator = count * sumXX - sumX * sumX;
+		if (count < 2 || denominator == 0d) return null;
+
+		double exponent = (count * sumXY - sumX * sumY) / denominator;
+		double intercept = (sumY - exponent * sumX) / count;
+		double meanY = sumY / count, residual = 0d, total = 0d;
+		for (double[] point : xy) {
+			if (point[0] <= 0d || point[1] <= 0d) continue;
+			double logY = Math.log(point[1]);
+			double predicted = intercept + exponent * Math.log(point[0]);
+			residual += (logY - predicted) * (logY - predicted);
+			total += (logY - meanY) * (logY - meanY);
+		}
+		return new Fit(dimension, action, count, Math.exp(intercept), exponent, total == 0d ? 1d : 1d - residual / total);
+	}
+
+	/**
+	 * @return Median completion per tier and action, followed by the fitted growth curves.
+	 */
+	public String render() {
+		StringBuilder returnVal = new StringBuilder();
+		returnVal.append(String.format("%-16s %-12s %8s %10s %10s %14s %8s%n",
+				"tier", "action", "samples", "accept_ms", "complete_ms", "generation_s", "errors"));
+		this.measurements.forEach((tier, tierMeasurements) -> {
+			Map<String, List<Measurement>> byAction = new LinkedHashMap<>();
+			tierMeasurements.forEach(itm -> byAction.computeIfAbsent(itm.getAction(), key -> new ArrayList<>()).add(itm));
+			byAction.forEach((action, actionMeasurements) -> {
+				List<Double> accept = new ArrayList<>(), completion = new ArrayList<>(), generation = new ArrayList<>();
+				int errors = 0;
+				for (Measurement measurement : actionMeasurements) {
+					if (!measurement.isSuccess()) {
+						errors++;
+						continue;
+					}
+					accept.add(measurement.getAcceptMs());
+					completion.add(measurement.getCompletionMs());
+					generation.add((double) measurement.getGenerationDurationSecs());
+				}
+				returnVal.append(String.format(Locale.ROOT, "%-16s %-12s %8d %10.1f %10.1f %14.1f %8d%n",
+						tier, action, actionMeasurements.size(), median(accept), median(completion), median(generation), errors));
+			});
+		});
+
+		List<Fit> fits = this.fits();
+		if (fits.isEmpty()) return returnVal.append("Not enough successful tiers to fit a growth curve.").append(System.lineSeparator()).toString();
+
+		returnVal.append(System.lineSeparator());
+		returnVal.append(String.format("%-18s %-12s %6s %12s %9s %7s  %s%n",
+				"dimension", "action", "tiers", "coefficient", "exponent", "r2", "growth"));
+		for (Fit fit : fits) {
+			returnVal.append(String.format(Locale.ROOT, "%-18s %-12s %6d %12.3f %9.3f %7.3f  %s%n",
+					fit.getDimension(), fit.getAction(), fit.getPoints(), fit.getCoefficient(),
+					fit.getExponent(), fit.getRSquared(), fit.getGrowth()));
+		}
+		return returnVal.toString();
+	}
+
+	private PrintWriter openOut() {
+		if (this.config.getOut().isEmpty()) return null;
+
+		File file = new File(this.config.getOut());
+		try {
+			PrintWriter returnVal = new PrintWriter(new OutputStreamWriter(
+					new FileOutputStream(file, false), StandardCharsets.UTF_8));
+			returnVal.println("batches,transfers_per_batch,participants,actual_batches,transfers,action,repeat," +
+					"accept_ms,completion_ms,generation_duration_secs,state,error");
+			return returnVal;
+		} catch (IOException ioErr) {
+			throw new IllegalStateException(String.format(
+					"Unable to write to '%s'. %s.",
+					file.getAbsolutePath(), ioErr.getMessage()), ioErr);
+		}
+	}
+
+	private static String toCsv(Measurement measurement) {
+		Tier tier = measurement.getTier();
+		return String.format(Locale.ROOT, "%d,%d,%d,%d,%d,%s,%d,%.3f,%.3f,%d,%s,%s",
+				tier.getBatches(), tier.getTransfersPerBatch(), tier.getParticipants(),
+				measurement.getActualBatches(), measurement.getTransfers(), measurement.getAction(),
+				measurement.getRepeat(), measurement.getAcceptMs(), measurement.getCompletionMs(),
+				measurement.getGenerationDurationSecs(),
+				measurement.getState() == null ? "" : measurement.getState(),
+				measurement.getError() == null ? "" : '"' + measurement.getError().replace("\"", "\"\"") + '"');
+	}
+
+	private static String actionName(TestDataCarrier.ActionType actionType) {
+		if (actionType == TestDataCarrier.ActionType.create_static_matrix) return "create";
+		return actionType.name().substring("matrix_".length());
+	}
+
+	private static double median(List<Double> values) {
+		if (values.isEmpty()) return 0d;
+
+		List<Double> sorted = new ArrayList<>(values);
+		Collections.sort(sorted);
+		int middle = sorted.size() / 2;
+		return sorted.size() % 2 == 1 ? sorted.get(middle) : (sorted.get(middle - 1) + sorted.get(middle)) / 2d;
+	}
+}
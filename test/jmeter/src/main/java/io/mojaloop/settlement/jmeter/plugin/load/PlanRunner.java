@@ -0,0 +1,251 @@
+package io.mojaloop.settlement.jmeter.plugin.load;
+
+import io.mojaloop.settlement.jmeter.plugin.metrics.ErrorOutcomes;
+import io.mojaloop.settlement.jmeter.plugin.metrics.RunRecorder;
+import io.mojaloop.settlement.jmeter.plugin.metrics.RunResult;
+import io.mojaloop.settlement.jmeter.plugin.metrics.TimeSeriesRecorder;
+import io.mojaloop.settlement.jmeter.plugin.rest.client.json.testdata.TestDataCarrier;
+import io.mojaloop.settlement.jmeter.plugin.runner.ActionHandlerRegistry;
+import io.mojaloop.settlement.jmeter.plugin.runner.ResponseCapture;
+import io.mojaloop.settlement.jmeter.plugin.runner.SamplerRunner;
+import io.mojaloop.settlement.jmeter.plugin.util.KeyValueArgs;
+import lombok.Getter;
+import lombok.Setter;
+import org.apache.jmeter.samplers.SampleResult;
+import org.slf4j.Logger;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Executes a test data plan without JMeter, one (virtual) thread per user.
+ *
+ * Every user owns a {@code SamplerRunner} and walks the plan from its own offset, so the users
+ * share the plan between them instead of all sending the same first samples. The results are
+ * written as the JMeter CSV result log, the harness result file and optionally the time series,
+ * the same formats as a JMeter run with the {@code StressTestMappingSampler}.
+ */
+public class PlanRunner {
+	/**
+	 * Run configuration, parsed from {@code key=value} arguments.
+	 */
+	@Getter
+	@Setter
+	public static class Config {
+		private int users = 100;
+		private int durationSecs = 60;
+		// Samples per user, 0 to run for the duration:
+		private long loops = 0;
+		private int rampUpSecs = 0;
+		private boolean virtual = true;
+		private String out = "run-results.jtl";
+		private String resultFile = "harness-result.csv";
+		private String timeSeriesFile = "";
+		private int windowSecs = 1;
+
+		/**
+		 * Parses {@code key=value} arguments, unknown keys are rejected.
+		 *
+		 * @param args The arguments.
+		 * @param offset Index of the first {@code key=value} argument.
+		 * @return Config with the defaults for missing keys.
+		 */
+		public static Config parse(String[] args, int offset) {
+			Config returnVal = new Config();
+			KeyValueArgs.parse(args, offset, (key, value) -> {
+				switch (key) {
+					case "users": returnVal.setUsers(Integer.parseInt(value)); break;
+					case "durationSecs": returnVal.setDurationSecs(Integer.parseInt(value)); break;
+					case "loops": returnVal.setLoops(Long.parseLong(value)); break;
+					case "rampUpSecs": returnVal.setRampUpSecs(Integer.parseInt(value)); break;
+					case "threads": returnVal.setVirtual(!"platform".equalsIgnoreCase(value)); break;
+					case "out": returnVal.setOut(value); break;
+					case "resultFile": returnVal.setResultFile(value); break;
+					case "timeSeriesFile": returnVal.setTimeSeriesFile(value); break;
+					case "windowSecs": returnVal.setWindowSecs(Integer.parseInt(value)); break;
+					default: throw new IllegalArgumentException(String.format("Unknown run option '%s'.", key));
+				}
+			});
+			if (returnVal.users < 1) throw new IllegalArgumentException("At least one user is required.");
+			return returnVal;
+		}
+	}
+
+	private final Logger logger;
+	private final List<TestDataCarrier> testData;
+	private final ActionHandlerRegistry registry;
+	private final Config config;
+	private final String url;
+	private final AtomicInteger activeUsers = new AtomicInteger();
+
+	private volatile boolean running;
+
+	/**
+	 * Creates the runner.
+	 *
+	 * @param logger The logger.
+	 * @param testData The plan, shared between all the users.
+	 * @param registry The action handlers, shared between all the users.
+	 * @param config The run configuration.
+	 * @param url The target URL, used for the sample labels.
+	 */
+	public PlanRunner(
+			Logger logger,
+			List<TestDataCarrier> testData,
+			ActionHandlerRegistry registry,
+			Config config,
+			String url
+	) {
+		if (testData == null || testData.isEmpty()) throw new IllegalArgumentException("No test data.");
+
+		this.logger = logger;
+		this.testData = testData;
+		this.registry = registry;
+		this.config = config;
+		this.url = url;
+	}
+
+	/**
+	 * Runs the plan until the duration passed or every user completed its loops.
+	 *
+	 * @return The merged result of all the users.
+	 * @throws InterruptedException When interrupted while waiting for the users.
+	 */
+	public RunResult run() throws InterruptedException {
+		boolean virtual = this.config.isVirtual() && VirtualThreads.isAvailable();
+		if (this.config.isVirtual() && !virtual) {
+			this.logger.warn("Virtual threads not available on Java {}, using platform threads.",
+					System.getProperty("java.version"));
+		}
+		ThreadFactory threadFactory = VirtualThreads.factory("user-", virtual);
+
+		RunRecorder.reset();
+		RunRecorder.enable();
+		ErrorOutcomes.reset();
+		if (!this.config.getTimeSeriesFile().isEmpty()) {
+			TimeSeriesRecorder.startOnce(this.logger, new File(this.config.getTimeSeriesFile()), this.config.getWindowSecs());
+		}
+		ResultLogWriter resultLog = this.config.getOut().isEmpty() ? null :
+				new ResultLogWriter(this.logger, new File(this.config.getOut()));
+
+		String[] labels = new String[TestDataCarrier.ActionType.values().length];
+		for (TestDataCarrier.ActionType actionType : TestDataCarrier.ActionType.values()) {
+			labels[actionType.ordinal()] = String.format("[%s]:[%s]", this.url, actionType.name());
+		}
+
+		this.logger.info("Running {} samples with {} {} users for {}s (ramp-up {}s).",
+				this.testData.size(), this.config.getUsers(), virtual ? "virtual" : "platform",
+				this.config.getDurationSecs(), this.config.getRampUpSecs());
+		this.running = true;
+		long startNanos = System.nanoTime();
+		List<Thread> users = new ArrayList<>(this.config.getUsers());
+		try {
+			for (int index = 0; index < this.config.getUsers(); index++) {
+				Thread user = threadFactory.newThread(new User(index, startNanos, labels, resultLog));
+				this.activeUsers.incrementAndGet();
+				user.start();
+				users.add(user);
+			}
+
+			long deadlineNanos = startNanos + TimeUnit.SECONDS.toNanos(this.config.getDurationSecs());
+			while (this.activeUsers.get() > 0 && System.nanoTime() < deadlineNanos) {
+				Thread.sleep(Math.min(100L, Math.max(1L, TimeUnit.NANOSECONDS.toMillis(deadlineNanos - System.nanoTime()))));
+			}
+		} finally {
+			this.running = false;
+			for (Thread user : users) user.join();
+			if (resultLog != null) resultLog.close();
+		}
+
+		RunResult returnVal = RunRecorder.snapshot();
+		RunRecorder.reset();
+		if (!this.config.getResultFile().isEmpty()) returnVal.write(new File(this.config.getResultFile()));
+		TimeSeriesRecorder.stopRunning();
+		return returnVal;
+	}
+
+	/**
+	 * Renders the per-action summary of a run.
+	 *
+	 * @param result The run result.
+	 * @return Summary text.
+	 */
+	public static String summary(RunResult result) {
+		StringBuilder returnVal = new StringBuilder();
+		returnVal.append(String.format(Locale.ROOT, "%-32s %10s %8s %10s %10s %10s %10s%n",
+				"action", "samples", "errors", "rate/s", "p50-ms", "p99-ms", "max-ms"));
+		for (RunResult.ActionStats stats : result.getActions().values()) {
+			returnVal.append(String.format(Locale.ROOT, "%-32s %10d %8d %10.1f %10.3f %10.3f %10.3f%n",
+					stats.getAction(), stats.getCount(), stats.getErrors(), result.getThroughput(stats.getAction()),
+					stats.getHistogram().getPercentileMillis(50), stats.getHistogram().getPercentileMillis(99),
+					stats.getHistogram().getMaxMicros() / 1000d));
+		}
+		return returnVal.toString();
+	}
+
+	private final class User implements Runnable {
+		private final int index;
+		private final long startNanos;
+		private final String[] labels;
+		private final ResultLogWriter resultLog;
+
+		private User(int index, long startNanos, String[] labels, ResultLogWriter resultLog) {
+			this.index = index;
+			this.startNanos = startNanos;
+			this.labels = labels;
+			this.resultLog = resultLog;
+		}
+
+		@Override
+		public void run() {
+			try {
+				this.rampUp();
+				SamplerRunner runner = new SamplerRunner(PlanRunner.this.logger, PlanRunner.this.registry,
+						ResponseCapture.parse(ResponseCapture.NONE));
+				int size = PlanRunner.this.testData.size();
+				int dataIndex = (int) ((long) this.index * size / PlanRunner.this.config.getUsers());
+				String threadName = Thread.currentThread().getName();
+				long loops = PlanRunner.this.config.getLoops();
+				for (long sampleNo = 0; PlanRunner.this.running && (loops < 1 || sampleNo < loops); sampleNo++) {
+					TestDataCarrier sample = PlanRunner.this.testData.get(dataIndex);
+					SamplerRunner.think(sample);
+					if (!PlanRunner.this.running) break;
+
+					SampleResult result = new SampleResult();
+					result.setSampleLabel(this.labels[sample.getActionType().ordinal()]);
+					result.setThreadName(threadName);
+					result.setDataType(SampleResult.TEXT);
+					runner.execute(sample, result, dataIndex + 1);
+					if (this.resultLog != null) {
+						result.setAllThreads(PlanRunner.this.activeUsers.get());
+						result.setGroupThreads(PlanRunner.this.activeUsers.get());
+						this.resultLog.add(result);
+					}
+
+					dataIndex++;
+					if (dataIndex >= size) dataIndex = 0;
+				}
+			} catch (InterruptedException eParam) {
+				Thread.currentThread().interrupt();
+			} finally {
+				PlanRunner.this.activeUsers.decrementAndGet();
+			}
+		}
+
+		private void rampUp() throws InterruptedException {
+			long rampUpNanos = TimeUnit.SECONDS.toNanos(PlanRunner.this.config.getRampUpSecs());
+			if (rampUpNanos <= 0L) return;
+
+			long startAt = this.startNanos + rampUpNanos * this.index / PlanRunner.this.config.getUsers();
+			long wait;
+			while (PlanRunner.this.running && (wait = startAt - System.nanoTime()) > 0L) {
+				TimeUnit.NANOSECONDS.sleep(Math.min(wait, TimeUnit.MILLISECONDS.toNanos(100)));
+			}
+		}
+	}
+}
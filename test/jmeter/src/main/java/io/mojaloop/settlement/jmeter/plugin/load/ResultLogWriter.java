@@ -0,0 +1,131 @@
+package io.mojaloop.settlement.jmeter.plugin.load;
+
+import com.opencsv.CSVWriter;
+import org.apache.jmeter.samplers.SampleResult;
+import org.slf4j.Logger;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Writes sample results in the JMeter CSV result log format (default fields, with field names),
+ * so headless runs are read by the JMeter HTML report generator and {@code RunResult} alike.
+ *
+ * Users hand their results to a bounded queue, a single writer thread formats and writes them.
+ * A full queue blocks the users, the log never drops samples.
+ */
+public class ResultLogWriter implements AutoCloseable {
+	public static final String[] HEADER = {
+			"timeStamp", "elapsed", "label", "responseCode", "responseMessage", "threadName", "dataType", "success",
+			"failureMessage", "bytes", "sentBytes", "grpThreads", "allThreads", "URL", "Latency", "IdleTime", "Connect"
+	};
+
+	private static final int QUEUE_CAPACITY = 64 * 1024;
+	private static final int DRAIN_BATCH = 1024;
+
+	private final Logger logger;
+	private final File logFile;
+	private final BlockingQueue<SampleResult> queue = new ArrayBlockingQueue<>(QUEUE_CAPACITY);
+	private final CSVWriter writer;
+	private final Thread writerThread;
+	private volatile boolean running = true;
+
+	/**
+	 * Opens {@code logFile} and starts the writer thread.
+	 *
+	 * @param logger The logger.
+	 * @param logFile The result log.
+	 */
+	public ResultLogWriter(Logger logger, File logFile) {
+		this.logger = logger;
+		this.logFile = logFile;
+		try {
+			this.writer = new CSVWriter(new BufferedWriter(new OutputStreamWriter(
+					new FileOutputStream(logFile, false), StandardCharsets.UTF_8), 64 * 1024));
+		} catch (IOException ioErr) {
+			throw new IllegalStateException(String.format(
+					"Unable to write to '%s'. %s.",
+					logFile.getAbsolutePath(), ioErr.getMessage()), ioErr);
+		}
+		this.writer.writeNext(HEADER, false);
+		this.writerThread = new Thread(this::drain, "result-log-writer");
+		this.writerThread.setDaemon(true);
+		this.writerThread.start();
+	}
+
+	/**
+	 * Queues a completed sample for writing.
+	 *
+	 * @param result The sample result.
+	 */
+	public void add(SampleResult result) {
+		try {
+			this.queue.put(result);
+		} catch (InterruptedException eParam) {
+			Thread.currentThread().interrupt();
+		}
+	}
+
+	private void drain() {
+		List<SampleResult> batch = new ArrayList<>(DRAIN_BATCH);
+		while (this.running || !this.queue.isEmpty()) {
+			try {
+				SampleResult first = this.queue.poll(100L, TimeUnit.MILLISECONDS);
+				if (first == null) continue;
+
+				batch.add(first);
+				this.queue.drainTo(batch, DRAIN_BATCH - 1);
+				for (SampleResult result : batch) {
+					this.writer.writeNext(toRow(result), false);
+					for (SampleResult subResult : result.getSubResults()) this.writer.writeNext(toRow(subResult), false);
+				}
+				batch.clear();
+			} catch (InterruptedException eParam) {
+				Thread.currentThread().interrupt();
+				return;
+			}
+		}
+	}
+
+	private static String[] toRow(SampleResult result) {
+		return new String[] {
+				Long.toString(result.getTimeStamp()),
+				Long.toString(result.getTime()),
+				result.getSampleLabel(),
+				result.getResponseCode(),
+				result.getResponseMessage(),
+				result.getThreadName(),
+				result.getDataType(),
+				Boolean.toString(result.isSuccessful()),
+				"",
+				Long.toString(result.getBytesAsLong()),
+				Long.toString(result.getSentBytes()),
+				Integer.toString(result.getGroupThreads()),
+				Integer.toString(result.getAllThreads()),
+				result.getUrlAsString(),
+				Long.toString(result.getLatency()),
+				Long.toString(result.getIdleTime()),
+				Long.toString(result.getConnectTime())
+		};
+	}
+
+	@Override
+	public void close() {
+		this.running = false;
+		try {
+			this.writerThread.join();
+		} catch (InterruptedException eParam) {
+			Thread.currentThread().interrupt();
+		}
+		try {
+			this.writer.close();
+		} catch (IOException ioErr) {
+			this.logger.warn("Unable to close '{}'. {}", this.logFile, ioErr.getMessage());
+		}
+	}
+}
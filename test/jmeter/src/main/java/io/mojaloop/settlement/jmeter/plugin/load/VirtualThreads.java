@@ -0,0 +1,68 @@
+package io.mojaloop.settlement.jmeter.plugin.load;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Thread factories for (virtual) users.
+ *
+ * The harness is compiled for Java 8, so virtual threads ({@code Thread.ofVirtual()}, Java 21) are
+ * created via reflection. When not available, platform threads with a small stack are used instead.
+ */
+public final class VirtualThreads {
+	/**
+	 * Stack size of the platform threads of the fallback, users only hold a few frames of client code.
+	 */
+	public static final long PLATFORM_STACK_BYTES = 256L * 1024L;
+
+	private static final ThreadFactory VIRTUAL = virtualFactory();
+
+	private VirtualThreads() {
+	}
+
+	/**
+	 * @return {@code true} when the JVM supports virtual threads.
+	 */
+	public static boolean isAvailable() {
+		return VIRTUAL != null;
+	}
+
+	/**
+	 * Creates a factory for user threads.
+	 *
+	 * @param namePrefix Prefix of the thread names.
+	 * @param preferVirtual Use virtual threads when available.
+	 * @return The factory, platform daemon threads when virtual threads are not available or not preferred.
+	 */
+	public static ThreadFactory factory(String namePrefix, boolean preferVirtual) {
+		AtomicInteger counter = new AtomicInteger();
+		if (preferVirtual && VIRTUAL != null) {
+			return runnable -> {
+				Thread thread = VIRTUAL.newThread(runnable);
+				thread.setName(namePrefix + counter.getAndIncrement());
+				return thread;
+			};
+		}
+		return runnable -> {
+			Thread thread = new Thread(null, runnable, namePrefix + counter.getAndIncrement(), PLATFORM_STACK_BYTES);
+			thread.setDaemon(true);
+			return thread;
+		};
+	}
+
+	private static ThreadFactory virtualFactory() {
+		try {
+			Object builder = Thread.class.getMethod("ofVirtual").invoke(null);
+			// Lookup via the public interface, the builder implementation is not accessible:
+			Method factory = Class.forName("java.lang.Thread$Builder").getMethod("factory");
+			return (ThreadFactory) factory.invoke(builder);
+		} catch (NoSuchMethodException | ClassNotFoundException | IllegalAccessException except) {
+			return null;
+		} catch (InvocationTargetException except) {
+			// Preview feature not enabled (Java 19/20):
+			return null;
+		}
+	}
+}
@@ -0,0 +1,221 @@
+package io.mojaloop.settlement.jmeter.plugin.metrics;
+
+import io.mojaloop.settlement.jmeter.plugin.exception.FailedResponseCodeException;
+import io.mojaloop.settlement.jmeter.plugin.rest.client.RESTClientException;
+import io.mojaloop.settlement.jmeter.plugin.rest.client.json.Error;
+import io.mojaloop.settlement.jmeter.plugin.rest.client.json.testdata.TestDataCarrier;
+import org.json.JSONException;
+import org.json.JSONObject;
+
+import java.net.HttpURLConnection;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * JVM-wide taxonomy of the failed samples, counted per {@code ActionType}, {@code RESTClientException.ErrorCode},
+ * HTTP status and error class.
+ *
+ * The error class of a server error is taken from the response body: a class name such as
+ * {@code CannotCloseSettlementMatrixError} when the server reports one, otherwise the error message
+ * with ids and numbers masked. Client errors (e.g. a refused connection) are classed by their root cause.
+ * Distinct error classes are capped at {@link #MAX_ERROR_CLASSES}, so an error storm can not grow the series.
+ *
+ * Counters are {@code LongAdder}s in a {@code ConcurrentHashMap}, incrementing an existing outcome takes no lock.
+ * They are published by the {@code PrometheusEndpoint} and reported when the test ends.
+ */
+public final class ErrorOutcomes {
+	public static final String CLASS_OTHER = "OTHER";
+	public static final String CLASS_EMPTY = "EMPTY";
+	public static final int MAX_ERROR_CLASSES = 64;
+	public static final int MAX_ERROR_CLASS_LENGTH = 80;
+
+	private static final Pattern CLASS_NAME = Pattern.compile("\\b[A-Z][A-Za-z0-9]*(Error|Exception)\\b");
+	private static final Pattern VARIABLE = Pattern.compile(
+			"[0-9a-fA-F]{8}-[0-9a-fA-F]{4}-[0-9a-fA-F]{4}-[0-9a-fA-F]{4}-[0-9a-fA-F]{12}|\\d+");
+	private static final String[] MESSAGE_FIELDS = {"name", "error", "message", "msg"};
+
+	private static final ConcurrentMap<OutcomeKey, LongAdder> OUTCOMES = new ConcurrentHashMap<>();
+	private static final Set<String> ERROR_CLASSES = ConcurrentHashMap.newKeySet();
+
+	private ErrorOutcomes() {
+	}
+
+	/**
+	 * Key of the outcome counter.
+	 */
+	public static final class OutcomeKey {
+		private final TestDataCarrier.ActionType actionType;
+		private final String errorCode;
+		private final int httpStatus;
+		private final String errorClass;
+
+		OutcomeKey(TestDataCarrier.ActionType actionType, String errorCode, int httpStatus, String errorClass) {
+			this.actionType = actionType;
+			this.errorCode = errorCode;
+			this.httpStatus = httpStatus;
+			this.errorClass = errorClass;
+		}
+
+		public TestDataCarrier.ActionType getActionType() {
+			return this.actionType;
+		}
+
+		public String getErrorCode() {
+			return this.errorCode;
+		}
+
+		/**
+		 * @return The HTTP status, {@code 0} when no response was received.
+		 */
+		public int getHttpStatus() {
+			return this.httpStatus;
+		}
+
+		public String getErrorClass() {
+			return this.errorClass;
+		}
+
+		@Override
+		public boolean equals(Object other) {
+			if (!(other instanceof OutcomeKey)) return false;
+			OutcomeKey casted = (OutcomeKey) other;
+			return this.actionType == casted.actionType && this.httpStatus == casted.httpStatus &&
+					this.errorCode.equals(casted.errorCode) && this.errorClass.equals(casted.errorClass);
+		}
+
+		@Override
+		public int hashCode() {
+			int returnVal = this.actionType.hashCode();
+			returnVal = 31 * returnVal + this.errorCode.hashCode();
+			returnVal = 31 * returnVal + this.httpStatus;
+			return 31 * returnVal + this.errorClass.hashCode();
+		}
+	}
+
+	/**
+	 * Records a failed sample.
+	 *
+	 * @param actionType The sampled action.
+	 * @param error The error the sample failed with.
+	 */
+	public static void record(TestDataCarrier.ActionType actionType, Throwable error) {
+		OutcomeKey key = new OutcomeKey(actionType, HarnessMetrics.errorCode(error), httpStatus(error), errorClass(error));
+		LongAdder counter = OUTCOMES.get(key);
+		if (counter == null) counter = OUTCOMES.computeIfAbsent(key, ignored -> new LongAdder());
+		counter.increment();
+	}
+
+	private static int httpStatus(Throwable error) {
+		if (error instanceof RESTClientException) return ((RESTClientException) error).getHttpStatus();
+		// The exchange succeeded, the response reported the failure:
+		if (error instanceof FailedResponseCodeException) return HttpURLConnection.HTTP_OK;
+		return 0;
+	}
+
+	private static String errorClass(Throwable error) {
+		if (error instanceof RESTClientException && ((RESTClientException) error).getServerError() != null) {
+			return errorClassOf(((RESTClientException) error).getServerError());
+		}
+		if (error instanceof FailedResponseCodeException && ((FailedResponseCodeException) error).getJsonObject() != null) {
+			return errorClassOf(((FailedResponseCodeException) error).getJsonObject().toString());
+		}
+		Throwable rootCause = error;
+		while (rootCause.getCause() != null && rootCause.getCause() != rootCause) rootCause = rootCause.getCause();
+		return capped(rootCause.getClass().getSimpleName());
+	}
+
+	/**
+	 * Classes a server error body.
+	 *
+	 * @param serverError The response body, an {@code errorInformation} error, a {@code {"message": ...}} object or text.
+	 * @return The class name in the error, or its masked message.
+	 */
+	public static String errorClassOf(String serverError) {
+		String message = serverError == null ? "" : serverError.trim();
+		if (message.startsWith("{")) {
+			try {
+				message = messageOf(new JSONObject(message));
+			} catch (JSONException except) {
+				// Not JSON, classed as text.
+			}
+		}
+		if (message.isEmpty()) return CLASS_EMPTY;
+
+		Matcher className = CLASS_NAME.matcher(message);
+		if (className.find()) return capped(className.group());
+
+		String masked = maskVariables(message).replaceAll("\\s+", " ").trim();
+		if (masked.length() > MAX_ERROR_CLASS_LENGTH) masked = masked.substring(0, MAX_ERROR_CLASS_LENGTH);
+		return capped(masked);
+	}
+
+	/**
+	 * Masks ids and numbers with {@code '#'}, so messages of the same cause compare equal.
+	 *
+	 * @param message The message.
+	 * @return The masked message.
+	 */
+	public static String maskVariables(String message) {
+		return VARIABLE.matcher(message).replaceAll("#");
+	}
+
+	private static String messageOf(JSONObject body) {
+		JSONObject errorInfo = body.optJSONObject(Error.JSONMapping.ERROR_INFO);
+		if (errorInfo != null && !errorInfo.optString(Error.JSONMapping.ERROR_DESC).isEmpty()) {
+			return errorInfo.optString(Error.JSONMapping.ERROR_DESC);
+		}
+		for (String field : MESSAGE_FIELDS) {
+			String value = body.optString(field);
+			if (!value.isEmpty()) return value;
+		}
+		return body.toString();
+	}
+
+	private static String capped(String errorClass) {
+		if (ERROR_CLASSES.contains(errorClass)) return errorClass;
+		// Racing threads may briefly exceed the cap, which only bounds the series:
+		if (ERROR_CLASSES.size() >= MAX_ERROR_CLASSES) return CLASS_OTHER;
+		ERROR_CLASSES.add(errorClass);
+		return errorClass;
+	}
+
+	public static Map<OutcomeKey, Long> outcomes() {
+		Map<OutcomeKey, Long> returnVal = new HashMap<>();
+		OUTCOMES.forEach((key, count) -> returnVal.put(key, count.sum()));
+		return returnVal;
+	}
+
+	/**
+	 * Text report of the failed samples, the most frequent outcome first.
+	 *
+	 * @return Report with one line per outcome.
+	 */
+	public static String report() {
+		List<Map.Entry<OutcomeKey, Long>> sorted = new ArrayList<>(outcomes().entrySet());
+		sorted.sort((first, second) -> Long.compare(second.getValue(), first.getValue()));
+
+		StringBuilder returnVal = new StringBuilder("Harness errors per action, error code, HTTP status and error class:");
+		if (sorted.isEmpty()) return returnVal.append(" none").toString();
+		for (Map.Entry<OutcomeKey, Long> outcome : sorted) {
+			OutcomeKey key = outcome.getKey();
+			returnVal.append(String.format("%n  %-32s %-16s %4s %10d  %s",
+					key.getActionType(), key.getErrorCode(),
+					key.getHttpStatus() > 0 ? Integer.toString(key.getHttpStatus()) : "-",
+					outcome.getValue(), key.getErrorClass()));
+		}
+		return returnVal.toString();
+	}
+
+	public static void reset() {
+		OUTCOMES.clear();
+		ERROR_CLASSES.clear();
+	}
+}
@@ -0,0 +1,208 @@
+package io.mojaloop.settlement.jmeter.plugin.metrics;
+
+import io.mojaloop.settlement.jmeter.plugin.exception.FailedResponseCodeException;
+import io.mojaloop.settlement.jmeter.plugin.rest.client.RESTClientException;
+import io.mojaloop.settlement.jmeter.plugin.rest.client.json.testdata.TestDataCarrier;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * JVM-wide live metrics of the harness per {@code ActionType}.
+ *
+ * Counters are updated by {@code SamplerRunner#execute} for every sample and read
+ * by the {@code PrometheusEndpoint} while the test is running.
+ * Samples are only counted once enabled, by the {@code PrometheusEndpoint} or the
+ * {@code ServiceMetricsScraper}, so a run without either does not pay for the counters.
+ */
+public final class HarnessMetrics {
+	/**
+	 * Upper bounds (in seconds) of the latency histogram buckets.
+	 */
+	public static final double[] LATENCY_BUCKETS = {
+			0.001, 0.0025, 0.005, 0.01, 0.025, 0.05, 0.1, 0.25, 0.5, 1.0, 2.5, 5.0, 10.0
+	};
+	public static final String ERROR_FAILED_RESPONSE = "FAILED_RESPONSE";
+	public static final String ERROR_EXCEPTION = "EXCEPTION";
+
+	private static final TestDataCarrier.ActionType[] ACTION_TYPES = TestDataCarrier.ActionType.values();
+	private static final long[] BUCKET_NANOS = bucketNanos();
+	private static final Map<Integer, String> ERROR_CODE_NAMES = errorCodeNames();
+
+	private static final LongAdder[] REQUESTS = newAdders(ACTION_TYPES.length);
+	private static final LongAdder[] IN_FLIGHT = newAdders(ACTION_TYPES.length);
+	private static final LongAdder[] LATENCY_SUM_NANOS = newAdders(ACTION_TYPES.length);
+	private static final LongAdder[][] LATENCY_BUCKET_COUNT = newBuckets();
+	private static final ConcurrentMap<ErrorKey, LongAdder> ERRORS = new ConcurrentHashMap<>();
+
+	private static volatile boolean enabled = false;
+
+	private HarnessMetrics() {
+	}
+
+	/**
+	 * Key of the error counter.
+	 */
+	public static final class ErrorKey {
+		private final TestDataCarrier.ActionType actionType;
+		private final String errorCode;
+
+		ErrorKey(TestDataCarrier.ActionType actionType, String errorCode) {
+			this.actionType = actionType;
+			this.errorCode = errorCode;
+		}
+
+		public TestDataCarrier.ActionType getActionType() {
+			return this.actionType;
+		}
+
+		public String getErrorCode() {
+			return this.errorCode;
+		}
+
+		@Override
+		public boolean equals(Object other) {
+			if (!(other instanceof ErrorKey)) return false;
+			ErrorKey casted = (ErrorKey) other;
+			return this.actionType == casted.actionType && this.errorCode.equals(casted.errorCode);
+		}
+
+		@Override
+		public int hashCode() {
+			return 31 * this.actionType.hashCode() + this.errorCode.hashCode();
+		}
+	}
+
+	private static LongAdder[] newAdders(int size) {
+		LongAdder[] returnVal = new LongAdder[size];
+		for (int index = 0; index < returnVal.length; index++) returnVal[index] = new LongAdder();
+		return returnVal;
+	}
+
+	private static LongAdder[][] newBuckets() {
+		LongAdder[][] returnVal = new LongAdder[ACTION_TYPES.length][];
+		// One extra bucket for +Inf:
+		for (int index = 0; index < returnVal.length; index++) returnVal[index] = newAdders(LATENCY_BUCKETS.length + 1);
+		return returnVal;
+	}
+
+	private static long[] bucketNanos() {
+		long[] returnVal = new long[LATENCY_BUCKETS.length];
+		for (int index = 0; index < returnVal.length; index++) returnVal[index] = (long) (LATENCY_BUCKETS[index] * 1_000_000_000L);
+		return returnVal;
+	}
+
+	private static Map<Integer, String> errorCodeNames() {
+		Map<Integer, String> returnVal = new HashMap<>();
+		for (Field field : RESTClientException.ErrorCode.class.getFields()) {
+			if (!Modifier.isStatic(field.getModifiers()) || field.getType() != int.class) continue;
+			try {
+				returnVal.put(field.getInt(null), field.getName());
+			} catch (IllegalAccessException eParam) {
+				throw new IllegalStateException(eParam.getMessage(), eParam);
+			}
+		}
+		return returnVal;
+	}
+
+	/**
+	 * Label value for the error of a failed sample.
+	 *
+	 * @param error The error, {@code null} when the sample succeeded.
+	 * @return The {@code RESTClientException.ErrorCode} name, or the error category.
+	 */
+	public static String errorCode(Throwable error) {
+		if (error == null) return null;
+		if (error instanceof RESTClientException) {
+			int code = ((RESTClientException) error).getErrorCode();
+			String name = ERROR_CODE_NAMES.get(code);
+			return name == null ? Integer.toString(code) : name;
+		}
+		if (error instanceof FailedResponseCodeException) return ERROR_FAILED_RESPONSE;
+		return ERROR_EXCEPTION;
+	}
+
+	public static void enable() {
+		enabled = true;
+	}
+
+	public static boolean isEnabled() {
+		return enabled;
+	}
+
+	public static void begin(TestDataCarrier.ActionType actionType) {
+		if (!enabled) return;
+
+		IN_FLIGHT[actionType.ordinal()].increment();
+	}
+
+	/**
+	 * Records a completed sample, ignored unless enabled.
+	 *
+	 * @param actionType The sampled action.
+	 * @param latencyNanos Client latency of the sample.
+	 * @param errorCode Error label value, {@code null} when successful.
+	 * @see #errorCode(Throwable)
+	 */
+	public static void end(TestDataCarrier.ActionType actionType, long latencyNanos, String errorCode) {
+		if (!enabled) return;
+
+		int ordinal = actionType.ordinal();
+		IN_FLIGHT[ordinal].decrement();
+		REQUESTS[ordinal].increment();
+		LATENCY_SUM_NANOS[ordinal].add(latencyNanos);
+
+		int bucket = 0;
+		while (bucket < BUCKET_NANOS.length && latencyNanos > BUCKET_NANOS[bucket]) bucket++;
+		LATENCY_BUCKET_COUNT[ordinal][bucket].increment();
+
+		if (errorCode != null) ERRORS.computeIfAbsent(new ErrorKey(actionType, errorCode), key -> new LongAdder()).increment();
+	}
+
+	public static long requests(TestDataCarrier.ActionType actionType) {
+		return REQUESTS[actionType.ordinal()].sum();
+	}
+
+	public static long inFlight(TestDataCarrier.ActionType actionType) {
+		return IN_FLIGHT[actionType.ordinal()].sum();
+	}
+
+	public static long latencySumNanos(TestDataCarrier.ActionType actionType) {
+		return LATENCY_SUM_NANOS[actionType.ordinal()].sum();
+	}
+
+	/**
+	 * Non-cumulative count per latency bucket, the last entry being {@code +Inf}.
+	 *
+	 * @param actionType The action.
+	 * @return Count per bucket.
+	 */
+	public static long[] latencyBuckets(TestDataCarrier.ActionType actionType) {
+		LongAdder[] adders = LATENCY_BUCKET_COUNT[actionType.ordinal()];
+		long[] returnVal = new long[adders.length];
+		for (int index = 0; index < adders.length; index++) returnVal[index] = adders[index].sum();
+		return returnVal;
+	}
+
+	public static Map<ErrorKey, Long> errors() {
+		Map<ErrorKey, Long> returnVal = new HashMap<>();
+		ERRORS.forEach((key, count) -> returnVal.put(key, count.sum()));
+		return returnVal;
+	}
+
+	public static void reset() {
+		enabled = false;
+		for (int index = 0; index < ACTION_TYPES.length; index++) {
+			REQUESTS[index].reset();
+			IN_FLIGHT[index].reset();
+			LATENCY_SUM_NANOS[index].reset();
+			for (LongAdder bucket : LATENCY_BUCKET_COUNT[index]) bucket.reset();
+		}
+		ERRORS.clear();
+	}
+}
@@ -0,0 +1,296 @@
+package io.mojaloop.settlement.jmeter.plugin.metrics;
+
+import io.mojaloop.settlement.jmeter.plugin.rest.client.json.ABaseJSONObject;
+import io.mojaloop.settlement.jmeter.plugin.rest.client.json.codec.JSONCodec;
+import io.mojaloop.settlement.jmeter.plugin.rest.client.json.codec.OrgJSONCodec;
+import io.mojaloop.settlement.jmeter.plugin.rest.client.json.codec.StreamingJSONCodec;
+import io.mojaloop.settlement.jmeter.plugin.rest.client.json.matrix.SettlementMatrix;
+import io.mojaloop.settlement.jmeter.plugin.rest.client.json.testdata.TestDataCarrier;
+import io.mojaloop.settlement.jmeter.plugin.rest.client.json.testdata.TestPlanConfig;
+import io.mojaloop.settlement.jmeter.plugin.util.KeyValueArgs;
+import io.mojaloop.settlement.jmeter.plugin.util.TestDataUtil;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.Setter;
+import org.json.JSONArray;
+import org.json.JSONObject;
+
+import java.io.File;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.UUID;
+import java.util.function.Supplier;
+
+/**
+ * Measures the heap retained by a parsed plan and by parsed matrix responses, per million rows.
+ *
+ * The plan rows are parsed as the sampler loads them, once retaining the source {@code JSONObject}
+ * of every POJO and once dropping it. The matrix responses are decoded with the {@code orgjson} codec
+ * (retaining and dropping the tree) and with the {@code streaming} codec, a row being a batch of the matrix.
+ * The retained heap is the used heap after a full GC with the parsed rows held, less the used heap once they are released.
+ * Run with a fixed heap ({@code -Xms} equal to {@code -Xmx}) for stable numbers.
+ */
+public class HeapFootprintReport {
+	private static final int GC_RUNS = 3;
+	private static final long GC_PAUSE_MS = 100L;
+	private static final double ROWS_PER_REPORT_UNIT = 1_000_000d;
+
+	private final Config config;
+	private final List<Footprint> footprints = new ArrayList<>();
+
+	// Keeps the parsed rows reachable while the heap is measured:
+	private Object held;
+
+	/**
+	 * Report configuration, parsed from {@code key=value} arguments.
+	 */
+	@Getter
+	@Setter
+	public static class Config {
+		private int rows = 100_000;
+		private String plan = "";
+		private int matrices = 10;
+		private int matrixBatches = 10_000;
+
+		/**
+		 * Parses {@code key=value} arguments, unknown keys are rejected.
+		 *
+		 * @param args The arguments.
+		 * @param offset Index of the first {@code key=value} argument.
+		 * @return Config with the defaults for missing keys.
+		 */
+		public static Config parse(String[] args, int offset) {
+			Config returnVal = new Config();
+			KeyValueArgs.parse(args, offset, (key, value) -> {
+				switch (key) {
+					case "rows": returnVal.setRows(Integer.parseInt(value)); break;
+					case "plan": returnVal.setPlan(value); break;
+					case "matrices": returnVal.setMatrices(Integer.parseInt(value)); break;
+					case "matrixBatches": returnVal.setMatrixBatches(Integer.parseInt(value)); break;
+					default: throw new IllegalArgumentException(String.format("Unknown heap footprint option '%s'.", key));
+				}
+			});
+			if (returnVal.rows < 1 && returnVal.plan.isEmpty()) throw new IllegalArgumentException("At least one plan row is required.");
+			if (returnVal.matrices < 0 || returnVal.matrixBatches < 1) {
+				throw new IllegalArgumentException("Matrices may not be negative and need at least one batch.");
+			}
+			return returnVal;
+		}
+	}
+
+	/**
+	 * The heap retained by the rows of a subject, parsed in a mode.
+	 */
+	@Getter
+	@RequiredArgsConstructor
+	public static class Footprint {
+		private final String subject;
+		private final String mode;
+		private final long rows;
+		private final long retainedBytes;
+
+		public double getBytesPerRow() {
+			return this.rows < 1 ? 0d : (double) this.retainedBytes / this.rows;
+		}
+
+		public double getMbPerMillionRows() {
+			return this.getBytesPerRow() * ROWS_PER_REPORT_UNIT / (1024d * 1024d);
+		}
+	}
+
+	public HeapFootprintReport(Config config) {
+		this.config = config;
+	}
+
+	/**
+	 * Measures the plan and the matrix responses, the retain source setting is restored afterwards.
+	 */
+	public void run() {
+		boolean retainSource = ABaseJSONObject.isRetainSource();
+		try {
+			String planJson = this.config.getPlan().isEmpty() ?
+					syntheticPlan(this.config.getRows()) : readPlan(new File(this.config.getPlan()));
+			this.measurePlan(planJson, true);
+			this.measurePlan(planJson, false);
+			planJson = null;
+
+			if (this.config.getMatrices() < 1) return;
+			byte[] matrixJson = matrixResponse(this.config.getMatrixBatches()).toString().getBytes(StandardCharsets.UTF_8);
+			this.measureMatrices(matrixJson, OrgJSONCodec.INSTANCE, true);
+			this.measureMatrices(matrixJson, OrgJSONCodec.INSTANCE, false);
+			this.measureMatrices(matrixJson, StreamingJSONCodec.INSTANCE, false);
+		} finally {
+			ABaseJSONObject.setRetainSource(retainSource);
+		}
+	}
+
+	private void measurePlan(String planJson, boolean retainSource) {
+		ABaseJSONObject.setRetainSource(retainSource);
+		int[] rows = new int[1];
+		long retained = this.retainedBytes(() -> {
+			List<TestDataCarrier> parsed = TestDataUtil.parseTestData(planJson);
+			rows[0] = parsed.size();
+			return parsed;
+		});
+		this.footprints.add(new Footprint("plan", modeOf(OrgJSONCodec.INSTANCE, retainSource), rows[0], retained));
+	}
+
+	private void measureMatrices(byte[] matrixJson, JSONCodec codec, boolean retainSource) {
+		ABaseJSONObject.setRetainSource(retainSource);
+		long retained = this.retainedBytes(() -> {
+			List<SettlementMatrix> parsed = new ArrayList<>();
+			for (int index = 0; index < this.config.getMatrices(); index++) {
+				SettlementMatrix matrix = codec.decode(matrixJson, SettlementMatrix.JSON_TYPE);
+				// The nested collections are decoded on first access:
+				matrix.getBatches();
+				matrix.getBalancesByCurrency();
+				matrix.getBalancesByParticipant();
+				parsed.add(matrix);
+			}
+			return parsed;
+		});
+		long rows = (long) this.config.getMatrices() * this.config.getMatrixBatches();
+		this.footprints.add(new Footprint("matrix", modeOf(codec, retainSource), rows, retained));
+	}
+
+	private static String modeOf(JSONCodec codec, boolean retainSource) {
+		if (codec instanceof StreamingJSONCodec) return codec.getName();
+		return String.format("%s+%s", codec.getName(), retainSource ? "retain" : "drop");
+	}
+
+	/**
+	 * The baseline is taken after releasing the rows rather than before parsing,
+	 * so garbage of an earlier measurement that is still reachable from a stale frame is not counted.
+	 */
+	private long retainedBytes(Supplier<Object> parse) {
+		this.held = parse.get();
+		long withRows = usedHeapAfterGc();
+		this.held = null;
+		return Math.max(0L, withRows - usedHeapAfterGc());
+	}
+
+	private static long usedHeapAfterGc() {
+		MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+		long returnVal = Long.MAX_VALUE;
+		for (int run = 0; run < GC_RUNS; run++) {
+			System.gc();
+			try {
+				Thread.sleep(GC_PAUSE_MS);
+			} catch (InterruptedException except) {
+				Thread.currentThread().interrupt();
+				throw new IllegalStateException("Interrupted while measuring the heap.", except);
+			}
+			returnVal = Math.min(returnVal, memory.getHeapMemoryUsage().getUsed());
+		}
+		return returnVal;
+	}
+
+	private static String readPlan(File plan) {
+		try {
+			return new String(Files.readAllBytes(plan.toPath()), StandardCharsets.UTF_8);
+		} catch (IOException ioErr) {
+			throw new IllegalStateException(String.format(
+					"Unable to read from '%s'. %s.", plan.getAbsolutePath(), ioErr.getMessage()), ioErr);
+		}
+	}
+
+	/**
+	 * Transfer rows as written by {@code gen_test_data}.
+	 */
+	static String syntheticPlan(int rows) {
+		List<String> participants = new ArrayList<>();
+		for (int index = 0; index < 16; index++) participants.add("participant-" + index);
+		TestPlanConfig.SettlementTransfer settleTransfer = new TestPlanConfig.SettlementTransfer(new JSONObject()
+				.put(TestPlanConfig.SettlementTransfer.JSONMapping.MIN_MAX_AMOUNT, new JSONArray().put(1).put(100_000))
+				.put(TestPlanConfig.SettlementTransfer.JSONMapping.CURRENCIES, new JSONArray().put("USD").put("EUR"))
+				.put(TestPlanConfig.SettlementTransfer.JSONMapping.PARTICIPANTS, new JSONArray(participants)));
+
+		StringBuilder returnVal = new StringBuilder("[");
+		for (int index = 0; index < rows; index++) {
+			if (index > 0) returnVal.append(',');
+			returnVal.append(new JSONObject()
+					.put(TestDataCarrier.JSONMapping.ACTION_TYPE, TestDataCarrier.ActionType.transfer.name())
+					.put(TestDataCarrier.JSONMapping.THINK_TIME_MS, 0)
+					.put(TestDataCarrier.JSONMapping.REQUEST, TestDataUtil.randomTransfer(settleTransfer, "DEFAULT").toJsonObject()));
+		}
+		return returnVal.append(']').toString();
+	}
+
+	/**
+	 * A matrix response as returned by {@code GET /matrices/{id}}, including the participant
+	 * balances that are not mapped and skipped by the client.
+	 *
+	 * @param batches Batches in the matrix, every batch adds a currency and participant balance.
+	 * @return The response body.
+	 */
+	public static JSONObject matrixResponse(int batches) {
+		long now = System.currentTimeMillis();
+		JSONArray batchArr = new JSONArray(), byCurrency = new JSONArray(), byParticipant = new JSONArray();
+		for (int index = 0; index < batches; index++) {
+			String currency = String.format("C%02d", index % 100);
+			batchArr.put(new JSONObject()
+					.put("id", String.format("DEFAULT.%s.2024.01.01.00.00.%03d", currency, index))
+					.put("timestamp", now)
+					.put("settlementModel", "DEFAULT")
+					.put("currencyCode", currency)
+					.put("batchName", String.format("DEFAULT.%s.2024.01.01.00.00", currency))
+					.put("batchSequence", index)
+					.put("state", "OPEN")
+					.put("accountExtId", UUID.randomUUID().toString()));
+			byCurrency.put(new JSONObject()
+					.put("currencyCode", currency)
+					.put("debitBalance", Long.toString(index * 1000L))
+					.put("creditBalance", Long.toString(index * 1000L)));
+			byParticipant.put(new JSONObject()
+					.put("participantId", "participant-" + index)
+					.put("currencyCode", currency)
+					.put("state", "OPEN")
+					.put("debitBalance", Long.toString(index * 500L))
+					.put("creditBalance", Long.toString(index * 500L)));
+		}
+		return new JSONObject()
+				.put("id", UUID.randomUUID().toString())
+				.put("createdAt", now)
+				.put("updatedAt", now)
+				.put("dateFrom", now - 3_600_000L)
+				.put("dateTo", now)
+				.put("currencyCodes", new JSONArray().put("USD").put("EUR"))
+				.put("settlementModel", "DEFAULT")
+				.put("batchStatuses", new JSONArray().put("OPEN").put("CLOSED"))
+				.put("batches", batchArr)
+				.put("state", "IDLE")
+				.put("type", "STATIC")
+				.put("generationDurationSecs", 2)
+				.put("balancesByCurrency", byCurrency)
+				.put("balancesByParticipant", byParticipant);
+	}
+
+	public List<Footprint> getFootprints() {
+		return this.footprints;
+	}
+
+	/**
+	 * @return The footprints, every mode compared to the first mode of its subject.
+	 */
+	public String render() {
+		StringBuilder returnVal = new StringBuilder();
+		returnVal.append(String.format("%-8s %-16s %10s %12s %12s %14s %8s%n",
+				"subject", "mode", "rows", "retained_mb", "bytes/row", "mb/1M_rows", "vs_base"));
+		Footprint base = null;
+		for (Footprint footprint : this.footprints) {
+			if (base == null || !base.getSubject().equals(footprint.getSubject())) base = footprint;
+			double ratio = base.getRetainedBytes() < 1 ? 0d : (double) footprint.getRetainedBytes() / base.getRetainedBytes();
+			returnVal.append(String.format(Locale.ROOT, "%-8s %-16s %10d %12.1f %12.1f %14.1f %7.0f%%%n",
+					footprint.getSubject(), footprint.getMode(), footprint.getRows(),
+					footprint.getRetainedBytes() / (1024d * 1024d), footprint.getBytesPerRow(),
+					footprint.getMbPerMillionRows(), ratio * 100d));
+		}
+		return returnVal.toString();
+	}
+}
@@ -0,0 +1,221 @@
+package io.mojaloop.settlement.jmeter.plugin.metrics;
+
+import io.mojaloop.settlement.jmeter.plugin.util.KeyValueArgs;
+import io.mojaloop.settlement.jmeter.plugin.util.id.IdGenerator;
+import io.mojaloop.settlement.jmeter.plugin.util.id.SecureRandomIdGenerator;
+import io.mojaloop.settlement.jmeter.plugin.util.id.ThreadLocalRandomIdGenerator;
+import io.mojaloop.settlement.jmeter.plugin.util.id.TimeOrderedIdGenerator;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.Setter;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the id generators on client throughput and on the write locality of the {@code transferId} index.
+ *
+ * Throughput is the rate at which {@code threads} threads create ids in the canonical form, as sent per sample.
+ * Locality is modelled on the leaf pages of a B-tree index of {@code indexKeys} ids, created earlier by the
+ * same generator, with {@code pageKeys} ids per page. The ids of {@code inserts} transfers arriving at
+ * {@code ratePerSec} are inserted in order, and the distinct leaf pages written per {@code window} inserts
+ * are counted. Random ids land on random pages, time ordered ids append to the right edge of the index.
+ * Splits of interior pages are not modelled, which flatters the random generators.
+ */
+public class IdGeneratorReport {
+	private static final IdGenerator[] GENERATORS = {
+			SecureRandomIdGenerator.INSTANCE, ThreadLocalRandomIdGenerator.INSTANCE, TimeOrderedIdGenerator.INSTANCE
+	};
+
+	private final Config config;
+	private final List<Measurement> measurements = new ArrayList<>();
+
+	/**
+	 * Report configuration, parsed from {@code key=value} arguments.
+	 */
+	@Getter
+	@Setter
+	public static class Config {
+		private int ids = 2_000_000;
+		private int threads = Runtime.getRuntime().availableProcessors();
+		private int indexKeys = 200_000;
+		private int pageKeys = 128;
+		private int inserts = 100_000;
+		private int window = 1_000;
+		private int ratePerSec = 2_000;
+
+		/**
+		 * Parses {@code key=value} arguments, unknown keys are rejected.
+		 *
+		 * @param args The arguments.
+		 * @param offset Index of the first {@code key=value} argument.
+		 * @return Config with the defaults for missing keys.
+		 */
+		public static Config parse(String[] args, int offset) {
+			Config returnVal = new Config();
+			KeyValueArgs.parse(args, offset, (key, value) -> {
+				switch (key) {
+					case "ids": returnVal.setIds(Integer.parseInt(value)); break;
+					case "threads": returnVal.setThreads(Integer.parseInt(value)); break;
+					case "indexKeys": returnVal.setIndexKeys(Integer.parseInt(value)); break;
+					case "pageKeys": returnVal.setPageKeys(Integer.parseInt(value)); break;
+					case "inserts": returnVal.setInserts(Integer.parseInt(value)); break;
+					case "window": returnVal.setWindow(Integer.parseInt(value)); break;
+					case "ratePerSec": returnVal.setRatePerSec(Integer.parseInt(value)); break;
+					default: throw new IllegalArgumentException(String.format("Unknown id generator option '%s'.", key));
+				}
+			});
+			if (returnVal.ids < 1 || returnVal.threads < 1 || returnVal.indexKeys < 1 || returnVal.pageKeys < 1 ||
+					returnVal.inserts < 1 || returnVal.window < 1 || returnVal.ratePerSec < 1) {
+				throw new IllegalArgumentException("All id generator options need to be positive.");
+			}
+			return returnVal;
+		}
+	}
+
+	/**
+	 * Throughput and index locality of a generator.
+	 */
+	@Getter
+	@RequiredArgsConstructor
+	public static class Measurement {
+		private final String generator;
+		private final int threads;
+		private final double idsPerSec;
+		private final double pagesPerWindow;
+		private final double rightEdgePercent;
+	}
+
+	public IdGeneratorReport(Config config) {
+		this.config = config;
+	}
+
+	public void run() {
+		for (IdGenerator generator : GENERATORS) {
+			// First pass warms up the generator:
+			this.throughput(generator);
+			double idsPerSec = this.throughput(generator);
+			double[] locality = this.locality(generator);
+			this.measurements.add(new Measurement(generator.getName(), this.config.getThreads(), idsPerSec, locality[0], locality[1]));
+		}
+	}
+
+	private double throughput(IdGenerator generator) {
+		int threads = this.config.getThreads(), perThread = Math.max(1, this.config.getIds() / threads);
+		CountDownLatch start = new CountDownLatch(1), done = new CountDownLatch(threads);
+		long[] checksums = new long[threads];
+		for (int thread = 0; thread < threads; thread++) {
+			int slot = thread;
+			Thread worker = new Thread(() -> {
+				try {
+					start.await();
+					long checksum = 0L;
+					for (int index = 0; index < perThread; index++) checksum += generator.nextId().hashCode();
+					checksums[slot] = checksum;
+				} catch (InterruptedException except) {
+					Thread.currentThread().interrupt();
+				} finally {
+					done.countDown();
+				}
+			}, "id-generator-" + thread);
+			worker.setDaemon(true);
+			worker.start();
+		}
+		long startNanos = System.nanoTime();
+		start.countDown();
+		try {
+			done.await();
+		} catch (InterruptedException except) {
+			Thread.currentThread().interrupt();
+			throw new IllegalStateException("Interrupted while measuring id throughput.", except);
+		}
+		long elapsedNanos = Math.max(1L, System.nanoTime() - startNanos);
+		return (double) perThread * threads * TimeUnit.SECONDS.toNanos(1) / elapsedNanos;
+	}
+
+	/**
+	 * @return The distinct leaf pages written per window, and the percentage of inserts on the right edge page.
+	 */
+	private double[] locality(IdGenerator generator) {
+		long arrivalStart = System.currentTimeMillis();
+		double msPerId = 1_000d / this.config.getRatePerSec();
+
+		// The index holds the ids of the transfers that arrived before the measured ones:
+		String[] existing = new String[this.config.getIndexKeys()];
+		for (int index = 0; index < existing.length; index++) {
+			existing[index] = this.nextId(generator, arrivalStart - (long) ((existing.length - index) * msPerId));
+		}
+		Arrays.sort(existing);
+		List<String> fences = new ArrayList<>(existing.length / this.config.getPageKeys() + this.config.getInserts());
+		for (int index = 0; index < existing.length; index += this.config.getPageKeys()) fences.add(existing[index]);
+		existing = null;
+
+		Set<Integer> windowPages = new HashSet<>();
+		long windowPageSum = 0L, windows = 0L, rightEdge = 0L;
+		int rightEdgeKeys = 0;
+		for (int insert = 0; insert < this.config.getInserts(); insert++) {
+			String id = this.nextId(generator, arrivalStart + (long) (insert * msPerId));
+			int position = Collections.binarySearch(fences, id);
+			int page = position >= 0 ? position : Math.max(0, -position - 2);
+			if (page == fences.size() - 1) {
+				rightEdge++;
+				// The right edge page splits once full, the new id starts the next page:
+				if (++rightEdgeKeys >= this.config.getPageKeys() && fences.get(page).compareTo(id) < 0) {
+					fences.add(id);
+					rightEdgeKeys = 0;
+				}
+			}
+			windowPages.add(page);
+			if ((insert + 1) % this.config.getWindow() == 0) {
+				windowPageSum += windowPages.size();
+				windows++;
+				windowPages.clear();
+			}
+		}
+		if (!windowPages.isEmpty()) {
+			windowPageSum += windowPages.size();
+			windows++;
+		}
+		return new double[] {
+				(double) windowPageSum / windows,
+				rightEdge * 100d / this.config.getInserts()
+		};
+	}
+
+	private String nextId(IdGenerator generator, long epochMillis) {
+		if (generator instanceof TimeOrderedIdGenerator) return ((TimeOrderedIdGenerator) generator).next(epochMillis).toString();
+		return generator.nextId();
+	}
+
+	public List<Measurement> getMeasurements() {
+		return this.measurements;
+	}
+
+	/**
+	 * @return The measurements, every generator compared to the first.
+	 */
+	public String render() {
+		StringBuilder returnVal = new StringBuilder();
+		returnVal.append(String.format(Locale.ROOT, "index: %d keys, %d keys/page, %d inserts at %d/s, pages per %d inserts%n",
+				this.config.getIndexKeys(), this.config.getPageKeys(), this.config.getInserts(),
+				this.config.getRatePerSec(), this.config.getWindow()));
+		returnVal.append(String.format("%-12s %8s %14s %8s %12s %12s%n",
+				"generator", "threads", "ids/s", "vs_base", "pages/window", "right_edge"));
+		Measurement base = null;
+		for (Measurement measurement : this.measurements) {
+			if (base == null) base = measurement;
+			returnVal.append(String.format(Locale.ROOT, "%-12s %8d %14.0f %7.0f%% %12.1f %11.1f%%%n",
+					measurement.getGenerator(), measurement.getThreads(), measurement.getIdsPerSec(),
+					measurement.getIdsPerSec() * 100d / base.getIdsPerSec(),
+					measurement.getPagesPerWindow(), measurement.getRightEdgePercent()));
+		}
+		return returnVal.toString();
+	}
+}
@@ -0,0 +1,193 @@
+package io.mojaloop.settlement.jmeter.plugin.metrics;
+
+import java.util.Arrays;
+
+/**
+ * Log-linear latency histogram with microsecond resolution and a relative error of at most 1/64 (~1.6%).
+ *
+ * Values below {@code 128us} are recorded exactly, larger values in buckets of 64 per power of two,
+ * so a bucket is at most 1/64 of its lower bound wide.
+ * Histograms are merged by adding bucket counts, so merging is lossless and independent of the
+ * order in which worker (or JVM) histograms are combined.
+ * Instances are not thread-safe, each recording thread owns its own histogram.
+ */
+public final class LatencyHistogram {
+	private static final int SUB_BUCKET_BITS = 7;
+	private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+	private static final int HALF_SUB_BUCKETS = SUB_BUCKETS / 2;
+	private static final int MAX_SHIFT = 33;// ~12 days in us
+	private static final int BUCKETS = SUB_BUCKETS + MAX_SHIFT * HALF_SUB_BUCKETS;
+	public static final long MAX_TRACKABLE_MICROS = bucketUpperMicros(BUCKETS - 1);
+
+	private final long[] counts = new long[BUCKETS];
+	private long count;
+	private long sumMicros;
+	private long minMicros = Long.MAX_VALUE;
+	private long maxMicros;
+
+	static int bucketIndex(long micros) {
+		if (micros < SUB_BUCKETS) return (int) Math.max(0L, micros);
+
+		int magnitude = 63 - Long.numberOfLeadingZeros(micros);
+		int shift = magnitude - (SUB_BUCKET_BITS - 1);
+		if (shift > MAX_SHIFT) return BUCKETS - 1;
+
+		int subBucket = (int) (micros >> shift);
+		return SUB_BUCKETS + (shift - 1) * HALF_SUB_BUCKETS + (subBucket - HALF_SUB_BUCKETS);
+	}
+
+	static long bucketLowerMicros(int index) {
+		if (index < SUB_BUCKETS) return index;
+
+		int offset = index - SUB_BUCKETS;
+		int shift = offset / HALF_SUB_BUCKETS + 1;
+		long subBucket = offset % HALF_SUB_BUCKETS + HALF_SUB_BUCKETS;
+		return subBucket << shift;
+	}
+
+	static long bucketUpperMicros(int index) {
+		if (index < SUB_BUCKETS) return index;
+
+		int shift = (index - SUB_BUCKETS) / HALF_SUB_BUCKETS + 1;
+		return bucketLowerMicros(index) + (1L << shift) - 1;
+	}
+
+	public void recordNanos(long nanos) {
+		this.recordMicros(nanos / 1000L);
+	}
+
+	public void recordMicros(long micros) {
+		long value = Math.max(0L, Math.min(micros, MAX_TRACKABLE_MICROS));
+		this.counts[bucketIndex(value)]++;
+		this.count++;
+		this.sumMicros += value;
+		if (value < this.minMicros) this.minMicros = value;
+		if (value > this.maxMicros) this.maxMicros = value;
+	}
+
+	/**
+	 * Adds all the recorded values of {@code other} to {@code this} histogram.
+	 *
+	 * @param other The histogram to add.
+	 * @return {@code this}
+	 */
+	public LatencyHistogram merge(LatencyHistogram other) {
+		if (other.count == 0L) return this;
+
+		for (int index = 0; index < BUCKETS; index++) this.counts[index] += other.counts[index];
+		this.count += other.count;
+		this.sumMicros += other.sumMicros;
+		this.minMicros = Math.min(this.minMicros, other.minMicros);
+		this.maxMicros = Math.max(this.maxMicros, other.maxMicros);
+		return this;
+	}
+
+	public LatencyHistogram copy() {
+		return new LatencyHistogram().merge(this);
+	}
+
+	public void reset() {
+		Arrays.fill(this.counts, 0L);
+		this.count = 0L;
+		this.sumMicros = 0L;
+		this.minMicros = Long.MAX_VALUE;
+		this.maxMicros = 0L;
+	}
+
+	public long getCount() {
+		return this.count;
+	}
+
+	public long getMinMicros() {
+		return this.count == 0L ? 0L : this.minMicros;
+	}
+
+	public long getMaxMicros() {
+		return this.maxMicros;
+	}
+
+	public double getMeanMicros() {
+		return this.count == 0L ? 0d : this.sumMicros / (double) this.count;
+	}
+
+	/**
+	 * Value at {@code percentile}, reported as the upper bound of the bucket (capped at the max).
+	 *
+	 * @param percentile Percentile between {@code 0} and {@code 100}.
+	 * @return Value in microseconds, {@code 0} when empty.
+	 */
+	public long getPercentileMicros(double percentile) {
+		if (this.count == 0L) return 0L;
+
+		long rank = (long) Math.ceil((Math.max(0d, Math.min(100d, percentile)) / 100d) * this.count);
+		if (rank < 1L) rank = 1L;
+		long seen = 0L;
+		for (int index = 0; index < BUCKETS; index++) {
+			seen += this.counts[index];
+			if (seen >= rank) return Math.min(bucketUpperMicros(index), this.maxMicros);
+		}
+		return this.maxMicros;
+	}
+
+	public double getPercentileMillis(double percentile) {
+		return this.getPercentileMicros(percentile) / 1000d;
+	}
+
+	/**
+	 * Number of values recorded in the buckets above the bucket of {@code micros}.
+	 *
+	 * @param micros Value in microseconds.
+	 * @return Count of values that are certainly larger than {@code micros}.
+	 */
+	public long getCountAbove(long micros) {
+		long returnVal = 0L;
+		for (int index = bucketIndex(Math.max(0L, Math.min(micros, MAX_TRACKABLE_MICROS))) + 1; index < BUCKETS; index++) {
+			returnVal += this.counts[index];
+		}
+		return returnVal;
+	}
+
+	/**
+	 * Compact text form, {@code count;sum;min;max;index:count,index:count...} with only non-empty buckets.
+	 *
+	 * @return Encoded histogram.
+	 * @see #decode(String)
+	 */
+	public String encode() {
+		StringBuilder returnVal = new StringBuilder(64);
+		returnVal.append(this.count).append(';').append(this.sumMicros).append(';')
+				.append(this.getMinMicros()).append(';').append(this.maxMicros).append(';');
+		boolean first = true;
+		for (int index = 0; index < BUCKETS; index++) {
+			if (this.counts[index] == 0L) continue;
+			if (!first) returnVal.append(',');
+			returnVal.append(index).append(':').append(this.counts[index]);
+			first = false;
+		}
+		return returnVal.toString();
+	}
+
+	/**
+	 * Reads a histogram written by {@link #encode()}.
+	 *
+	 * @param encoded Encoded histogram.
+	 * @return The histogram.
+	 */
+	public static LatencyHistogram decode(String encoded) {
+		LatencyHistogram returnVal = new LatencyHistogram();
+		String[] parts = encoded.trim().split(";", -1);
+		if (parts.length != 5) throw new IllegalArgumentException(String.format("Invalid histogram '%s'.", encoded));
+
+		returnVal.count = Long.parseLong(parts[0]);
+		returnVal.sumMicros = Long.parseLong(parts[1]);
+		returnVal.minMicros = returnVal.count == 0L ? Long.MAX_VALUE : Long.parseLong(parts[2]);
+		returnVal.maxMicros = Long.parseLong(parts[3]);
+		if (!parts[4].isEmpty()) {
+			for (String bucket : parts[4].split(",")) {
+				int separator = bucket.indexOf(':');
+				returnVal.counts[Integer.parseInt(bucket.substring(0, separator))] = Long.parseLong(bucket.substring(separator + 1));
+			}
+		}
+		return returnVal;
+	}
+}
@@ -0,0 +1,231 @@
+package io.mojaloop.settlement.jmeter.plugin.metrics;
+
+import com.opencsv.CSVReader;
+import com.opencsv.exceptions.CsvValidationException;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.text.SimpleDateFormat;
+import java.util.*;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Aligns harness latency with the service histograms per time window.
+ *
+ * Reads the series file written by {@code ServiceMetricsScraper}. For every window the
+ * increase of each {@code _count} / {@code _sum} pair gives the number of observations
+ * and the average latency within the window, for the harness and for each service alike.
+ * Where the series has {@code _bucket}s, p50 and p99 are estimated from the bucket increases
+ * the way Prometheus {@code histogram_quantile} does, by linear interpolation within the bucket.
+ */
+public class MergedMetricsReport {
+	private static final String SUFFIX_SUM = "_sum";
+	private static final String SUFFIX_COUNT = "_count";
+	private static final String SUFFIX_BUCKET = "_bucket";
+	private static final Pattern LABEL_LE = Pattern.compile("(^|,)le=\"([^\"]*)\"");
+
+	private final NavigableMap<String, NavigableMap<Long, Sample>> series = new TreeMap<>();
+
+	/**
+	 * Values of a single series at one scrape, {@code NaN} when not scraped.
+	 */
+	private static final class Sample {
+		private double sum = Double.NaN;
+		private double count = Double.NaN;
+		// Cumulative count per upper bound:
+		private final NavigableMap<Double, Double> buckets = new TreeMap<>();
+	}
+
+	/**
+	 * Loads the series from {@code seriesFile}.
+	 *
+	 * @param seriesFile CSV written by the {@code ServiceMetricsScraper}.
+	 * @param filter Only series containing this text (or harness series) are loaded, {@code null} for all.
+	 */
+	public MergedMetricsReport(File seriesFile, String filter) {
+		try (CSVReader reader = new CSVReader(new InputStreamReader(
+				new FileInputStream(seriesFile), StandardCharsets.UTF_8))) {
+			String[] row = reader.readNext();// header
+			while ((row = reader.readNext()) != null) {
+				if (row.length < ServiceMetricsScraper.HEADER.length) continue;
+				this.add(row, filter);
+			}
+		} catch (IOException | CsvValidationException except) {
+			throw new IllegalStateException(String.format(
+					"Unable to read from '%s'. %s.",
+					seriesFile.getAbsolutePath(), except.getMessage()), except);
+		}
+	}
+
+	private void add(String[] row, String filter) {
+		String metric = row[2];
+		String labels = row[3];
+		String base;
+		double le = Double.NaN;
+		if (metric.endsWith(SUFFIX_SUM)) {
+			base = metric.substring(0, metric.length() - SUFFIX_SUM.length());
+		} else if (metric.endsWith(SUFFIX_COUNT)) {
+			base = metric.substring(0, metric.length() - SUFFIX_COUNT.length());
+		} else if (metric.endsWith(SUFFIX_BUCKET)) {
+			base = metric.substring(0, metric.length() - SUFFIX_BUCKET.length());
+			Matcher matcher = LABEL_LE.matcher(labels);
+			if (!matcher.find()) return;
+
+			le = parseValue(matcher.group(2));
+			if (Double.isNaN(le)) return;
+
+			labels = new StringBuilder(labels).delete(matcher.start(), matcher.end()).toString();
+			if (labels.startsWith(",")) labels = labels.substring(1);
+		} else return;
+
+		String source = row[1];
+		String key = String.format("%s|%s{%s}", source, base, labels);
+		boolean harness = ServiceMetricsScraper.SOURCE_HARNESS.equals(source);
+		if (!harness && filter != null && !filter.isEmpty() && !key.contains(filter)) return;
+
+		double value = parseValue(row[4]);
+		if (Double.isNaN(value)) return;
+
+		long timestamp = Long.parseLong(row[0]);
+		Sample sample = this.series.computeIfAbsent(key, itm -> new TreeMap<>())
+				.computeIfAbsent(timestamp, itm -> new Sample());
+		if (!Double.isNaN(le)) sample.buckets.put(le, value);
+		else if (metric.endsWith(SUFFIX_SUM)) sample.sum = value;
+		else sample.count = value;
+	}
+
+	private static double parseValue(String value) {
+		if ("+Inf".equals(value)) return Double.POSITIVE_INFINITY;
+		try {
+			return Double.parseDouble(value);
+		} catch (NumberFormatException nfe) {
+			return Double.NaN;
+		}
+	}
+
+	/**
+	 * Renders the report.
+	 *
+	 * @param windowSecs Window size in seconds.
+	 * @return Report text with a block per window.
+	 */
+	public String render(int windowSecs) {
+		long windowMs = Math.max(1, windowSecs) * 1000L;
+		long first = Long.MAX_VALUE, last = Long.MIN_VALUE;
+		for (NavigableMap<Long, Sample> samples : this.series.values()) {
+			first = Math.min(first, samples.firstKey());
+			last = Math.max(last, samples.lastKey());
+		}
+
+		StringBuilder returnVal = new StringBuilder();
+		returnVal.append(String.format("Harness vs. service latency per %ds window.", windowSecs));
+		if (this.series.isEmpty()) return returnVal.append(" No series.").toString();
+
+		SimpleDateFormat timeFormat = new SimpleDateFormat("yyyy-MM-dd HH:mm:ss");
+		returnVal.append(String.format("%n%-19s  %-20s %-90s %10s %12s %12s %12s",
+				"window", "source", "series", "count", "avg-ms", "p50-ms", "p99-ms"));
+		for (long windowStart = first; windowStart < last; windowStart += windowMs) {
+			long windowEnd = Math.min(windowStart + windowMs, last);
+			boolean firstRow = true;
+			for (Map.Entry<String, NavigableMap<Long, Sample>> entry : this.series.entrySet()) {
+				Sample delta = delta(entry.getValue(), windowStart, windowEnd);
+				if (delta == null || delta.count <= 0) continue;
+
+				int separator = entry.getKey().indexOf('|');
+				returnVal.append(String.format("%n%-19s  %-20s %-90s %10.0f %12.3f %12s %12s",
+						firstRow ? timeFormat.format(new Date(windowStart)) : "",
+						entry.getKey().substring(0, separator),
+						entry.getKey().substring(separator + 1),
+						delta.count, (delta.sum / delta.count) * 1000.0,
+						formatMillis(quantile(0.50, delta.buckets)),
+						formatMillis(quantile(0.99, delta.buckets))));
+				firstRow = false;
+			}
+		}
+		return returnVal.toString();
+	}
+
+	/**
+	 * Increase of sum, count and buckets between the last samples at or before {@code from} and {@code to}.
+	 * A series starting within the window is measured from its first sample.
+	 * Counter resets (service restarts) are treated as starting from zero.
+	 */
+	private static Sample delta(NavigableMap<Long, Sample> samples, long from, long to) {
+		Map.Entry<Long, Sample> end = samples.floorEntry(to);
+		if (end == null || end.getKey() <= from) return null;
+
+		Map.Entry<Long, Sample> start = samples.floorEntry(from);
+		if (start == null) start = samples.firstEntry();
+		if (start.getKey() >= end.getKey()) return null;
+
+		Sample startVal = start.getValue(), endVal = end.getValue();
+		if (Double.isNaN(endVal.sum) || Double.isNaN(endVal.count)) return null;
+
+		Sample returnVal = new Sample();
+		double startCount = Double.isNaN(startVal.count) ? 0d : startVal.count;
+		boolean reset = endVal.count < startCount;
+		double startSum = reset || Double.isNaN(startVal.sum) ? 0d : startVal.sum;
+		returnVal.sum = endVal.sum - startSum;
+		returnVal.count = endVal.count - (reset ? 0d : startCount);
+		for (Map.Entry<Double, Double> bucket : endVal.buckets.entrySet()) {
+			Double startBucket = reset ? null : startVal.buckets.get(bucket.getKey());
+			returnVal.buckets.put(bucket.getKey(), bucket.getValue() - (startBucket == null ? 0d : startBucket));
+		}
+		return returnVal;
+	}
+
+	/**
+	 * Estimates the quantile from cumulative bucket counts, like Prometheus {@code histogram_quantile}.
+	 *
+	 * @param quantile The quantile, e.g. {@code 0.99}.
+	 * @param buckets Cumulative count per upper bound, ending with {@code +Inf}.
+	 * @return The estimate in seconds, {@code NaN} when there are no buckets or observations.
+	 */
+	static double quantile(double quantile, NavigableMap<Double, Double> buckets) {
+		if (buckets.isEmpty()) return Double.NaN;
+
+		double total = buckets.lastEntry().getValue();
+		if (total <= 0) return Double.NaN;
+
+		double rank = quantile * total;
+		double lowerBound = 0d, lowerCount = 0d;
+		for (Map.Entry<Double, Double> bucket : buckets.entrySet()) {
+			if (bucket.getValue() >= rank) {
+				// Observations beyond the highest finite bound are reported as that bound:
+				if (Double.isInfinite(bucket.getKey())) return lowerBound;
+
+				double inBucket = bucket.getValue() - lowerCount;
+				if (inBucket <= 0) return bucket.getKey();
+				return lowerBound + (bucket.getKey() - lowerBound) * ((rank - lowerCount) / inBucket);
+			}
+			lowerBound = bucket.getKey();
+			lowerCount = bucket.getValue();
+		}
+		return lowerBound;
+	}
+
+	private static String formatMillis(double seconds) {
+		return Double.isNaN(seconds) ? "-" : String.format(Locale.ROOT, "%.3f", seconds * 1000.0);
+	}
+
+	/**
+	 * Writes the report next to the series file.
+	 *
+	 * @param seriesFile The series file.
+	 * @param windowSecs Window size in seconds.
+	 * @return The report file.
+	 */
+	public static File writeReport(File seriesFile, int windowSecs) {
+		File returnVal = new File(seriesFile.getAbsolutePath() + ".report.txt");
+		String report = new MergedMetricsReport(seriesFile, null).render(windowSecs);
+		try (Writer writer = new OutputStreamWriter(new FileOutputStream(returnVal, false), StandardCharsets.UTF_8)) {
+			writer.write(report);
+		} catch (IOException ioErr) {
+			throw new IllegalStateException(String.format(
+					"Unable to write to '%s'. %s.",
+					returnVal.getAbsolutePath(), ioErr.getMessage()), ioErr);
+		}
+		return returnVal;
+	}
+}
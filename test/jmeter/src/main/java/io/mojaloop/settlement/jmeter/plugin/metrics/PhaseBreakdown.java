@@ -0,0 +1,94 @@
+package io.mojaloop.settlement.jmeter.plugin.metrics;
+
+import io.mojaloop.settlement.jmeter.plugin.rest.client.ExchangeMetrics;
+import io.mojaloop.settlement.jmeter.plugin.rest.client.json.testdata.TestDataCarrier;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * JVM-wide client time per {@code ActionType}, split by {@code ExchangeMetrics.Phase}.
+ *
+ * Shows where the client time of an action goes, e.g. a growing {@code TTFB} points at
+ * the server while a growing {@code POOL_WAIT} or {@code PARSE} points at the harness.
+ * Only recorded once enabled, via the {@code clientBreakdown} sampler argument or the {@code PrometheusEndpoint}.
+ */
+public final class PhaseBreakdown {
+	private static final TestDataCarrier.ActionType[] ACTION_TYPES = TestDataCarrier.ActionType.values();
+	private static final ExchangeMetrics.Phase[] PHASES = ExchangeMetrics.Phase.values();
+
+	private static final LongAdder[] COUNT = newAdders(ACTION_TYPES.length);
+	private static final LongAdder[] NANOS = newAdders(ACTION_TYPES.length * PHASES.length);
+
+	private static volatile boolean enabled = false;
+
+	private PhaseBreakdown() {
+	}
+
+	private static LongAdder[] newAdders(int size) {
+		LongAdder[] returnVal = new LongAdder[size];
+		for (int index = 0; index < returnVal.length; index++) returnVal[index] = new LongAdder();
+		return returnVal;
+	}
+
+	/**
+	 * Adds the phase timings of the completed exchange to {@code actionType}, ignored unless enabled.
+	 *
+	 * @param actionType The sampled action.
+	 * @param exchange Measurements of the sample.
+	 */
+	public static void enable() {
+		enabled = true;
+	}
+
+	public static boolean isEnabled() {
+		return enabled;
+	}
+
+	public static void record(TestDataCarrier.ActionType actionType, ExchangeMetrics exchange) {
+		if (!enabled) return;
+
+		int ordinal = actionType.ordinal();
+		COUNT[ordinal].increment();
+		int offset = ordinal * PHASES.length;
+		for (ExchangeMetrics.Phase phase : PHASES) {
+			long nanos = exchange.getNanos(phase);
+			if (nanos > 0L) NANOS[offset + phase.ordinal()].add(nanos);
+		}
+	}
+
+	public static long samples(TestDataCarrier.ActionType actionType) {
+		return COUNT[actionType.ordinal()].sum();
+	}
+
+	public static long nanos(TestDataCarrier.ActionType actionType, ExchangeMetrics.Phase phase) {
+		return NANOS[actionType.ordinal() * PHASES.length + phase.ordinal()].sum();
+	}
+
+	/**
+	 * Text report of the average time per phase for every action that was sampled.
+	 *
+	 * @return Report with one line per action.
+	 */
+	public static String report() {
+		StringBuilder returnVal = new StringBuilder("Client time breakdown per action (avg us):");
+		returnVal.append(String.format("%n  %-32s %10s", "action", "samples"));
+		for (ExchangeMetrics.Phase phase : PHASES) returnVal.append(String.format(" %10s", phase));
+
+		for (TestDataCarrier.ActionType actionType : ACTION_TYPES) {
+			long count = samples(actionType);
+			if (count < 1) continue;
+
+			returnVal.append(String.format("%n  %-32s %10d", actionType, count));
+			for (ExchangeMetrics.Phase phase : PHASES) {
+				returnVal.append(String.format(" %10.1f", (nanos(actionType, phase) / (double) count) / 1000.0));
+			}
+		}
+		return returnVal.toString();
+	}
+
+	public static void reset() {
+		enabled = false;
+		for (LongAdder adder : COUNT) adder.reset();
+		for (LongAdder adder : NANOS) adder.reset();
+	}
+}
@@ -0,0 +1,158 @@
+package io.mojaloop.settlement.jmeter.plugin.metrics;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import io.mojaloop.settlement.jmeter.plugin.rest.client.ExchangeMetrics;
+import io.mojaloop.settlement.jmeter.plugin.rest.client.json.testdata.TestDataCarrier;
+import org.slf4j.Logger;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.Executors;
+
+/**
+ * Prometheus scrape endpoint ({@code /metrics}) served from within the JMeter JVM.
+ *
+ * Publishes the {@code HarnessMetrics} in the Prometheus text exposition format, so
+ * client side metrics can be graphed next to the metrics exported by the services.
+ * Request and error rates are derived by Prometheus from the {@code _total} counters.
+ */
+public final class PrometheusEndpoint {
+	public static final String CONTENT_TYPE = "text/plain; version=0.0.4; charset=utf-8";
+	public static final String PREFIX = "settlement_harness_";
+
+	private static HttpServer server = null;
+
+	private PrometheusEndpoint() {
+	}
+
+	/**
+	 * Starts the endpoint once per JVM, enabling the {@code HarnessMetrics} and {@code PhaseBreakdown} it publishes.
+	 *
+	 * @param logger The logger.
+	 * @param port The port to listen on, the endpoint is not started for a port below {@code 1}.
+	 */
+	public static synchronized void startOnce(Logger logger, int port) {
+		if (server != null || port < 1) return;
+
+		try {
+			server = HttpServer.create(new InetSocketAddress(port), 0);
+		} catch (IOException ioErr) {
+			throw new IllegalStateException(String.format(
+					"Unable to listen for metrics on port '%d'. %s.", port, ioErr.getMessage()), ioErr);
+		}
+		server.createContext("/metrics", PrometheusEndpoint::handle);
+		server.setExecutor(Executors.newSingleThreadExecutor(runnable -> {
+			Thread thread = new Thread(runnable, "harness-metrics");
+			thread.setDaemon(true);
+			return thread;
+		}));
+		server.start();
+		HarnessMetrics.enable();
+		PhaseBreakdown.enable();
+		logger.info("Harness metrics available at 'http://localhost:{}/metrics'.", port);
+	}
+
+	public static synchronized void stop() {
+		if (server == null) return;
+
+		server.stop(0);
+		server = null;
+	}
+
+	private static void handle(HttpExchange exchange) throws IOException {
+		byte[] body = scrape().getBytes(StandardCharsets.UTF_8);
+		exchange.getResponseHeaders().set("Content-Type", CONTENT_TYPE);
+		exchange.sendResponseHeaders(200, body.length);
+		try (OutputStream os = exchange.getResponseBody()) {
+			os.write(body);
+		}
+	}
+
+	/**
+	 * Renders all the harness metrics.
+	 *
+	 * @return Metrics in the Prometheus text format.
+	 */
+	public static String scrape() {
+		StringBuilder returnVal = new StringBuilder(8192);
+		TestDataCarrier.ActionType[] actionTypes = TestDataCarrier.ActionType.values();
+
+		header(returnVal, "requests_total", "counter", "Samples completed per action.");
+		for (TestDataCarrier.ActionType actionType : actionTypes) {
+			sample(returnVal, "requests_total", action(actionType), HarnessMetrics.requests(actionType));
+		}
+
+		header(returnVal, "errors_total", "counter", "Failed samples per action and error code.");
+		for (Map.Entry<HarnessMetrics.ErrorKey, Long> error : HarnessMetrics.errors().entrySet()) {
+			String labels = String.format("%s,error_code=\"%s\"",
+					action(error.getKey().getActionType()), error.getKey().getErrorCode());
+			sample(returnVal, "errors_total", labels, error.getValue());
+		}
+
+		header(returnVal, "error_outcomes_total", "counter",
+				"Failed samples per action, error code, HTTP status and error class.");
+		for (Map.Entry<ErrorOutcomes.OutcomeKey, Long> outcome : ErrorOutcomes.outcomes().entrySet()) {
+			ErrorOutcomes.OutcomeKey key = outcome.getKey();
+			String labels = String.format("%s,error_code=\"%s\",http_status=\"%d\",error_class=\"%s\"",
+					action(key.getActionType()), key.getErrorCode(), key.getHttpStatus(), escape(key.getErrorClass()));
+			sample(returnVal, "error_outcomes_total", labels, outcome.getValue());
+		}
+
+		header(returnVal, "in_flight", "gauge", "Samples currently executing per action.");
+		for (TestDataCarrier.ActionType actionType : actionTypes) {
+			sample(returnVal, "in_flight", action(actionType), HarnessMetrics.inFlight(actionType));
+		}
+
+		header(returnVal, "request_duration_seconds", "histogram", "Client latency per action.");
+		for (TestDataCarrier.ActionType actionType : actionTypes) {
+			long[] buckets = HarnessMetrics.latencyBuckets(actionType);
+			long cumulative = 0;
+			for (int index = 0; index < buckets.length; index++) {
+				cumulative += buckets[index];
+				String le = index < HarnessMetrics.LATENCY_BUCKETS.length ?
+						Double.toString(HarnessMetrics.LATENCY_BUCKETS[index]) : "+Inf";
+				sample(returnVal, "request_duration_seconds_bucket",
+						String.format("%s,le=\"%s\"", action(actionType), le), cumulative);
+			}
+			returnVal.append(PREFIX).append("request_duration_seconds_sum{").append(action(actionType)).append("} ")
+					.append(String.format(Locale.ROOT, "%.9f", HarnessMetrics.latencySumNanos(actionType) / 1_000_000_000.0))
+					.append('\n');
+			sample(returnVal, "request_duration_seconds_count", action(actionType), cumulative);
+		}
+
+		header(returnVal, "phase_seconds_total", "counter", "Client time per action and exchange phase.");
+		for (TestDataCarrier.ActionType actionType : actionTypes) {
+			if (PhaseBreakdown.samples(actionType) < 1) continue;
+
+			for (ExchangeMetrics.Phase phase : ExchangeMetrics.Phase.values()) {
+				returnVal.append(PREFIX).append("phase_seconds_total{").append(action(actionType))
+						.append(",phase=\"").append(phase.name().toLowerCase(Locale.ROOT)).append("\"} ")
+						.append(String.format(Locale.ROOT, "%.9f", PhaseBreakdown.nanos(actionType, phase) / 1_000_000_000.0))
+						.append('\n');
+			}
+		}
+		return returnVal.toString();
+	}
+
+	private static String action(TestDataCarrier.ActionType actionType) {
+		return String.format("action=\"%s\"", actionType.name());
+	}
+
+	private static String escape(String labelValue) {
+		return labelValue.replace("\\", "\\\\").replace("\"", "\\\"").replace("\n", "\\n");
+	}
+
+	private static void header(StringBuilder builder, String name, String type, String help) {
+		builder.append("# HELP ").append(PREFIX).append(name).append(' ').append(help).append('\n');
+		builder.append("# TYPE ").append(PREFIX).append(name).append(' ').append(type).append('\n');
+	}
+
+	private static void sample(StringBuilder builder, String name, String labels, long value) {
+		builder.append(PREFIX).append(name).append('{').append(labels).append("} ").append(value).append('\n');
+	}
+}
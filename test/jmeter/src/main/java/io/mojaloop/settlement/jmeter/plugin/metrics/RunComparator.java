@@ -0,0 +1,281 @@
+package io.mojaloop.settlement.jmeter.plugin.metrics;
+
+import io.mojaloop.settlement.jmeter.plugin.util.KeyValueArgs;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.util.*;
+
+/**
+ * Compares a candidate run with a baseline run per action.
+ *
+ * A metric only regresses when the change exceeds the configured threshold and is statistically
+ * significant (one-sided, at {@code alpha}):
+ * <ul>
+ *     <li>Percentiles - the fraction of candidate samples slower than the baseline percentile is
+ *     compared with the same fraction of the baseline (two-proportion z-test)</li>
+ *     <li>Throughput - the sample rates are compared as Poisson rates</li>
+ *     <li>Error rate - the error fractions are compared (two-proportion z-test)</li>
+ * </ul>
+ * Actions with fewer than {@code minSamples} samples in either run are reported, but never regress.
+ */
+public class RunComparator {
+	public static final String VERDICT_OK = "ok";
+	public static final String VERDICT_REGRESSION = "REGRESSION";
+	public static final String VERDICT_INSUFFICIENT = "insufficient";
+	public static final String VERDICT_MISSING = "missing";
+
+	/**
+	 * Comparison thresholds, parsed from {@code key=value} arguments.
+	 */
+	@Getter
+	@Setter
+	public static class Config {
+		private double[] percentiles = {50, 90, 99};
+		// Maximum latency increase in %, per percentile:
+		private double latency = 10;
+		private final Map<Double, Double> latencyByPercentile = new HashMap<>();
+		// Maximum throughput decrease in %:
+		private double throughput = 10;
+		// Maximum error rate increase in percentage points:
+		private double errors = 1;
+		private double alpha = 0.01;
+		private long minSamples = 100;
+
+		/**
+		 * Parses {@code key=value} arguments, {@code p<N>=<max %>} overrides the latency threshold for
+		 * percentile {@code N}. Unknown keys are rejected.
+		 *
+		 * @param args The arguments.
+		 * @param offset Index of the first {@code key=value} argument.
+		 * @return Config with the defaults for missing keys.
+		 */
+		public static Config parse(String[] args, int offset) {
+			Config returnVal = new Config();
+			KeyValueArgs.parse(args, offset, (key, value) -> {
+				switch (key) {
+					case "percentiles":
+						returnVal.setPercentiles(Arrays.stream(value.split(",")).mapToDouble(Double::parseDouble).toArray());
+					break;
+					case "latency": returnVal.setLatency(Double.parseDouble(value)); break;
+					case "throughput": returnVal.setThroughput(Double.parseDouble(value)); break;
+					case "errors": returnVal.setErrors(Double.parseDouble(value)); break;
+					case "alpha": returnVal.setAlpha(Double.parseDouble(value)); break;
+					case "minSamples": returnVal.setMinSamples(Long.parseLong(value)); break;
+					default:
+						if (key.matches("p\\d+(\\.\\d+)?")) {
+							returnVal.latencyByPercentile.put(Double.parseDouble(key.substring(1)), Double.parseDouble(value));
+							break;
+						}
+						throw new IllegalArgumentException(String.format("Unknown compare option '%s'.", key));
+				}
+			});
+			returnVal.latencyByPercentile.keySet().stream()
+					.filter(percentile -> Arrays.stream(returnVal.percentiles).noneMatch(itm -> itm == percentile))
+					.sorted()
+					.forEach(percentile -> {
+						returnVal.percentiles = Arrays.copyOf(returnVal.percentiles, returnVal.percentiles.length + 1);
+						returnVal.percentiles[returnVal.percentiles.length - 1] = percentile;
+					});
+			return returnVal;
+		}
+
+		double latencyThreshold(double percentile) {
+			return this.latencyByPercentile.getOrDefault(percentile, this.latency);
+		}
+	}
+
+	/**
+	 * Change of a single metric of an action.
+	 */
+	@Getter
+	public static class Delta {
+		private final String metric;
+		private final double baseline;
+		private final double candidate;
+		private final double pValue;
+		private final boolean regression;
+
+		Delta(String metric, double baseline, double candidate, double pValue, boolean regression) {
+			this.metric = metric;
+			this.baseline = baseline;
+			this.candidate = candidate;
+			this.pValue = pValue;
+			this.regression = regression;
+		}
+
+		/**
+		 * @return Change relative to the baseline in %, {@code NaN} when the baseline is {@code 0}.
+		 */
+		public double getChangePercent() {
+			return changePercent(this.baseline, this.candidate);
+		}
+	}
+
+	/**
+	 * Comparison of a single action.
+	 */
+	@Getter
+	public static class ActionComparison {
+		private final String action;
+		private final long baselineCount;
+		private final long candidateCount;
+		private final List<Delta> deltas = new ArrayList<>();
+		private String verdict = VERDICT_OK;
+
+		ActionComparison(String action, long baselineCount, long candidateCount) {
+			this.action = action;
+			this.baselineCount = baselineCount;
+			this.candidateCount = candidateCount;
+		}
+
+		public boolean isRegression() {
+			return VERDICT_REGRESSION.equals(this.verdict);
+		}
+	}
+
+	private final Config config;
+	@Getter
+	private final List<ActionComparison> comparisons = new ArrayList<>();
+
+	public RunComparator(Config config) {
+		this.config = config;
+	}
+
+	/**
+	 * Compares every action present in either run.
+	 *
+	 * @param baseline The baseline run.
+	 * @param candidate The run being gated.
+	 * @return {@code true} when any action regressed.
+	 */
+	public boolean compare(RunResult baseline, RunResult candidate) {
+		this.comparisons.clear();
+		Set<String> actions = new TreeSet<>(baseline.getActions().keySet());
+		actions.addAll(candidate.getActions().keySet());
+
+		boolean returnVal = false;
+		for (String action : actions) {
+			ActionComparison comparison = this.compare(action, baseline, candidate);
+			this.comparisons.add(comparison);
+			returnVal |= comparison.isRegression();
+		}
+		return returnVal;
+	}
+
+	private ActionComparison compare(String action, RunResult baseline, RunResult candidate) {
+		RunResult.ActionStats base = baseline.getActions().get(action), cand = candidate.getActions().get(action);
+		ActionComparison returnVal = new ActionComparison(action,
+				base == null ? 0L : base.getCount(), cand == null ? 0L : cand.getCount());
+		if (base == null || cand == null) {
+			returnVal.verdict = VERDICT_MISSING;
+			return returnVal;
+		}
+		boolean enoughSamples = base.getCount() >= this.config.getMinSamples() &&
+				cand.getCount() >= this.config.getMinSamples();
+
+		for (double percentile : this.config.getPercentiles()) {
+			long baseMicros = base.getHistogram().getPercentileMicros(percentile);
+			double baseMs = baseMicros / 1000d, candMs = cand.getHistogram().getPercentileMillis(percentile);
+			double pValue = proportionIncrease(
+					base.getHistogram().getCountAbove(baseMicros), base.getHistogram().getCount(),
+					cand.getHistogram().getCountAbove(baseMicros), cand.getHistogram().getCount());
+			returnVal.deltas.add(new Delta(String.format("p%s", formatPercentile(percentile)), baseMs, candMs, pValue,
+					enoughSamples && pValue < this.config.getAlpha() &&
+							changePercent(baseMs, candMs) > this.config.latencyThreshold(percentile)));
+		}
+
+		double baseRate = baseline.getThroughput(action), candRate = candidate.getThroughput(action);
+		double ratePValue = rateDecrease(base.getCount(), baseline.getDurationMillis() / 1000d,
+				cand.getCount(), candidate.getDurationMillis() / 1000d);
+		returnVal.deltas.add(new Delta("throughput", baseRate, candRate, ratePValue,
+				enoughSamples && ratePValue < this.config.getAlpha() &&
+						-changePercent(baseRate, candRate) > this.config.getThroughput()));
+
+		double baseErrors = base.getErrorRate() * 100d, candErrors = cand.getErrorRate() * 100d;
+		double errorPValue = proportionIncrease(base.getErrors(), base.getCount(), cand.getErrors(), cand.getCount());
+		returnVal.deltas.add(new Delta("errors%", baseErrors, candErrors, errorPValue,
+				enoughSamples && errorPValue < this.config.getAlpha() &&
+						candErrors - baseErrors > this.config.getErrors()));
+
+		if (!enoughSamples) returnVal.verdict = VERDICT_INSUFFICIENT;
+		else if (returnVal.deltas.stream().anyMatch(Delta::isRegression)) returnVal.verdict = VERDICT_REGRESSION;
+		return returnVal;
+	}
+
+	/**
+	 * Renders the comparison as a table, one row per action and metric.
+	 *
+	 * @return The report.
+	 */
+	public String render() {
+		StringBuilder returnVal = new StringBuilder();
+		returnVal.append(String.format(Locale.ROOT, "%-28s %-12s %12s %12s %9s %9s  %s%n",
+				"action", "metric", "baseline", "candidate", "change", "p-value", "verdict"));
+		for (ActionComparison comparison : this.comparisons) {
+			if (comparison.deltas.isEmpty()) {
+				returnVal.append(String.format(Locale.ROOT, "%-28s %-12s %12d %12d %9s %9s  %s%n",
+						comparison.action, "samples", comparison.baselineCount, comparison.candidateCount,
+						"", "", comparison.verdict));
+				continue;
+			}
+			for (Delta delta : comparison.deltas) {
+				double change = delta.getChangePercent();
+				returnVal.append(String.format(Locale.ROOT, "%-28s %-12s %12.2f %12.2f %9s %9.4f  %s%n",
+						comparison.action, delta.metric, delta.baseline, delta.candidate,
+						Double.isNaN(change) ? "-" : String.format(Locale.ROOT, "%.1f%%", change), delta.pValue,
+						delta.regression ? VERDICT_REGRESSION : comparison.verdict.equals(VERDICT_INSUFFICIENT) ?
+								VERDICT_INSUFFICIENT : VERDICT_OK));
+			}
+		}
+		return returnVal.toString();
+	}
+
+	private static double changePercent(double baseline, double candidate) {
+		return baseline == 0d ? Double.NaN : (candidate - baseline) * 100d / baseline;
+	}
+
+	private static String formatPercentile(double percentile) {
+		return percentile == Math.rint(percentile) ? Long.toString((long) percentile) : Double.toString(percentile);
+	}
+
+	/**
+	 * One-sided two-proportion z-test.
+	 *
+	 * @return p-value of the candidate proportion being larger than the baseline proportion.
+	 */
+	static double proportionIncrease(long baseHits, long baseCount, long candHits, long candCount) {
+		if (baseCount == 0L || candCount == 0L) return 1d;
+
+		double pooled = (baseHits + candHits) / (double) (baseCount + candCount);
+		if (pooled <= 0d || pooled >= 1d) return 1d;
+
+		double stdErr = Math.sqrt(pooled * (1d - pooled) * (1d / baseCount + 1d / candCount));
+		double z = (candHits / (double) candCount - baseHits / (double) baseCount) / stdErr;
+		return 1d - normalCdf(z);
+	}
+
+	/**
+	 * One-sided comparison of two Poisson rates.
+	 *
+	 * @return p-value of the candidate rate being smaller than the baseline rate.
+	 */
+	static double rateDecrease(long baseCount, double baseSecs, long candCount, double candSecs) {
+		if (baseSecs <= 0d || candSecs <= 0d || baseCount + candCount == 0L) return 1d;
+
+		double stdErr = Math.sqrt(baseCount / (baseSecs * baseSecs) + candCount / (candSecs * candSecs));
+		double z = (candCount / candSecs - baseCount / baseSecs) / stdErr;
+		return normalCdf(z);
+	}
+
+	/**
+	 * Standard normal CDF (Abramowitz and Stegun 7.1.26, absolute error below {@code 1.5e-7}).
+	 */
+	static double normalCdf(double z) {
+		double x = Math.abs(z) / Math.sqrt(2d);
+		double t = 1d / (1d + 0.3275911d * x);
+		double erf = 1d - (((((1.061405429d * t - 1.453152027d) * t) + 1.421413741d) * t - 0.284496736d) * t +
+				0.254829592d) * t * Math.exp(-x * x);
+		return z >= 0d ? 0.5d * (1d + erf) : 0.5d * (1d - erf);
+	}
+}
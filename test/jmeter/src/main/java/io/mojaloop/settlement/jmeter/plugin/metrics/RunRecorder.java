@@ -0,0 +1,167 @@
+package io.mojaloop.settlement.jmeter.plugin.metrics;
+
+import io.mojaloop.settlement.jmeter.plugin.rest.client.json.testdata.TestDataCarrier;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JVM-wide full resolution latency recording per {@code ActionType}, written as the harness result
+ * of a run and compared with {@code RunComparator}. The completion of asynchronous actions is recorded
+ * separately, as action {@code <action>_completion}, and so is each page of a paged read, as {@code <action>_page}.
+ *
+ * Sampler threads record into one of a fixed number of stripes (chosen by thread id), each with its
+ * own {@code LatencyHistogram} per action, so recording is rarely contended and memory does not grow
+ * with the number of (virtual) threads. The stripes are merged losslessly when the run result is taken.
+ * Recording is off until {@link #enable()} is called.
+ */
+public final class RunRecorder {
+	public static final String COMPLETION_SUFFIX = "_completion";
+	public static final String PAGE_SUFFIX = "_page";
+
+	private static final TestDataCarrier.ActionType[] ACTION_TYPES = TestDataCarrier.ActionType.values();
+	// Acceptance, followed by completion and page slots:
+	static final int SLOTS = ACTION_TYPES.length * 3;
+	// Power of two, at least twice the number of processors:
+	static final int STRIPES = Integer.highestOneBit(Runtime.getRuntime().availableProcessors() * 4 - 1);
+
+	private static volatile boolean enabled = false;
+	private static volatile Recorder[] recorders = newRecorders();
+
+	private RunRecorder() {
+	}
+
+	private static final class Recorder {
+		private final LatencyHistogram[] histograms = new LatencyHistogram[SLOTS];
+		private final long[] success = new long[SLOTS];
+		private final long[] errors = new long[SLOTS];
+		private long firstNanos;
+		private long lastNanos;
+
+		private synchronized void record(int ordinal, long latencyNanos, boolean successful, long nowNanos) {
+			LatencyHistogram histogram = this.histograms[ordinal];
+			if (histogram == null) {
+				histogram = new LatencyHistogram();
+				this.histograms[ordinal] = histogram;
+			}
+			histogram.recordNanos(latencyNanos);
+			if (successful) this.success[ordinal]++;
+			else this.errors[ordinal]++;
+
+			if (this.firstNanos == 0L) this.firstNanos = nowNanos - latencyNanos;
+			this.lastNanos = nowNanos;
+		}
+	}
+
+	private static Recorder[] newRecorders() {
+		Recorder[] returnVal = new Recorder[STRIPES];
+		for (int index = 0; index < returnVal.length; index++) returnVal[index] = new Recorder();
+		return returnVal;
+	}
+
+	static int stripe() {
+		return (int) (Thread.currentThread().getId() & (STRIPES - 1));
+	}
+
+	public static void enable() {
+		enabled = true;
+	}
+
+	public static boolean isEnabled() {
+		return enabled;
+	}
+
+	/**
+	 * Records a completed sample, ignored unless recording is enabled.
+	 *
+	 * @param actionType The sampled action.
+	 * @param latencyNanos Client latency of the sample.
+	 * @param successful Whether the sample succeeded.
+	 */
+	public static void record(TestDataCarrier.ActionType actionType, long latencyNanos, boolean successful) {
+		if (!enabled) return;
+
+		recorders[stripe()].record(actionType.ordinal(), latencyNanos, successful, System.nanoTime());
+	}
+
+	/**
+	 * Records the completion of an asynchronous action, ignored unless recording is enabled.
+	 *
+	 * @param actionType The sampled action.
+	 * @param completionNanos Time from sending the action until it completed.
+	 * @param successful Whether the action completed.
+	 */
+	public static void recordCompletion(TestDataCarrier.ActionType actionType, long completionNanos, boolean successful) {
+		if (!enabled) return;
+
+		recorders[stripe()].record(completionSlot(actionType), completionNanos, successful, System.nanoTime());
+	}
+
+	/**
+	 * Records a single page of a sample that reads multiple pages, ignored unless recording is enabled.
+	 *
+	 * @param actionType The sampled action.
+	 * @param pageNanos Client latency of the page.
+	 * @param successful Whether the page was read.
+	 */
+	public static void recordPage(TestDataCarrier.ActionType actionType, long pageNanos, boolean successful) {
+		if (!enabled) return;
+
+		recorders[stripe()].record(pageSlot(actionType), pageNanos, successful, System.nanoTime());
+	}
+
+	static int completionSlot(TestDataCarrier.ActionType actionType) {
+		return ACTION_TYPES.length + actionType.ordinal();
+	}
+
+	static int pageSlot(TestDataCarrier.ActionType actionType) {
+		return ACTION_TYPES.length * 2 + actionType.ordinal();
+	}
+
+	static String slotName(int slot) {
+		if (slot < ACTION_TYPES.length) return ACTION_TYPES[slot].name();
+		if (slot < ACTION_TYPES.length * 2) return ACTION_TYPES[slot - ACTION_TYPES.length].name() + COMPLETION_SUFFIX;
+		return ACTION_TYPES[slot - ACTION_TYPES.length * 2].name() + PAGE_SUFFIX;
+	}
+
+	/**
+	 * Merges the recordings of all stripes. The run duration spans the first sample start
+	 * up to the last sample end.
+	 *
+	 * @return The run result.
+	 */
+	public static RunResult snapshot() {
+		LatencyHistogram[] histograms = new LatencyHistogram[SLOTS];
+		long[] success = new long[SLOTS], errors = new long[SLOTS];
+		long firstNanos = Long.MAX_VALUE, lastNanos = Long.MIN_VALUE;
+		for (Recorder recorder : recorders) {
+			synchronized (recorder) {
+				if (recorder.firstNanos == 0L) continue;
+
+				firstNanos = Math.min(firstNanos, recorder.firstNanos);
+				lastNanos = Math.max(lastNanos, recorder.lastNanos);
+				for (int index = 0; index < SLOTS; index++) {
+					if (recorder.histograms[index] == null) continue;
+
+					if (histograms[index] == null) histograms[index] = new LatencyHistogram();
+					histograms[index].merge(recorder.histograms[index]);
+					success[index] += recorder.success[index];
+					errors[index] += recorder.errors[index];
+				}
+			}
+		}
+
+		RunResult returnVal = new RunResult(firstNanos == Long.MAX_VALUE ? 0L :
+				TimeUnit.NANOSECONDS.toMillis(lastNanos - firstNanos));
+		for (int index = 0; index < SLOTS; index++) {
+			if (histograms[index] == null) continue;
+
+			returnVal.add(slotName(index), histograms[index], success[index], errors[index]);
+		}
+		return returnVal;
+	}
+
+	public static synchronized void reset() {
+		enabled = false;
+		recorders = newRecorders();
+	}
+}
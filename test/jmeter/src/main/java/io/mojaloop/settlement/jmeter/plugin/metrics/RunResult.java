@@ -0,0 +1,250 @@
+package io.mojaloop.settlement.jmeter.plugin.metrics;
+
+import com.opencsv.CSVReader;
+import com.opencsv.CSVWriter;
+import com.opencsv.exceptions.CsvValidationException;
+import lombok.Getter;
+import org.json.JSONArray;
+import org.json.JSONObject;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Latency histogram, success and error count per action of a single run.
+ *
+ * A run is read from either the harness result file (written by {@code RunRecorder}) or
+ * a JMeter CSV result log (e.g. {@code jMeterResults.log}) with field names. The format
+ * is detected from the header.
+ *
+ * Harness result columns: {@code action,success,errors,durationMs,histogram}.
+ */
+@Getter
+public class RunResult {
+	public static final String[] HEADER = {"action", "success", "errors", "durationMs", "histogram"};
+
+	private static final String JMETER_TIMESTAMP = "timeStamp";
+	private static final String JMETER_ELAPSED = "elapsed";
+	private static final String JMETER_LABEL = "label";
+	private static final String JMETER_SUCCESS = "success";
+	// Sampler labels are '[<url>]:[<action>]', optionally followed by ':<response code>' or ':completion':
+	private static final Pattern SAMPLER_LABEL = Pattern.compile("^\\[.*]:\\[([^\\]]+)](:completion$)?.*$");
+
+	private final Map<String, ActionStats> actions = new TreeMap<>();
+	private long durationMillis;
+
+	/**
+	 * Recorded values of a single action.
+	 */
+	@Getter
+	public static class ActionStats {
+		private final String action;
+		private final LatencyHistogram histogram;
+		private long success;
+		private long errors;
+
+		public ActionStats(String action, LatencyHistogram histogram, long success, long errors) {
+			this.action = action;
+			this.histogram = histogram;
+			this.success = success;
+			this.errors = errors;
+		}
+
+		public long getCount() {
+			return this.success + this.errors;
+		}
+
+		public double getErrorRate() {
+			long count = this.getCount();
+			return count == 0L ? 0d : this.errors / (double) count;
+		}
+	}
+
+	public RunResult(long durationMillis) {
+		this.durationMillis = durationMillis;
+	}
+
+	/**
+	 * Adds the values of an action, merging with values already added for the action.
+	 *
+	 * @param action The action name.
+	 * @param histogram Latency of the action.
+	 * @param success Successful samples.
+	 * @param errors Failed samples.
+	 */
+	public void add(String action, LatencyHistogram histogram, long success, long errors) {
+		ActionStats existing = this.actions.get(action);
+		if (existing == null) {
+			this.actions.put(action, new ActionStats(action, histogram.copy(), success, errors));
+			return;
+		}
+		existing.histogram.merge(histogram);
+		existing.success += success;
+		existing.errors += errors;
+	}
+
+	/**
+	 * Adds all the actions of {@code other} to {@code this} run, e.g. the run of another load JVM.
+	 * The runs are concurrent, so the duration is the longest of both.
+	 *
+	 * @param other The run to add.
+	 * @return {@code this}
+	 */
+	public RunResult merge(RunResult other) {
+		other.actions.values().forEach(itm -> this.add(itm.getAction(), itm.getHistogram(), itm.getSuccess(), itm.getErrors()));
+		this.durationMillis = Math.max(this.durationMillis, other.durationMillis);
+		return this;
+	}
+
+	/**
+	 * Throughput of an action over the whole run.
+	 *
+	 * @param action The action name.
+	 * @return Samples per second, {@code 0} when unknown.
+	 */
+	public double getThroughput(String action) {
+		ActionStats stats = this.actions.get(action);
+		if (stats == null || this.durationMillis < 1L) return 0d;
+		return stats.getCount() * 1000d / this.durationMillis;
+	}
+
+	/**
+	 * Writes {@code this} run in the harness result format.
+	 *
+	 * @param resultFile The file to write to.
+	 */
+	public void write(File resultFile) {
+		try (CSVWriter writer = new CSVWriter(new OutputStreamWriter(
+				new FileOutputStream(resultFile), StandardCharsets.UTF_8))) {
+			writer.writeNext(HEADER, false);
+			for (ActionStats stats : this.actions.values()) {
+				writer.writeNext(new String[] {
+						stats.getAction(),
+						Long.toString(stats.getSuccess()),
+						Long.toString(stats.getErrors()),
+						Long.toString(this.durationMillis),
+						stats.getHistogram().encode()
+				}, true);
+			}
+		} catch (IOException ioErr) {
+			throw new IllegalStateException(String.format(
+					"Unable to write to '%s'. %s.",
+					resultFile.getAbsolutePath(), ioErr.getMessage()), ioErr);
+		}
+	}
+
+	/**
+	 * JSON form of {@code this} run, with the histograms encoded.
+	 *
+	 * @return The run as JSON, using the {@link #HEADER} names.
+	 */
+	public JSONObject toJsonObject() {
+		JSONArray actionArray = new JSONArray();
+		for (ActionStats stats : this.actions.values()) {
+			actionArray.put(new JSONObject()
+					.put(HEADER[0], stats.getAction())
+					.put(HEADER[1], stats.getSuccess())
+					.put(HEADER[2], stats.getErrors())
+					.put(HEADER[4], stats.getHistogram().encode()));
+		}
+		return new JSONObject().put(HEADER[3], this.durationMillis).put("actions", actionArray);
+	}
+
+	/**
+	 * Reads a run written by {@link #toJsonObject()}.
+	 *
+	 * @param jsonObject The run as JSON.
+	 * @return The run.
+	 */
+	public static RunResult fromJsonObject(JSONObject jsonObject) {
+		RunResult returnVal = new RunResult(jsonObject.getLong(HEADER[3]));
+		JSONArray actionArray = jsonObject.getJSONArray("actions");
+		for (int index = 0; index < actionArray.length(); index++) {
+			JSONObject stats = actionArray.getJSONObject(index);
+			returnVal.add(stats.getString(HEADER[0]), LatencyHistogram.decode(stats.getString(HEADER[4])),
+					stats.getLong(HEADER[1]), stats.getLong(HEADER[2]));
+		}
+		return returnVal;
+	}
+
+	/**
+	 * Reads a harness result file or JMeter CSV result log.
+	 *
+	 * @param resultFile The file to read.
+	 * @return The run.
+	 */
+	public static RunResult read(File resultFile) {
+		try (CSVReader reader = new CSVReader(new InputStreamReader(
+				new FileInputStream(resultFile), StandardCharsets.UTF_8))) {
+			String[] header = reader.readNext();
+			if (header == null) throw new IllegalArgumentException(String.format("Result file '%s' is empty.", resultFile));
+
+			List<String> columns = Arrays.asList(header);
+			if (columns.equals(Arrays.asList(HEADER))) return readHarness(reader);
+			if (columns.contains(JMETER_TIMESTAMP)) return readJMeter(reader, columns);
+
+			throw new IllegalArgumentException(String.format(
+					"Result file '%s' is neither a harness result nor a JMeter CSV log with field names.", resultFile));
+		} catch (IOException | CsvValidationException readErr) {
+			throw new IllegalStateException(String.format(
+					"Unable to read from '%s'. %s.",
+					resultFile.getAbsolutePath(), readErr.getMessage()), readErr);
+		}
+	}
+
+	private static RunResult readHarness(CSVReader reader) throws IOException, CsvValidationException {
+		RunResult returnVal = new RunResult(0L);
+		String[] row;
+		while ((row = reader.readNext()) != null) {
+			if (row.length < HEADER.length) continue;
+
+			returnVal.durationMillis = Math.max(returnVal.durationMillis, Long.parseLong(row[3]));
+			returnVal.add(row[0], LatencyHistogram.decode(row[4]), Long.parseLong(row[1]), Long.parseLong(row[2]));
+		}
+		return returnVal;
+	}
+
+	private static RunResult readJMeter(CSVReader reader, List<String> columns) throws IOException, CsvValidationException {
+		int timestampCol = columns.indexOf(JMETER_TIMESTAMP), elapsedCol = columns.indexOf(JMETER_ELAPSED),
+				labelCol = columns.indexOf(JMETER_LABEL), successCol = columns.indexOf(JMETER_SUCCESS);
+		if (elapsedCol < 0 || labelCol < 0 || successCol < 0) {
+			throw new IllegalArgumentException(String.format(
+					"JMeter result log requires the '%s', '%s' and '%s' fields.", JMETER_ELAPSED, JMETER_LABEL, JMETER_SUCCESS));
+		}
+
+		Map<String, LatencyHistogram> histograms = new TreeMap<>();
+		Map<String, long[]> counts = new TreeMap<>();
+		long firstStart = Long.MAX_VALUE, lastEnd = Long.MIN_VALUE;
+		String[] row;
+		while ((row = reader.readNext()) != null) {
+			if (row.length < columns.size()) continue;
+
+			String action = actionOf(row[labelCol]);
+			// JMeter logs the end of the sample, unless 'sampleresult.timestamp.start' is set:
+			long elapsedMs = Long.parseLong(row[elapsedCol]), end = Long.parseLong(row[timestampCol]);
+			firstStart = Math.min(firstStart, end - elapsedMs);
+			lastEnd = Math.max(lastEnd, end);
+
+			histograms.computeIfAbsent(action, key -> new LatencyHistogram()).recordMicros(elapsedMs * 1000L);
+			counts.computeIfAbsent(action, key -> new long[2])[Boolean.parseBoolean(row[successCol]) ? 0 : 1]++;
+		}
+
+		RunResult returnVal = new RunResult(firstStart == Long.MAX_VALUE ? 0L : lastEnd - firstStart);
+		histograms.forEach((action, histogram) ->
+				returnVal.add(action, histogram, counts.get(action)[0], counts.get(action)[1]));
+		return returnVal;
+	}
+
+	static String actionOf(String label) {
+		Matcher matcher = SAMPLER_LABEL.matcher(label);
+		if (!matcher.matches()) return label;
+
+		return matcher.group(2) == null ? matcher.group(1) : matcher.group(1).concat(RunRecorder.COMPLETION_SUFFIX);
+	}
+}
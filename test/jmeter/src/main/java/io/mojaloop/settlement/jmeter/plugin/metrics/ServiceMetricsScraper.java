@@ -0,0 +1,250 @@
+package io.mojaloop.settlement.jmeter.plugin.metrics;
+
+import com.opencsv.CSVWriter;
+import io.mojaloop.settlement.jmeter.plugin.rest.client.json.testdata.TestDataCarrier;
+import org.slf4j.Logger;
+
+import java.io.*;
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Scrapes the Prometheus endpoints of the services at a fixed interval during a run.
+ *
+ * The {@code _sum}, {@code _count} and {@code _bucket} series of every histogram and summary (e.g.
+ * {@code SettlementsAggregate} with {@code callName="aggregate_handleTransfer"}) are written
+ * to a CSV series file, together with the matching harness latency series per action.
+ * The buckets allow the report to estimate percentiles per window, not only the average.
+ * The series file is the input of {@code MergedMetricsReport}.
+ *
+ * Columns: {@code timestamp,source,metric,labels,value}.
+ */
+public class ServiceMetricsScraper {
+	public static final String SOURCE_HARNESS = "harness";
+	public static final String HARNESS_METRIC = PrometheusEndpoint.PREFIX + "request_duration_seconds";
+	public static final String[] HEADER = {"timestamp", "source", "metric", "labels", "value"};
+
+	private static final int TIMEOUT_MS = 5_000;
+
+	private static ServiceMetricsScraper instance = null;
+
+	private final Logger logger;
+	private final Map<String, String> targets;
+	private final File seriesFile;
+	private final long intervalMs;
+
+	private ScheduledExecutorService scheduler;
+	private CSVWriter writer;
+
+	/**
+	 * Creates the scraper.
+	 *
+	 * @param logger The logger.
+	 * @param targets Service name mapped to its metrics URL.
+	 * @param seriesFile File to write the series to.
+	 * @param intervalMs Scrape interval.
+	 */
+	public ServiceMetricsScraper(Logger logger, Map<String, String> targets, File seriesFile, long intervalMs) {
+		this.logger = logger;
+		this.targets = targets;
+		this.seriesFile = seriesFile;
+		this.intervalMs = intervalMs;
+	}
+
+	/**
+	 * Parses the scrape targets.
+	 *
+	 * @param targets Comma separated {@code name=url} pairs, e.g.
+	 *                {@code api-svc=http://localhost:3600/metrics}.
+	 * @return Service name mapped to its URL.
+	 */
+	public static Map<String, String> parseTargets(String targets) {
+		Map<String, String> returnVal = new LinkedHashMap<>();
+		if (targets == null || targets.trim().isEmpty()) return returnVal;
+
+		for (String target : targets.split(",")) {
+			if (target.trim().isEmpty()) continue;
+
+			int separator = target.indexOf('=');
+			if (separator < 1) {
+				throw new IllegalArgumentException(String.format(
+						"Service metrics target '%s' is not in the 'name=url' format.", target.trim()));
+			}
+			returnVal.put(target.substring(0, separator).trim(), target.substring(separator + 1).trim());
+		}
+		return returnVal;
+	}
+
+	/**
+	 * Starts scraping once per JVM, enabling the {@code HarnessMetrics} merged with the service series.
+	 *
+	 * @param logger The logger.
+	 * @param targets Comma separated {@code name=url} pairs, nothing is started when empty.
+	 * @param seriesFile File to write the series to.
+	 * @param intervalSecs Scrape interval.
+	 */
+	public static synchronized void startOnce(Logger logger, String targets, File seriesFile, int intervalSecs) {
+		Map<String, String> parsed = parseTargets(targets);
+		if (instance != null || parsed.isEmpty()) return;
+
+		HarnessMetrics.enable();
+		instance = new ServiceMetricsScraper(logger, parsed, seriesFile, TimeUnit.SECONDS.toMillis(Math.max(1, intervalSecs)));
+		instance.start();
+	}
+
+	/**
+	 * Stops the scraper started via {@link #startOnce(Logger, String, File, int)}.
+	 *
+	 * @return The series file, {@code null} when no scraper was running.
+	 */
+	public static synchronized File stopRunning() {
+		if (instance == null) return null;
+
+		File returnVal = instance.seriesFile;
+		instance.stop();
+		instance = null;
+		return returnVal;
+	}
+
+	public void start() {
+		try {
+			this.writer = new CSVWriter(new OutputStreamWriter(
+					new FileOutputStream(this.seriesFile, false), StandardCharsets.UTF_8));
+		} catch (IOException ioErr) {
+			throw new IllegalStateException(String.format(
+					"Unable to write to '%s'. %s.",
+					this.seriesFile.getAbsolutePath(), ioErr.getMessage()), ioErr);
+		}
+		this.writer.writeNext(HEADER, false);
+
+		this.scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+			Thread thread = new Thread(runnable, "service-metrics-scraper");
+			thread.setDaemon(true);
+			return thread;
+		});
+		this.scheduler.scheduleAtFixedRate(this::scrapeSafely, 0L, this.intervalMs, TimeUnit.MILLISECONDS);
+		this.logger.info("Scraping service metrics {} every {}ms to '{}'.",
+				this.targets, this.intervalMs, this.seriesFile.getAbsolutePath());
+	}
+
+	public void stop() {
+		this.scheduler.shutdown();
+		try {
+			this.scheduler.awaitTermination(TIMEOUT_MS * 2L, TimeUnit.MILLISECONDS);
+		} catch (InterruptedException eParam) {
+			Thread.currentThread().interrupt();
+		}
+		// Final sample so the last window is complete:
+		this.scrapeSafely();
+		try {
+			this.writer.close();
+		} catch (IOException ioErr) {
+			this.logger.warn("Unable to close '{}'. {}", this.seriesFile, ioErr.getMessage());
+		}
+	}
+
+	private synchronized void scrapeSafely() {
+		long timestamp = System.currentTimeMillis();
+		for (Map.Entry<String, String> target : this.targets.entrySet()) {
+			try {
+				this.scrape(timestamp, target.getKey(), target.getValue());
+			} catch (IOException | RuntimeException except) {
+				this.logger.warn("Unable to scrape '{}' from '{}'. {}", target.getKey(), target.getValue(), except.getMessage());
+			}
+		}
+		this.writeHarness(timestamp);
+		try {
+			this.writer.flush();
+		} catch (IOException ioErr) {
+			this.logger.warn("Unable to flush '{}'. {}", this.seriesFile, ioErr.getMessage());
+		}
+	}
+
+	private void scrape(long timestamp, String source, String url) throws IOException {
+		HttpURLConnection connection = (HttpURLConnection) new URL(url).openConnection();
+		connection.setConnectTimeout(TIMEOUT_MS);
+		connection.setReadTimeout(TIMEOUT_MS);
+		try (BufferedReader reader = new BufferedReader(
+				new InputStreamReader(connection.getInputStream(), StandardCharsets.UTF_8))) {
+			String line;
+			while ((line = reader.readLine()) != null) {
+				String[] sample = parseSample(line);
+				if (sample == null) continue;
+				if (!sample[0].endsWith("_sum") && !sample[0].endsWith("_count") && !sample[0].endsWith("_bucket")) continue;
+
+				this.writer.writeNext(new String[] {
+						Long.toString(timestamp), source, sample[0], sample[1], sample[2]
+				}, false);
+			}
+		} finally {
+			connection.disconnect();
+		}
+	}
+
+	private void writeHarness(long timestamp) {
+		for (TestDataCarrier.ActionType actionType : TestDataCarrier.ActionType.values()) {
+			long count = HarnessMetrics.requests(actionType);
+			if (count < 1) continue;
+
+			String labels = String.format("action=\"%s\"", actionType.name());
+			this.writer.writeNext(new String[] {
+					Long.toString(timestamp), SOURCE_HARNESS, HARNESS_METRIC + "_sum", labels,
+					String.format(Locale.ROOT, "%.9f", HarnessMetrics.latencySumNanos(actionType) / 1_000_000_000.0)
+			}, false);
+			this.writer.writeNext(new String[] {
+					Long.toString(timestamp), SOURCE_HARNESS, HARNESS_METRIC + "_count", labels, Long.toString(count)
+			}, false);
+
+			long[] buckets = HarnessMetrics.latencyBuckets(actionType);
+			long cumulative = 0;
+			for (int index = 0; index < buckets.length; index++) {
+				cumulative += buckets[index];
+				String le = index < HarnessMetrics.LATENCY_BUCKETS.length ?
+						Double.toString(HarnessMetrics.LATENCY_BUCKETS[index]) : "+Inf";
+				this.writer.writeNext(new String[] {
+						Long.toString(timestamp), SOURCE_HARNESS, HARNESS_METRIC + "_bucket",
+						String.format("%s,le=\"%s\"", labels, le), Long.toString(cumulative)
+				}, false);
+			}
+		}
+	}
+
+	/**
+	 * Parses a single line of the Prometheus text format.
+	 *
+	 * @param line The line.
+	 * @return {@code [name, labels, value]} or {@code null} for comments and blank lines.
+	 */
+	static String[] parseSample(String line) {
+		String trimmed = line.trim();
+		if (trimmed.isEmpty() || trimmed.startsWith("#")) return null;
+
+		String name, labels = "", rest;
+		int labelStart = trimmed.indexOf('{');
+		int firstSpace = trimmed.indexOf(' ');
+		if (labelStart > 0 && (firstSpace < 0 || labelStart < firstSpace)) {
+			int labelEnd = trimmed.lastIndexOf('}');
+			if (labelEnd < labelStart) return null;
+
+			name = trimmed.substring(0, labelStart);
+			labels = trimmed.substring(labelStart + 1, labelEnd);
+			rest = trimmed.substring(labelEnd + 1).trim();
+		} else {
+			if (firstSpace < 0) return null;
+
+			name = trimmed.substring(0, firstSpace);
+			rest = trimmed.substring(firstSpace + 1).trim();
+		}
+		// Drop the optional timestamp:
+		int space = rest.indexOf(' ');
+		String value = space < 0 ? rest : rest.substring(0, space);
+		return new String[] {name, labels, value};
+	}
+}
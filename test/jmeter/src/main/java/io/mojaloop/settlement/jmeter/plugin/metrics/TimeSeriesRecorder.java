@@ -0,0 +1,300 @@
+package io.mojaloop.settlement.jmeter.plugin.metrics;
+
+import com.opencsv.CSVWriter;
+import io.mojaloop.settlement.jmeter.plugin.rest.client.json.testdata.TestDataCarrier;
+import org.slf4j.Logger;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Writes count, errors and latency percentiles per {@code ActionType} for every fixed (wall clock) window.
+ *
+ * Sampler threads record into the window slots of one of a fixed number of stripes (as {@code RunRecorder}).
+ * When a stripe moves to the next window, or the flusher finds a stripe idle in a previous window, the
+ * slots are handed over and merged per window. A sample that ends on a window boundary while another
+ * thread of the stripe already moved on counts for the newer window. A window is written one window
+ * after it ended, so late samples are still included. Slots are recycled, recording does not allocate once warmed up.
+ *
+ * Columns: {@code timestamp,windowMs,action,count,errors,p50Ms,p90Ms,p99Ms,maxMs,histogram}, the
+ * histogram allowing {@code TimeSeriesReport} to re-aggregate windows without loss.
+ */
+public class TimeSeriesRecorder {
+	public static final String[] HEADER = {
+			"timestamp", "windowMs", "action", "count", "errors", "p50Ms", "p90Ms", "p99Ms", "maxMs", "histogram"
+	};
+
+	private static volatile TimeSeriesRecorder instance = null;
+
+	private final Logger logger;
+	private final File seriesFile;
+	private final long windowMs;
+	private final Recorder[] recorders = new Recorder[RunRecorder.STRIPES];
+	private final Queue<Slot> completed = new ConcurrentLinkedQueue<>();
+	private final Queue<Slot> pool = new ConcurrentLinkedQueue<>();
+	private final NavigableMap<Long, Slot[]> pending = new TreeMap<>();
+	private final AtomicLong lateSamples = new AtomicLong();
+	private long writtenUpTo = Long.MIN_VALUE;
+
+	private ScheduledExecutorService scheduler;
+	private CSVWriter writer;
+
+	private static final class Slot {
+		private final LatencyHistogram histogram = new LatencyHistogram();
+		private long window;
+		private int ordinal;
+		private long success;
+		private long errors;
+
+		private void reset() {
+			this.histogram.reset();
+			this.success = 0L;
+			this.errors = 0L;
+		}
+
+		private void merge(Slot other) {
+			this.histogram.merge(other.histogram);
+			this.success += other.success;
+			this.errors += other.errors;
+		}
+	}
+
+	private static final class Recorder {
+		private final TimeSeriesRecorder owner;
+		private final Slot[] slots = new Slot[RunRecorder.SLOTS];
+		private long window = Long.MIN_VALUE;
+
+		private Recorder(TimeSeriesRecorder owner) {
+			this.owner = owner;
+		}
+
+		private synchronized void record(int ordinal, long latencyNanos, boolean successful, long window) {
+			if (window > this.window) {
+				this.handOver();
+				this.window = window;
+			}
+			Slot slot = this.slots[ordinal];
+			if (slot == null) {
+				slot = this.owner.takeSlot();
+				slot.window = this.window;
+				slot.ordinal = ordinal;
+				this.slots[ordinal] = slot;
+			}
+			slot.histogram.recordNanos(latencyNanos);
+			if (successful) slot.success++;
+			else slot.errors++;
+		}
+
+		private synchronized void handOverBefore(long window) {
+			if (this.window < window) this.handOver();
+		}
+
+		private void handOver() {
+			for (int index = 0; index < this.slots.length; index++) {
+				if (this.slots[index] == null) continue;
+
+				this.owner.completed.add(this.slots[index]);
+				this.slots[index] = null;
+			}
+		}
+	}
+
+	/**
+	 * Creates the recorder.
+	 *
+	 * @param logger The logger.
+	 * @param seriesFile File to write the windows to.
+	 * @param windowMs Window size.
+	 */
+	public TimeSeriesRecorder(Logger logger, File seriesFile, long windowMs) {
+		this.logger = logger;
+		this.seriesFile = seriesFile;
+		this.windowMs = windowMs;
+		for (int index = 0; index < this.recorders.length; index++) this.recorders[index] = new Recorder(this);
+	}
+
+	/**
+	 * Starts recording once per JVM.
+	 *
+	 * @param logger The logger.
+	 * @param seriesFile File to write the windows to, nothing is started when {@code null}.
+	 * @param windowSecs Window size.
+	 */
+	public static synchronized void startOnce(Logger logger, File seriesFile, int windowSecs) {
+		if (instance != null || seriesFile == null) return;
+
+		TimeSeriesRecorder recorder = new TimeSeriesRecorder(logger, seriesFile, TimeUnit.SECONDS.toMillis(Math.max(1, windowSecs)));
+		recorder.start();
+		instance = recorder;
+	}
+
+	/**
+	 * Stops the recorder started via {@link #startOnce(Logger, File, int)}, writing all remaining windows.
+	 *
+	 * @return The series file, {@code null} when no recorder was running.
+	 */
+	public static synchronized File stopRunning() {
+		TimeSeriesRecorder recorder = instance;
+		if (recorder == null) return null;
+
+		instance = null;
+		recorder.stop();
+		return recorder.seriesFile;
+	}
+
+	/**
+	 * Records a completed sample, ignored when no recorder is running.
+	 *
+	 * @param actionType The sampled action.
+	 * @param latencyNanos Client latency of the sample.
+	 * @param successful Whether the sample succeeded.
+	 */
+	public static void record(TestDataCarrier.ActionType actionType, long latencyNanos, boolean successful) {
+		TimeSeriesRecorder owner = instance;
+		if (owner == null) return;
+
+		owner.recorders[RunRecorder.stripe()].record(
+				actionType.ordinal(), latencyNanos, successful, System.currentTimeMillis() / owner.windowMs);
+	}
+
+	/**
+	 * Records the completion of an asynchronous action as {@code <action>_completion}, ignored when no recorder is running.
+	 *
+	 * @param actionType The sampled action.
+	 * @param completionNanos Time from sending the action until it completed.
+	 * @param successful Whether the action completed.
+	 */
+	public static void recordCompletion(TestDataCarrier.ActionType actionType, long completionNanos, boolean successful) {
+		TimeSeriesRecorder owner = instance;
+		if (owner == null) return;
+
+		owner.recorders[RunRecorder.stripe()].record(RunRecorder.completionSlot(actionType),
+				completionNanos, successful, System.currentTimeMillis() / owner.windowMs);
+	}
+
+	/**
+	 * Records a single page of a paged read as {@code <action>_page}, ignored when no recorder is running.
+	 *
+	 * @param actionType The sampled action.
+	 * @param pageNanos Client latency of the page.
+	 * @param successful Whether the page was read.
+	 */
+	public static void recordPage(TestDataCarrier.ActionType actionType, long pageNanos, boolean successful) {
+		TimeSeriesRecorder owner = instance;
+		if (owner == null) return;
+
+		owner.recorders[RunRecorder.stripe()].record(RunRecorder.pageSlot(actionType),
+				pageNanos, successful, System.currentTimeMillis() / owner.windowMs);
+	}
+
+	public void start() {
+		try {
+			this.writer = new CSVWriter(new OutputStreamWriter(
+					new FileOutputStream(this.seriesFile, false), StandardCharsets.UTF_8));
+		} catch (IOException ioErr) {
+			throw new IllegalStateException(String.format(
+					"Unable to write to '%s'. %s.",
+					this.seriesFile.getAbsolutePath(), ioErr.getMessage()), ioErr);
+		}
+		this.writer.writeNext(HEADER, false);
+
+		this.scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+			Thread thread = new Thread(runnable, "time-series-recorder");
+			thread.setDaemon(true);
+			return thread;
+		});
+		this.scheduler.scheduleAtFixedRate(this::flushSafely, this.windowMs, this.windowMs, TimeUnit.MILLISECONDS);
+		this.logger.info("Recording {}ms windows per action to '{}'.", this.windowMs, this.seriesFile.getAbsolutePath());
+	}
+
+	public void stop() {
+		this.scheduler.shutdown();
+		try {
+			this.scheduler.awaitTermination(this.windowMs * 2L, TimeUnit.MILLISECONDS);
+		} catch (InterruptedException eParam) {
+			Thread.currentThread().interrupt();
+		}
+		this.flush(Long.MAX_VALUE);
+		try {
+			this.writer.close();
+		} catch (IOException ioErr) {
+			this.logger.warn("Unable to close '{}'. {}", this.seriesFile, ioErr.getMessage());
+		}
+		if (this.lateSamples.get() > 0L) {
+			this.logger.warn("{} samples arrived after their window was written and were dropped.", this.lateSamples.get());
+		}
+	}
+
+	private Slot takeSlot() {
+		Slot returnVal = this.pool.poll();
+		return returnVal == null ? new Slot() : returnVal;
+	}
+
+	private void flushSafely() {
+		try {
+			// Windows before the previous window are complete:
+			this.flush(System.currentTimeMillis() / this.windowMs - 1L);
+		} catch (RuntimeException except) {
+			this.logger.warn("Unable to write windows to '{}'. {}", this.seriesFile, except.getMessage());
+		}
+	}
+
+	private synchronized void flush(long beforeWindow) {
+		for (Recorder recorder : this.recorders) recorder.handOverBefore(beforeWindow);
+
+		Slot slot;
+		while ((slot = this.completed.poll()) != null) {
+			if (slot.window <= this.writtenUpTo) {
+				this.lateSamples.addAndGet(slot.success + slot.errors);
+			} else {
+				Slot[] window = this.pending.computeIfAbsent(slot.window, key -> new Slot[RunRecorder.SLOTS]);
+				if (window[slot.ordinal] == null) {
+					window[slot.ordinal] = slot;
+					continue;
+				}
+				window[slot.ordinal].merge(slot);
+			}
+			slot.reset();
+			this.pool.add(slot);
+		}
+
+		while (!this.pending.isEmpty() && this.pending.firstKey() < beforeWindow) {
+			Map.Entry<Long, Slot[]> window = this.pending.pollFirstEntry();
+			for (Slot actionSlot : window.getValue()) {
+				if (actionSlot == null) continue;
+
+				this.write(window.getKey(), actionSlot);
+				actionSlot.reset();
+				this.pool.add(actionSlot);
+			}
+			this.writtenUpTo = window.getKey();
+		}
+		try {
+			this.writer.flush();
+		} catch (IOException ioErr) {
+			this.logger.warn("Unable to flush '{}'. {}", this.seriesFile, ioErr.getMessage());
+		}
+	}
+
+	private void write(long window, Slot slot) {
+		LatencyHistogram histogram = slot.histogram;
+		this.writer.writeNext(new String[] {
+				Long.toString(window * this.windowMs),
+				Long.toString(this.windowMs),
+				RunRecorder.slotName(slot.ordinal),
+				Long.toString(slot.success + slot.errors),
+				Long.toString(slot.errors),
+				String.format(Locale.ROOT, "%.3f", histogram.getPercentileMillis(50)),
+				String.format(Locale.ROOT, "%.3f", histogram.getPercentileMillis(90)),
+				String.format(Locale.ROOT, "%.3f", histogram.getPercentileMillis(99)),
+				String.format(Locale.ROOT, "%.3f", histogram.getMaxMicros() / 1000d),
+				histogram.encode()
+		}, false);
+	}
+}
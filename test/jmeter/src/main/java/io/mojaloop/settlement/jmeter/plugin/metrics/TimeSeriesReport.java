@@ -0,0 +1,203 @@
+package io.mojaloop.settlement.jmeter.plugin.metrics;
+
+import com.opencsv.CSVReader;
+import com.opencsv.exceptions.CsvValidationException;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.text.SimpleDateFormat;
+import java.util.*;
+
+/**
+ * Renders and summarises the windows written by {@code TimeSeriesRecorder}.
+ *
+ * Windows are re-aggregated to the requested size by merging their histograms. The summary
+ * flags stall windows per action, being windows with a rate below half the median rate or a
+ * p99 above three times the median p99, and the most common interval between stalls
+ * (e.g. batch rollovers of the settlement model {@code batchCreateInterval}).
+ * Histograms are kept in their encoded form until aggregated, so long runs fit in memory.
+ */
+public class TimeSeriesReport {
+	private static final double STALL_RATE_FACTOR = 0.5;
+	private static final double STALL_P99_FACTOR = 3.0;
+	private static final int MAX_STALLS_LISTED = 10;
+
+	private final NavigableMap<String, NavigableMap<Long, List<String>>> series = new TreeMap<>();
+	private final Map<String, Map<Long, Long>> errors = new HashMap<>();
+	private long recordedWindowMs = 1000L;
+
+	/**
+	 * An aggregated window.
+	 */
+	private static final class Point {
+		private final long timestamp;
+		private final long count;
+		private final long errors;
+		private final double p50;
+		private final double p90;
+		private final double p99;
+		private final double max;
+
+		private Point(long timestamp, LatencyHistogram histogram, long errors) {
+			this.timestamp = timestamp;
+			this.count = histogram.getCount();
+			this.errors = errors;
+			this.p50 = histogram.getPercentileMillis(50);
+			this.p90 = histogram.getPercentileMillis(90);
+			this.p99 = histogram.getPercentileMillis(99);
+			this.max = histogram.getMaxMicros() / 1000d;
+		}
+	}
+
+	/**
+	 * Loads the windows from {@code seriesFile}.
+	 *
+	 * @param seriesFile CSV written by the {@code TimeSeriesRecorder}.
+	 * @param action Only windows of this action are loaded, {@code null} for all.
+	 */
+	public TimeSeriesReport(File seriesFile, String action) {
+		try (CSVReader reader = new CSVReader(new InputStreamReader(
+				new FileInputStream(seriesFile), StandardCharsets.UTF_8))) {
+			String[] row = reader.readNext();// header
+			while ((row = reader.readNext()) != null) {
+				if (row.length < TimeSeriesRecorder.HEADER.length) continue;
+				if (action != null && !action.isEmpty() && !action.equals(row[2])) continue;
+
+				long timestamp = Long.parseLong(row[0]);
+				this.recordedWindowMs = Long.parseLong(row[1]);
+				this.series.computeIfAbsent(row[2], key -> new TreeMap<>())
+						.computeIfAbsent(timestamp, key -> new ArrayList<>(1)).add(row[9]);
+				this.errors.computeIfAbsent(row[2], key -> new HashMap<>()).merge(timestamp, Long.parseLong(row[4]), Long::sum);
+			}
+		} catch (IOException | CsvValidationException except) {
+			throw new IllegalStateException(String.format(
+					"Unable to read from '%s'. %s.",
+					seriesFile.getAbsolutePath(), except.getMessage()), except);
+		}
+	}
+
+	/**
+	 * Renders a row per window and action.
+	 *
+	 * @param windowSecs Window size in seconds, {@code 0} for the recorded window size.
+	 * @return Report text.
+	 */
+	public String render(int windowSecs) {
+		long windowMs = this.windowMs(windowSecs);
+		StringBuilder returnVal = new StringBuilder();
+		returnVal.append(String.format("Latency per %dms window.", windowMs));
+		if (this.series.isEmpty()) return returnVal.append(" No windows.").toString();
+
+		SimpleDateFormat timeFormat = new SimpleDateFormat("yyyy-MM-dd HH:mm:ss");
+		returnVal.append(String.format("%n%-19s  %-32s %10s %8s %10s %10s %10s %10s  %s",
+				"window", "action", "rate/s", "errors", "p50-ms", "p90-ms", "p99-ms", "max-ms", "p99"));
+		for (String action : this.series.keySet()) {
+			List<Point> points = this.points(action, windowMs);
+			double maxP99 = points.stream().mapToDouble(itm -> itm.p99).max().orElse(0d);
+			for (Point point : points) {
+				returnVal.append(String.format(Locale.ROOT, "%n%-19s  %-32s %10.1f %8d %10.3f %10.3f %10.3f %10.3f  %s",
+						timeFormat.format(new Date(point.timestamp)), action, point.count * 1000d / windowMs,
+						point.errors, point.p50, point.p90, point.p99, point.max, bar(point.p99, maxP99)));
+			}
+		}
+		return returnVal.toString();
+	}
+
+	/**
+	 * Summarises every action: rate and p99 spread across windows, and the stall windows.
+	 *
+	 * @param windowSecs Window size in seconds, {@code 0} for the recorded window size.
+	 * @return Report text.
+	 */
+	public String summarise(int windowSecs) {
+		long windowMs = this.windowMs(windowSecs);
+		StringBuilder returnVal = new StringBuilder();
+		returnVal.append(String.format("Summary of %dms windows.", windowMs));
+		if (this.series.isEmpty()) return returnVal.append(" No windows.").toString();
+
+		SimpleDateFormat timeFormat = new SimpleDateFormat("yyyy-MM-dd HH:mm:ss");
+		for (String action : this.series.keySet()) {
+			List<Point> points = this.points(action, windowMs);
+			double[] rates = points.stream().mapToDouble(itm -> itm.count * 1000d / windowMs).sorted().toArray();
+			double[] p99s = points.stream().filter(itm -> itm.count > 0L).mapToDouble(itm -> itm.p99).sorted().toArray();
+			double medianRate = median(rates), medianP99 = median(p99s);
+
+			returnVal.append(String.format(Locale.ROOT,
+					"%n%n%s: %d windows, rate/s min=%.1f median=%.1f max=%.1f, p99-ms median=%.3f max=%.3f, errors=%d",
+					action, points.size(), rates[0], medianRate, rates[rates.length - 1],
+					medianP99, p99s.length == 0 ? 0d : p99s[p99s.length - 1],
+					points.stream().mapToLong(itm -> itm.errors).sum()));
+
+			List<Long> stalls = new ArrayList<>();
+			long previousStall = Long.MIN_VALUE;
+			int listed = 0;
+			for (Point point : points) {
+				double rate = point.count * 1000d / windowMs;
+				if (rate >= medianRate * STALL_RATE_FACTOR && point.p99 <= medianP99 * STALL_P99_FACTOR) continue;
+
+				if (listed++ < MAX_STALLS_LISTED) {
+					returnVal.append(String.format(Locale.ROOT, "%n  stall %s rate/s=%.1f p99-ms=%.3f errors=%d",
+							timeFormat.format(new Date(point.timestamp)), rate, point.p99, point.errors));
+				}
+				// Consecutive stall windows are a single stall:
+				if (point.timestamp - windowMs != previousStall) stalls.add(point.timestamp);
+				previousStall = point.timestamp;
+			}
+			returnVal.append(String.format("%n  %d stalls", stalls.size()));
+			Long interval = commonInterval(stalls);
+			if (interval != null) returnVal.append(String.format(", most common interval %ds", interval / 1000L));
+		}
+		return returnVal.toString();
+	}
+
+	private long windowMs(int windowSecs) {
+		long requested = windowSecs * 1000L;
+		if (requested <= this.recordedWindowMs) return this.recordedWindowMs;
+		// Re-aggregated windows are a multiple of the recorded window:
+		return (requested / this.recordedWindowMs) * this.recordedWindowMs;
+	}
+
+	/**
+	 * Aggregates the windows of {@code action}. Windows without samples are not written by the
+	 * recorder, they are included here as empty windows since they are a stall of the action.
+	 */
+	private List<Point> points(String action, long windowMs) {
+		NavigableMap<Long, List<String>> windows = this.series.get(action);
+		Map<Long, Long> actionErrors = this.errors.get(action);
+		List<Point> returnVal = new ArrayList<>();
+		LatencyHistogram histogram = new LatencyHistogram();
+
+		long first = windows.firstKey() - Math.floorMod(windows.firstKey(), windowMs);
+		for (long timestamp = first; timestamp <= windows.lastKey(); timestamp += windowMs) {
+			long windowErrors = 0L;
+			for (Map.Entry<Long, List<String>> window : windows.subMap(timestamp, timestamp + windowMs).entrySet()) {
+				for (String encoded : window.getValue()) histogram.merge(LatencyHistogram.decode(encoded));
+				windowErrors += actionErrors.getOrDefault(window.getKey(), 0L);
+			}
+			returnVal.add(new Point(timestamp, histogram, windowErrors));
+			histogram.reset();
+		}
+		return returnVal;
+	}
+
+	private static Long commonInterval(List<Long> stalls) {
+		if (stalls.size() < 3) return null;
+
+		Map<Long, Integer> intervals = new HashMap<>();
+		for (int index = 1; index < stalls.size(); index++) intervals.merge(stalls.get(index) - stalls.get(index - 1), 1, Integer::sum);
+		Map.Entry<Long, Integer> returnVal = Collections.max(intervals.entrySet(), Map.Entry.comparingByValue());
+		return returnVal.getValue() > 1 ? returnVal.getKey() : null;
+	}
+
+	private static double median(double[] sorted) {
+		if (sorted.length == 0) return 0d;
+		return sorted[sorted.length / 2];
+	}
+
+	private static String bar(double value, double max) {
+		int width = max <= 0d ? 0 : (int) Math.round(value / max * 40d);
+		StringBuilder returnVal = new StringBuilder(width);
+		for (int index = 0; index < width; index++) returnVal.append('#');
+		return returnVal.toString();
+	}
+}
@@ -1,18 +1,37 @@
 package io.mojaloop.settlement.jmeter.plugin.rest.client;
 
+import io.mojaloop.settlement.jmeter.plugin.jfr.JfrEvents;
+import io.mojaloop.settlement.jmeter.plugin.metrics.HarnessMetrics;
 import io.mojaloop.settlement.jmeter.plugin.rest.client.json.ABaseJSONObject;
+import io.mojaloop.settlement.jmeter.plugin.rest.client.json.codec.JSONCodec;
+import io.mojaloop.settlement.jmeter.plugin.rest.client.json.codec.JSONCodecs;
+import io.mojaloop.settlement.jmeter.plugin.rest.client.json.codec.JSONType;
 import lombok.Getter;
 import lombok.RequiredArgsConstructor;
+import org.apache.http.HttpClientConnection;
 import org.apache.http.HttpEntity;
+import org.apache.http.HttpException;
+import org.apache.http.HttpRequest;
 import org.apache.http.HttpResponse;
 import org.apache.http.client.HttpClient;
 import org.apache.http.client.ResponseHandler;
 import org.apache.http.client.methods.*;
+import org.apache.http.config.RegistryBuilder;
+import org.apache.http.conn.ConnectionPoolTimeoutException;
+import org.apache.http.conn.ConnectionRequest;
+import org.apache.http.conn.routing.HttpRoute;
+import org.apache.http.conn.socket.ConnectionSocketFactory;
+import org.apache.http.conn.socket.LayeredConnectionSocketFactory;
+import org.apache.http.conn.socket.PlainConnectionSocketFactory;
 import org.apache.http.conn.ssl.SSLConnectionSocketFactory;
+import org.apache.http.entity.ByteArrayEntity;
 import org.apache.http.entity.ContentType;
 import org.apache.http.entity.StringEntity;
 import org.apache.http.impl.client.CloseableHttpClient;
 import org.apache.http.impl.client.HttpClients;
+import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
+import org.apache.http.protocol.HttpContext;
+import org.apache.http.protocol.HttpRequestExecutor;
 import org.apache.http.ssl.SSLContextBuilder;
 import org.apache.http.ssl.TrustStrategy;
 import org.apache.http.util.EntityUtils;
@@ -28,12 +47,16 @@ import java.io.UnsupportedEncodingException;
 import java.net.ConnectException;
 import java.net.URLEncoder;
 import java.net.UnknownHostException;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
 import java.security.KeyManagementException;
 import java.security.KeyStoreException;
 import java.security.NoSuchAlgorithmException;
 import java.security.cert.CertificateException;
 import java.security.cert.X509Certificate;
 import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
 
 /**
  * Base class for all REST related calls.
@@ -63,8 +86,10 @@ public abstract class ABaseRESTClient implements AutoCloseable {
 	private static String REGEX_EQUALS = "\\=";
 
 	public static boolean IS_IN_JUNIT_TEST_MODE = false;
+	public static final int DEFAULT_MAX_CONNECTIONS = 2000;
 
-	private CloseableHttpClient closeableHttpClient;
+	private volatile CloseableHttpClient closeableHttpClient;
+	private int maxConnections = DEFAULT_MAX_CONNECTIONS;
 
 	public static String SYSTEM_PROP_TRUST_STORE = "cbe-ipn.httpclient.truststore";
 	public static String SYSTEM_PROP_TRUST_STORE_PASSWORD = "cbe-ipn.httpclient.truststore.password";
@@ -122,53 +147,58 @@ public abstract class ABaseRESTClient implements AutoCloseable {
 	 * @param httpUriRequestParam The Apache URI Request.
 	 * @param responseHandlerParam The response from the request handler.
 	 * @param postfixUrlParam URL mapping after the Base endpoint.
-	 * @return Return body as JSON.
+	 * @param <R> The body type returned by {@code responseHandlerParam}.
+	 * @return Return body.
 	 *
 	 * @see HttpClient
 	 * @see HttpUriRequest
 	 * @see ResponseHandler
 	 */
-	private String executeHttp(
+	private <R> R executeHttp(
 		HttpClient httpClientParam,
 		HttpUriRequest httpUriRequestParam,
-		ResponseHandler responseHandlerParam,
+		ResponseHandler<R> responseHandlerParam,
 		String postfixUrlParam
 	) {
+		ExchangeMetrics exchange = ExchangeMetrics.current();
+		long sentBefore = exchange.getSentBytes(), receivedBefore = exchange.getReceivedBytes();
+		Object jfrEvent = JfrEvents.beginExchange();
+		String outcome = JfrEvents.OUTCOME_SUCCESS;
 		try {
-			Object returnedObj = httpClientParam.execute(httpUriRequestParam, responseHandlerParam);
-
-			//String text came back...
-			if (returnedObj instanceof String) {
-				return (String)returnedObj;
-			} else if (returnedObj == null) {
+			R returnedObj = httpClientParam.execute(httpUriRequestParam, responseHandlerParam);
+			if (returnedObj == null) {
 				//[null] - came back...
 				throw new RESTClientException(
 						"No results, [null] response.",
 						RESTClientException.ErrorCode.NO_RESULT);
 			}
-
-			throw new RESTClientException(
-					"Expected 'String' got '"+(
-							(returnedObj == null) ? null:returnedObj.getClass().getName())+"'.",
-					RESTClientException.ErrorCode.ILLEGAL_STATE_ERROR);
+			return returnedObj;
 		} catch (IOException except) {
 			//IO Problem...
+			RESTClientException restExcept;
 			if (except instanceof UnknownHostException) {
-				throw new RESTClientException(
+				restExcept = new RESTClientException(
 						"Unable to reach host '"+
 								this.endpointUrl.concat(postfixUrlParam)+"'. "+except.getMessage(),
 						except, RESTClientException.ErrorCode.CONNECT_ERROR);
-			}
-
-			if (except instanceof ConnectException) {
-				throw new RESTClientException(except.getMessage(),
+			} else if (except instanceof ConnectException) {
+				restExcept = new RESTClientException(except.getMessage(),
 						except,
 						RESTClientException.ErrorCode.CONNECT_ERROR);
+			} else {
+				restExcept = new RESTClientException(
+						except.getMessage(),
+						except,
+						RESTClientException.ErrorCode.IO_ERROR);
 			}
-			throw new RESTClientException(
-					except.getMessage(),
-					except,
-					RESTClientException.ErrorCode.IO_ERROR);
+			outcome = HarnessMetrics.errorCode(restExcept);
+			throw restExcept;
+		} catch (RuntimeException except) {
+			outcome = HarnessMetrics.errorCode(except);
+			throw except;
+		} finally {
+			JfrEvents.commitExchange(jfrEvent, httpUriRequestParam.getMethod(), postfixUrlParam,
+					exchange.getSentBytes() - sentBefore, exchange.getReceivedBytes() - receivedBefore, outcome);
 		}
 	}
 
@@ -223,6 +253,7 @@ public abstract class ABaseRESTClient implements AutoCloseable {
 						"No response data from '"+ this.endpointUrl.concat(postfixUrlParam)+"'.", RESTClientException.ErrorCode.IO_ERROR);
 			}
 
+			long parseStart = System.nanoTime();
 			JSONObject jsonOjb = null;
 			if (responseBody.startsWith("[")) {
 				JSONArray jsonArray = new JSONArray(responseBody);
@@ -230,9 +261,10 @@ public abstract class ABaseRESTClient implements AutoCloseable {
 			} else {
 				jsonOjb = new JSONObject(responseBody);
 			}
+			ExchangeMetrics.current().addNanos(ExchangeMetrics.Phase.PARSE, System.nanoTime() - parseStart);
 
 			Error err = new Error(jsonOjb);
-			if (err.isError()) throw new RESTClientException(err.getErrorMessage(), err.getErrorCode());
+			if (err.isError()) throw new RESTClientException(err.getErrorMessage(), err.getErrorCode(), 0, err.getErrorMessage());
 
 			return jsonOjb;
 		} catch (JSONException jsonExcept) {
@@ -276,11 +308,17 @@ public abstract class ABaseRESTClient implements AutoCloseable {
 						"No response data from '"+ this.endpointUrl.concat(postfixUrlParam)+"'.", RESTClientException.ErrorCode.IO_ERROR);
 			}
 
-			if (responseBody.startsWith("[")) return new JSONArray(responseBody);
+			long parseStart = System.nanoTime();
+			if (responseBody.startsWith("[")) {
+				JSONArray returnVal = new JSONArray(responseBody);
+				ExchangeMetrics.current().addNanos(ExchangeMetrics.Phase.PARSE, System.nanoTime() - parseStart);
+				return returnVal;
+			}
 
 			JSONObject jsonOjb = new JSONObject(responseBody);
+			ExchangeMetrics.current().addNanos(ExchangeMetrics.Phase.PARSE, System.nanoTime() - parseStart);
 			Error err = new Error(jsonOjb);
-			if (err.isError()) throw new RESTClientException(err.getErrorMessage(), err.getErrorCode());
+			if (err.isError()) throw new RESTClientException(err.getErrorMessage(), err.getErrorCode(), 0, err.getErrorMessage());
 
 			return new JSONArray(responseBody);
 		} catch (JSONException jsonExcept) {
@@ -359,6 +397,155 @@ public abstract class ABaseRESTClient implements AutoCloseable {
 				postfixUrlParam);
 	}
 
+	/**
+	 * Performs an HTTP-GET request with {@code postfixUrl}, decoding the response with the current codec.
+	 *
+	 * @param postfixUrl URL mapping after the Base endpoint.
+	 * @param headerNameValues The HTTP Headers to include.
+	 * @param type The POJO to decode the response into.
+	 * @param <T> The POJO type.
+	 * @return The decoded response, the first object when the response is an array.
+	 *
+	 * @see JSONCodecs#current()
+	 */
+	protected <T extends ABaseJSONObject> T getJson(
+			String postfixUrl,
+			List<HeaderNameValue> headerNameValues,
+			JSONType<T> type
+	) {
+		return this.executeCodec(HttpMethod.GET, headerNameValues, null, postfixUrl, type);
+	}
+
+	/**
+	 * Performs an HTTP-POST request with {@code postfixUrl}, encoding the body and decoding the
+	 * response with the current codec.
+	 *
+	 * @param headerNameValues The additional HTTP headers.
+	 * @param baseDomain The body to POST.
+	 * @param postfixUrl URL mapping after the Base endpoint.
+	 * @param type The POJO to decode the response into.
+	 * @param <T> The POJO type.
+	 * @return The decoded response.
+	 *
+	 * @see JSONCodecs#current()
+	 */
+	protected <T extends ABaseJSONObject> T postJson(
+			List<HeaderNameValue> headerNameValues,
+			ABaseJSONObject baseDomain,
+			String postfixUrl,
+			JSONType<T> type
+	) {
+		if (baseDomain == null) {
+			throw new RESTClientException("No JSON body to post.", RESTClientException.ErrorCode.FIELD_VALIDATE);
+		}
+		return this.executeCodec(HttpMethod.POST, headerNameValues, baseDomain, postfixUrl, type);
+	}
+
+	/**
+	 * Performs an HTTP-DELETE request with {@code postfixUrl}, decoding the response with the current codec.
+	 *
+	 * @param headerNameValues The additional HTTP headers.
+	 * @param baseDomain The body, encoded but not sent as {@code HttpDelete} does not enclose an entity.
+	 * @param postfixUrl URL mapping after the Base endpoint.
+	 * @param type The POJO to decode the response into.
+	 * @param <T> The POJO type.
+	 * @return The decoded response.
+	 *
+	 * @see JSONCodecs#current()
+	 */
+	protected <T extends ABaseJSONObject> T deleteJson(
+			List<HeaderNameValue> headerNameValues,
+			ABaseJSONObject baseDomain,
+			String postfixUrl,
+			JSONType<T> type
+	) {
+		return this.executeCodec(HttpMethod.DELETE, headerNameValues, baseDomain, postfixUrl, type);
+	}
+
+	/**
+	 * Sends {@code baseDomain} encoded as bytes and decodes the response bytes into {@code type},
+	 * without an intermediate {@code String}.
+	 *
+	 * @param httpMethod The HTTP method to use.
+	 * @param headerNameValues The additional HTTP headers.
+	 * @param baseDomain The body, {@code null} for none.
+	 * @param postfixUrl URL mapping after the Base endpoint.
+	 * @param type The POJO to decode the response into.
+	 * @param <T> The POJO type.
+	 * @return The decoded response.
+	 *
+	 * @see JSONCodec
+	 * @see ExchangeMetrics
+	 */
+	protected <T extends ABaseJSONObject> T executeCodec(
+			HttpMethod httpMethod,
+			List<HeaderNameValue> headerNameValues,
+			ABaseJSONObject baseDomain,
+			String postfixUrl,
+			JSONType<T> type
+	) {
+		JSONCodec codec = JSONCodecs.current();
+		String completeUri = this.endpointUrl.concat(postfixUrl);
+		final HttpUriRequest uriRequest;
+		switch (httpMethod) {
+			case GET: uriRequest = new HttpGet(completeUri);break;
+			case POST: uriRequest = new HttpPost(completeUri);break;
+			case PUT: uriRequest = new HttpPut(completeUri);break;
+			case DELETE: uriRequest = new HttpDelete(completeUri);break;
+			default:
+				throw new RESTClientException(
+						"URI Request is not set for HTTP Method '"+httpMethod+"'.",
+						RESTClientException.ErrorCode.ILLEGAL_STATE_ERROR);
+		}
+
+		if (baseDomain != null) {
+			ExchangeMetrics exchange = ExchangeMetrics.current();
+			long serialiseStart = System.nanoTime();
+			byte[] body;
+			try {
+				body = codec.encode(baseDomain);
+			} catch (JSONException jsonExcept) {
+				throw new RESTClientException(jsonExcept.getMessage(), jsonExcept, RESTClientException.ErrorCode.JSON_PARSING);
+			}
+			exchange.addNanos(ExchangeMetrics.Phase.SERIALISE, System.nanoTime() - serialiseStart);
+			uriRequest.setHeader(CONTENT_TYPE_HEADER, ContentType.APPLICATION_JSON.toString());
+			if (uriRequest instanceof HttpEntityEnclosingRequestBase) {
+				exchange.addSentBytes(body.length);
+				((HttpEntityEnclosingRequestBase)uriRequest).setEntity(new ByteArrayEntity(body, ContentType.APPLICATION_JSON));
+			}
+		}
+
+		//Set additional headers...
+		if (headerNameValues != null && !headerNameValues.isEmpty()) {
+			for (HeaderNameValue headerNameVal : headerNameValues) {
+				if (headerNameVal.getName() == null || headerNameVal.getName().trim().isEmpty()) continue;
+
+				if (headerNameVal.getValue() == null || headerNameVal.getValue().trim().isEmpty()) continue;
+
+				uriRequest.setHeader(headerNameVal.getName(), headerNameVal.getValue());
+			}
+		}
+
+		byte[] responseBody = this.executeHttp(
+				this.getClient(), uriRequest, this.getBytesResponseHandler(completeUri), postfixUrl);
+		if (responseBody.length == 0) {
+			throw new RESTClientException(
+					"No response data from '"+ completeUri+"'.", RESTClientException.ErrorCode.IO_ERROR);
+		}
+
+		long parseStart = System.nanoTime();
+		try {
+			return codec.decode(responseBody, type);
+		} catch (JSONException jsonExcept) {
+			throw new RESTClientException(
+					jsonExcept.getMessage() + "\n Response Body is: \n\n" +
+							new String(responseBody, StandardCharsets.UTF_8),
+					jsonExcept, RESTClientException.ErrorCode.JSON_PARSING);
+		} finally {
+			ExchangeMetrics.current().addNanos(ExchangeMetrics.Phase.PARSE, System.nanoTime() - parseStart);
+		}
+	}
+
 	/**
 	 * Performs an HTTP-POST request with {@code postfixUrlParam} making use of
 	 * form params as {@code formNameValuesParam}.
@@ -406,7 +593,9 @@ public abstract class ABaseRESTClient implements AutoCloseable {
 			throw new RESTClientException("No JSON body to post.", RESTClientException.ErrorCode.FIELD_VALIDATE);
 		}
 
-		String bodyJsonString = baseDomainParam.toJsonObject().toString();
+		long serialiseStart = System.nanoTime();
+		String bodyJsonString = baseDomainParam.toJsonString();
+		ExchangeMetrics.current().addNanos(ExchangeMetrics.Phase.SERIALISE, System.nanoTime() - serialiseStart);
 
 		return this.executeString(
 				httpMethodParam,
@@ -503,9 +692,11 @@ public abstract class ABaseRESTClient implements AutoCloseable {
 					RESTClientException.ErrorCode.IO_ERROR);
 
 		try {
+			long parseStart = System.nanoTime();
 			JSONObject jsonOjb = new JSONObject(responseBody);
+			ExchangeMetrics.current().addNanos(ExchangeMetrics.Phase.PARSE, System.nanoTime() - parseStart);
 			Error err = new Error(jsonOjb);
-			if (err.isError()) throw new RESTClientException(err.getErrorMessage(), err.getErrorCode());
+			if (err.isError()) throw new RESTClientException(err.getErrorMessage(), err.getErrorCode(), 0, err.getErrorMessage());
 
 			return jsonOjb;
 		} catch (JSONException jsonExcept) {
@@ -604,7 +795,14 @@ public abstract class ABaseRESTClient implements AutoCloseable {
 
 			//When HttpEntity Enclosing Request Base...
 			if (uriRequest instanceof HttpEntityEnclosingRequestBase) {
-				HttpEntity httpEntity = new StringEntity(string, contentType);
+				Charset charset = contentType.getCharset() == null ?
+						StandardCharsets.ISO_8859_1 : contentType.getCharset();
+				long encodeStart = System.nanoTime();
+				byte[] body = string.getBytes(charset);
+				ExchangeMetrics exchange = ExchangeMetrics.current();
+				exchange.addNanos(ExchangeMetrics.Phase.SERIALISE, System.nanoTime() - encodeStart);
+				exchange.addSentBytes(body.length);
+				HttpEntity httpEntity = new ByteArrayEntity(body, contentType);
 				((HttpEntityEnclosingRequestBase)uriRequest).setEntity(httpEntity);
 			}
 
@@ -675,36 +873,94 @@ public abstract class ABaseRESTClient implements AutoCloseable {
 			 * @throws IOException If there are any communication or I/O problems.
 			 */
 			public String handleResponse(final HttpResponse responseParam) throws IOException {
-				int status = responseParam.getStatusLine().getStatusCode();
-				if (status >= 200 && status < 300) {
-					HttpEntity entity = responseParam.getEntity();
-					String responseJsonString = (entity == null) ? null: EntityUtils.toString(entity);
-					return responseJsonString;
-				} else if (status == 400) {
-					HttpEntity entity = responseParam.getEntity();
-					String responseJsonString = (entity == null) ? null : EntityUtils.toString(entity);
-					return responseJsonString;
-				} else if (status == 404) {
-					HttpEntity entity = responseParam.getEntity();
-					String responseString = (entity == null) ? null : EntityUtils.toString(entity);
-					throw new RESTClientException(
-							"No data found!: " + status+". "
-									+responseParam.getStatusLine().getReasonPhrase()+". \nResponse Text ["+ responseString+"]",
-							RESTClientException.ErrorCode.NO_RESULT);
-				} else {
-					HttpEntity entity = responseParam.getEntity();
-					String responseString = (entity != null) ? EntityUtils.toString(entity) : null;
-					throw new RESTClientException(
-							"Unexpected response status: " + status+". "
-							+responseParam.getStatusLine().getReasonPhrase()+". \nResponse Text ["+ responseString+"]",
-							RESTClientException.ErrorCode.IO_ERROR);
-				}
+				HttpEntity entity = acceptedEntity(responseParam);
+				return (entity == null) ? null : readEntity(entity);
 			}
 		};
 
 		return responseHandler;
 	}
 
+	/**
+	 * Get a byte based response handler, used with a {@code JSONCodec}.
+	 *
+	 * @param urlCalledParam The url called.
+	 * @return Byte based response handler, with the same status handling as {@link #getJsonResponseHandler(String)}.
+	 */
+	private ResponseHandler<byte[]> getBytesResponseHandler(final String urlCalledParam) {
+		return responseParam -> {
+			HttpEntity entity = acceptedEntity(responseParam);
+			return (entity == null) ? null : readEntityBytes(entity);
+		};
+	}
+
+	/**
+	 * Returns the entity of a response with a body to process: a {@code 2xx} or a {@code 400}, which
+	 * carries the error information. Other statuses are thrown.
+	 *
+	 * @param responseParam The HTTP response from the server.
+	 * @return The response entity, may be {@code null}.
+	 * @throws IOException If there are any communication or I/O problems.
+	 * @throws RESTClientException {@code NO_RESULT} on a {@code 404}, {@code IO_ERROR} on any other status.
+	 */
+	private static HttpEntity acceptedEntity(final HttpResponse responseParam) throws IOException {
+		int status = responseParam.getStatusLine().getStatusCode();
+		if ((status >= 200 && status < 300) || status == 400) {
+			return responseParam.getEntity();
+		} else if (status == 404) {
+			HttpEntity entity = responseParam.getEntity();
+			String responseString = (entity == null) ? null : readEntity(entity);
+			throw new RESTClientException(
+					"No data found!: " + status+". "
+							+responseParam.getStatusLine().getReasonPhrase()+". \nResponse Text ["+ responseString+"]",
+					RESTClientException.ErrorCode.NO_RESULT, status, responseString);
+		} else {
+			HttpEntity entity = responseParam.getEntity();
+			String responseString = (entity != null) ? readEntity(entity) : null;
+			throw new RESTClientException(
+					"Unexpected response status: " + status+". "
+					+responseParam.getStatusLine().getReasonPhrase()+". \nResponse Text ["+ responseString+"]",
+					RESTClientException.ErrorCode.IO_ERROR, status, responseString);
+		}
+	}
+
+	/**
+	 * Reads the {@code entity} body as text and records the number of bytes received and the time taken.
+	 *
+	 * @param entity The response entity.
+	 * @return Body text decoded with the charset of the response, defaulting to UTF-8.
+	 * @throws IOException If the body could not be read.
+	 *
+	 * @see ExchangeMetrics
+	 */
+	private static String readEntity(HttpEntity entity) throws IOException {
+		byte[] body = readEntityBytes(entity);
+		if (body == null) return null;
+
+		ContentType contentType = ContentType.get(entity);
+		Charset charset = (contentType == null || contentType.getCharset() == null) ?
+				StandardCharsets.UTF_8 : contentType.getCharset();
+		return new String(body, charset);
+	}
+
+	/**
+	 * Reads the {@code entity} body and records the number of bytes received and the time taken.
+	 *
+	 * @param entity The response entity.
+	 * @return Body bytes.
+	 * @throws IOException If the body could not be read.
+	 *
+	 * @see ExchangeMetrics
+	 */
+	private static byte[] readEntityBytes(HttpEntity entity) throws IOException {
+		long bodyStart = System.nanoTime();
+		byte[] body = EntityUtils.toByteArray(entity);
+		ExchangeMetrics exchange = ExchangeMetrics.current();
+		exchange.addNanos(ExchangeMetrics.Phase.BODY, System.nanoTime() - bodyStart);
+		if (body != null) exchange.addReceivedBytes(body.length);
+		return body;
+	}
+
 	/**
 	 * Translates a string into {@code application/x-www-form-urlencoded}
 	 * format using a specific encoding scheme. This method uses the
@@ -737,7 +993,7 @@ public abstract class ABaseRESTClient implements AutoCloseable {
 	}
 
 	/**
-	 * Creates a new Http client.
+	 * Creates the Http client on first use, once also when called concurrently.
 	 *
 	 * If part of a test run, the Http client will accept
 	 * self signed certificates.
@@ -750,9 +1006,19 @@ public abstract class ABaseRESTClient implements AutoCloseable {
 	 * @since v1.1
 	 */
 	private CloseableHttpClient getClient() {
-		if (this.closeableHttpClient != null) return this.closeableHttpClient;
+		CloseableHttpClient returnVal = this.closeableHttpClient;
+		if (returnVal != null) return returnVal;
 
-		int maxConnsPerRoute = 2000;
+		// A client may be shared by many sampling threads, only one of them creates the pool:
+		synchronized (this) {
+			if (this.closeableHttpClient == null) this.closeableHttpClient = this.createClient();
+			return this.closeableHttpClient;
+		}
+	}
+
+	private CloseableHttpClient createClient() {
+		CloseableHttpClient returnVal;
+		int maxConnsPerRoute = this.maxConnections;
 		boolean conManagerShared = false;
 
 		//Only accept self signed certificate if in Junit test case.
@@ -780,10 +1046,11 @@ public abstract class ABaseRESTClient implements AutoCloseable {
 					}
 				}
 				SSLContext sslContext = builder.build();
-				this.closeableHttpClient = HttpClients.custom()
-						.setSSLSocketFactory(new SSLConnectionSocketFactory(sslContext))
+				returnVal = HttpClients.custom()
+						.setConnectionManager(new TimedConnectionManager(
+								new SSLConnectionSocketFactory(sslContext), maxConnsPerRoute))
+						.setRequestExecutor(new TimedRequestExecutor())
 						.setConnectionManagerShared(conManagerShared)
-						.setMaxConnPerRoute(maxConnsPerRoute)
 						.build();
 			} catch (NoSuchAlgorithmException e) {
 				//Changed for Java 1.6 compatibility...
@@ -810,13 +1077,15 @@ public abstract class ABaseRESTClient implements AutoCloseable {
 		} else {
 			//Default HTTP Client...
 			//this.closeableHttpClient = HttpClients.createDefault();
-			this.closeableHttpClient = HttpClients.custom()
-					.setMaxConnPerRoute(maxConnsPerRoute)
+			returnVal = HttpClients.custom()
+					.setConnectionManager(new TimedConnectionManager(
+							SSLConnectionSocketFactory.getSocketFactory(), maxConnsPerRoute))
+					.setRequestExecutor(new TimedRequestExecutor())
 					.setConnectionManagerShared(conManagerShared)
 					.build();
 		}
 
-		return this.closeableHttpClient;
+		return returnVal;
 	}
 
 	/**
@@ -871,11 +1140,23 @@ public abstract class ABaseRESTClient implements AutoCloseable {
 		this.closeAndClean();
 	}
 
+	/**
+	 * Sets the size of the connection pool, in total and per route. Takes effect when the client
+	 * is created, so it must be set before the first request.
+	 *
+	 * @param maxConnections Maximum connections, at least the number of concurrent callers.
+	 */
+	public void setMaxConnections(int maxConnections) {
+		if (maxConnections < 1) throw new IllegalArgumentException("Max connections must be positive.");
+
+		this.maxConnections = maxConnections;
+	}
+
 	/**
 	 * Close the SQL and ElasticSearch Connection, but not in
 	 * a separate {@code Thread}.
 	 */
-	protected void closeConnectionNonThreaded() {
+	protected synchronized void closeConnectionNonThreaded() {
 		if (this.closeableHttpClient != null) {
 			try {
 				this.closeableHttpClient.close();
@@ -889,6 +1170,96 @@ public abstract class ABaseRESTClient implements AutoCloseable {
 		this.closeableHttpClient = null;
 	}
 
+	/**
+	 * Connection pool that records the time spent waiting for a connection lease,
+	 * and the time spent opening new connections.
+	 *
+	 * The total is the same as the per route limit, otherwise the pool default of 20 connections
+	 * caps all the requests to the Settlement-BC endpoint.
+	 */
+	private static final class TimedConnectionManager extends PoolingHttpClientConnectionManager {
+		TimedConnectionManager(LayeredConnectionSocketFactory sslSocketFactory, int maxConnsPerRoute) {
+			super(RegistryBuilder.<ConnectionSocketFactory>create()
+					.register("http", PlainConnectionSocketFactory.getSocketFactory())
+					.register("https", sslSocketFactory)
+					.build());
+			this.setMaxTotal(maxConnsPerRoute);
+			this.setDefaultMaxPerRoute(maxConnsPerRoute);
+		}
+
+		@Override
+		public ConnectionRequest requestConnection(HttpRoute route, Object state) {
+			final ConnectionRequest leaseRequest = super.requestConnection(route, state);
+			return new ConnectionRequest() {
+				@Override
+				public HttpClientConnection get(long timeout, TimeUnit timeUnit)
+						throws InterruptedException, ExecutionException, ConnectionPoolTimeoutException {
+					long leaseStart = System.nanoTime();
+					try {
+						return leaseRequest.get(timeout, timeUnit);
+					} finally {
+						ExchangeMetrics.current().addNanos(ExchangeMetrics.Phase.POOL_WAIT, System.nanoTime() - leaseStart);
+					}
+				}
+
+				@Override
+				public boolean cancel() {
+					return leaseRequest.cancel();
+				}
+			};
+		}
+
+		@Override
+		public void connect(HttpClientConnection managedConn, HttpRoute route, int connectTimeout, HttpContext context)
+				throws IOException {
+			long connectStart = System.nanoTime();
+			try {
+				super.connect(managedConn, route, connectTimeout, context);
+			} finally {
+				ExchangeMetrics.current().addNanos(ExchangeMetrics.Phase.CONNECT, System.nanoTime() - connectStart);
+			}
+		}
+
+		@Override
+		public void upgrade(HttpClientConnection managedConn, HttpRoute route, HttpContext context) throws IOException {
+			long upgradeStart = System.nanoTime();
+			try {
+				super.upgrade(managedConn, route, context);
+			} finally {
+				ExchangeMetrics.current().addNanos(ExchangeMetrics.Phase.CONNECT, System.nanoTime() - upgradeStart);
+			}
+		}
+	}
+
+	/**
+	 * Request executor that records the time spent writing the request, and the
+	 * time waiting for the response head (time to first byte).
+	 * The response body is read later and recorded by {@code readEntity}.
+	 */
+	private static final class TimedRequestExecutor extends HttpRequestExecutor {
+		@Override
+		protected HttpResponse doSendRequest(HttpRequest request, HttpClientConnection conn, HttpContext context)
+				throws IOException, HttpException {
+			long sendStart = System.nanoTime();
+			try {
+				return super.doSendRequest(request, conn, context);
+			} finally {
+				ExchangeMetrics.current().addNanos(ExchangeMetrics.Phase.SEND, System.nanoTime() - sendStart);
+			}
+		}
+
+		@Override
+		protected HttpResponse doReceiveResponse(HttpRequest request, HttpClientConnection conn, HttpContext context)
+				throws HttpException, IOException {
+			long receiveStart = System.nanoTime();
+			try {
+				return super.doReceiveResponse(request, conn, context);
+			} finally {
+				ExchangeMetrics.current().addNanos(ExchangeMetrics.Phase.TTFB, System.nanoTime() - receiveStart);
+			}
+		}
+	}
+
 	/**
 	 * Trust all SSL type connections.
 	 */
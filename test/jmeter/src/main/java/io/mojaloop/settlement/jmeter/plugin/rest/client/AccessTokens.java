@@ -0,0 +1,148 @@
+package io.mojaloop.settlement.jmeter.plugin.rest.client;
+
+import io.mojaloop.settlement.jmeter.plugin.rest.client.json.auth.TokenRsp;
+import org.slf4j.Logger;
+
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Process-wide bearer token for the {@code Authorization} header of the settlement requests.
+ *
+ * The token is obtained from the token endpoint once per JVM and shared by all threads. It is refreshed
+ * in the background once {@link #REFRESH_AT_PERCENT} of its lifetime has passed, so requests never wait
+ * on the token endpoint. When a refresh fails, the current token is kept and the refresh is retried.
+ *
+ * Without a token endpoint the placeholder {@link #UNCONFIGURED} is sent, as before.
+ */
+public final class AccessTokens {
+	public static final String UNCONFIGURED = "Bearer {{access_token}}";
+
+	/**
+	 * Percentage of the token lifetime after which the token is refreshed.
+	 */
+	public static final int REFRESH_AT_PERCENT = 80;
+
+	private static final long MIN_REFRESH_MS = 1_000L;
+	private static final long RETRY_MS = 5_000L;
+
+	private static volatile String authorization = UNCONFIGURED;
+	private static volatile long expiresAt = Long.MAX_VALUE;
+
+	private static AccessTokens instance = null;
+
+	private final Logger logger;
+	private final TokenClient tokenClient;
+	private final String clientId;
+	private final String clientSecret;
+
+	private ScheduledExecutorService scheduler;
+
+	private AccessTokens(Logger logger, String tokenUrl, String clientId, String clientSecret) {
+		this.logger = logger;
+		this.tokenClient = new TokenClient(tokenUrl);
+		this.clientId = clientId;
+		this.clientSecret = clientSecret;
+	}
+
+	/**
+	 * Obtains the first token and starts refreshing it, once per JVM.
+	 *
+	 * @param logger The logger.
+	 * @param tokenUrl The token endpoint, nothing is started when empty.
+	 * @param clientId The client id.
+	 * @param clientSecret The client secret.
+	 * @throws IllegalStateException When the first token could not be obtained.
+	 */
+	public static synchronized void startOnce(Logger logger, String tokenUrl, String clientId, String clientSecret) {
+		if (instance != null || tokenUrl == null || tokenUrl.trim().isEmpty()) return;
+
+		AccessTokens tokens = new AccessTokens(logger, tokenUrl.trim(), clientId, clientSecret);
+		long refreshInMs;
+		try {
+			refreshInMs = tokens.refresh();
+		} catch (RuntimeException except) {
+			tokens.tokenClient.close();
+			throw new IllegalStateException(String.format(
+					"Unable to obtain a token from '%s'. %s", tokenUrl, except.getMessage()), except);
+		}
+		tokens.start(refreshInMs);
+		instance = tokens;
+	}
+
+	/**
+	 * Stops refreshing, subsequent requests send {@link #UNCONFIGURED}.
+	 */
+	public static synchronized void stopRunning() {
+		if (instance == null) return;
+
+		instance.scheduler.shutdownNow();
+		instance.tokenClient.close();
+		instance = null;
+		authorization = UNCONFIGURED;
+		expiresAt = Long.MAX_VALUE;
+	}
+
+	/**
+	 * @return The {@code Authorization} header value, e.g. {@code Bearer eyJhbGciOi...}.
+	 */
+	public static String authorization() {
+		return authorization;
+	}
+
+	/**
+	 * @return When the current token expires in epoch millis, {@link Long#MAX_VALUE} without a token endpoint.
+	 */
+	public static long expiresAt() {
+		return expiresAt;
+	}
+
+	private void start(long refreshInMs) {
+		this.scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+			Thread thread = new Thread(runnable, "access-token-refresh");
+			thread.setDaemon(true);
+			return thread;
+		});
+		this.scheduler.schedule(this::refreshSafely, refreshInMs, TimeUnit.MILLISECONDS);
+	}
+
+	private void refreshSafely() {
+		long refreshInMs;
+		try {
+			refreshInMs = this.refresh();
+		} catch (RuntimeException except) {
+			refreshInMs = RETRY_MS;
+			this.logger.warn("Unable to refresh the token from '{}', retrying in {}ms. {}",
+					this.tokenClient.endpointUrl, refreshInMs, except.getMessage());
+		}
+		if (!this.scheduler.isShutdown()) {
+			this.scheduler.schedule(this::refreshSafely, refreshInMs, TimeUnit.MILLISECONDS);
+		}
+	}
+
+	/**
+	 * Requests a new token and publishes it.
+	 *
+	 * @return Delay until the next refresh.
+	 */
+	private long refresh() {
+		long requestedAt = System.currentTimeMillis();
+		TokenRsp token = this.tokenClient.requestToken(this.clientId, this.clientSecret);
+		String tokenType = token.getTokenType() == null || token.getTokenType().trim().isEmpty() ?
+				TokenRsp.TOKEN_TYPE_BEARER : token.getTokenType();
+		long lifetimeMs = TimeUnit.SECONDS.toMillis(token.getExpiresIn());
+
+		authorization = String.format("%s %s", tokenType, token.getAccessToken());
+		expiresAt = lifetimeMs > 0 ? requestedAt + lifetimeMs : Long.MAX_VALUE;
+
+		if (lifetimeMs <= 0) {
+			this.logger.info("Obtained a token from '{}' without expiry.", this.tokenClient.endpointUrl);
+			return TimeUnit.HOURS.toMillis(1);
+		}
+		long returnVal = Math.max(MIN_REFRESH_MS, lifetimeMs * REFRESH_AT_PERCENT / 100);
+		this.logger.info("Obtained a token from '{}' expiring in {}s, refreshing in {}ms.",
+				this.tokenClient.endpointUrl, token.getExpiresIn(), returnVal);
+		return returnVal;
+	}
+}
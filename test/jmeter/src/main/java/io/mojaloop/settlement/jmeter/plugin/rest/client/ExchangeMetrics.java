@@ -0,0 +1,100 @@
+package io.mojaloop.settlement.jmeter.plugin.rest.client;
+
+import lombok.Getter;
+
+/**
+ * Wire-level measurements for the last exchange performed on the current thread.
+ *
+ * The instance is thread-local and reused, the sampler resets it before each sample
+ * and reads it after the client call returned.
+ * Besides the byte counts, the time spent in each {@code Phase} of the exchange is recorded.
+ */
+@Getter
+public final class ExchangeMetrics {
+	private static final ThreadLocal<ExchangeMetrics> CURRENT = ThreadLocal.withInitial(ExchangeMetrics::new);
+
+	/**
+	 * Phases of a client exchange, in the order they occur.
+	 */
+	public enum Phase {
+		/** Rendering the request object to JSON and bytes. */
+		SERIALISE,
+		/** Waiting to lease a connection from the pool. */
+		POOL_WAIT,
+		/** Opening (and securing) a new connection. */
+		CONNECT,
+		/** Writing the request to the connection. */
+		SEND,
+		/** Waiting for the response head after the request was sent. */
+		TTFB,
+		/** Reading the response body. */
+		BODY,
+		/** Parsing the response body as JSON. */
+		PARSE
+	}
+
+	private static final Phase[] PHASES = Phase.values();
+
+	private long sentBytes;
+	private long receivedBytes;
+	@Getter(lombok.AccessLevel.NONE)
+	private final long[] phaseNanos = new long[PHASES.length];
+
+	/**
+	 * Creates a detached instance, used to keep the metrics of part of a sample.
+	 */
+	public ExchangeMetrics() {
+	}
+
+	/**
+	 * The metrics holder bound to the current thread.
+	 *
+	 * @return Thread-local {@code ExchangeMetrics}.
+	 */
+	public static ExchangeMetrics current() {
+		return CURRENT.get();
+	}
+
+	public void reset() {
+		this.sentBytes = 0L;
+		this.receivedBytes = 0L;
+		for (int index = 0; index < this.phaseNanos.length; index++) this.phaseNanos[index] = 0L;
+	}
+
+	public void addSentBytes(long bytes) {
+		this.sentBytes += bytes;
+	}
+
+	public void addReceivedBytes(long bytes) {
+		this.receivedBytes += bytes;
+	}
+
+	public void addNanos(Phase phase, long nanos) {
+		this.phaseNanos[phase.ordinal()] += nanos;
+	}
+
+	public long getNanos(Phase phase) {
+		return this.phaseNanos[phase.ordinal()];
+	}
+
+	/**
+	 * Replaces the metrics of {@code this} with those of {@code other}.
+	 *
+	 * @param other The metrics to copy.
+	 */
+	public void copyFrom(ExchangeMetrics other) {
+		this.reset();
+		this.addFrom(other);
+	}
+
+	/**
+	 * Adds the metrics of {@code other} to {@code this}.
+	 *
+	 * @param other The metrics to add.
+	 */
+	public void addFrom(ExchangeMetrics other) {
+		this.sentBytes += other.sentBytes;
+		this.receivedBytes += other.receivedBytes;
+		for (int index = 0; index < this.phaseNanos.length; index++) this.phaseNanos[index] += other.phaseNanos[index];
+	}
+}
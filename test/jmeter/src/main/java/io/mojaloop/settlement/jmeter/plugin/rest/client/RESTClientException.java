@@ -5,6 +5,8 @@ package io.mojaloop.settlement.jmeter.plugin.rest.client;
  */
 public class RESTClientException extends RuntimeException {
 	private int errorCode;
+	private int httpStatus;
+	private String serverError;
 
 	/**
 	 * Mapping of Error codes received from server and local.
@@ -55,6 +57,20 @@ public class RESTClientException extends RuntimeException {
 		this.errorCode = errorCode;
 	}
 
+	/**
+	 * Constructs the exception for an error reported by the server.
+	 *
+	 * @param message the detail message.
+	 * @param errorCode Error code of the {@code Exception}.
+	 * @param httpStatus The HTTP status of the response, {@code 0} when the status was accepted.
+	 * @param serverError The error body of the response, may be {@code null}.
+	 */
+	public RESTClientException(String message, int errorCode, int httpStatus, String serverError) {
+		this(message, errorCode);
+		this.httpStatus = httpStatus;
+		this.serverError = serverError;
+	}
+
 	/**
 	 * Gets the error code for {@code this} Exception.
 	 *
@@ -65,4 +81,19 @@ public class RESTClientException extends RuntimeException {
 	public int getErrorCode() {
 		return this.errorCode;
 	}
+
+	/**
+	 * @return The HTTP status of the response, {@code 0} when the error did not come with a rejected status.
+	 */
+	public int getHttpStatus() {
+		return this.httpStatus;
+	}
+
+	/**
+	 * @return The error body of the response (or the {@code errorDescription} of an {@code Error}),
+	 * {@code null} when the error was raised by the client.
+	 */
+	public String getServerError() {
+		return this.serverError;
+	}
 }
@@ -1,38 +1,61 @@
 package io.mojaloop.settlement.jmeter.plugin.rest.client;
 
+import io.mojaloop.settlement.jmeter.plugin.rest.client.json.ABaseJSONObject;
 import io.mojaloop.settlement.jmeter.plugin.rest.client.json.batch.BatchSearchResults;
+import io.mojaloop.settlement.jmeter.plugin.rest.client.json.codec.JSONType;
 import io.mojaloop.settlement.jmeter.plugin.rest.client.json.matrix.AddRemoveBatchFromStaticMatrix;
 import io.mojaloop.settlement.jmeter.plugin.rest.client.json.matrix.CreateDynamicSettlementMatrix;
 import io.mojaloop.settlement.jmeter.plugin.rest.client.json.matrix.CreateStaticSettlementMatrix;
 import io.mojaloop.settlement.jmeter.plugin.rest.client.json.matrix.SettlementMatrix;
+import io.mojaloop.settlement.jmeter.plugin.rest.client.json.matrix.SettlementMatrixFields;
+import io.mojaloop.settlement.jmeter.plugin.rest.client.json.model.SettlementModel;
 import io.mojaloop.settlement.jmeter.plugin.rest.client.json.testdata.TestDataCarrier;
 import io.mojaloop.settlement.jmeter.plugin.rest.client.json.transfer.BatchTransferSearchResults;
-import io.mojaloop.settlement.jmeter.plugin.rest.client.json.transfer.TransferReq;
+import io.mojaloop.settlement.jmeter.plugin.rest.client.json.transfer.Transfer;
 import io.mojaloop.settlement.jmeter.plugin.rest.client.json.transfer.TransferRsp;
+import io.mojaloop.settlement.jmeter.plugin.util.id.IdGenerators;
 import org.apache.http.entity.ContentType;
 import org.json.JSONObject;
 
 import java.util.ArrayList;
 import java.util.List;
-import java.util.UUID;
 import java.util.concurrent.TimeUnit;
 
 /**
  * Rest client for making calls to Settlement-BC.
  */
 public class SettlementBCRestClient extends ABaseRESTClient {
+	private volatile SettlementMatrixFields matrixFields = SettlementMatrixFields.NONE;
 
 	public SettlementBCRestClient(String endpointBaseUrl) {
 		super(endpointBaseUrl);
 	}
 
-	public TransferRsp settlementTransfer(TransferReq settleTransfer) {
+	/**
+	 * Declares the nested matrix fields that are kept when a matrix is retrieved for an action.
+	 *
+	 * @param matrixFields The fields per action, {@code null} for {@link SettlementMatrixFields#NONE}.
+	 */
+	public void setMatrixFields(SettlementMatrixFields matrixFields) {
+		this.matrixFields = matrixFields == null ? SettlementMatrixFields.NONE : matrixFields;
+	}
+
+	public <T extends ABaseJSONObject & Transfer> TransferRsp settlementTransfer(T settleTransfer) {
+		List<HeaderNameValue> headers = new ArrayList<>();
+		headers.add(new HeaderNameValue("X-Correlation-ID", IdGenerators.current().nextId()));
+		headers.add(new HeaderNameValue("Authorization", AccessTokens.authorization()));
+		headers.add(new HeaderNameValue(CONTENT_TYPE_HEADER, ContentType.APPLICATION_JSON.getMimeType()));
+
+		return this.postJson(headers, settleTransfer, "/transfers", TransferRsp.JSON_TYPE);
+	}
+
+	public SettlementModel createSettlementModel(SettlementModel model) {
 		List<HeaderNameValue> headers = new ArrayList<>();
-		headers.add(new HeaderNameValue("X-Correlation-ID", UUID.randomUUID().toString()));
-		headers.add(new HeaderNameValue("Authorization", "Bearer {{access_token}}"));
+		headers.add(new HeaderNameValue("X-Correlation-ID", IdGenerators.current().nextId()));
+		headers.add(new HeaderNameValue("Authorization", AccessTokens.authorization()));
 		headers.add(new HeaderNameValue(CONTENT_TYPE_HEADER, ContentType.APPLICATION_JSON.getMimeType()));
 
-		return new TransferRsp(this.postJson(headers, settleTransfer, "/transfers"));
+		return this.postJson(headers, model, "/models", SettlementModel.JSON_TYPE);
 	}
 
 	public BatchSearchResults settlementBatches(
@@ -40,8 +63,8 @@ public class SettlementBCRestClient extends ABaseRESTClient {
 			int timeBackInMinutes
 	) {
 		List<HeaderNameValue> headers = new ArrayList<>();
-		headers.add(new HeaderNameValue("X-Correlation-ID", UUID.randomUUID().toString()));
-		headers.add(new HeaderNameValue("Authorization", "Bearer {{access_token}}"));
+		headers.add(new HeaderNameValue("X-Correlation-ID", IdGenerators.current().nextId()));
+		headers.add(new HeaderNameValue("Authorization", AccessTokens.authorization()));
 		headers.add(new HeaderNameValue(CONTENT_TYPE_HEADER, ContentType.APPLICATION_JSON.getMimeType()));
 
 		long toDate = System.currentTimeMillis();
@@ -49,50 +72,107 @@ public class SettlementBCRestClient extends ABaseRESTClient {
 
 		String url = String.format("/batches?settlementModel=%s&fromDate=%d&toDate=%d",
 				settlementModel, fromDate, toDate);
-		return new BatchSearchResults(this.getJson(url, headers));
+		return this.getJson(url, headers, BatchSearchResults.JSON_TYPE);
 	}
 
 	public CreateStaticSettlementMatrix createMatrix(CreateStaticSettlementMatrix matrix) {
 		List<HeaderNameValue> headers = new ArrayList<>();
-		headers.add(new HeaderNameValue("X-Correlation-ID", UUID.randomUUID().toString()));
-		headers.add(new HeaderNameValue("Authorization", "Bearer {{access_token}}"));
+		headers.add(new HeaderNameValue("X-Correlation-ID", IdGenerators.current().nextId()));
+		headers.add(new HeaderNameValue("Authorization", AccessTokens.authorization()));
 		headers.add(new HeaderNameValue(CONTENT_TYPE_HEADER, ContentType.APPLICATION_JSON.getMimeType()));
 
-		return new CreateStaticSettlementMatrix(this.postJson(headers, matrix, "/matrices"));
+		return this.postJson(headers, matrix, "/matrices", CreateStaticSettlementMatrix.JSON_TYPE);
 	}
 
 	public CreateDynamicSettlementMatrix createMatrix(CreateDynamicSettlementMatrix matrix) {
 		List<HeaderNameValue> headers = new ArrayList<>();
-		headers.add(new HeaderNameValue("X-Correlation-ID", UUID.randomUUID().toString()));
-		headers.add(new HeaderNameValue("Authorization", "Bearer {{access_token}}"));
+		headers.add(new HeaderNameValue("X-Correlation-ID", IdGenerators.current().nextId()));
+		headers.add(new HeaderNameValue("Authorization", AccessTokens.authorization()));
 		headers.add(new HeaderNameValue(CONTENT_TYPE_HEADER, ContentType.APPLICATION_JSON.getMimeType()));
 
-		return new CreateDynamicSettlementMatrix(this.postJson(headers, matrix, "/matrices"));
+		return this.postJson(headers, matrix, "/matrices", CreateDynamicSettlementMatrix.JSON_TYPE);
 	}
 
 	public SettlementMatrix getMatrixById(String id) {
+		return this.getMatrixById(id, SettlementMatrix.JSON_TYPE);
+	}
+
+	/**
+	 * Gets the matrix, keeping the nested fields declared for {@code forAction}.
+	 *
+	 * @param id The matrix id.
+	 * @param forAction The action the matrix is retrieved for.
+	 * @return The matrix.
+	 */
+	public SettlementMatrix getMatrixById(String id, TestDataCarrier.ActionType forAction) {
+		return this.getMatrixById(id, this.matrixFields.jsonType(forAction));
+	}
+
+	private SettlementMatrix getMatrixById(String id, JSONType<SettlementMatrix> type) {
 		List<HeaderNameValue> headers = new ArrayList<>();
-		headers.add(new HeaderNameValue("X-Correlation-ID", UUID.randomUUID().toString()));
-		headers.add(new HeaderNameValue("Authorization", "Bearer {{access_token}}"));
+		headers.add(new HeaderNameValue("X-Correlation-ID", IdGenerators.current().nextId()));
+		headers.add(new HeaderNameValue("Authorization", AccessTokens.authorization()));
 		headers.add(new HeaderNameValue(CONTENT_TYPE_HEADER, ContentType.APPLICATION_JSON.getMimeType()));
-		return new SettlementMatrix(this.getJson(String.format("/matrices/%s", id), headers));
+		return this.getJson(String.format("/matrices/%s", id), headers, type);
 	}
 
 	public BatchTransferSearchResults getTransfersByMatrixId(String id) {
 		List<HeaderNameValue> headers = new ArrayList<>();
-		headers.add(new HeaderNameValue("X-Correlation-ID", UUID.randomUUID().toString()));
-		headers.add(new HeaderNameValue("Authorization", "Bearer {{access_token}}"));
+		headers.add(new HeaderNameValue("X-Correlation-ID", IdGenerators.current().nextId()));
+		headers.add(new HeaderNameValue("Authorization", AccessTokens.authorization()));
+		headers.add(new HeaderNameValue(CONTENT_TYPE_HEADER, ContentType.APPLICATION_JSON.getMimeType()));
+		return this.getJson(String.format("/transfers?matrixId=%s", id), headers, BatchTransferSearchResults.JSON_TYPE);
+	}
+
+	/**
+	 * Gets a page of the transfers of a batch, using cursor pagination.
+	 *
+	 * @param batchId The batch id.
+	 * @param cursor The {@code nextCursor} of the previous page, {@code null} for the first page.
+	 * @param pageSize The max transfers per page.
+	 * @return The page, with the cursor of the next page when there is one.
+	 */
+	public BatchTransferSearchResults getTransfersByBatchId(String batchId, String cursor, int pageSize) {
+		List<HeaderNameValue> headers = new ArrayList<>();
+		headers.add(new HeaderNameValue("X-Correlation-ID", IdGenerators.current().nextId()));
+		headers.add(new HeaderNameValue("Authorization", AccessTokens.authorization()));
 		headers.add(new HeaderNameValue(CONTENT_TYPE_HEADER, ContentType.APPLICATION_JSON.getMimeType()));
-		return new BatchTransferSearchResults(this.getJson(String.format("/transfers?matrixId=%s", id), headers));
+		return this.getJson(String.format("/transfers?batchId=%s&cursor=%s&pageSize=%d",
+				encodeParam(batchId), cursor == null ? "" : encodeParam(cursor), pageSize), headers,
+				BatchTransferSearchResults.JSON_TYPE);
 	}
 
 	public SettlementMatrix getMatrixByModel(
 			String settlementModel,
 			int timeBackInMinutes
+	) {
+		return this.getMatrixByModel(settlementModel, timeBackInMinutes, SettlementMatrix.JSON_TYPE);
+	}
+
+	/**
+	 * Gets the dynamic matrix of the model, keeping the nested fields declared for {@code forAction}.
+	 *
+	 * @param settlementModel The settlement model.
+	 * @param timeBackInMinutes Start of the matrix period, in minutes before now.
+	 * @param forAction The action the matrix is retrieved for.
+	 * @return The matrix.
+	 */
+	public SettlementMatrix getMatrixByModel(
+			String settlementModel,
+			int timeBackInMinutes,
+			TestDataCarrier.ActionType forAction
+	) {
+		return this.getMatrixByModel(settlementModel, timeBackInMinutes, this.matrixFields.jsonType(forAction));
+	}
+
+	private SettlementMatrix getMatrixByModel(
+			String settlementModel,
+			int timeBackInMinutes,
+			JSONType<SettlementMatrix> type
 	) {
 		List<HeaderNameValue> headers = new ArrayList<>();
-		headers.add(new HeaderNameValue("X-Correlation-ID", UUID.randomUUID().toString()));
-		headers.add(new HeaderNameValue("Authorization", "Bearer {{access_token}}"));
+		headers.add(new HeaderNameValue("X-Correlation-ID", IdGenerators.current().nextId()));
+		headers.add(new HeaderNameValue("Authorization", AccessTokens.authorization()));
 		headers.add(new HeaderNameValue(CONTENT_TYPE_HEADER, ContentType.APPLICATION_JSON.getMimeType()));
 
 		long endDate = System.currentTimeMillis();
@@ -100,37 +180,37 @@ public class SettlementBCRestClient extends ABaseRESTClient {
 
 		String url = String.format("/matrices?model=%s&startDate=%d&endDate=%d",
 				settlementModel, startDate, endDate);
-		return new SettlementMatrix(this.getJson(url, headers));
+		return this.getJson(url, headers, type);
 	}
 
 	public AddRemoveBatchFromStaticMatrix addBatchToStaticMatrix(AddRemoveBatchFromStaticMatrix req) {
 		List<HeaderNameValue> headers = new ArrayList<>();
-		headers.add(new HeaderNameValue("X-Correlation-ID", UUID.randomUUID().toString()));
-		headers.add(new HeaderNameValue("Authorization", "Bearer {{access_token}}"));
+		headers.add(new HeaderNameValue("X-Correlation-ID", IdGenerators.current().nextId()));
+		headers.add(new HeaderNameValue("Authorization", AccessTokens.authorization()));
 		headers.add(new HeaderNameValue(CONTENT_TYPE_HEADER, ContentType.APPLICATION_JSON.getMimeType()));
 
-		return new AddRemoveBatchFromStaticMatrix(this.postJson(headers, req,
-				String.format("/matrices/%s/batches", req.getMatrixId())));
+		return this.postJson(headers, req,
+				String.format("/matrices/%s/batches", req.getMatrixId()), AddRemoveBatchFromStaticMatrix.JSON_TYPE);
 	}
 
 	public AddRemoveBatchFromStaticMatrix removeBatchFromStaticMatrix(AddRemoveBatchFromStaticMatrix req) {
 		List<HeaderNameValue> headers = new ArrayList<>();
-		headers.add(new HeaderNameValue("X-Correlation-ID", UUID.randomUUID().toString()));
-		headers.add(new HeaderNameValue("Authorization", "Bearer {{access_token}}"));
+		headers.add(new HeaderNameValue("X-Correlation-ID", IdGenerators.current().nextId()));
+		headers.add(new HeaderNameValue("Authorization", AccessTokens.authorization()));
 		headers.add(new HeaderNameValue(CONTENT_TYPE_HEADER, ContentType.APPLICATION_JSON.getMimeType()));
 
-		return new AddRemoveBatchFromStaticMatrix(this.deleteJson(
-				headers, req, String.format("/matrices/%s/batches", req.getMatrixId())
-		));
+		return this.deleteJson(
+				headers, req, String.format("/matrices/%s/batches", req.getMatrixId()), AddRemoveBatchFromStaticMatrix.JSON_TYPE
+		);
 	}
 
 	public SettlementMatrix actionMatrix(String matrixId, TestDataCarrier.ActionType actType) {
 		List<HeaderNameValue> headers = new ArrayList<>();
-		headers.add(new HeaderNameValue("X-Correlation-ID", UUID.randomUUID().toString()));
-		headers.add(new HeaderNameValue("Authorization", "Bearer {{access_token}}"));
+		headers.add(new HeaderNameValue("X-Correlation-ID", IdGenerators.current().nextId()));
+		headers.add(new HeaderNameValue("Authorization", AccessTokens.authorization()));
 		headers.add(new HeaderNameValue(CONTENT_TYPE_HEADER, ContentType.APPLICATION_JSON.getMimeType()));
 
-		SettlementMatrix sm = new SettlementMatrix(new JSONObject());
+		SettlementMatrix sm = new SettlementMatrix();
 		sm.setId(matrixId);
 
 		final String urlSuffix;
@@ -145,10 +225,11 @@ public class SettlementBCRestClient extends ABaseRESTClient {
 				throw new IllegalStateException("Action on matrix '"+actType+"' not supported!");
 		}
 
-		new SettlementMatrix(this.postJson(headers, sm ,
-				String.format("/matrices/%s/%s", matrixId, urlSuffix))
-		);
-		return sm;
+		SettlementMatrix returnVal = this.postJson(headers, sm,
+				String.format("/matrices/%s/%s", matrixId, urlSuffix), this.matrixFields.jsonType(actType));
+		// The action is accepted with the matrix id only:
+		if (returnVal.getId() == null) returnVal.setId(matrixId);
+		return returnVal;
 	}
 
 	public JSONObject settlementTransferRaw(String rawTxt) {
@@ -0,0 +1,42 @@
+package io.mojaloop.settlement.jmeter.plugin.rest.client;
+
+import io.mojaloop.settlement.jmeter.plugin.rest.client.json.auth.TokenRsp;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Rest client for the OAuth2 token endpoint, obtaining tokens with the client credentials grant.
+ */
+public class TokenClient extends ABaseRESTClient {
+	public static final String GRANT_TYPE_CLIENT_CREDENTIALS = "client_credentials";
+
+	/**
+	 * @param tokenUrl The full URL of the token endpoint, e.g. {@code http://localhost:3201/token}.
+	 */
+	public TokenClient(String tokenUrl) {
+		super(tokenUrl);
+	}
+
+	/**
+	 * Requests a new token.
+	 *
+	 * @param clientId The client id.
+	 * @param clientSecret The client secret.
+	 * @return The token response.
+	 * @throws RESTClientException When the token could not be obtained.
+	 */
+	public TokenRsp requestToken(String clientId, String clientSecret) {
+		List<FormNameValue> form = new ArrayList<>();
+		form.add(new FormNameValue("grant_type", GRANT_TYPE_CLIENT_CREDENTIALS));
+		form.add(new FormNameValue("client_id", encodeParam(clientId)));
+		form.add(new FormNameValue("client_secret", encodeParam(clientSecret)));
+
+		TokenRsp returnVal = new TokenRsp(this.postForm(form, ""));
+		if (this.isEmpty(returnVal.getAccessToken())) {
+			throw new RESTClientException(String.format("No access token from '%s'.", this.endpointUrl),
+					RESTClientException.ErrorCode.NO_RESULT);
+		}
+		return returnVal;
+	}
+}
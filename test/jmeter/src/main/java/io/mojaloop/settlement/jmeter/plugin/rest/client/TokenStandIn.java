@@ -0,0 +1,162 @@
+package io.mojaloop.settlement.jmeter.plugin.rest.client;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import io.mojaloop.settlement.jmeter.plugin.rest.client.json.auth.TokenRsp;
+import org.json.JSONObject;
+import org.slf4j.Logger;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.SecureRandom;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Local stand-in for the token endpoint ({@code /token}), for runs without the security BC.
+ *
+ * Any client id is accepted with the client credentials grant. The issued tokens are {@code HS256} JWTs
+ * signed with a key generated at start, with the client id as {@code sub} and the configured lifetime,
+ * so the header size and refresh behaviour match a real token.
+ */
+public final class TokenStandIn {
+	public static final String PATH = "/token";
+
+	private final Logger logger;
+	private final int port;
+	private final long expiresInSecs;
+	private final byte[] signingKey = new byte[32];
+	private final AtomicLong issued = new AtomicLong();
+
+	private HttpServer server;
+
+	/**
+	 * @param logger The logger.
+	 * @param port The port to listen on.
+	 * @param expiresInSecs Lifetime of the issued tokens.
+	 */
+	public TokenStandIn(Logger logger, int port, long expiresInSecs) {
+		this.logger = logger;
+		this.port = port;
+		this.expiresInSecs = expiresInSecs;
+		new SecureRandom().nextBytes(this.signingKey);
+	}
+
+	public void start() {
+		try {
+			this.server = HttpServer.create(new InetSocketAddress(this.port), 0);
+		} catch (IOException ioErr) {
+			throw new IllegalStateException(String.format(
+					"Unable to listen for token requests on port '%d'. %s.", this.port, ioErr.getMessage()), ioErr);
+		}
+		this.server.createContext(PATH, this::handle);
+		this.server.setExecutor(Executors.newSingleThreadExecutor(runnable -> {
+			Thread thread = new Thread(runnable, "token-stand-in");
+			thread.setDaemon(true);
+			return thread;
+		}));
+		this.server.start();
+		this.logger.info("Issuing tokens valid for {}s at 'http://localhost:{}{}'.", this.expiresInSecs, this.port, PATH);
+	}
+
+	public void stop() {
+		if (this.server == null) return;
+
+		this.server.stop(0);
+		this.server = null;
+	}
+
+	/**
+	 * @return The number of tokens issued.
+	 */
+	public long getIssued() {
+		return this.issued.get();
+	}
+
+	private void handle(HttpExchange exchange) throws IOException {
+		int status;
+		JSONObject body;
+		if (!"POST".equalsIgnoreCase(exchange.getRequestMethod())) {
+			status = 405;
+			body = new JSONObject().put("error", "invalid_request");
+		} else {
+			Map<String, String> form = parseForm(exchange.getRequestBody());
+			String clientId = form.get("client_id");
+			if (!TokenClient.GRANT_TYPE_CLIENT_CREDENTIALS.equals(form.get("grant_type"))) {
+				status = 400;
+				body = new JSONObject().put("error", "unsupported_grant_type");
+			} else if (clientId == null || clientId.isEmpty()) {
+				status = 401;
+				body = new JSONObject().put("error", "invalid_client");
+			} else {
+				TokenRsp token = new TokenRsp();
+				token.setAccessToken(this.issue(clientId));
+				token.setTokenType(TokenRsp.TOKEN_TYPE_BEARER);
+				token.setExpiresIn(this.expiresInSecs);
+				status = 200;
+				body = token.toJsonObject();
+				this.logger.debug("Issued token {} to '{}'.", this.issued.incrementAndGet(), clientId);
+			}
+		}
+
+		byte[] response = body.toString().getBytes(StandardCharsets.UTF_8);
+		exchange.getResponseHeaders().set("Content-Type", "application/json");
+		exchange.getResponseHeaders().set("Cache-Control", "no-store");
+		exchange.sendResponseHeaders(status, response.length);
+		try (OutputStream os = exchange.getResponseBody()) {
+			os.write(response);
+		}
+	}
+
+	private String issue(String clientId) {
+		long now = System.currentTimeMillis() / 1000L;
+		JSONObject claims = new JSONObject()
+				.put("iss", "token-stand-in")
+				.put("sub", clientId)
+				.put("aud", "settlements-bc")
+				.put("jti", UUID.randomUUID().toString())
+				.put("iat", now)
+				.put("exp", now + this.expiresInSecs);
+
+		Base64.Encoder encoder = Base64.getUrlEncoder().withoutPadding();
+		String unsigned = encoder.encodeToString("{\"alg\":\"HS256\",\"typ\":\"JWT\"}".getBytes(StandardCharsets.UTF_8)) +
+				"." + encoder.encodeToString(claims.toString().getBytes(StandardCharsets.UTF_8));
+		try {
+			Mac mac = Mac.getInstance("HmacSHA256");
+			mac.init(new SecretKeySpec(this.signingKey, "HmacSHA256"));
+			return unsigned + "." + encoder.encodeToString(mac.doFinal(unsigned.getBytes(StandardCharsets.UTF_8)));
+		} catch (GeneralSecurityException secErr) {
+			throw new IllegalStateException(String.format("Unable to sign token. %s", secErr.getMessage()), secErr);
+		}
+	}
+
+	private static Map<String, String> parseForm(InputStream body) throws IOException {
+		Map<String, String> returnVal = new HashMap<>();
+		ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+		byte[] chunk = new byte[1024];
+		for (int read = body.read(chunk); read > -1; read = body.read(chunk)) buffer.write(chunk, 0, read);
+
+		String form = new String(buffer.toByteArray(), StandardCharsets.UTF_8);
+		for (String pair : form.split("&")) {
+			if (pair.isEmpty()) continue;
+
+			int separator = pair.indexOf('=');
+			String name = separator < 0 ? pair : pair.substring(0, separator);
+			String value = separator < 0 ? "" : pair.substring(separator + 1);
+			returnVal.put(URLDecoder.decode(name, "UTF-8"), URLDecoder.decode(value, "UTF-8"));
+		}
+		return returnVal;
+	}
+}
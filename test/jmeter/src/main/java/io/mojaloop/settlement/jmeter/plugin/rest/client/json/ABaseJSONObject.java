@@ -1,9 +1,14 @@
 package io.mojaloop.settlement.jmeter.plugin.rest.client.json;
 
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import io.mojaloop.settlement.jmeter.plugin.rest.client.json.codec.JSONCodecs;
+import io.mojaloop.settlement.jmeter.plugin.rest.client.json.codec.StreamingJSONCodec;
 import lombok.Getter;
 import org.json.JSONException;
 import org.json.JSONObject;
 
+import java.io.IOException;
 import java.io.Serializable;
 import java.text.ParseException;
 import java.text.SimpleDateFormat;
@@ -18,6 +23,17 @@ public abstract class ABaseJSONObject implements Serializable {
 
 	public static final long serialVersionUID = 1L;
 
+	/**
+	 * System property, {@code false} drops the source tree of every parsed POJO.
+	 */
+	public static final String PROP_RETAIN_SOURCE = "mojaloop.json.retainSource";
+
+	private static volatile boolean retainSource =
+			!Boolean.FALSE.toString().equalsIgnoreCase(System.getProperty(PROP_RETAIN_SOURCE));
+
+	/**
+	 * The source tree, {@code null} when parsed with {@link #isRetainSource()} off.
+	 */
 	@Getter
 	protected JSONObject JSONObject;
 
@@ -57,8 +73,26 @@ public abstract class ABaseJSONObject implements Serializable {
 	public ABaseJSONObject(JSONObject jsonObjectParam) {
 		this();
 
-		this.JSONObject = jsonObjectParam;
-		if (this.JSONObject == null) return;
+		if (retainSource) this.JSONObject = jsonObjectParam;
+	}
+
+	/**
+	 * @return {@code true} when parsed POJOs keep their source {@code JSONObject}, the default.
+	 * @see #PROP_RETAIN_SOURCE
+	 */
+	public static boolean isRetainSource() {
+		return retainSource;
+	}
+
+	/**
+	 * Whether POJOs parsed from here on keep their source {@code JSONObject}.
+	 * Without it a parsed POJO only holds its typed fields, which roughly halves the heap of a loaded plan
+	 * or a large matrix response. Subclasses must read from the constructor argument, never from the field.
+	 *
+	 * @param retain {@code false} to drop the source tree.
+	 */
+	public static void setRetainSource(boolean retain) {
+		retainSource = retain;
 	}
 
 	public JSONObject toJsonObject() throws JSONException {
@@ -67,6 +101,50 @@ public abstract class ABaseJSONObject implements Serializable {
 		return returnVal;
 	}
 
+	/**
+	 * Encodes {@code this} object as JSON text for sending.
+	 * Subclasses may override with a cheaper encoding that produces equivalent JSON.
+	 *
+	 * @return JSON body of {@code this} object.
+	 */
+	public String toJsonString() {
+		return this.toJsonObject().toString();
+	}
+
+	/**
+	 * Encodes {@code this} object as UTF-8 JSON with the current codec.
+	 *
+	 * @return JSON body of {@code this} object.
+	 * @see JSONCodecs#current()
+	 */
+	public byte[] toJsonBytes() {
+		return JSONCodecs.current().encode(this);
+	}
+
+	/**
+	 * Writes {@code this} object, including the braces, for the streaming codec.
+	 * Subclasses may override to write their fields without building the {@code JSONObject}.
+	 *
+	 * @param generator The generator to write to.
+	 * @throws IOException If the JSON could not be written.
+	 */
+	public void writeJson(JsonGenerator generator) throws IOException {
+		StreamingJSONCodec.writeTree(generator, this.toJsonObject());
+	}
+
+	/**
+	 * Reads a single field for the streaming codec, the parser is positioned at the value.
+	 * Objects and arrays must be read up to and including their end token.
+	 *
+	 * @param field The field name.
+	 * @param parser The parser.
+	 * @return {@code false} when the field is not mapped and should be skipped.
+	 * @throws IOException If the JSON could not be read.
+	 */
+	public boolean readJsonField(String field, JsonParser parser) throws IOException {
+		return false;
+	}
+
 	/**
 	 * Return the Text representation of {@code this} object.
 	 *
@@ -54,8 +54,8 @@ public class Error extends ABaseJSONObject {
 		super(jsonObject);
 
 		//Error...
-		if (!this.JSONObject.isNull(JSONMapping.ERROR_INFO)) {
-			JSONObject errorInfo = this.JSONObject.getJSONObject(JSONMapping.ERROR_INFO);
+		if (!jsonObject.isNull(JSONMapping.ERROR_INFO)) {
+			JSONObject errorInfo = jsonObject.getJSONObject(JSONMapping.ERROR_INFO);
 
 			//Error Code...
 			if (!errorInfo.isNull(JSONMapping.ERROR_CODE)) {
@@ -0,0 +1,65 @@
+package io.mojaloop.settlement.jmeter.plugin.rest.client.json.auth;
+
+import io.mojaloop.settlement.jmeter.plugin.rest.client.json.ABaseJSONObject;
+import lombok.Getter;
+import lombok.Setter;
+import org.json.JSONException;
+import org.json.JSONObject;
+
+/**
+ * POJO used for an OAuth2 {@code /token} response.
+ */
+@Getter
+@Setter
+public class TokenRsp extends ABaseJSONObject {
+	public static final long serialVersionUID = 1L;
+	public static final String TOKEN_TYPE_BEARER = "Bearer";
+
+	private String accessToken;
+	private String tokenType;
+	private long expiresIn;
+
+	public static class JSONMapping {
+		public static final String ACCESS_TOKEN = "access_token";
+		public static final String TOKEN_TYPE = "token_type";
+		public static final String EXPIRES_IN = "expires_in";
+	}
+
+	public TokenRsp() {
+		super();
+	}
+
+	/**
+	 * Populates local variables with {@code jsonObjectParam}.
+	 *
+	 * @param jsonObject The JSON Object.
+	 */
+	public TokenRsp(JSONObject jsonObject) {
+		super(jsonObject);
+
+		if (jsonObject.has(JSONMapping.ACCESS_TOKEN) && !jsonObject.isNull(JSONMapping.ACCESS_TOKEN)) {
+			this.setAccessToken(jsonObject.getString(JSONMapping.ACCESS_TOKEN));
+		}
+		if (jsonObject.has(JSONMapping.TOKEN_TYPE) && !jsonObject.isNull(JSONMapping.TOKEN_TYPE)) {
+			this.setTokenType(jsonObject.getString(JSONMapping.TOKEN_TYPE));
+		}
+		if (jsonObject.has(JSONMapping.EXPIRES_IN) && !jsonObject.isNull(JSONMapping.EXPIRES_IN)) {
+			this.setExpiresIn(jsonObject.getLong(JSONMapping.EXPIRES_IN));
+		}
+	}
+
+	@Override
+	public JSONObject toJsonObject() throws JSONException {
+		JSONObject returnVal = super.toJsonObject();
+
+		if (this.getAccessToken() == null) returnVal.put(JSONMapping.ACCESS_TOKEN, JSONObject.NULL);
+		else returnVal.put(JSONMapping.ACCESS_TOKEN, this.getAccessToken());
+
+		if (this.getTokenType() == null) returnVal.put(JSONMapping.TOKEN_TYPE, JSONObject.NULL);
+		else returnVal.put(JSONMapping.TOKEN_TYPE, this.getTokenType());
+
+		returnVal.put(JSONMapping.EXPIRES_IN, this.getExpiresIn());
+
+		return returnVal;
+	}
+}
@@ -1,12 +1,16 @@
 package io.mojaloop.settlement.jmeter.plugin.rest.client.json.batch;
 
+import com.fasterxml.jackson.core.JsonParser;
 import io.mojaloop.settlement.jmeter.plugin.rest.client.json.ABaseJSONObject;
+import io.mojaloop.settlement.jmeter.plugin.rest.client.json.codec.JSONType;
+import io.mojaloop.settlement.jmeter.plugin.rest.client.json.codec.StreamingJSONCodec;
 import lombok.Getter;
 import lombok.Setter;
 import org.json.JSONArray;
 import org.json.JSONException;
 import org.json.JSONObject;
 
+import java.io.IOException;
 import java.util.ArrayList;
 import java.util.List;
 
@@ -18,6 +22,7 @@ import java.util.List;
 @Setter
 public class BatchSearchResults extends ABaseJSONObject {
 	public static final long serialVersionUID = 1L;
+	public static final JSONType<BatchSearchResults> JSON_TYPE = JSONType.of(BatchSearchResults::new, BatchSearchResults::new);
 
 	private List<SettlementBatch> items;
 
@@ -25,6 +30,14 @@ public class BatchSearchResults extends ABaseJSONObject {
 		public static final String ITEMS = "items";
 	}
 
+	/**
+	 * Empty {@code BatchSearchResults}, populated by a streaming {@code JSONCodec}.
+	 */
+	public BatchSearchResults() {
+		super();
+		this.setItems(new ArrayList<>());
+	}
+
 	/**
 	 * Populates local variables with {@code jsonObjectParam}.
 	 *
@@ -43,6 +56,14 @@ public class BatchSearchResults extends ABaseJSONObject {
 		}
 	}
 
+	@Override
+	public boolean readJsonField(String field, JsonParser parser) throws IOException {
+		switch (field) {
+			case JSONMapping.ITEMS: this.setItems(StreamingJSONCodec.readObjects(parser, SettlementBatch::new)); return true;
+			default: return false;
+		}
+	}
+
 	@Override
 	public JSONObject toJsonObject() throws JSONException {
 		JSONObject returnVal = super.toJsonObject();
@@ -1,11 +1,15 @@
 package io.mojaloop.settlement.jmeter.plugin.rest.client.json.batch;
 
+import com.fasterxml.jackson.core.JsonParser;
 import io.mojaloop.settlement.jmeter.plugin.rest.client.json.ABaseJSONObject;
+import io.mojaloop.settlement.jmeter.plugin.rest.client.json.codec.JSONType;
+import io.mojaloop.settlement.jmeter.plugin.rest.client.json.codec.StreamingJSONCodec;
 import lombok.Getter;
 import lombok.Setter;
 import org.json.JSONException;
 import org.json.JSONObject;
 
+import java.io.IOException;
 import java.util.Date;
 
 /**
@@ -15,6 +19,7 @@ import java.util.Date;
 @Setter
 public class SettlementBatch extends ABaseJSONObject {
 	public static final long serialVersionUID = 1L;
+	public static final JSONType<SettlementBatch> JSON_TYPE = JSONType.of(SettlementBatch::new, SettlementBatch::new);
 
 	private String batchUUID;
 	private String id;
@@ -36,6 +41,13 @@ public class SettlementBatch extends ABaseJSONObject {
 		public static final String STATE = "state";
 	}
 
+	/**
+	 * Empty {@code SettlementBatch}, populated by a streaming {@code JSONCodec}.
+	 */
+	public SettlementBatch() {
+		super();
+	}
+
 	/**
 	 * Populates local variables with {@code jsonObjectParam}.
 	 *
@@ -70,6 +82,21 @@ public class SettlementBatch extends ABaseJSONObject {
 		}
 	}
 
+	@Override
+	public boolean readJsonField(String field, JsonParser parser) throws IOException {
+		switch (field) {
+			case JSONMapping.BATCH_UUID_ID: this.setBatchUUID(StreamingJSONCodec.readString(parser)); return true;
+			case JSONMapping.ID: this.setId(StreamingJSONCodec.readString(parser)); return true;
+			case JSONMapping.TIMESTAMP: this.setTimestamp(StreamingJSONCodec.readDate(parser)); return true;
+			case JSONMapping.SETTLEMENT_MODEL: this.setSettlementModel(StreamingJSONCodec.readString(parser)); return true;
+			case JSONMapping.CURRENCY_CODE: this.setCurrencyCode(StreamingJSONCodec.readString(parser)); return true;
+			case JSONMapping.BATCH_NAME: this.setBatchName(StreamingJSONCodec.readString(parser)); return true;
+			case JSONMapping.BATCH_SEQUENCE: this.setBatchSequence(parser.getValueAsInt()); return true;
+			case JSONMapping.STATE: this.setState(StreamingJSONCodec.readString(parser)); return true;
+			default: return false;
+		}
+	}
+
 	@Override
 	public JSONObject toJsonObject() throws JSONException {
 		JSONObject returnVal = super.toJsonObject();
@@ -0,0 +1,43 @@
+package io.mojaloop.settlement.jmeter.plugin.rest.client.json.codec;
+
+import io.mojaloop.settlement.jmeter.plugin.rest.client.json.ABaseJSONObject;
+import org.json.JSONException;
+
+/**
+ * Encodes POJOs to JSON bytes for sending, and decodes the JSON bytes received into POJOs.
+ *
+ * Implementations are stateless and shared between threads.
+ *
+ * @see JSONCodecs
+ */
+public interface JSONCodec {
+
+	/**
+	 * @return The name used to select the codec.
+	 */
+	String getName();
+
+	/**
+	 * Encodes {@code baseDomain} as UTF-8 JSON.
+	 *
+	 * @param baseDomain The POJO to send.
+	 * @return The JSON body.
+	 * @throws JSONException When {@code baseDomain} can not be encoded.
+	 */
+	byte[] encode(ABaseJSONObject baseDomain);
+
+	/**
+	 * Decodes a UTF-8 JSON response body into a POJO.
+	 *
+	 * When the body is an array, its first object is decoded, an empty array decodes to an empty POJO
+	 * (as the {@code String} based client did). A body with an {@code errorInformation}
+	 * error code is thrown as a {@code RESTClientException} with that code.
+	 *
+	 * @param json The response body.
+	 * @param type The POJO to create.
+	 * @param <T> The POJO type.
+	 * @return The POJO.
+	 * @throws JSONException When the body is not valid JSON.
+	 */
+	<T extends ABaseJSONObject> T decode(byte[] json, JSONType<T> type);
+}
@@ -0,0 +1,43 @@
+package io.mojaloop.settlement.jmeter.plugin.rest.client.json.codec;
+
+/**
+ * The process-wide {@code JSONCodec} used by the REST client and the Kafka producer.
+ *
+ * Defaults to {@link OrgJSONCodec}, selected with the {@code jsonCodec} argument.
+ */
+public final class JSONCodecs {
+	private static volatile JSONCodec current = OrgJSONCodec.INSTANCE;
+
+	private JSONCodecs() {
+		super();
+	}
+
+	public static JSONCodec current() {
+		return current;
+	}
+
+	/**
+	 * @param name {@code orgjson} or {@code streaming}.
+	 * @return The codec.
+	 * @throws IllegalArgumentException When there is no codec named {@code name}.
+	 */
+	public static JSONCodec forName(String name) {
+		String trimmed = name == null ? "" : name.trim();
+		if (trimmed.isEmpty() || OrgJSONCodec.NAME.equalsIgnoreCase(trimmed)) return OrgJSONCodec.INSTANCE;
+		if (StreamingJSONCodec.NAME.equalsIgnoreCase(trimmed)) return StreamingJSONCodec.INSTANCE;
+
+		throw new IllegalArgumentException(String.format("JSON codec '%s' not supported, use '%s' or '%s'.",
+				name, OrgJSONCodec.NAME, StreamingJSONCodec.NAME));
+	}
+
+	/**
+	 * Selects the codec for all subsequent requests.
+	 *
+	 * @param name See {@link #forName(String)}, empty for the default.
+	 * @return The codec now in use.
+	 */
+	public static JSONCodec use(String name) {
+		current = forName(name);
+		return current;
+	}
+}
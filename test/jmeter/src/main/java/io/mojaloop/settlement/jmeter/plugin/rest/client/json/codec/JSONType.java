@@ -0,0 +1,62 @@
+package io.mojaloop.settlement.jmeter.plugin.rest.client.json.codec;
+
+import io.mojaloop.settlement.jmeter.plugin.rest.client.json.ABaseJSONObject;
+import org.json.JSONObject;
+
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * How a {@code JSONCodec} creates a POJO of type {@code T}.
+ *
+ * Every POJO can be created from a {@code JSONObject} tree. POJOs that read their own fields with
+ * {@link ABaseJSONObject#readJsonField} also supply an empty instance, which a streaming codec
+ * populates straight from the bytes without building the tree.
+ *
+ * @param <T> The POJO type.
+ */
+public final class JSONType<T extends ABaseJSONObject> {
+	private final Function<JSONObject, T> fromTree;
+	private final Supplier<T> empty;
+
+	private JSONType(Function<JSONObject, T> fromTree, Supplier<T> empty) {
+		this.fromTree = fromTree;
+		this.empty = empty;
+	}
+
+	/**
+	 * A POJO that is only created from a tree.
+	 *
+	 * @param fromTree The {@code JSONObject} constructor.
+	 * @param <T> The POJO type.
+	 * @return The type.
+	 */
+	public static <T extends ABaseJSONObject> JSONType<T> of(Function<JSONObject, T> fromTree) {
+		return new JSONType<>(fromTree, null);
+	}
+
+	/**
+	 * A POJO that can also be populated field by field.
+	 *
+	 * @param fromTree The {@code JSONObject} constructor.
+	 * @param empty Creates an empty POJO for streaming.
+	 * @param <T> The POJO type.
+	 * @return The type.
+	 */
+	public static <T extends ABaseJSONObject> JSONType<T> of(Function<JSONObject, T> fromTree, Supplier<T> empty) {
+		return new JSONType<>(fromTree, empty);
+	}
+
+	public T fromTree(JSONObject jsonObject) {
+		return this.fromTree.apply(jsonObject);
+	}
+
+	public boolean isStreamable() {
+		return this.empty != null;
+	}
+
+	public T newEmpty() {
+		if (this.empty == null) throw new IllegalStateException("JSON type can only be created from a tree.");
+		return this.empty.get();
+	}
+}
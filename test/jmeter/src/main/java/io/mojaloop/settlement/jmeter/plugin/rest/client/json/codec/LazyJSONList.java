@@ -0,0 +1,111 @@
+package io.mojaloop.settlement.jmeter.plugin.rest.client.json.codec;
+
+import io.mojaloop.settlement.jmeter.plugin.rest.client.json.ABaseJSONObject;
+import org.json.JSONArray;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A list of nested POJOs that is decoded on first access.
+ *
+ * Until {@link #get()} is called only the undecoded source is held, the {@code JSONArray} of the tree
+ * or the byte range of the array within the response that was streamed. The list is decoded once,
+ * also when accessed concurrently (e.g. a matrix shared through the {@code FixtureStore}),
+ * after which the source is released.
+ *
+ * @param <T> The element type.
+ */
+public final class LazyJSONList<T extends ABaseJSONObject> {
+	private final JSONType<T> elementType;
+	private volatile List<T> decoded;
+
+	private JSONArray tree;
+	private byte[] source;
+	private int offset;
+	private int length;
+
+	private LazyJSONList(JSONType<T> elementType, List<T> decoded) {
+		this.elementType = elementType;
+		this.decoded = decoded;
+	}
+
+	/**
+	 * @param decoded The already decoded list.
+	 * @param <T> The element type.
+	 * @return The list, {@code null} is held as an empty list.
+	 */
+	public static <T extends ABaseJSONObject> LazyJSONList<T> of(List<T> decoded) {
+		return new LazyJSONList<>(null, decoded == null ? new ArrayList<>() : decoded);
+	}
+
+	/**
+	 * @param array The array of the tree, {@code null} for an empty list.
+	 * @param elementType Creates the elements from their {@code JSONObject}.
+	 * @param <T> The element type.
+	 * @return The list, decoded on first access.
+	 */
+	public static <T extends ABaseJSONObject> LazyJSONList<T> fromTree(JSONArray array, JSONType<T> elementType) {
+		if (array == null) return of(null);
+
+		LazyJSONList<T> returnVal = new LazyJSONList<>(elementType, null);
+		returnVal.tree = array;
+		return returnVal;
+	}
+
+	/**
+	 * @param source The response.
+	 * @param offset Offset of the array (or {@code null}) in {@code source}.
+	 * @param length Length of the array in bytes.
+	 * @param elementType Creates the (streamable) elements.
+	 * @param <T> The element type.
+	 * @return The list, decoded on first access.
+	 */
+	public static <T extends ABaseJSONObject> LazyJSONList<T> fromBytes(
+			byte[] source,
+			int offset,
+			int length,
+			JSONType<T> elementType
+	) {
+		LazyJSONList<T> returnVal = new LazyJSONList<>(elementType, null);
+		returnVal.source = source;
+		returnVal.offset = offset;
+		returnVal.length = length;
+		return returnVal;
+	}
+
+	/**
+	 * @return {@code true} once the elements have been created.
+	 */
+	public boolean isDecoded() {
+		return this.decoded != null;
+	}
+
+	/**
+	 * Decodes the elements on the first call.
+	 *
+	 * @return The elements.
+	 * @throws org.json.JSONException When the source can not be decoded.
+	 */
+	public List<T> get() {
+		List<T> returnVal = this.decoded;
+		if (returnVal != null) return returnVal;
+
+		synchronized (this) {
+			if (this.decoded != null) return this.decoded;
+
+			if (this.tree != null) {
+				returnVal = new ArrayList<>(this.tree.length());
+				for (int index = 0; index < this.tree.length(); index++) {
+					returnVal.add(this.elementType.fromTree(this.tree.getJSONObject(index)));
+				}
+			} else {
+				returnVal = StreamingJSONCodec.decodeArray(this.source, this.offset, this.length, this.elementType);
+			}
+			this.tree = null;
+			this.source = null;
+			this.decoded = returnVal;
+			return returnVal;
+		}
+	}
+}
@@ -0,0 +1,48 @@
+package io.mojaloop.settlement.jmeter.plugin.rest.client.json.codec;
+
+import io.mojaloop.settlement.jmeter.plugin.rest.client.RESTClientException;
+import io.mojaloop.settlement.jmeter.plugin.rest.client.json.ABaseJSONObject;
+import io.mojaloop.settlement.jmeter.plugin.rest.client.json.Error;
+import org.json.JSONArray;
+import org.json.JSONObject;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * The default codec, every POJO is mapped through a {@code org.json} tree.
+ */
+public final class OrgJSONCodec implements JSONCodec {
+	public static final String NAME = "orgjson";
+	public static final OrgJSONCodec INSTANCE = new OrgJSONCodec();
+
+	private OrgJSONCodec() {
+		super();
+	}
+
+	@Override
+	public String getName() {
+		return NAME;
+	}
+
+	@Override
+	public byte[] encode(ABaseJSONObject baseDomain) {
+		return baseDomain.toJsonString().getBytes(StandardCharsets.UTF_8);
+	}
+
+	@Override
+	public <T extends ABaseJSONObject> T decode(byte[] json, JSONType<T> type) {
+		String body = new String(json, StandardCharsets.UTF_8).trim();
+		JSONObject jsonObject;
+		if (body.startsWith("[")) {
+			JSONArray jsonArray = new JSONArray(body);
+			jsonObject = jsonArray.length() < 1 ? new JSONObject() : jsonArray.getJSONObject(0);
+		} else {
+			jsonObject = new JSONObject(body);
+		}
+
+		Error err = new Error(jsonObject);
+		if (err.isError()) throw new RESTClientException(err.getErrorMessage(), err.getErrorCode(), 0, err.getErrorMessage());
+
+		return type.fromTree(jsonObject);
+	}
+}
@@ -0,0 +1,328 @@
+package io.mojaloop.settlement.jmeter.plugin.rest.client.json.codec;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonLocation;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.StreamReadFeature;
+import com.fasterxml.jackson.core.util.ByteArrayBuilder;
+import io.mojaloop.settlement.jmeter.plugin.rest.client.RESTClientException;
+import io.mojaloop.settlement.jmeter.plugin.rest.client.json.ABaseJSONObject;
+import io.mojaloop.settlement.jmeter.plugin.rest.client.json.Error;
+import org.json.JSONArray;
+import org.json.JSONException;
+import org.json.JSONObject;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.function.Supplier;
+
+/**
+ * Codec that writes straight to bytes and reads straight from bytes with the Jackson streaming API.
+ *
+ * POJOs that override {@link ABaseJSONObject#writeJson} and {@link ABaseJSONObject#readJsonField}
+ * are encoded and decoded without an intermediate {@code JSONObject}. Other POJOs fall back to their
+ * tree mapping, which is still written and read by the streaming generator and parser.
+ */
+public final class StreamingJSONCodec implements JSONCodec {
+	public static final String NAME = "streaming";
+	public static final StreamingJSONCodec INSTANCE = new StreamingJSONCodec();
+
+	// The source is included in the locations, so nested arrays can be decoded lazily from their byte range:
+	private static final JsonFactory FACTORY = JsonFactory.builder()
+			.enable(StreamReadFeature.INCLUDE_SOURCE_IN_LOCATION)
+			.build();
+	private static final int INITIAL_BUFFER = 512;
+
+	private StreamingJSONCodec() {
+		super();
+	}
+
+	@Override
+	public String getName() {
+		return NAME;
+	}
+
+	@Override
+	public byte[] encode(ABaseJSONObject baseDomain) {
+		ByteArrayBuilder buffer = new ByteArrayBuilder(INITIAL_BUFFER);
+		try (JsonGenerator generator = FACTORY.createGenerator(buffer)) {
+			baseDomain.writeJson(generator);
+		} catch (IOException except) {
+			throw new JSONException(except.getMessage(), except);
+		}
+		return buffer.toByteArray();
+	}
+
+	@Override
+	public <T extends ABaseJSONObject> T decode(byte[] json, JSONType<T> type) {
+		try (JsonParser parser = FACTORY.createParser(json)) {
+			JsonToken token = parser.nextToken();
+			if (token == JsonToken.START_ARRAY) {
+				token = parser.nextToken();
+				if (token == JsonToken.END_ARRAY) return type.fromTree(new JSONObject());
+			}
+			if (token != JsonToken.START_OBJECT) throw new JSONException("Expected a JSON object, got " + token + ".");
+
+			if (!type.isStreamable()) {
+				JSONObject jsonObject = (JSONObject) readTree(parser);
+				Error err = new Error(jsonObject);
+				if (err.isError()) throw new RESTClientException(err.getErrorMessage(), err.getErrorCode(), 0, err.getErrorMessage());
+				return type.fromTree(jsonObject);
+			}
+
+			T returnVal = type.newEmpty();
+			while (parser.nextToken() == JsonToken.FIELD_NAME) {
+				String field = parser.currentName();
+				parser.nextToken();
+				if (Error.JSONMapping.ERROR_INFO.equals(field)) {
+					Error err = new Error(new JSONObject().put(field, readTree(parser)));
+					if (err.isError()) throw new RESTClientException(err.getErrorMessage(), err.getErrorCode(), 0, err.getErrorMessage());
+				} else if (!returnVal.readJsonField(field, parser)) {
+					parser.skipChildren();
+				}
+			}
+			return returnVal;
+		} catch (IOException except) {
+			throw new JSONException(except.getMessage(), except);
+		}
+	}
+
+	/**
+	 * Populates {@code target} from the object the parser is positioned at.
+	 *
+	 * @param parser Parser at {@code START_OBJECT}, left at the matching {@code END_OBJECT}.
+	 * @param target The POJO to populate.
+	 * @param <T> The POJO type.
+	 * @return {@code target}.
+	 * @throws IOException When the JSON can not be read.
+	 */
+	public static <T extends ABaseJSONObject> T readObject(JsonParser parser, T target) throws IOException {
+		if (parser.currentToken() != JsonToken.START_OBJECT) {
+			throw new JSONException("Expected a JSON object, got " + parser.currentToken() + ".");
+		}
+		while (parser.nextToken() == JsonToken.FIELD_NAME) {
+			String field = parser.currentName();
+			parser.nextToken();
+			if (!target.readJsonField(field, parser)) parser.skipChildren();
+		}
+		return target;
+	}
+
+	/**
+	 * Reads the array of objects the parser is positioned at, {@code null} is read as an empty list.
+	 *
+	 * @param parser Parser at {@code START_ARRAY} or {@code VALUE_NULL}.
+	 * @param empty Creates the POJO of each element.
+	 * @param <T> The POJO type.
+	 * @return The POJOs.
+	 * @throws IOException When the JSON can not be read.
+	 */
+	public static <T extends ABaseJSONObject> List<T> readObjects(JsonParser parser, Supplier<T> empty) throws IOException {
+		List<T> returnVal = new ArrayList<>();
+		if (parser.currentToken() == JsonToken.VALUE_NULL) return returnVal;
+		if (parser.currentToken() != JsonToken.START_ARRAY) {
+			throw new JSONException("Expected a JSON array, got " + parser.currentToken() + ".");
+		}
+		while (parser.nextToken() != JsonToken.END_ARRAY) returnVal.add(readObject(parser, empty.get()));
+		return returnVal;
+	}
+
+	/**
+	 * Captures the array of objects the parser is positioned at, to be decoded on first access.
+	 * The elements are read straight away when the parser does not expose its source bytes.
+	 *
+	 * @param parser Parser at {@code START_ARRAY} or {@code VALUE_NULL}, left at the end of the value.
+	 * @param elementType Creates the (streamable) elements.
+	 * @param <T> The POJO type.
+	 * @return The lazily decoded POJOs.
+	 * @throws IOException When the JSON can not be read.
+	 */
+	public static <T extends ABaseJSONObject> LazyJSONList<T> readLazyObjects(
+			JsonParser parser,
+			JSONType<T> elementType
+	) throws IOException {
+		if (parser.currentToken() == JsonToken.VALUE_NULL) return LazyJSONList.of(null);
+		if (parser.currentToken() != JsonToken.START_ARRAY) {
+			throw new JSONException("Expected a JSON array, got " + parser.currentToken() + ".");
+		}
+
+		JsonLocation start = parser.currentTokenLocation();
+		Object source = start.contentReference().getRawContent();
+		if (!(source instanceof byte[]) || start.getByteOffset() < 0L) {
+			return LazyJSONList.of(readObjects(parser, elementType::newEmpty));
+		}
+
+		parser.skipChildren();
+		long end = parser.currentLocation().getByteOffset();
+		// Offsets are relative to the content, which starts at -1 (unknown) when the whole array is parsed:
+		int contentOffset = Math.max(0, start.contentReference().contentOffset());
+		return LazyJSONList.fromBytes((byte[]) source, (int) (contentOffset + start.getByteOffset()),
+				(int) (end - start.getByteOffset()), elementType);
+	}
+
+	/**
+	 * Decodes an array of objects captured by {@link #readLazyObjects}.
+	 *
+	 * @param json The response.
+	 * @param offset Offset of the array (or {@code null}) in {@code json}.
+	 * @param length Length of the array in bytes.
+	 * @param elementType Creates the (streamable) elements.
+	 * @param <T> The POJO type.
+	 * @return The POJOs.
+	 */
+	public static <T extends ABaseJSONObject> List<T> decodeArray(
+			byte[] json,
+			int offset,
+			int length,
+			JSONType<T> elementType
+	) {
+		try (JsonParser parser = FACTORY.createParser(json, offset, length)) {
+			parser.nextToken();
+			return readObjects(parser, elementType::newEmpty);
+		} catch (IOException except) {
+			throw new JSONException(except.getMessage(), except);
+		}
+	}
+
+	/**
+	 * Reads the array of strings the parser is positioned at, {@code null} is read as an empty list.
+	 */
+	public static List<String> readStrings(JsonParser parser) throws IOException {
+		List<String> returnVal = new ArrayList<>();
+		if (parser.currentToken() == JsonToken.VALUE_NULL) return returnVal;
+		if (parser.currentToken() != JsonToken.START_ARRAY) {
+			throw new JSONException("Expected a JSON array, got " + parser.currentToken() + ".");
+		}
+		while (parser.nextToken() != JsonToken.END_ARRAY) returnVal.add(readString(parser));
+		return returnVal;
+	}
+
+	public static String readString(JsonParser parser) throws IOException {
+		if (parser.currentToken() == JsonToken.VALUE_NULL) return null;
+		return parser.getValueAsString();
+	}
+
+	public static Long readLong(JsonParser parser) throws IOException {
+		if (parser.currentToken() == JsonToken.VALUE_NULL) return null;
+		return parser.getValueAsLong();
+	}
+
+	/**
+	 * Reads epoch millis as a date.
+	 */
+	public static Date readDate(JsonParser parser) throws IOException {
+		Long millis = readLong(parser);
+		return millis == null ? null : new Date(millis);
+	}
+
+	public static <E extends Enum<E>> E readEnum(JsonParser parser, Class<E> enumClass) throws IOException {
+		String name = readString(parser);
+		if (name == null) return null;
+		try {
+			return Enum.valueOf(enumClass, name);
+		} catch (IllegalArgumentException except) {
+			throw new JSONException(String.format("Value '%s' is not a %s.", name, enumClass.getSimpleName()), except);
+		}
+	}
+
+	public static void writeString(JsonGenerator generator, String field, String value) throws IOException {
+		if (value == null) generator.writeNullField(field);
+		else generator.writeStringField(field, value);
+	}
+
+	/**
+	 * Writes the date as epoch millis.
+	 */
+	public static void writeDate(JsonGenerator generator, String field, Date value) throws IOException {
+		if (value == null) generator.writeNullField(field);
+		else generator.writeNumberField(field, value.getTime());
+	}
+
+	/**
+	 * Writes a {@code org.json} value, as {@code JSONObject#toString} would.
+	 *
+	 * @param generator The generator.
+	 * @param value A {@code JSONObject}, {@code JSONArray} or a value of either.
+	 * @throws IOException When the JSON can not be written.
+	 */
+	public static void writeTree(JsonGenerator generator, Object value) throws IOException {
+		if (value == null || JSONObject.NULL.equals(value)) {
+			generator.writeNull();
+		} else if (value instanceof JSONObject) {
+			JSONObject jsonObject = (JSONObject) value;
+			generator.writeStartObject();
+			for (String key : jsonObject.keySet()) {
+				generator.writeFieldName(key);
+				writeTree(generator, jsonObject.opt(key));
+			}
+			generator.writeEndObject();
+		} else if (value instanceof JSONArray) {
+			JSONArray jsonArray = (JSONArray) value;
+			generator.writeStartArray();
+			for (int index = 0; index < jsonArray.length(); index++) writeTree(generator, jsonArray.opt(index));
+			generator.writeEndArray();
+		} else if (value instanceof String) {
+			generator.writeString((String) value);
+		} else if (value instanceof Integer || value instanceof Long || value instanceof Short || value instanceof Byte) {
+			generator.writeNumber(((Number) value).longValue());
+		} else if (value instanceof BigInteger) {
+			generator.writeNumber((BigInteger) value);
+		} else if (value instanceof BigDecimal) {
+			generator.writeNumber((BigDecimal) value);
+		} else if (value instanceof Number) {
+			generator.writeNumber(((Number) value).doubleValue());
+		} else if (value instanceof Boolean) {
+			generator.writeBoolean((Boolean) value);
+		} else if (value instanceof Enum) {
+			generator.writeString(((Enum<?>) value).name());
+		} else {
+			generator.writeString(value.toString());
+		}
+	}
+
+	/**
+	 * Reads the value the parser is positioned at into a {@code org.json} value.
+	 *
+	 * @param parser The parser, left at the end of the value.
+	 * @return A {@code JSONObject}, {@code JSONArray} or a value of either.
+	 * @throws IOException When the JSON can not be read.
+	 */
+	public static Object readTree(JsonParser parser) throws IOException {
+		JsonToken token = parser.currentToken();
+		if (token == null) throw new JSONException("Unexpected end of JSON.");
+		switch (token) {
+			case START_OBJECT:
+				JSONObject jsonObject = new JSONObject();
+				while (parser.nextToken() == JsonToken.FIELD_NAME) {
+					String field = parser.currentName();
+					parser.nextToken();
+					jsonObject.put(field, readTree(parser));
+				}
+				return jsonObject;
+			case START_ARRAY:
+				JSONArray jsonArray = new JSONArray();
+				while (parser.nextToken() != JsonToken.END_ARRAY) jsonArray.put(readTree(parser));
+				return jsonArray;
+			case VALUE_STRING:
+				return parser.getText();
+			case VALUE_NUMBER_INT:
+				return parser.getNumberValue();
+			case VALUE_NUMBER_FLOAT:
+				return parser.getDecimalValue();
+			case VALUE_TRUE:
+				return Boolean.TRUE;
+			case VALUE_FALSE:
+				return Boolean.FALSE;
+			case VALUE_NULL:
+				return JSONObject.NULL;
+			default:
+				throw new JSONException("Unexpected JSON token " + token + ".");
+		}
+	}
+}
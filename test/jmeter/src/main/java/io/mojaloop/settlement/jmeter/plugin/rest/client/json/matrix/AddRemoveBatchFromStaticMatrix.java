@@ -1,6 +1,7 @@
 package io.mojaloop.settlement.jmeter.plugin.rest.client.json.matrix;
 
 import io.mojaloop.settlement.jmeter.plugin.rest.client.json.ABaseJSONObject;
+import io.mojaloop.settlement.jmeter.plugin.rest.client.json.codec.JSONType;
 import lombok.Getter;
 import lombok.Setter;
 import org.json.JSONArray;
@@ -17,6 +18,8 @@ import java.util.List;
 @Setter
 public class AddRemoveBatchFromStaticMatrix extends ABaseJSONObject {
 	public static final long serialVersionUID = 1L;
+	public static final JSONType<AddRemoveBatchFromStaticMatrix> JSON_TYPE =
+			JSONType.of(AddRemoveBatchFromStaticMatrix::new);
 
 	private String matrixId;
 	private List<String> batchIds;
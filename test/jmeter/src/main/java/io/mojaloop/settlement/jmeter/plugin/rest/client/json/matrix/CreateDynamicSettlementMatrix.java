@@ -1,6 +1,7 @@
 package io.mojaloop.settlement.jmeter.plugin.rest.client.json.matrix;
 
 import io.mojaloop.settlement.jmeter.plugin.rest.client.json.ABaseJSONObject;
+import io.mojaloop.settlement.jmeter.plugin.rest.client.json.codec.JSONType;
 import lombok.Getter;
 import lombok.Setter;
 import org.json.JSONArray;
@@ -18,6 +19,8 @@ import java.util.List;
 @Setter
 public class CreateDynamicSettlementMatrix extends ABaseJSONObject {
 	public static final long serialVersionUID = 1L;
+	public static final JSONType<CreateDynamicSettlementMatrix> JSON_TYPE =
+			JSONType.of(CreateDynamicSettlementMatrix::new);
 
 	private String matrixId;
 	private Date fromDate;
@@ -29,6 +32,7 @@ public class CreateDynamicSettlementMatrix extends ABaseJSONObject {
 
 	public static class JSONMapping {
 		public static final String MATRIX_ID = "matrixId";
+		public static final String ID = "id";
 		public static final String FROM_DATE = "fromDate";
 		public static final String TO_DATE = "toDate";
 		public static final String CURRENCY_CODES = "currencyCodes";
@@ -48,6 +52,10 @@ public class CreateDynamicSettlementMatrix extends ABaseJSONObject {
 		if (jsonObject.has(JSONMapping.MATRIX_ID) && !jsonObject.isNull(JSONMapping.MATRIX_ID)) {
 			this.setMatrixId(jsonObject.getString(JSONMapping.MATRIX_ID));
 		}
+		// The create response only carries the server assigned 'id':
+		if (this.getMatrixId() == null && jsonObject.has(JSONMapping.ID) && !jsonObject.isNull(JSONMapping.ID)) {
+			this.setMatrixId(jsonObject.getString(JSONMapping.ID));
+		}
 		if (jsonObject.has(JSONMapping.FROM_DATE) && !jsonObject.isNull(JSONMapping.FROM_DATE)) {
 			this.setFromDate(new Date(jsonObject.getLong(JSONMapping.FROM_DATE)));
 		}
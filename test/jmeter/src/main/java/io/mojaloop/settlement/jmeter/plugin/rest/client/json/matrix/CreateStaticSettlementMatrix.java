@@ -1,6 +1,7 @@
 package io.mojaloop.settlement.jmeter.plugin.rest.client.json.matrix;
 
 import io.mojaloop.settlement.jmeter.plugin.rest.client.json.ABaseJSONObject;
+import io.mojaloop.settlement.jmeter.plugin.rest.client.json.codec.JSONType;
 import lombok.Getter;
 import lombok.Setter;
 import org.json.JSONArray;
@@ -17,6 +18,8 @@ import java.util.List;
 @Setter
 public class CreateStaticSettlementMatrix extends ABaseJSONObject {
 	public static final long serialVersionUID = 1L;
+	public static final JSONType<CreateStaticSettlementMatrix> JSON_TYPE =
+			JSONType.of(CreateStaticSettlementMatrix::new);
 
 	private String matrixId;
 	private List<String> batchIds;
@@ -24,6 +27,7 @@ public class CreateStaticSettlementMatrix extends ABaseJSONObject {
 
 	public static class JSONMapping {
 		public static final String MATRIX_ID = "matrixId";
+		public static final String ID = "id";
 		public static final String BATCH_IDS = "batchIds";
 		public static final String TYPE = "type";
 	}
@@ -39,6 +43,10 @@ public class CreateStaticSettlementMatrix extends ABaseJSONObject {
 		if (jsonObject.has(JSONMapping.MATRIX_ID) && !jsonObject.isNull(JSONMapping.MATRIX_ID)) {
 			this.setMatrixId(jsonObject.getString(JSONMapping.MATRIX_ID));
 		}
+		// The create response only carries the server assigned 'id':
+		if (this.getMatrixId() == null && jsonObject.has(JSONMapping.ID) && !jsonObject.isNull(JSONMapping.ID)) {
+			this.setMatrixId(jsonObject.getString(JSONMapping.ID));
+		}
 		if (jsonObject.has(SettlementMatrix.JSONMapping.TYPE) && !jsonObject.isNull(SettlementMatrix.JSONMapping.TYPE)) {
 			this.setType(jsonObject.getEnum(SettlementMatrix.Type.class, SettlementMatrix.JSONMapping.TYPE));
 		}
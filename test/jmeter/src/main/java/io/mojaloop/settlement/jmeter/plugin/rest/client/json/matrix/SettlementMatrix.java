@@ -1,24 +1,37 @@
 package io.mojaloop.settlement.jmeter.plugin.rest.client.json.matrix;
 
+import com.fasterxml.jackson.core.JsonParser;
 import io.mojaloop.settlement.jmeter.plugin.rest.client.json.ABaseJSONObject;
 import io.mojaloop.settlement.jmeter.plugin.rest.client.json.batch.SettlementBatch;
+import io.mojaloop.settlement.jmeter.plugin.rest.client.json.codec.JSONType;
+import io.mojaloop.settlement.jmeter.plugin.rest.client.json.codec.LazyJSONList;
+import io.mojaloop.settlement.jmeter.plugin.rest.client.json.codec.StreamingJSONCodec;
+import lombok.AccessLevel;
 import lombok.Getter;
 import lombok.Setter;
 import org.json.JSONArray;
 import org.json.JSONException;
 import org.json.JSONObject;
 
+import java.io.IOException;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.Date;
+import java.util.EnumSet;
 import java.util.List;
+import java.util.Set;
 
 /**
  * POJO used for a settlement batch {@code /matrices}
+ *
+ * The nested collections ({@link Field}) are decoded on first access. Only the declared fields are
+ * kept when a response is decoded, accessing a field that was not declared fails.
  */
 @Getter
 @Setter
 public class SettlementMatrix extends ABaseJSONObject {
 	public static final long serialVersionUID = 1L;
+	public static final JSONType<SettlementMatrix> JSON_TYPE = jsonType(EnumSet.allOf(Field.class));
 
 	private String id;
 	private Date createdAt;
@@ -28,11 +41,23 @@ public class SettlementMatrix extends ABaseJSONObject {
 	private List<String> currencyCodes;
 	private String settlementModel;
 	private List<String> batchStatuses;
-	private List<SettlementBatch> batches;
+	private LazyJSONList<SettlementBatch> batches;
 	private State state;
 	private Type type;
 	private int generationDurationSecs;
-	private List<SettlementMatrixBalanceByCurrency> balancesByCurrency;
+	private LazyJSONList<SettlementMatrixBalanceByCurrency> balancesByCurrency;
+	private LazyJSONList<SettlementMatrixBalanceByParticipant> balancesByParticipant;
+	@Setter(AccessLevel.NONE)
+	private Set<Field> fields;
+
+	/**
+	 * The nested collections, named as in the JSON.
+	 */
+	public enum Field {
+		batches,
+		balancesByCurrency,
+		balancesByParticipant
+	}
 
 	public static enum Type {
 		STATIC, DYNAMIC
@@ -57,6 +82,40 @@ public class SettlementMatrix extends ABaseJSONObject {
 		public static final String TYPE = "type";
 		public static final String GENERATION_DURATION_SECS = "generationDurationSecs";
 		public static final String BALANCES_BY_CURRENCY = "balancesByCurrency";
+		public static final String BALANCES_BY_PARTICIPANT = "balancesByParticipant";
+	}
+
+	/**
+	 * The JSON type of a matrix that only keeps the nested {@code fields}.
+	 *
+	 * @param fields The nested collections to keep, the others are skipped.
+	 * @return The type.
+	 */
+	public static JSONType<SettlementMatrix> jsonType(Set<Field> fields) {
+		Set<Field> declared = Collections.unmodifiableSet(fields.isEmpty() ? EnumSet.noneOf(Field.class) : EnumSet.copyOf(fields));
+		return JSONType.of(json -> new SettlementMatrix(json, declared), () -> new SettlementMatrix(declared));
+	}
+
+	/**
+	 * Empty {@code SettlementMatrix}, populated by a streaming {@code JSONCodec}.
+	 */
+	public SettlementMatrix() {
+		this(EnumSet.allOf(Field.class));
+	}
+
+	/**
+	 * Empty {@code SettlementMatrix} that only keeps the nested {@code fields}.
+	 *
+	 * @param fields The nested collections to keep.
+	 */
+	public SettlementMatrix(Set<Field> fields) {
+		super();
+		this.fields = fields;
+		this.setCurrencyCodes(new ArrayList<>());
+		this.setBatchStatuses(new ArrayList<>());
+		if (fields.contains(Field.batches)) this.setBatches(new ArrayList<>());
+		if (fields.contains(Field.balancesByCurrency)) this.setBalancesByCurrency(new ArrayList<>());
+		if (fields.contains(Field.balancesByParticipant)) this.setBalancesByParticipant(new ArrayList<>());
 	}
 
 	/**
@@ -65,7 +124,18 @@ public class SettlementMatrix extends ABaseJSONObject {
 	 * @param jsonObject The JSON Object.
 	 */
 	public SettlementMatrix(JSONObject jsonObject) {
+		this(jsonObject, EnumSet.allOf(Field.class));
+	}
+
+	/**
+	 * Populates local variables with {@code jsonObjectParam}, keeping the nested {@code fields} undecoded.
+	 *
+	 * @param jsonObject The JSON Object.
+	 * @param fields The nested collections to keep.
+	 */
+	public SettlementMatrix(JSONObject jsonObject, Set<Field> fields) {
 		super(jsonObject);
+		this.fields = fields;
 
 		if (jsonObject.has(JSONMapping.ID) && !jsonObject.isNull(JSONMapping.ID)) {
 			this.setId(jsonObject.getString(JSONMapping.ID));
@@ -95,10 +165,8 @@ public class SettlementMatrix extends ABaseJSONObject {
 			JSONArray bs = jsonObject.getJSONArray(JSONMapping.BATCH_STATUSES);
 			for (int index = 0;index < bs.length();index++) this.getBatchStatuses().add(bs.getString(index));
 		}
-		this.setBatches(new ArrayList<>());
-		if (jsonObject.has(JSONMapping.BATCHES) && !jsonObject.isNull(JSONMapping.BATCHES)) {
-			JSONArray b = jsonObject.getJSONArray(JSONMapping.BATCHES);
-			for (int index = 0;index < b.length();index++) this.getBatches().add(new SettlementBatch(b.getJSONObject(index)));
+		if (fields.contains(Field.batches)) {
+			this.batches = LazyJSONList.fromTree(jsonObject.optJSONArray(JSONMapping.BATCHES), SettlementBatch.JSON_TYPE);
 		}
 		if (jsonObject.has(JSONMapping.STATE) && !jsonObject.isNull(JSONMapping.STATE)) {
 			this.setState(jsonObject.getEnum(State.class, JSONMapping.STATE));
@@ -110,13 +178,75 @@ public class SettlementMatrix extends ABaseJSONObject {
 				!jsonObject.isNull(JSONMapping.GENERATION_DURATION_SECS)) {
 			this.setGenerationDurationSecs(jsonObject.getInt(JSONMapping.GENERATION_DURATION_SECS));
 		}
-		this.setBalancesByCurrency(new ArrayList<>());
-		if (jsonObject.has(JSONMapping.BALANCES_BY_CURRENCY) &&
-				!jsonObject.isNull(JSONMapping.BALANCES_BY_CURRENCY)) {
-			JSONArray cc = jsonObject.getJSONArray(JSONMapping.BALANCES_BY_CURRENCY);
-			for (int index = 0;index < cc.length();index++) this.getBalancesByCurrency().add(
-					new SettlementMatrixBalanceByCurrency(cc.getJSONObject(index))
-			);
+		if (fields.contains(Field.balancesByCurrency)) {
+			this.balancesByCurrency = LazyJSONList.fromTree(
+					jsonObject.optJSONArray(JSONMapping.BALANCES_BY_CURRENCY), SettlementMatrixBalanceByCurrency.JSON_TYPE);
+		}
+		if (fields.contains(Field.balancesByParticipant)) {
+			this.balancesByParticipant = LazyJSONList.fromTree(
+					jsonObject.optJSONArray(JSONMapping.BALANCES_BY_PARTICIPANT), SettlementMatrixBalanceByParticipant.JSON_TYPE);
+		}
+	}
+
+	public List<SettlementBatch> getBatches() {
+		return this.decoded(Field.batches, this.batches);
+	}
+
+	public void setBatches(List<SettlementBatch> batches) {
+		this.batches = LazyJSONList.of(batches);
+	}
+
+	public List<SettlementMatrixBalanceByCurrency> getBalancesByCurrency() {
+		return this.decoded(Field.balancesByCurrency, this.balancesByCurrency);
+	}
+
+	public void setBalancesByCurrency(List<SettlementMatrixBalanceByCurrency> balancesByCurrency) {
+		this.balancesByCurrency = LazyJSONList.of(balancesByCurrency);
+	}
+
+	public List<SettlementMatrixBalanceByParticipant> getBalancesByParticipant() {
+		return this.decoded(Field.balancesByParticipant, this.balancesByParticipant);
+	}
+
+	public void setBalancesByParticipant(List<SettlementMatrixBalanceByParticipant> balancesByParticipant) {
+		this.balancesByParticipant = LazyJSONList.of(balancesByParticipant);
+	}
+
+	private <T extends ABaseJSONObject> List<T> decoded(Field field, LazyJSONList<T> lazy) {
+		if (lazy == null) {
+			throw new IllegalStateException(String.format(
+					"Field '%s' of matrix '%s' was not declared when the matrix was decoded.", field, this.getId()));
+		}
+		return lazy.get();
+	}
+
+	@Override
+	public boolean readJsonField(String field, JsonParser parser) throws IOException {
+		switch (field) {
+			case JSONMapping.ID: this.setId(StreamingJSONCodec.readString(parser)); return true;
+			case JSONMapping.CREATED_AT: this.setCreatedAt(StreamingJSONCodec.readDate(parser)); return true;
+			case JSONMapping.UPDATED_AT: this.setUpdatedAt(StreamingJSONCodec.readDate(parser)); return true;
+			case JSONMapping.DATE_FROM: this.setDateFrom(StreamingJSONCodec.readDate(parser)); return true;
+			case JSONMapping.DATE_TO: this.setDateTo(StreamingJSONCodec.readDate(parser)); return true;
+			case JSONMapping.CURRENCY_CODES: this.setCurrencyCodes(StreamingJSONCodec.readStrings(parser)); return true;
+			case JSONMapping.SETTLEMENT_MODEL: this.setSettlementModel(StreamingJSONCodec.readString(parser)); return true;
+			case JSONMapping.BATCH_STATUSES: this.setBatchStatuses(StreamingJSONCodec.readStrings(parser)); return true;
+			case JSONMapping.BATCHES:
+				if (!this.fields.contains(Field.batches)) return false;
+				this.batches = StreamingJSONCodec.readLazyObjects(parser, SettlementBatch.JSON_TYPE);
+				return true;
+			case JSONMapping.STATE: this.setState(StreamingJSONCodec.readEnum(parser, State.class)); return true;
+			case JSONMapping.TYPE: this.setType(StreamingJSONCodec.readEnum(parser, Type.class)); return true;
+			case JSONMapping.GENERATION_DURATION_SECS: this.setGenerationDurationSecs(parser.getValueAsInt()); return true;
+			case JSONMapping.BALANCES_BY_CURRENCY:
+				if (!this.fields.contains(Field.balancesByCurrency)) return false;
+				this.balancesByCurrency = StreamingJSONCodec.readLazyObjects(parser, SettlementMatrixBalanceByCurrency.JSON_TYPE);
+				return true;
+			case JSONMapping.BALANCES_BY_PARTICIPANT:
+				if (!this.fields.contains(Field.balancesByParticipant)) return false;
+				this.balancesByParticipant = StreamingJSONCodec.readLazyObjects(parser, SettlementMatrixBalanceByParticipant.JSON_TYPE);
+				return true;
+			default: return false;
 		}
 	}
 
@@ -1,11 +1,16 @@
 package io.mojaloop.settlement.jmeter.plugin.rest.client.json.matrix;
 
+import com.fasterxml.jackson.core.JsonParser;
 import io.mojaloop.settlement.jmeter.plugin.rest.client.json.ABaseJSONObject;
+import io.mojaloop.settlement.jmeter.plugin.rest.client.json.codec.JSONType;
+import io.mojaloop.settlement.jmeter.plugin.rest.client.json.codec.StreamingJSONCodec;
 import lombok.Getter;
 import lombok.Setter;
 import org.json.JSONException;
 import org.json.JSONObject;
 
+import java.io.IOException;
+
 /**
  * POJO used for a settlement batch {@code /matrices}
  */
@@ -13,6 +18,7 @@ import org.json.JSONObject;
 @Setter
 public class SettlementMatrixBalanceByCurrency extends ABaseJSONObject {
 	public static final long serialVersionUID = 1L;
+	public static final JSONType<SettlementMatrixBalanceByCurrency> JSON_TYPE = JSONType.of(SettlementMatrixBalanceByCurrency::new, SettlementMatrixBalanceByCurrency::new);
 
 	private String currencyCode;
 	private String debitBalance;
@@ -24,6 +30,13 @@ public class SettlementMatrixBalanceByCurrency extends ABaseJSONObject {
 		public static final String CREDIT_BALANCE = "creditBalance";
 	}
 
+	/**
+	 * Empty {@code SettlementMatrixBalanceByCurrency}, populated by a streaming {@code JSONCodec}.
+	 */
+	public SettlementMatrixBalanceByCurrency() {
+		super();
+	}
+
 	/**
 	 * Populates local variables with {@code jsonObjectParam}.
 	 *
@@ -43,6 +56,16 @@ public class SettlementMatrixBalanceByCurrency extends ABaseJSONObject {
 		}
 	}
 
+	@Override
+	public boolean readJsonField(String field, JsonParser parser) throws IOException {
+		switch (field) {
+			case JSONMapping.CURRENCY_CODE: this.setCurrencyCode(StreamingJSONCodec.readString(parser)); return true;
+			case JSONMapping.DEBIT_BALANCE: this.setDebitBalance(StreamingJSONCodec.readString(parser)); return true;
+			case JSONMapping.CREDIT_BALANCE: this.setCreditBalance(StreamingJSONCodec.readString(parser)); return true;
+			default: return false;
+		}
+	}
+
 	@Override
 	public JSONObject toJsonObject() throws JSONException {
 		JSONObject returnVal = super.toJsonObject();
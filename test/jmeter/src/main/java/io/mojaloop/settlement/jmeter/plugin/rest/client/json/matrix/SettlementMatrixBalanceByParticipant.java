@@ -1,10 +1,15 @@
 package io.mojaloop.settlement.jmeter.plugin.rest.client.json.matrix;
 
+import com.fasterxml.jackson.core.JsonParser;
+import io.mojaloop.settlement.jmeter.plugin.rest.client.json.codec.JSONType;
+import io.mojaloop.settlement.jmeter.plugin.rest.client.json.codec.StreamingJSONCodec;
 import lombok.Getter;
 import lombok.Setter;
 import org.json.JSONException;
 import org.json.JSONObject;
 
+import java.io.IOException;
+
 /**
  * POJO used for a settlement batch {@code /matrices}
  */
@@ -12,6 +17,7 @@ import org.json.JSONObject;
 @Setter
 public class SettlementMatrixBalanceByParticipant extends SettlementMatrixBalanceByStateAndCurrency {
 	public static final long serialVersionUID = 1L;
+	public static final JSONType<SettlementMatrixBalanceByParticipant> JSON_TYPE = JSONType.of(SettlementMatrixBalanceByParticipant::new, SettlementMatrixBalanceByParticipant::new);
 
 	private String participantId;
 
@@ -19,6 +25,13 @@ public class SettlementMatrixBalanceByParticipant extends SettlementMatrixBalanc
 		public static final String PARTICIPANT_ID = "participantId";
 	}
 
+	/**
+	 * Empty {@code SettlementMatrixBalanceByParticipant}, populated by a streaming {@code JSONCodec}.
+	 */
+	public SettlementMatrixBalanceByParticipant() {
+		super();
+	}
+
 	/**
 	 * Populates local variables with {@code jsonObjectParam}.
 	 *
@@ -33,6 +46,14 @@ public class SettlementMatrixBalanceByParticipant extends SettlementMatrixBalanc
 		}
 	}
 
+	@Override
+	public boolean readJsonField(String field, JsonParser parser) throws IOException {
+		switch (field) {
+			case JSONMapping.PARTICIPANT_ID: this.setParticipantId(StreamingJSONCodec.readString(parser)); return true;
+			default: return super.readJsonField(field, parser);
+		}
+	}
+
 	@Override
 	public JSONObject toJsonObject() throws JSONException {
 		JSONObject returnVal = super.toJsonObject();
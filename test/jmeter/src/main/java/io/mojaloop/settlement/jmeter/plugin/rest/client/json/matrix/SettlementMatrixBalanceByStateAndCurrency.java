@@ -1,10 +1,14 @@
 package io.mojaloop.settlement.jmeter.plugin.rest.client.json.matrix;
 
+import com.fasterxml.jackson.core.JsonParser;
+import io.mojaloop.settlement.jmeter.plugin.rest.client.json.codec.StreamingJSONCodec;
 import lombok.Getter;
 import lombok.Setter;
 import org.json.JSONException;
 import org.json.JSONObject;
 
+import java.io.IOException;
+
 /**
  * POJO used for a settlement batch {@code /matrices}
  */
@@ -19,6 +23,13 @@ public class SettlementMatrixBalanceByStateAndCurrency extends SettlementMatrixB
 		public static final String STATE = "state";
 	}
 
+	/**
+	 * Empty {@code SettlementMatrixBalanceByStateAndCurrency}, populated by a streaming {@code JSONCodec}.
+	 */
+	public SettlementMatrixBalanceByStateAndCurrency() {
+		super();
+	}
+
 	/**
 	 * Populates local variables with {@code jsonObjectParam}.
 	 *
@@ -32,6 +43,14 @@ public class SettlementMatrixBalanceByStateAndCurrency extends SettlementMatrixB
 		}
 	}
 
+	@Override
+	public boolean readJsonField(String field, JsonParser parser) throws IOException {
+		switch (field) {
+			case JSONMapping.STATE: this.setState(StreamingJSONCodec.readString(parser)); return true;
+			default: return super.readJsonField(field, parser);
+		}
+	}
+
 	@Override
 	public JSONObject toJsonObject() throws JSONException {
 		JSONObject returnVal = super.toJsonObject();
@@ -0,0 +1,87 @@
+package io.mojaloop.settlement.jmeter.plugin.rest.client.json.matrix;
+
+import io.mojaloop.settlement.jmeter.plugin.rest.client.json.codec.JSONType;
+import io.mojaloop.settlement.jmeter.plugin.rest.client.json.testdata.TestDataCarrier;
+
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * The nested {@code SettlementMatrix} fields each {@code ActionType} needs from a matrix response.
+ *
+ * The handlers only read the id, state and timestamps of a matrix, so by default no nested fields are
+ * declared and the batches and balances of large matrices are skipped while decoding. Declared fields
+ * are still only decoded on first access.
+ */
+public final class SettlementMatrixFields {
+	public static final SettlementMatrixFields NONE = new SettlementMatrixFields(new EnumMap<>(TestDataCarrier.ActionType.class));
+
+	private final Map<TestDataCarrier.ActionType, Set<SettlementMatrix.Field>> fields;
+	private final Map<TestDataCarrier.ActionType, JSONType<SettlementMatrix>> jsonTypes;
+	private final JSONType<SettlementMatrix> undeclared = SettlementMatrix.jsonType(EnumSet.noneOf(SettlementMatrix.Field.class));
+
+	private SettlementMatrixFields(Map<TestDataCarrier.ActionType, Set<SettlementMatrix.Field>> fields) {
+		this.fields = fields;
+		this.jsonTypes = new EnumMap<>(TestDataCarrier.ActionType.class);
+		fields.forEach((actionType, declared) -> this.jsonTypes.put(actionType, SettlementMatrix.jsonType(declared)));
+	}
+
+	/**
+	 * Parses {@code action=field+field,...}, e.g. {@code get_static_matrix=batches+balancesByCurrency,matrix_settle=batches}.
+	 *
+	 * @param spec The declarations, empty for {@link #NONE}.
+	 * @return The declared fields per action.
+	 * @throws IllegalArgumentException When an action or field is unknown.
+	 */
+	public static SettlementMatrixFields parse(String spec) {
+		if (spec == null || spec.trim().isEmpty()) return NONE;
+
+		Map<TestDataCarrier.ActionType, Set<SettlementMatrix.Field>> fields = new EnumMap<>(TestDataCarrier.ActionType.class);
+		for (String declaration : spec.split(",")) {
+			if (declaration.trim().isEmpty()) continue;
+
+			int separator = declaration.indexOf('=');
+			if (separator < 1) {
+				throw new IllegalArgumentException(String.format("Expected 'action=field+field', got '%s'.", declaration));
+			}
+			TestDataCarrier.ActionType actionType;
+			try {
+				actionType = TestDataCarrier.ActionType.valueOf(declaration.substring(0, separator).trim());
+			} catch (IllegalArgumentException except) {
+				throw new IllegalArgumentException(String.format("Unknown action in '%s'.", declaration), except);
+			}
+			Set<SettlementMatrix.Field> declared = fields.computeIfAbsent(actionType, key -> EnumSet.noneOf(SettlementMatrix.Field.class));
+			for (String field : declaration.substring(separator + 1).split("\\+")) {
+				if (field.trim().isEmpty()) continue;
+				try {
+					declared.add(SettlementMatrix.Field.valueOf(field.trim()));
+				} catch (IllegalArgumentException except) {
+					throw new IllegalArgumentException(String.format("Unknown matrix field '%s', use %s.",
+							field.trim(), EnumSet.allOf(SettlementMatrix.Field.class)), except);
+				}
+			}
+		}
+		return new SettlementMatrixFields(fields);
+	}
+
+	/**
+	 * @param actionType The action.
+	 * @return The nested fields declared for {@code actionType}.
+	 */
+	public Set<SettlementMatrix.Field> of(TestDataCarrier.ActionType actionType) {
+		Set<SettlementMatrix.Field> returnVal = this.fields.get(actionType);
+		return returnVal == null ? Collections.emptySet() : Collections.unmodifiableSet(returnVal);
+	}
+
+	/**
+	 * @param actionType The action the matrix is retrieved for.
+	 * @return The type that only keeps the fields declared for {@code actionType}.
+	 */
+	public JSONType<SettlementMatrix> jsonType(TestDataCarrier.ActionType actionType) {
+		JSONType<SettlementMatrix> returnVal = this.jsonTypes.get(actionType);
+		return returnVal == null ? this.undeclared : returnVal;
+	}
+}
@@ -0,0 +1,71 @@
+package io.mojaloop.settlement.jmeter.plugin.rest.client.json.model;
+
+import io.mojaloop.settlement.jmeter.plugin.rest.client.json.ABaseJSONObject;
+import io.mojaloop.settlement.jmeter.plugin.rest.client.json.codec.JSONType;
+import lombok.Getter;
+import lombok.Setter;
+import org.json.JSONException;
+import org.json.JSONObject;
+
+/**
+ * POJO used for a settlement model {@code /models}
+ */
+@Getter
+@Setter
+public class SettlementModel extends ABaseJSONObject {
+	public static final long serialVersionUID = 1L;
+	public static final JSONType<SettlementModel> JSON_TYPE = JSONType.of(SettlementModel::new);
+
+	private String id;
+	private String settlementModel;
+	private Integer batchCreateInterval;
+	private String createdBy;
+
+	public static class JSONMapping {
+		public static final String ID = "id";
+		public static final String SETTLEMENT_MODEL = "settlementModel";
+		public static final String BATCH_CREATE_INTERVAL = "batchCreateInterval";
+		public static final String CREATED_BY = "createdBy";
+	}
+
+	/**
+	 * Populates local variables with {@code jsonObjectParam}.
+	 *
+	 * @param jsonObject The JSON Object.
+	 */
+	public SettlementModel(JSONObject jsonObject) {
+		super(jsonObject);
+
+		if (jsonObject.has(JSONMapping.ID) && !jsonObject.isNull(JSONMapping.ID)) {
+			this.setId(jsonObject.getString(JSONMapping.ID));
+		}
+		if (jsonObject.has(JSONMapping.SETTLEMENT_MODEL) && !jsonObject.isNull(JSONMapping.SETTLEMENT_MODEL)) {
+			this.setSettlementModel(jsonObject.getString(JSONMapping.SETTLEMENT_MODEL));
+		}
+		if (jsonObject.has(JSONMapping.BATCH_CREATE_INTERVAL) && !jsonObject.isNull(JSONMapping.BATCH_CREATE_INTERVAL)) {
+			this.setBatchCreateInterval(jsonObject.getInt(JSONMapping.BATCH_CREATE_INTERVAL));
+		}
+		if (jsonObject.has(JSONMapping.CREATED_BY) && !jsonObject.isNull(JSONMapping.CREATED_BY)) {
+			this.setCreatedBy(jsonObject.getString(JSONMapping.CREATED_BY));
+		}
+	}
+
+	@Override
+	public JSONObject toJsonObject() throws JSONException {
+		JSONObject returnVal = super.toJsonObject();
+
+		if (this.getId() == null) returnVal.put(JSONMapping.ID, JSONObject.NULL);
+		else returnVal.put(JSONMapping.ID, this.getId());
+
+		if (this.getSettlementModel() == null) returnVal.put(JSONMapping.SETTLEMENT_MODEL, JSONObject.NULL);
+		else returnVal.put(JSONMapping.SETTLEMENT_MODEL, this.getSettlementModel());
+
+		if (this.getBatchCreateInterval() == null) returnVal.put(JSONMapping.BATCH_CREATE_INTERVAL, JSONObject.NULL);
+		else returnVal.put(JSONMapping.BATCH_CREATE_INTERVAL, this.getBatchCreateInterval());
+
+		if (this.getCreatedBy() == null) returnVal.put(JSONMapping.CREATED_BY, JSONObject.NULL);
+		else returnVal.put(JSONMapping.CREATED_BY, this.getCreatedBy());
+
+		return returnVal;
+	}
+}
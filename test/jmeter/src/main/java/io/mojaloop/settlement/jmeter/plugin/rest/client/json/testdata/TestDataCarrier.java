@@ -4,19 +4,29 @@ import io.mojaloop.settlement.jmeter.plugin.rest.client.json.ABaseJSONObject;
 import io.mojaloop.settlement.jmeter.plugin.rest.client.json.batch.SettlementBatch;
 import io.mojaloop.settlement.jmeter.plugin.rest.client.json.matrix.SettlementMatrix;
 import io.mojaloop.settlement.jmeter.plugin.rest.client.json.transfer.TransferReq;
-import lombok.Data;
+import io.mojaloop.settlement.jmeter.plugin.rest.client.json.transfer.TransfersByBatchIdReq;
 import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.ToString;
 import org.json.JSONException;
 import org.json.JSONObject;
 
+/**
+ * A single row of the test data.
+ *
+ * Rows are immutable, they are shared by all the sampler threads.
+ */
 @EqualsAndHashCode(callSuper = false)
-@Data
-public class TestDataCarrier extends ABaseJSONObject {
-	private ABaseJSONObject request;
-	private String requestRaw;
-	private JSONObject response;
-	private String responseRaw;
-	private ActionType actionType;
+@Getter
+@ToString
+public final class TestDataCarrier extends ABaseJSONObject {
+	private final ABaseJSONObject request;
+	private final String requestRaw;
+	private final JSONObject response;
+	private final String responseRaw;
+	private final ActionType actionType;
+	// Pause of the (virtual) user before sending the request:
+	private final long thinkTimeMs;
 
 	public enum ActionType {
 		transfer,
@@ -42,6 +52,43 @@ public class TestDataCarrier extends ABaseJSONObject {
 		public static final String REQUEST = "request";
 		public static final String RESPONSE = "response";
 		public static final String ACTION_TYPE = "actionType";
+		public static final String THINK_TIME_MS = "thinkTimeMs";
+	}
+
+	/**
+	 * Creates a row for {@code actionType}.
+	 *
+	 * @param actionType The action of the row.
+	 * @param request The request of the row, may be {@code null}.
+	 * @param thinkTimeMs Pause before the sample.
+	 */
+	public TestDataCarrier(ActionType actionType, ABaseJSONObject request, long thinkTimeMs) {
+		this(actionType, request, null, null, thinkTimeMs);
+	}
+
+	/**
+	 * Creates a {@code transfer_raw} row.
+	 *
+	 * @param requestRaw The raw request text.
+	 */
+	public TestDataCarrier(String requestRaw) {
+		this(ActionType.transfer_raw, null, requestRaw, null, 0L);
+	}
+
+	private TestDataCarrier(
+			ActionType actionType,
+			ABaseJSONObject request,
+			String requestRaw,
+			JSONObject response,
+			long thinkTimeMs
+	) {
+		super();
+		this.actionType = actionType;
+		this.request = request;
+		this.requestRaw = requestRaw;
+		this.response = response;
+		this.responseRaw = null;
+		this.thinkTimeMs = thinkTimeMs;
 	}
 
 	/**
@@ -52,37 +99,68 @@ public class TestDataCarrier extends ABaseJSONObject {
 	public TestDataCarrier(JSONObject jsonObject) {
 		super(jsonObject);
 
-		if (jsonObject.has(JSONMapping.ACTION_TYPE)) {
-			this.setActionType(ActionType.valueOf(jsonObject.getString(JSONMapping.ACTION_TYPE)));
-			switch (this.getActionType()) {
-				case transfer:
-					if (!jsonObject.isNull(JSONMapping.REQUEST)) this.setRequest(new TransferReq(jsonObject.getJSONObject(JSONMapping.REQUEST)));
-					if (!jsonObject.isNull(JSONMapping.RESPONSE)) this.setResponse(jsonObject.getJSONObject(JSONMapping.RESPONSE));
-				break;
-				case get_batches_by_model:
-				case add_batch_to_static_matrix:
-				case remove_batch_from_static_matrix:
-					if (!jsonObject.isNull(JSONMapping.REQUEST)) this.setRequest(new SettlementBatch(jsonObject.getJSONObject(JSONMapping.REQUEST)));
-					if (!jsonObject.isNull(JSONMapping.RESPONSE)) this.setResponse(jsonObject.getJSONObject(JSONMapping.RESPONSE));
-				break;
-				case create_static_matrix:
-				case get_static_matrix:
-				case get_dynamic_matrix_model:
-				case create_dynamic_matrix_model:
-				//matrix actions:
-				case matrix_close:
-				case matrix_dispute:
-				case matrix_lock:
-				case matrix_recalculate:
-				case matrix_settle:
-				case matrix_unlock:
-					if (!jsonObject.isNull(JSONMapping.REQUEST)) this.setRequest(new SettlementMatrix(jsonObject.getJSONObject(JSONMapping.REQUEST)));
-					if (!jsonObject.isNull(JSONMapping.RESPONSE)) this.setResponse(jsonObject.getJSONObject(JSONMapping.RESPONSE));
-				break;
-			}
+		this.thinkTimeMs = jsonObject.has(JSONMapping.THINK_TIME_MS) ? jsonObject.getLong(JSONMapping.THINK_TIME_MS) : 0L;
+		this.requestRaw = null;
+		this.responseRaw = null;
+		if (!jsonObject.has(JSONMapping.ACTION_TYPE)) {
+			this.actionType = null;
+			this.request = null;
+			this.response = null;
+			return;
+		}
+
+		this.actionType = ActionType.valueOf(jsonObject.getString(JSONMapping.ACTION_TYPE));
+		this.request = jsonObject.isNull(JSONMapping.REQUEST) ? null : requestFrom(this.actionType, jsonObject.getJSONObject(JSONMapping.REQUEST));
+		this.response = jsonObject.isNull(JSONMapping.RESPONSE) ? null : responseFrom(this.actionType, jsonObject);
+	}
+
+	private static ABaseJSONObject requestFrom(ActionType actionType, JSONObject request) {
+		switch (actionType) {
+			case transfer:
+				return new TransferReq(request);
+			case transfers_by_batch_id:
+				return new TransfersByBatchIdReq(request);
+			case get_batches_by_model:
+			case add_batch_to_static_matrix:
+			case remove_batch_from_static_matrix:
+				return new SettlementBatch(request);
+			case create_static_matrix:
+			case get_static_matrix:
+			case get_dynamic_matrix_model:
+			case create_dynamic_matrix_model:
+			//matrix actions:
+			case matrix_close:
+			case matrix_dispute:
+			case matrix_lock:
+			case matrix_recalculate:
+			case matrix_settle:
+			case matrix_unlock:
+				return new SettlementMatrix(request);
+			default:
+				return null;
+		}
+	}
+
+	private static JSONObject responseFrom(ActionType actionType, JSONObject jsonObject) {
+		switch (actionType) {
+			case transfers_by_matrix_id:
+			case transfer_raw:
+				return null;
+			default:
+				return jsonObject.getJSONObject(JSONMapping.RESPONSE);
 		}
 	}
 
+	/**
+	 * Copy of {@code this} row with another think time.
+	 *
+	 * @param thinkTimeMs Pause before the sample.
+	 * @return New row, {@code this} row is not modified.
+	 */
+	public TestDataCarrier withThinkTimeMs(long thinkTimeMs) {
+		return new TestDataCarrier(this.actionType, this.request, this.requestRaw, this.response, thinkTimeMs);
+	}
+
 	@Override
 	public JSONObject toJsonObject() throws JSONException {
 		JSONObject returnVal = super.toJsonObject();
@@ -92,6 +170,7 @@ public class TestDataCarrier extends ABaseJSONObject {
 
 		switch (this.getActionType()) {
 			case transfer:
+			case transfers_by_batch_id:
 			case get_batches_by_model:
 			case create_static_matrix:
 			case get_static_matrix:
@@ -117,6 +196,8 @@ public class TestDataCarrier extends ABaseJSONObject {
 		if (this.getResponse() == null) returnVal.put(JSONMapping.RESPONSE, JSONObject.NULL);
 		else returnVal.put(JSONMapping.RESPONSE, this.getResponse());
 
+		if (this.getThinkTimeMs() > 0L) returnVal.put(JSONMapping.THINK_TIME_MS, this.getThinkTimeMs());
+
 		return returnVal;
 	}
 }
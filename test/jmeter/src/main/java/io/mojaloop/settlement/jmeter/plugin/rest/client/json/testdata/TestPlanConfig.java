@@ -1,6 +1,7 @@
 package io.mojaloop.settlement.jmeter.plugin.rest.client.json.testdata;
 
 import io.mojaloop.settlement.jmeter.plugin.rest.client.json.ABaseJSONObject;
+import io.mojaloop.settlement.jmeter.plugin.rest.client.json.transfer.TransfersByBatchIdReq;
 import lombok.Getter;
 import lombok.Setter;
 import org.json.JSONArray;
@@ -8,7 +9,11 @@ import org.json.JSONException;
 import org.json.JSONObject;
 
 import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.EnumSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 /**
  * Test plan configuration.
@@ -21,6 +26,8 @@ public class TestPlanConfig extends ABaseJSONObject {
 	private SettlementTransfer settlementTransfer;
 	private SettlementMatrix settlementMatrix;
 	private SettlementBatch settlementBatch;
+	private Seed seed;
+	private Scenario scenario;
 
 	@Getter
 	@Setter
@@ -29,6 +36,8 @@ public class TestPlanConfig extends ABaseJSONObject {
 		private int count;
 		private int getByBatchId;
 		private int getByMatrixId;
+		private int getByBatchIdPageSize = TransfersByBatchIdReq.DEFAULT_PAGE_SIZE;
+		private boolean getByBatchIdAllPages;
 		private int amountMin;
 		private int amountMax;
 		private List<String> currencies;
@@ -43,6 +52,8 @@ public class TestPlanConfig extends ABaseJSONObject {
 			public static final String PARTICIPANTS = "participants";
 			public static final String GET_BY_BATCH_ID = "get-by-batch-id";
 			public static final String GET_BY_MATRIX_ID = "get-by-matrix-id";
+			public static final String GET_BY_BATCH_ID_PAGE_SIZE = "get-by-batch-id-page-size";
+			public static final String GET_BY_BATCH_ID_ALL_PAGES = "get-by-batch-id-all-pages";
 		}
 
 		public SettlementTransfer(JSONObject jsonObject) {
@@ -82,6 +93,14 @@ public class TestPlanConfig extends ABaseJSONObject {
 			if (jsonObject.has(JSONMapping.GET_BY_MATRIX_ID)) {
 				this.setGetByMatrixId(jsonObject.getInt(JSONMapping.GET_BY_MATRIX_ID));
 			}
+
+			if (jsonObject.has(JSONMapping.GET_BY_BATCH_ID_PAGE_SIZE)) {
+				this.setGetByBatchIdPageSize(jsonObject.getInt(JSONMapping.GET_BY_BATCH_ID_PAGE_SIZE));
+			}
+
+			if (jsonObject.has(JSONMapping.GET_BY_BATCH_ID_ALL_PAGES)) {
+				this.setGetByBatchIdAllPages(jsonObject.getBoolean(JSONMapping.GET_BY_BATCH_ID_ALL_PAGES));
+			}
 		}
 
 		public void validate() {
@@ -89,6 +108,7 @@ public class TestPlanConfig extends ABaseJSONObject {
 			if (this.amountMin < 1) throw new IllegalStateException("Amount-min needs to be more than 0!");
 			if (this.amountMax < 1) throw new IllegalStateException("Amount-max needs to be more than 0!");
 			if (this.amountMin > this.amountMax) throw new IllegalStateException("Amount-min cannot be more than amount-max!");
+			if (this.getByBatchIdPageSize < 1) throw new IllegalStateException("Get-by-batch-id-page-size needs to be more than 0!");
 
 			if (this.currencies == null || this.currencies.isEmpty()) {
 				throw new IllegalStateException("At least one currency is required!");
@@ -116,6 +136,7 @@ public class TestPlanConfig extends ABaseJSONObject {
 		private int getDynamicModel;
 		private int close;
 		private int lock;
+		private int unlock;
 		private int settle;
 		private int recalculate;
 		private int dispute;
@@ -129,6 +150,7 @@ public class TestPlanConfig extends ABaseJSONObject {
 			public static final String GET_DYNAMIC_MODEL = "get-dynamic-model";
 			public static final String CLOSE = "close";
 			public static final String LOCK = "lock";
+			public static final String UNLOCK = "unlock";
 			public static final String SETTLE = "settle";
 			public static final String DISPUTE = "dispute";
 			public static final String RECALCULATE = "recalculate";
@@ -164,6 +186,9 @@ public class TestPlanConfig extends ABaseJSONObject {
 			if (jsonObject.has(JSONMapping.LOCK)) {
 				this.setLock(jsonObject.getInt(JSONMapping.LOCK));
 			}
+			if (jsonObject.has(JSONMapping.UNLOCK)) {
+				this.setUnlock(jsonObject.getInt(JSONMapping.UNLOCK));
+			}
 			if (jsonObject.has(JSONMapping.SETTLE)) {
 				this.setSettle(jsonObject.getInt(JSONMapping.SETTLE));
 			}
@@ -200,6 +225,9 @@ public class TestPlanConfig extends ABaseJSONObject {
 			if (this.lock < 0) {
 				throw new IllegalStateException("Lock matrix should be more than -1!");
 			}
+			if (this.unlock < 0) {
+				throw new IllegalStateException("Unlock matrix should be more than -1!");
+			}
 			if (this.settle < 0) {
 				throw new IllegalStateException("Settle matrix should be more than -1!");
 			}
@@ -234,10 +262,206 @@ public class TestPlanConfig extends ABaseJSONObject {
 		}
 	}
 
+	/**
+	 * Fixtures created before measurement starts, so read actions have data from the first sample.
+	 */
+	@Getter
+	@Setter
+	public static final class Seed extends ABaseJSONObject {
+		private static final long serialVersionUID = 1L;
+		private int settlementModels;
+		private int transfers;
+		private int staticMatrices;
+		private int batchesPerStaticMatrix = 1;
+		private int dynamicMatrices;
+		private int concurrency = 16;
+
+		public static class JSONMapping {
+			public static final String SETTLEMENT_MODELS = "settlement-models";
+			public static final String TRANSFERS = "transfers";
+			public static final String STATIC_MATRICES = "static-matrices";
+			public static final String BATCHES_PER_STATIC_MATRIX = "batches-per-static-matrix";
+			public static final String DYNAMIC_MATRICES = "dynamic-matrices";
+			public static final String CONCURRENCY = "concurrency";
+		}
+
+		public Seed(JSONObject jsonObject) {
+			super(jsonObject);
+
+			if (jsonObject.has(JSONMapping.SETTLEMENT_MODELS)) {
+				this.setSettlementModels(jsonObject.getInt(JSONMapping.SETTLEMENT_MODELS));
+			}
+			if (jsonObject.has(JSONMapping.TRANSFERS)) {
+				this.setTransfers(jsonObject.getInt(JSONMapping.TRANSFERS));
+			}
+			if (jsonObject.has(JSONMapping.STATIC_MATRICES)) {
+				this.setStaticMatrices(jsonObject.getInt(JSONMapping.STATIC_MATRICES));
+			}
+			if (jsonObject.has(JSONMapping.BATCHES_PER_STATIC_MATRIX)) {
+				this.setBatchesPerStaticMatrix(jsonObject.getInt(JSONMapping.BATCHES_PER_STATIC_MATRIX));
+			}
+			if (jsonObject.has(JSONMapping.DYNAMIC_MATRICES)) {
+				this.setDynamicMatrices(jsonObject.getInt(JSONMapping.DYNAMIC_MATRICES));
+			}
+			if (jsonObject.has(JSONMapping.CONCURRENCY)) {
+				this.setConcurrency(jsonObject.getInt(JSONMapping.CONCURRENCY));
+			}
+		}
+
+		public boolean isEmpty() {
+			return this.settlementModels < 1 && this.transfers < 1 &&
+					this.staticMatrices < 1 && this.dynamicMatrices < 1;
+		}
+
+		public void validate() {
+			if (this.settlementModels < 0) throw new IllegalStateException("Seed settlement models should be more than -1!");
+			if (this.transfers < 0) throw new IllegalStateException("Seed transfers should be more than -1!");
+			if (this.staticMatrices < 0) throw new IllegalStateException("Seed static matrices should be more than -1!");
+			if (this.dynamicMatrices < 0) throw new IllegalStateException("Seed dynamic matrices should be more than -1!");
+			if (this.batchesPerStaticMatrix < 1) {
+				throw new IllegalStateException("Seed batches per static matrix needs to be more than 0!");
+			}
+			if (this.concurrency < 1) throw new IllegalStateException("Seed concurrency needs to be more than 0!");
+		}
+	}
+
+	/**
+	 * Weighted (Markov-chain) mix of the generated actions.
+	 *
+	 * The next action is drawn from the {@code transitions} of the previous action. The probability
+	 * not covered by the transitions of an action falls back to the stationary {@code weights}, so a
+	 * scenario without transitions is a plain weighted mix. Think time is drawn uniformly between the
+	 * min and max of the action, or of {@code default}.
+	 */
+	@Getter
+	@Setter
+	public static final class Scenario extends ABaseJSONObject {
+		private static final long serialVersionUID = 1L;
+		private Map<TestDataCarrier.ActionType, Double> weights = new EnumMap<>(TestDataCarrier.ActionType.class);
+		private Map<TestDataCarrier.ActionType, Map<TestDataCarrier.ActionType, Double>> transitions =
+				new EnumMap<>(TestDataCarrier.ActionType.class);
+		private Map<TestDataCarrier.ActionType, int[]> thinkTimeMs = new EnumMap<>(TestDataCarrier.ActionType.class);
+		private int[] defaultThinkTimeMs = {0, 0};
+
+		public static class JSONMapping {
+			public static final String WEIGHTS = "weights";
+			public static final String TRANSITIONS = "transitions";
+			public static final String THINK_TIME_MS = "think-time-ms";
+			public static final String DEFAULT = "default";
+		}
+
+		public Scenario(JSONObject jsonObject) {
+			super(jsonObject);
+
+			if (jsonObject.has(JSONMapping.WEIGHTS)) {
+				JSONObject weightsObj = jsonObject.getJSONObject(JSONMapping.WEIGHTS);
+				weightsObj.keySet().forEach(key -> this.weights.put(actionType(key), weightsObj.getDouble(key)));
+			}
+			if (jsonObject.has(JSONMapping.TRANSITIONS)) {
+				JSONObject transitionsObj = jsonObject.getJSONObject(JSONMapping.TRANSITIONS);
+				transitionsObj.keySet().forEach(from -> {
+					JSONObject nextObj = transitionsObj.getJSONObject(from);
+					Map<TestDataCarrier.ActionType, Double> next = new EnumMap<>(TestDataCarrier.ActionType.class);
+					nextObj.keySet().forEach(to -> next.put(actionType(to), nextObj.getDouble(to)));
+					this.transitions.put(actionType(from), next);
+				});
+			}
+			if (jsonObject.has(JSONMapping.THINK_TIME_MS)) {
+				JSONObject thinkObj = jsonObject.getJSONObject(JSONMapping.THINK_TIME_MS);
+				thinkObj.keySet().forEach(key -> {
+					JSONArray minMaxArr = thinkObj.getJSONArray(key);
+					int min = minMaxArr.isEmpty() ? 0 : minMaxArr.getInt(0);
+					int[] minMax = {min, minMaxArr.length() > 1 ? minMaxArr.getInt(1) : min};
+					if (JSONMapping.DEFAULT.equals(key)) this.defaultThinkTimeMs = minMax;
+					else this.thinkTimeMs.put(actionType(key), minMax);
+				});
+			}
+		}
+
+		private static TestDataCarrier.ActionType actionType(String name) {
+			try {
+				return TestDataCarrier.ActionType.valueOf(name);
+			} catch (IllegalArgumentException except) {
+				throw new IllegalStateException(String.format("Unknown action '%s' in scenario!", name));
+			}
+		}
+
+		/**
+		 * Think time range of {@code actionType}.
+		 *
+		 * @param actionType The action.
+		 * @return Min and max think time in millis.
+		 */
+		public int[] thinkTimeMsFor(TestDataCarrier.ActionType actionType) {
+			int[] returnVal = this.thinkTimeMs.get(actionType);
+			return returnVal == null ? this.defaultThinkTimeMs : returnVal;
+		}
+
+		public void validate() {
+			Double transferWeight = this.weights.get(TestDataCarrier.ActionType.transfer);
+			if (transferWeight == null || transferWeight <= 0d) {
+				throw new IllegalStateException("Scenario weight of 'transfer' needs to be more than 0!");
+			}
+			this.weights.forEach((actionType, weight) -> {
+				if (weight < 0d) throw new IllegalStateException(String.format("Scenario weight of '%s' should be more than -1!", actionType));
+			});
+			this.transitions.forEach((from, next) -> {
+				double total = 0d;
+				for (double probability : next.values()) {
+					if (probability < 0d) throw new IllegalStateException(String.format("Transition probability from '%s' should be more than -1!", from));
+					total += probability;
+				}
+				if (total > 1.000001d) throw new IllegalStateException(String.format("Transition probabilities from '%s' add up to more than 1!", from));
+			});
+			this.validateLeadsToTransfer();
+			List<int[]> ranges = new ArrayList<>(this.thinkTimeMs.values());
+			ranges.add(this.defaultThinkTimeMs);
+			for (int[] range : ranges) {
+				if (range[0] < 0 || range[1] < range[0]) throw new IllegalStateException("Think-time needs to be [min, max] with 0 <= min <= max!");
+			}
+		}
+
+		/**
+		 * Test data is drawn until enough transfers were generated, so every action needs to lead back to a transfer.
+		 * An action leads to a transfer when it has no transitions or its transitions fall back to the weights
+		 * (add up to less than 1), which include {@code transfer}, or when one of its transitions leads to an action that does.
+		 */
+		private void validateLeadsToTransfer() {
+			Set<TestDataCarrier.ActionType> leadsToTransfer = EnumSet.allOf(TestDataCarrier.ActionType.class);
+			leadsToTransfer.removeAll(this.transitions.keySet());
+			leadsToTransfer.add(TestDataCarrier.ActionType.transfer);
+			boolean changed = true;
+			while (changed) {
+				changed = false;
+				for (Map.Entry<TestDataCarrier.ActionType, Map<TestDataCarrier.ActionType, Double>> entry : this.transitions.entrySet()) {
+					if (leadsToTransfer.contains(entry.getKey())) continue;
+
+					double total = 0d;
+					boolean toTransfer = false;
+					for (Map.Entry<TestDataCarrier.ActionType, Double> next : entry.getValue().entrySet()) {
+						total += next.getValue();
+						if (next.getValue() > 0d && leadsToTransfer.contains(next.getKey())) toTransfer = true;
+					}
+					if (toTransfer || total < 1d) {
+						leadsToTransfer.add(entry.getKey());
+						changed = true;
+					}
+				}
+			}
+			for (TestDataCarrier.ActionType from : this.transitions.keySet()) {
+				if (!leadsToTransfer.contains(from)) {
+					throw new IllegalStateException(String.format("Transitions from '%s' never lead back to a 'transfer'!", from));
+				}
+			}
+		}
+	}
+
 	public static class JSONMapping {
 		public static final String SETTLEMENT_TRANSFER = "settlement-transfer";
 		public static final String SETTLEMENT_MATRIX = "settlement-matrix";
 		public static final String BATCH = "batch";
+		public static final String SEED = "seed";
+		public static final String SCENARIO = "scenario";
 	}
 
 	public TestPlanConfig(JSONObject jsonObject) {
@@ -256,6 +480,14 @@ public class TestPlanConfig extends ABaseJSONObject {
 		if (jsonObject.has(JSONMapping.BATCH)) {
 			this.setSettlementBatch(new SettlementBatch(jsonObject.getJSONObject(JSONMapping.BATCH)));
 		}
+
+		if (jsonObject.has(JSONMapping.SEED)) {
+			this.setSeed(new Seed(jsonObject.getJSONObject(JSONMapping.SEED)));
+		}
+
+		if (jsonObject.has(JSONMapping.SCENARIO)) {
+			this.setScenario(new Scenario(jsonObject.getJSONObject(JSONMapping.SCENARIO)));
+		}
 	}
 
 	@Override
@@ -265,17 +497,24 @@ public class TestPlanConfig extends ABaseJSONObject {
 		returnVal.put(JSONMapping.SETTLEMENT_TRANSFER, this.getSettlementTransfer());
 		returnVal.put(JSONMapping.SETTLEMENT_MATRIX, this.getSettlementMatrix());
 		returnVal.put(JSONMapping.BATCH, this.getSettlementBatch());
+		returnVal.put(JSONMapping.SEED, this.getSeed());
+		returnVal.put(JSONMapping.SCENARIO, this.getScenario());
 
 		return returnVal;
 	}
 
 	public void validate() {
 		if (this.getSettlementTransfer() == null) throw new IllegalStateException("Settlement Transfer is not set!");
-		if (this.getSettlementMatrix() == null) throw new IllegalStateException("Settlement Matrix is not set!");
-		if (this.getSettlementBatch() == null) throw new IllegalStateException("Settlement Batch is not set!");
+		if (this.getScenario() == null) {
+			// The legacy counts are only required without a scenario:
+			if (this.getSettlementMatrix() == null) throw new IllegalStateException("Settlement Matrix is not set!");
+			if (this.getSettlementBatch() == null) throw new IllegalStateException("Settlement Batch is not set!");
+		}
 
 		this.getSettlementTransfer().validate();
-		this.getSettlementMatrix().validate();
-		this.getSettlementBatch().validate();
+		if (this.getSettlementMatrix() != null) this.getSettlementMatrix().validate();
+		if (this.getSettlementBatch() != null) this.getSettlementBatch().validate();
+		if (this.getSeed() != null) this.getSeed().validate();
+		if (this.getScenario() != null) this.getScenario().validate();
 	}
 }
@@ -1,12 +1,16 @@
 package io.mojaloop.settlement.jmeter.plugin.rest.client.json.transfer;
 
+import com.fasterxml.jackson.core.JsonParser;
 import io.mojaloop.settlement.jmeter.plugin.rest.client.json.ABaseJSONObject;
+import io.mojaloop.settlement.jmeter.plugin.rest.client.json.codec.JSONType;
+import io.mojaloop.settlement.jmeter.plugin.rest.client.json.codec.StreamingJSONCodec;
 import lombok.Getter;
 import lombok.Setter;
 import org.json.JSONArray;
 import org.json.JSONException;
 import org.json.JSONObject;
 
+import java.io.IOException;
 import java.util.ArrayList;
 import java.util.List;
 
@@ -18,11 +22,24 @@ import java.util.List;
 @Setter
 public class BatchTransferSearchResults extends ABaseJSONObject {
 	public static final long serialVersionUID = 1L;
+	public static final JSONType<BatchTransferSearchResults> JSON_TYPE =
+			JSONType.of(BatchTransferSearchResults::new, BatchTransferSearchResults::new);
 
 	private List<SettlementBatchTransfer> items;
+	// Cursor of the next page, null on the last page (or without cursor pagination):
+	private String nextCursor;
 
 	public static class JSONMapping {
 		public static final String ITEMS = "items";
+		public static final String NEXT_CURSOR = "nextCursor";
+	}
+
+	/**
+	 * Empty {@code BatchTransferSearchResults}, populated by a streaming {@code JSONCodec}.
+	 */
+	public BatchTransferSearchResults() {
+		super();
+		this.setItems(new ArrayList<>());
 	}
 
 	/**
@@ -41,6 +58,18 @@ public class BatchTransferSearchResults extends ABaseJSONObject {
 				this.getItems().add(new SettlementBatchTransfer(objAtIndex));
 			}
 		}
+		if (jsonObject.has(JSONMapping.NEXT_CURSOR) && !jsonObject.isNull(JSONMapping.NEXT_CURSOR)) {
+			this.setNextCursor(jsonObject.getString(JSONMapping.NEXT_CURSOR));
+		}
+	}
+
+	@Override
+	public boolean readJsonField(String field, JsonParser parser) throws IOException {
+		switch (field) {
+			case JSONMapping.ITEMS: this.setItems(StreamingJSONCodec.readObjects(parser, SettlementBatchTransfer::new)); return true;
+			case JSONMapping.NEXT_CURSOR: this.setNextCursor(StreamingJSONCodec.readString(parser)); return true;
+			default: return false;
+		}
 	}
 
 	@Override
@@ -51,6 +80,7 @@ public class BatchTransferSearchResults extends ABaseJSONObject {
 			this.getItems().forEach(itm -> items.put(itm.toJsonObject()));
 		}
 		returnVal.put(JSONMapping.ITEMS, items);
+		if (this.getNextCursor() != null) returnVal.put(JSONMapping.NEXT_CURSOR, this.getNextCursor());
 		return returnVal;
 	}
 }
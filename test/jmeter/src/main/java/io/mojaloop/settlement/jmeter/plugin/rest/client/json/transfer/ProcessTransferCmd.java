@@ -1,11 +1,15 @@
 package io.mojaloop.settlement.jmeter.plugin.rest.client.json.transfer;
 
+import com.fasterxml.jackson.core.JsonGenerator;
 import io.mojaloop.settlement.jmeter.plugin.rest.client.json.ABaseJSONObject;
+import io.mojaloop.settlement.jmeter.plugin.rest.client.json.codec.StreamingJSONCodec;
 import lombok.Getter;
 import lombok.Setter;
 import org.json.JSONException;
 import org.json.JSONObject;
 
+import java.io.IOException;
+
 @Getter
 @Setter
 public class ProcessTransferCmd extends ABaseJSONObject {
@@ -30,7 +34,7 @@ public class ProcessTransferCmd extends ABaseJSONObject {
     private String msgKey;
     private String msgTopic = "SettlementsBcCommands";
     private String fspiopOpaqueState;
-    private TransferReq payload;
+    private ABaseJSONObject payload;
 
     public static class JSONMapping {
         public static final String MESSAGE_TYPE = "msgType";
@@ -95,4 +99,24 @@ public class ProcessTransferCmd extends ABaseJSONObject {
 
         return returnVal;
     }
+
+    @Override
+    public void writeJson(JsonGenerator generator) throws IOException {
+        generator.writeStartObject();
+        if (this.getMsgType() == null) generator.writeNullField(JSONMapping.MESSAGE_TYPE);
+        else generator.writeNumberField(JSONMapping.MESSAGE_TYPE, this.getMsgType());
+        StreamingJSONCodec.writeString(generator, JSONMapping.MESSAGE_NAME, this.getMsgName());
+        StreamingJSONCodec.writeString(generator, JSONMapping.MESSAGE_ID, this.getMsgId());
+        if (this.getMsgTimestamp() == null) generator.writeNullField(JSONMapping.MESSAGE_TIMESTAMP);
+        else generator.writeNumberField(JSONMapping.MESSAGE_TIMESTAMP, this.getMsgTimestamp());
+        StreamingJSONCodec.writeString(generator, JSONMapping.BOUND_CONT_NAME, this.getBoundedContextName());
+        StreamingJSONCodec.writeString(generator, JSONMapping.AGGREGATE_ID, this.getAggregateId());
+        StreamingJSONCodec.writeString(generator, JSONMapping.AGGREGATE_NAME, this.getAggregateName());
+        StreamingJSONCodec.writeString(generator, JSONMapping.MSG_KEY, this.getMsgKey());
+        StreamingJSONCodec.writeString(generator, JSONMapping.MSG_TOPIC, this.getMsgTopic());
+        generator.writeFieldName(JSONMapping.PAYLOAD);
+        if (this.getPayload() == null) generator.writeNull();
+        else this.getPayload().writeJson(generator);
+        generator.writeEndObject();
+    }
 }
\ No newline at end of file
@@ -1,11 +1,14 @@
 package io.mojaloop.settlement.jmeter.plugin.rest.client.json.transfer;
 
+import com.fasterxml.jackson.core.JsonParser;
 import io.mojaloop.settlement.jmeter.plugin.rest.client.json.ABaseJSONObject;
+import io.mojaloop.settlement.jmeter.plugin.rest.client.json.codec.StreamingJSONCodec;
 import lombok.Getter;
 import lombok.Setter;
 import org.json.JSONException;
 import org.json.JSONObject;
 
+import java.io.IOException;
 import java.util.Date;
 
 /**
@@ -40,6 +43,13 @@ public class SettlementBatchTransfer extends ABaseJSONObject {
 		public static final String MATRIX_ID = "matrixId";
 	}
 
+	/**
+	 * Empty {@code SettlementBatchTransfer}, populated by a streaming {@code JSONCodec}.
+	 */
+	public SettlementBatchTransfer() {
+		super();
+	}
+
 	/**
 	 * Populates local variables with {@code jsonObjectParam}.
 	 *
@@ -80,6 +90,23 @@ public class SettlementBatchTransfer extends ABaseJSONObject {
 		}
 	}
 
+	@Override
+	public boolean readJsonField(String field, JsonParser parser) throws IOException {
+		switch (field) {
+			case JSONMapping.TRANSFER_ID: this.setTransferId(StreamingJSONCodec.readString(parser)); return true;
+			case JSONMapping.TIMESTAMP: this.setTransferTimestamp(StreamingJSONCodec.readDate(parser)); return true;
+			case JSONMapping.PAYER_FSP_ID: this.setPayerFspId(StreamingJSONCodec.readString(parser)); return true;
+			case JSONMapping.PAYEE_FSP_ID: this.setPayeeFspId(StreamingJSONCodec.readString(parser)); return true;
+			case JSONMapping.CURRENCY_CODE: this.setCurrencyCode(StreamingJSONCodec.readString(parser)); return true;
+			case JSONMapping.AMOUNT: this.setAmount(StreamingJSONCodec.readString(parser)); return true;
+			case JSONMapping.BATCH_ID: this.setBatchId(StreamingJSONCodec.readString(parser)); return true;
+			case JSONMapping.BATCH_NAME: this.setBatchName(StreamingJSONCodec.readString(parser)); return true;
+			case JSONMapping.JOURNAL_ENTRY_ID: this.setJournalEntryId(StreamingJSONCodec.readString(parser)); return true;
+			case JSONMapping.MATRIX_ID: this.setMatrixId(StreamingJSONCodec.readString(parser)); return true;
+			default: return false;
+		}
+	}
+
 	@Override
 	public JSONObject toJsonObject() throws JSONException {
 		JSONObject returnVal = super.toJsonObject();
@@ -0,0 +1,25 @@
+package io.mojaloop.settlement.jmeter.plugin.rest.client.json.transfer;
+
+import java.util.Date;
+
+/**
+ * Read-only view of a settlement transfer, implemented by the shared {@code TransferReq}
+ * test data row and by the per-sample {@code TransferReqOverlay}.
+ */
+public interface Transfer {
+	String getTransferId();
+
+	String getPayerFspId();
+
+	String getPayeeFspId();
+
+	String getCurrencyCode();
+
+	String getAmount();
+
+	Date getTimestamp();
+
+	Long getCompletedTimestamp();
+
+	String getSettlementModel();
+}
@@ -1,30 +1,37 @@
 package io.mojaloop.settlement.jmeter.plugin.rest.client.json.transfer;
 
+import com.fasterxml.jackson.core.JsonGenerator;
 import io.mojaloop.settlement.jmeter.plugin.rest.client.json.ABaseJSONObject;
+import io.mojaloop.settlement.jmeter.plugin.rest.client.json.codec.StreamingJSONCodec;
+import lombok.AccessLevel;
 import lombok.Getter;
-import lombok.Setter;
 import org.json.JSONException;
 import org.json.JSONObject;
 
+import java.io.IOException;
 import java.util.Date;
 
 /**
  * POJO used for a settlement {@code /transfers}
+ *
+ * Instances are immutable, so a test data row may be shared between threads and
+ * its {@link #fixedFieldsJson()} cached.
  */
 @Getter
-@Setter
-public class TransferReq extends ABaseJSONObject {
+public final class TransferReq extends ABaseJSONObject implements Transfer {
 	public static final long serialVersionUID = 1L;
 
-	private String transferId;
-	private String payerFspId;
-	private String payeeFspId;
-	private String currencyCode;
-	private String amount;
-	private Date timestamp;
-	private Long completedTimestamp;
-	private String settlementModel;
+	private final String transferId;
+	private final String payerFspId;
+	private final String payeeFspId;
+	private final String currencyCode;
+	private final String amount;
+	private final Date timestamp;
+	private final Long completedTimestamp;
+	private final String settlementModel;
 
+	@Getter(AccessLevel.NONE)
+	private transient volatile String fixedFieldsJson;
 
 	public static class JSONMapping {
 		public static final String TRANSFER_ID = "transferId";
@@ -37,6 +44,37 @@ public class TransferReq extends ABaseJSONObject {
 		public static final String SETTLEMENT_MODEL = "settlementModel";
 	}
 
+	/**
+	 * Creates the transfer from its fields.
+	 *
+	 * @param transferId The transfer id.
+	 * @param payerFspId The payer participant.
+	 * @param payeeFspId The payee participant.
+	 * @param currencyCode The currency.
+	 * @param amount The amount.
+	 * @param timestamp The transfer timestamp.
+	 * @param settlementModel The settlement model.
+	 */
+	public TransferReq(
+			String transferId,
+			String payerFspId,
+			String payeeFspId,
+			String currencyCode,
+			String amount,
+			Date timestamp,
+			String settlementModel
+	) {
+		super();
+		this.transferId = transferId;
+		this.payerFspId = payerFspId;
+		this.payeeFspId = payeeFspId;
+		this.currencyCode = currencyCode;
+		this.amount = amount;
+		this.timestamp = timestamp;
+		this.completedTimestamp = null;
+		this.settlementModel = settlementModel;
+	}
+
 	/**
 	 * Populates local variables with {@code jsonObjectParam}.
 	 *
@@ -45,31 +83,24 @@ public class TransferReq extends ABaseJSONObject {
 	public TransferReq(JSONObject jsonObject) {
 		super(jsonObject);
 
-		if (jsonObject.has(JSONMapping.TRANSFER_ID) && !jsonObject.isNull(JSONMapping.TRANSFER_ID)) {
-			this.setTransferId(jsonObject.getString(JSONMapping.TRANSFER_ID));
-		}
-		if (jsonObject.has(JSONMapping.PAYER_FSP_ID) && !jsonObject.isNull(JSONMapping.PAYER_FSP_ID)) {
-			this.setPayerFspId(jsonObject.getString(JSONMapping.PAYER_FSP_ID));
-		}
-		if (jsonObject.has(JSONMapping.PAYEE_FSP_ID) && !jsonObject.isNull(JSONMapping.PAYEE_FSP_ID)) {
-			this.setPayeeFspId(jsonObject.getString(JSONMapping.PAYEE_FSP_ID));
-		}
-		if (jsonObject.has(JSONMapping.CURRENCY_CODE) && !jsonObject.isNull(JSONMapping.CURRENCY_CODE)) {
-			this.setCurrencyCode(jsonObject.getString(JSONMapping.CURRENCY_CODE));
-		}
-		if (jsonObject.has(JSONMapping.AMOUNT) && !jsonObject.isNull(JSONMapping.AMOUNT)) {
-			this.setAmount(jsonObject.getString(JSONMapping.AMOUNT));
-		}
+		this.transferId = stringFrom(jsonObject, JSONMapping.TRANSFER_ID);
+		this.payerFspId = stringFrom(jsonObject, JSONMapping.PAYER_FSP_ID);
+		this.payeeFspId = stringFrom(jsonObject, JSONMapping.PAYEE_FSP_ID);
+		this.currencyCode = stringFrom(jsonObject, JSONMapping.CURRENCY_CODE);
+		this.amount = stringFrom(jsonObject, JSONMapping.AMOUNT);
 		if (jsonObject.has(JSONMapping.TIMESTAMP) && !jsonObject.isNull(JSONMapping.TIMESTAMP)) {
-			//this.setTimestamp(this.dateFrom(jsonObject, JSONMapping.TIMESTAMP));
-			this.setTimestamp(new Date(jsonObject.getLong(JSONMapping.TIMESTAMP)));
-		}
+			//this.timestamp = this.dateFrom(jsonObject, JSONMapping.TIMESTAMP);
+			this.timestamp = new Date(jsonObject.getLong(JSONMapping.TIMESTAMP));
+		} else this.timestamp = null;
 		if (jsonObject.has(JSONMapping.COMPLETED_TIMESTAMP) && !jsonObject.isNull(JSONMapping.COMPLETED_TIMESTAMP)) {
-			this.setCompletedTimestamp(jsonObject.getLong(JSONMapping.COMPLETED_TIMESTAMP));
-		}
-		if (jsonObject.has(JSONMapping.SETTLEMENT_MODEL) && !jsonObject.isNull(JSONMapping.SETTLEMENT_MODEL)) {
-			this.setSettlementModel(jsonObject.getString(JSONMapping.SETTLEMENT_MODEL));
-		}
+			this.completedTimestamp = jsonObject.getLong(JSONMapping.COMPLETED_TIMESTAMP);
+		} else this.completedTimestamp = null;
+		this.settlementModel = stringFrom(jsonObject, JSONMapping.SETTLEMENT_MODEL);
+	}
+
+	private static String stringFrom(JSONObject jsonObject, String field) {
+		if (!jsonObject.has(field) || jsonObject.isNull(field)) return null;
+		return jsonObject.getString(field);
 	}
 
 	@Override
@@ -103,4 +134,50 @@ public class TransferReq extends ABaseJSONObject {
 
 		return returnVal;
 	}
+
+	@Override
+	public void writeJson(JsonGenerator generator) throws IOException {
+		Date timestamp = this.getTimestamp();
+		generator.writeStartObject();
+		StreamingJSONCodec.writeString(generator, JSONMapping.TRANSFER_ID, this.getTransferId());
+		StreamingJSONCodec.writeString(generator, JSONMapping.PAYER_FSP_ID, this.getPayerFspId());
+		StreamingJSONCodec.writeString(generator, JSONMapping.PAYEE_FSP_ID, this.getPayeeFspId());
+		StreamingJSONCodec.writeString(generator, JSONMapping.CURRENCY_CODE, this.getCurrencyCode());
+		StreamingJSONCodec.writeString(generator, JSONMapping.AMOUNT, this.getAmount());
+		StreamingJSONCodec.writeDate(generator, JSONMapping.TIMESTAMP, timestamp);
+		StreamingJSONCodec.writeDate(generator, JSONMapping.COMPLETED_TIMESTAMP, timestamp);
+		StreamingJSONCodec.writeString(generator, JSONMapping.SETTLEMENT_MODEL, this.getSettlementModel());
+		generator.writeEndObject();
+	}
+
+	/**
+	 * Creates a per-sample view of {@code this} row with a new id and timestamp.
+	 *
+	 * @param transferId The transfer id for the sample.
+	 * @param timestamp The transfer timestamp for the sample.
+	 * @return Immutable overlay of {@code this} row.
+	 */
+	public TransferReqOverlay overlay(String transferId, Date timestamp) {
+		return new TransferReqOverlay(this, transferId, timestamp);
+	}
+
+	/**
+	 * JSON members of the fields that stay the same for every sample of {@code this} row,
+	 * without the surrounding braces. Encoded once and cached.
+	 *
+	 * @return Pre-encoded JSON members.
+	 */
+	public String fixedFieldsJson() {
+		String returnVal = this.fixedFieldsJson;
+		if (returnVal != null) return returnVal;
+
+		JSONObject fixed = this.toJsonObject();
+		fixed.remove(JSONMapping.TRANSFER_ID);
+		fixed.remove(JSONMapping.TIMESTAMP);
+		fixed.remove(JSONMapping.COMPLETED_TIMESTAMP);
+		String body = fixed.toString();
+		returnVal = body.substring(1, body.length() - 1);
+		this.fixedFieldsJson = returnVal;
+		return returnVal;
+	}
 }
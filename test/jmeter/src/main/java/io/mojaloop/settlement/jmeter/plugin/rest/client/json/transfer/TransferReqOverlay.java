@@ -0,0 +1,127 @@
+package io.mojaloop.settlement.jmeter.plugin.rest.client.json.transfer;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import io.mojaloop.settlement.jmeter.plugin.rest.client.json.ABaseJSONObject;
+import io.mojaloop.settlement.jmeter.plugin.rest.client.json.codec.StreamingJSONCodec;
+import org.json.JSONException;
+import org.json.JSONObject;
+
+import java.io.IOException;
+import java.util.Date;
+
+/**
+ * Immutable per-sample view of a {@code TransferReq} test data row.
+ *
+ * Only the {@code transferId} and {@code timestamp} are held by the overlay, all other
+ * fields are read from the shared row it wraps. The JSON body is built from the pre-encoded
+ * fixed fields of the row.
+ *
+ * @see TransferReq#overlay(String, Date)
+ */
+public final class TransferReqOverlay extends ABaseJSONObject implements Transfer {
+	public static final long serialVersionUID = 1L;
+
+	private final TransferReq row;
+	private final String transferId;
+	private final Date timestamp;
+
+	TransferReqOverlay(TransferReq row, String transferId, Date timestamp) {
+		super();
+		this.row = row;
+		this.transferId = transferId;
+		this.timestamp = timestamp;
+	}
+
+	@Override
+	public String getTransferId() {
+		return this.transferId;
+	}
+
+	@Override
+	public Date getTimestamp() {
+		return this.timestamp;
+	}
+
+	@Override
+	public String getPayerFspId() {
+		return this.row.getPayerFspId();
+	}
+
+	@Override
+	public String getPayeeFspId() {
+		return this.row.getPayeeFspId();
+	}
+
+	@Override
+	public String getCurrencyCode() {
+		return this.row.getCurrencyCode();
+	}
+
+	@Override
+	public String getAmount() {
+		return this.row.getAmount();
+	}
+
+	@Override
+	public Long getCompletedTimestamp() {
+		return this.row.getCompletedTimestamp();
+	}
+
+	@Override
+	public String getSettlementModel() {
+		return this.row.getSettlementModel();
+	}
+
+	/**
+	 * @return The shared test data row of {@code this} overlay.
+	 */
+	public TransferReq getRow() {
+		return this.row;
+	}
+
+	@Override
+	public JSONObject toJsonObject() throws JSONException {
+		JSONObject returnVal = this.row.toJsonObject();
+		if (this.transferId == null) returnVal.put(TransferReq.JSONMapping.TRANSFER_ID, JSONObject.NULL);
+		else returnVal.put(TransferReq.JSONMapping.TRANSFER_ID, this.transferId);
+
+		Object time = this.timestamp == null ? JSONObject.NULL : this.timestamp.getTime();
+		returnVal.put(TransferReq.JSONMapping.TIMESTAMP, time);
+		returnVal.put(TransferReq.JSONMapping.COMPLETED_TIMESTAMP, time);
+		return returnVal;
+	}
+
+	@Override
+	public String toJsonString() {
+		String fixed = this.row.fixedFieldsJson();
+		StringBuilder returnVal = new StringBuilder(fixed.length() + 128);
+		returnVal.append('{');
+		returnVal.append('"').append(TransferReq.JSONMapping.TRANSFER_ID).append("\":");
+		returnVal.append(this.transferId == null ? "null" : JSONObject.quote(this.transferId));
+
+		String time = this.timestamp == null ? "null" : Long.toString(this.timestamp.getTime());
+		returnVal.append(",\"").append(TransferReq.JSONMapping.TIMESTAMP).append("\":").append(time);
+		returnVal.append(",\"").append(TransferReq.JSONMapping.COMPLETED_TIMESTAMP).append("\":").append(time);
+
+		if (!fixed.isEmpty()) returnVal.append(',').append(fixed);
+		returnVal.append('}');
+		return returnVal.toString();
+	}
+
+	/**
+	 * Writes the per-sample fields and appends the pre-encoded fixed fields of the row as raw JSON.
+	 */
+	@Override
+	public void writeJson(JsonGenerator generator) throws IOException {
+		generator.writeStartObject();
+		StreamingJSONCodec.writeString(generator, TransferReq.JSONMapping.TRANSFER_ID, this.transferId);
+		StreamingJSONCodec.writeDate(generator, TransferReq.JSONMapping.TIMESTAMP, this.timestamp);
+		StreamingJSONCodec.writeDate(generator, TransferReq.JSONMapping.COMPLETED_TIMESTAMP, this.timestamp);
+		String fixed = this.row.fixedFieldsJson();
+		if (!fixed.isEmpty()) {
+			generator.writeRaw(',');
+			generator.writeRaw(fixed);
+		}
+		generator.writeEndObject();
+	}
+}
@@ -1,11 +1,16 @@
 package io.mojaloop.settlement.jmeter.plugin.rest.client.json.transfer;
 
+import com.fasterxml.jackson.core.JsonParser;
 import io.mojaloop.settlement.jmeter.plugin.rest.client.json.ABaseJSONObject;
+import io.mojaloop.settlement.jmeter.plugin.rest.client.json.codec.JSONType;
+import io.mojaloop.settlement.jmeter.plugin.rest.client.json.codec.StreamingJSONCodec;
 import lombok.Getter;
 import lombok.Setter;
 import org.json.JSONException;
 import org.json.JSONObject;
 
+import java.io.IOException;
+
 /**
  * POJO used for {@code /transfer} response.
  */
@@ -13,6 +18,7 @@ import org.json.JSONObject;
 @Setter
 public class TransferRsp extends ABaseJSONObject {
 	public static final long serialVersionUID = 1L;
+	public static final JSONType<TransferRsp> JSON_TYPE = JSONType.of(TransferRsp::new, TransferRsp::new);
 
 	private String batchId;
 
@@ -20,6 +26,13 @@ public class TransferRsp extends ABaseJSONObject {
 		public static final String BATCH_ID = "batchId";
 	}
 
+	/**
+	 * Empty {@code TransferRsp}, populated by a streaming {@code JSONCodec}.
+	 */
+	public TransferRsp() {
+		super();
+	}
+
 	/**
 	 * Populates local variables with {@code jsonObjectParam}.
 	 *
@@ -31,6 +44,14 @@ public class TransferRsp extends ABaseJSONObject {
 		if (jsonObject.has(JSONMapping.BATCH_ID)) this.setBatchId(jsonObject.getString(JSONMapping.BATCH_ID));
 	}
 
+	@Override
+	public boolean readJsonField(String field, JsonParser parser) throws IOException {
+		switch (field) {
+			case JSONMapping.BATCH_ID: this.setBatchId(StreamingJSONCodec.readString(parser)); return true;
+			default: return false;
+		}
+	}
+
 	@Override
 	public JSONObject toJsonObject() throws JSONException {
 		JSONObject returnVal = super.toJsonObject();
@@ -0,0 +1,57 @@
+package io.mojaloop.settlement.jmeter.plugin.rest.client.json.transfer;
+
+import io.mojaloop.settlement.jmeter.plugin.rest.client.json.ABaseJSONObject;
+import lombok.Getter;
+import lombok.Setter;
+import org.json.JSONException;
+import org.json.JSONObject;
+
+/**
+ * POJO used for a cursor paginated {@code /transfers?batchId} lookup.
+ *
+ * When {@code batchId} is not set, an existing batch is used.
+ * When {@code allPages} is set, every page of the batch is retrieved as a single sample.
+ */
+@Getter
+@Setter
+public class TransfersByBatchIdReq extends ABaseJSONObject {
+	public static final long serialVersionUID = 1L;
+	public static final int DEFAULT_PAGE_SIZE = 100;
+
+	private String batchId;
+	private int pageSize = DEFAULT_PAGE_SIZE;
+	private boolean allPages;
+
+	public static class JSONMapping {
+		public static final String BATCH_ID = "batchId";
+		public static final String PAGE_SIZE = "pageSize";
+		public static final String ALL_PAGES = "allPages";
+	}
+
+	/**
+	 * Populates local variables with {@code jsonObjectParam}.
+	 *
+	 * @param jsonObject The JSON Object.
+	 */
+	public TransfersByBatchIdReq(JSONObject jsonObject) {
+		super(jsonObject);
+
+		if (jsonObject.has(JSONMapping.BATCH_ID) && !jsonObject.isNull(JSONMapping.BATCH_ID)) {
+			this.setBatchId(jsonObject.getString(JSONMapping.BATCH_ID));
+		}
+		if (jsonObject.has(JSONMapping.PAGE_SIZE)) this.setPageSize(jsonObject.getInt(JSONMapping.PAGE_SIZE));
+		if (jsonObject.has(JSONMapping.ALL_PAGES)) this.setAllPages(jsonObject.getBoolean(JSONMapping.ALL_PAGES));
+	}
+
+	@Override
+	public JSONObject toJsonObject() throws JSONException {
+		JSONObject returnVal = super.toJsonObject();
+
+		if (this.getBatchId() == null) returnVal.put(JSONMapping.BATCH_ID, JSONObject.NULL);
+		else returnVal.put(JSONMapping.BATCH_ID, this.getBatchId());
+		returnVal.put(JSONMapping.PAGE_SIZE, this.getPageSize());
+		returnVal.put(JSONMapping.ALL_PAGES, this.isAllPages());
+
+		return returnVal;
+	}
+}
@@ -0,0 +1,91 @@
+package io.mojaloop.settlement.jmeter.plugin.runner;
+
+import io.mojaloop.settlement.jmeter.plugin.kafka.TxnProducer;
+import io.mojaloop.settlement.jmeter.plugin.rest.client.SettlementBCRestClient;
+import io.mojaloop.settlement.jmeter.plugin.rest.client.json.testdata.TestDataCarrier;
+import io.mojaloop.settlement.jmeter.plugin.runner.handler.*;
+
+/**
+ * Lookup of the {@code ABaseActionHandler} per {@code ActionType}.
+ *
+ * Handlers are indexed by {@code ActionType#ordinal()} so the lookup is a single array read.
+ * The {@code handle} call site in {@code SamplerRunner} sees every handler class of a mixed plan,
+ * so the call itself is megamorphic (a virtual call per sample, not inlined), which is
+ * negligible next to the HTTP exchange it performs.
+ * Additional actions may be plugged in via {@link #register(ABaseActionHandler)}.
+ */
+public class ActionHandlerRegistry {
+	private final ABaseActionHandler[] handlers = new ABaseActionHandler[TestDataCarrier.ActionType.values().length];
+
+	/**
+	 * Registers (or replaces) the handler for {@code handler#getActionType()}.
+	 *
+	 * @param handler The handler to register.
+	 * @return {@code this} registry.
+	 */
+	public ActionHandlerRegistry register(ABaseActionHandler handler) {
+		if (handler == null || handler.getActionType() == null) {
+			throw new IllegalArgumentException("Handler and action type is required!");
+		}
+		this.handlers[handler.getActionType().ordinal()] = handler;
+		return this;
+	}
+
+	/**
+	 * Gets the handler for {@code actionType}.
+	 *
+	 * @param actionType The action to look up.
+	 * @return The registered handler or {@code null} when the action is not supported.
+	 */
+	public ABaseActionHandler get(TestDataCarrier.ActionType actionType) {
+		return this.handlers[actionType.ordinal()];
+	}
+
+	/**
+	 * Creates a registry with all the supported Settlement-BC actions.
+	 *
+	 * @param settleClient REST client for Settlement-BC.
+	 * @param txnProducer Kafka producer, {@code null} when running over REST.
+	 * @return Registry populated with the default handlers.
+	 */
+	public static ActionHandlerRegistry createDefault(
+			SettlementBCRestClient settleClient,
+			TxnProducer txnProducer
+	) {
+		return createDefault(settleClient, txnProducer, null);
+	}
+
+	/**
+	 * Creates a registry with all the supported Settlement-BC actions.
+	 *
+	 * @param settleClient REST client for Settlement-BC.
+	 * @param txnProducer Kafka producer, {@code null} when running over REST.
+	 * @param matrixCompletion Waits for matrix actions to complete, {@code null} to only sample the acceptance.
+	 * @return Registry populated with the default handlers.
+	 */
+	public static ActionHandlerRegistry createDefault(
+			SettlementBCRestClient settleClient,
+			TxnProducer txnProducer,
+			MatrixCompletion matrixCompletion
+	) {
+		ActionHandlerRegistry returnVal = new ActionHandlerRegistry();
+		returnVal.register(new TransferHandler(settleClient, txnProducer));
+		returnVal.register(new TransferRawHandler(settleClient, txnProducer));
+		returnVal.register(new TransfersByMatrixIdHandler(settleClient, txnProducer));
+		returnVal.register(new TransfersByBatchIdHandler(settleClient, txnProducer));
+		returnVal.register(new BatchesByModelHandler(settleClient, txnProducer));
+		returnVal.register(new CreateStaticMatrixHandler(settleClient, txnProducer));
+		returnVal.register(new GetStaticMatrixHandler(settleClient, txnProducer));
+		returnVal.register(new CreateDynamicMatrixHandler(settleClient, txnProducer));
+		returnVal.register(new GetDynamicMatrixHandler(settleClient, txnProducer));
+		returnVal.register(new AddBatchToStaticMatrixHandler(settleClient, txnProducer));
+		returnVal.register(new RemoveBatchFromStaticMatrixHandler(settleClient, txnProducer));
+		returnVal.register(new MatrixActionHandler(TestDataCarrier.ActionType.matrix_recalculate, settleClient, txnProducer, matrixCompletion));
+		returnVal.register(new MatrixActionHandler(TestDataCarrier.ActionType.matrix_close, settleClient, txnProducer, matrixCompletion));
+		returnVal.register(new MatrixActionHandler(TestDataCarrier.ActionType.matrix_dispute, settleClient, txnProducer, matrixCompletion));
+		returnVal.register(new MatrixActionHandler(TestDataCarrier.ActionType.matrix_lock, settleClient, txnProducer, matrixCompletion));
+		returnVal.register(new MatrixActionHandler(TestDataCarrier.ActionType.matrix_unlock, settleClient, txnProducer, matrixCompletion));
+		returnVal.register(new MatrixActionHandler(TestDataCarrier.ActionType.matrix_settle, settleClient, txnProducer, matrixCompletion));
+		return returnVal;
+	}
+}
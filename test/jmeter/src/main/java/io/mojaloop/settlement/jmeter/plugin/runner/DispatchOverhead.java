@@ -0,0 +1,78 @@
+package io.mojaloop.settlement.jmeter.plugin.runner;
+
+import io.mojaloop.settlement.jmeter.plugin.rest.client.json.testdata.TestDataCarrier;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * JVM-wide harness overhead per {@code ActionType}.
+ *
+ * Overhead is the time spent in {@code SamplerRunner#execute} outside of the client call,
+ * i.e. dispatch, request building and result bookkeeping.
+ * Only recorded once enabled, via the {@code clientBreakdown} sampler argument.
+ */
+public final class DispatchOverhead {
+	private static final TestDataCarrier.ActionType[] ACTION_TYPES = TestDataCarrier.ActionType.values();
+	private static final LongAdder[] COUNT = newAdders();
+	private static final LongAdder[] NANOS = newAdders();
+
+	private static volatile boolean enabled = false;
+
+	private DispatchOverhead() {
+	}
+
+	private static LongAdder[] newAdders() {
+		LongAdder[] returnVal = new LongAdder[ACTION_TYPES.length];
+		for (int index = 0; index < returnVal.length; index++) returnVal[index] = new LongAdder();
+		return returnVal;
+	}
+
+	public static void enable() {
+		enabled = true;
+	}
+
+	public static boolean isEnabled() {
+		return enabled;
+	}
+
+	/**
+	 * Adds the overhead of a sample to {@code actionType}, ignored unless enabled.
+	 *
+	 * @param actionType The sampled action.
+	 * @param overheadNanos Time outside of the client call.
+	 */
+	public static void record(TestDataCarrier.ActionType actionType, long overheadNanos) {
+		if (!enabled) return;
+
+		int ordinal = actionType.ordinal();
+		COUNT[ordinal].increment();
+		NANOS[ordinal].add(overheadNanos);
+	}
+
+	/**
+	 * Text report of the average overhead for every action that was sampled.
+	 *
+	 * @return Report with one line per action.
+	 */
+	public static String report() {
+		StringBuilder returnVal = new StringBuilder("Harness dispatch overhead per action:");
+		for (TestDataCarrier.ActionType actionType : ACTION_TYPES) {
+			long count = COUNT[actionType.ordinal()].sum();
+			if (count < 1) continue;
+
+			long nanos = NANOS[actionType.ordinal()].sum();
+			returnVal.append(String.format("%n  %-32s samples=%-10d avg=%8.1fus total=%dms",
+					actionType, count, (nanos / (double) count) / 1000.0, TimeUnit.NANOSECONDS.toMillis(nanos)));
+		}
+		return returnVal.toString();
+	}
+
+	public static void reset() {
+		enabled = false;
+		for (int index = 0; index < ACTION_TYPES.length; index++) {
+			COUNT[index].reset();
+			NANOS[index].reset();
+		}
+	}
+}
@@ -0,0 +1,138 @@
+package io.mojaloop.settlement.jmeter.plugin.runner;
+
+import io.mojaloop.settlement.jmeter.plugin.metrics.ErrorOutcomes;
+import io.mojaloop.settlement.jmeter.plugin.rest.client.SettlementBCRestClient;
+import io.mojaloop.settlement.jmeter.plugin.rest.client.json.model.SettlementModel;
+import io.mojaloop.settlement.jmeter.plugin.rest.client.json.testdata.TestPlanConfig;
+import io.mojaloop.settlement.jmeter.plugin.rest.client.json.transfer.TransferRsp;
+import io.mojaloop.settlement.jmeter.plugin.util.TestDataUtil;
+import lombok.RequiredArgsConstructor;
+import org.json.JSONObject;
+import org.slf4j.Logger;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.IntConsumer;
+
+/**
+ * Creates settlement models and transfers for the {@code FixtureSeeder} and the {@code MatrixScalingBenchmark}.
+ *
+ * Parallel tasks run on the executor of the caller. A failed task does not stop the others, the failures
+ * are counted by cause and logged once all the tasks completed.
+ */
+@RequiredArgsConstructor
+public class FixtureBuilder {
+	/**
+	 * Batch create interval of the created models, batches of their transfers are found this far back.
+	 */
+	public static final int BATCH_CREATE_INTERVAL_SECS = 300;
+	private static final int MAX_FAILURE_CAUSES = 20;
+	private static final String CAUSE_OTHER = "(other causes)";
+
+	private final Logger logger;
+	private final SettlementBCRestClient settleClient;
+
+	/**
+	 * Creates a settlement model with a batch create interval of {@link #BATCH_CREATE_INTERVAL_SECS}.
+	 *
+	 * @param name The model name.
+	 * @param createdBy The creator of the model.
+	 * @throws io.mojaloop.settlement.jmeter.plugin.rest.client.RESTClientException When not created, e.g. the model exists.
+	 */
+	public void createSettlementModel(String name, String createdBy) {
+		SettlementModel model = new SettlementModel(new JSONObject());
+		model.setSettlementModel(name);
+		model.setBatchCreateInterval(BATCH_CREATE_INTERVAL_SECS);
+		model.setCreatedBy(createdBy);
+		this.settleClient.createSettlementModel(model);
+	}
+
+	/**
+	 * Posts random transfers in parallel, transfer {@code N} for model {@code N % models.size()}.
+	 *
+	 * @param executor Executes the transfers.
+	 * @param transferConfig Amounts, currencies and participants of the transfers.
+	 * @param count The number of transfers.
+	 * @param models The settlement models.
+	 * @return The number of transfers that failed or were not assigned to a batch.
+	 */
+	public int postTransfers(
+			ExecutorService executor,
+			TestPlanConfig.SettlementTransfer transferConfig,
+			int count,
+			List<String> models
+	) {
+		return this.runParallel(executor, "transfers", count, index -> {
+			TransferRsp rsp = this.settleClient.settlementTransfer(
+					TestDataUtil.randomTransfer(transferConfig, models.get(index % models.size()))
+			);
+			if (!rsp.isSuccess()) throw new IllegalStateException("Transfer not assigned to a batch.");
+		});
+	}
+
+	/**
+	 * Runs {@code task} for the indexes {@code 0} to {@code count - 1} and waits for all of them.
+	 *
+	 * @param executor Executes the tasks.
+	 * @param what The kind of fixture, for logging.
+	 * @param count The number of tasks.
+	 * @param task The task, a {@code RuntimeException} fails only this task.
+	 * @return The number of failed tasks.
+	 */
+	public int runParallel(ExecutorService executor, String what, int count, IntConsumer task) {
+		if (count < 1) return 0;
+
+		AtomicInteger failed = new AtomicInteger();
+		Map<String, AtomicInteger> causes = new ConcurrentHashMap<>();
+		AtomicReference<RuntimeException> lastFailure = new AtomicReference<>();
+		List<Future<?>> futures = new ArrayList<>(count);
+		for (int index = 0; index < count; index++) {
+			final int taskIndex = index;
+			futures.add(executor.submit(() -> {
+				try {
+					task.accept(taskIndex);
+				} catch (RuntimeException except) {
+					if (failed.getAndIncrement() == 0) {
+						this.logger.warn("Creation of {} failed. {}", what, except.getMessage());
+					}
+					String cause = causeOf(except);
+					if (causes.size() >= MAX_FAILURE_CAUSES && !causes.containsKey(cause)) cause = CAUSE_OTHER;
+					causes.computeIfAbsent(cause, key -> new AtomicInteger()).incrementAndGet();
+					lastFailure.set(except);
+				}
+			}));
+		}
+		for (Future<?> future : futures) {
+			try {
+				future.get();
+			} catch (InterruptedException eParam) {
+				Thread.currentThread().interrupt();
+				throw new IllegalStateException(String.format("Creation of %s interrupted.", what), eParam);
+			} catch (ExecutionException eParam) {
+				throw new IllegalStateException(eParam.getMessage(), eParam.getCause());
+			}
+		}
+		this.logger.info("Created {} of {} {}.", count - failed.get(), count, what);
+		if (failed.get() > 0) {
+			StringBuilder summary = new StringBuilder();
+			causes.entrySet().stream()
+					.sorted((first, second) -> Integer.compare(second.getValue().get(), first.getValue().get()))
+					.forEach(itm -> summary.append(String.format("%n  %6d  %s", itm.getValue().get(), itm.getKey())));
+			this.logger.warn("Creation of {} failed {} times, by cause:{}", what, failed.get(), summary);
+			this.logger.warn(String.format("Last creation failure of %s.", what), lastFailure.get());
+		}
+		return failed.get();
+	}
+
+	/**
+	 * The exception class and message, with ids and numbers masked so failures of the same cause are counted together.
+	 */
+	private static String causeOf(RuntimeException except) {
+		String message = except.getMessage() == null ? "" : ErrorOutcomes.maskVariables(except.getMessage());
+		return String.format("%s: %s", except.getClass().getSimpleName(), message);
+	}
+}
@@ -0,0 +1,247 @@
+package io.mojaloop.settlement.jmeter.plugin.runner;
+
+import io.mojaloop.settlement.jmeter.plugin.rest.client.RESTClientException;
+import io.mojaloop.settlement.jmeter.plugin.rest.client.SettlementBCRestClient;
+import io.mojaloop.settlement.jmeter.plugin.rest.client.json.ABaseJSONObject;
+import io.mojaloop.settlement.jmeter.plugin.rest.client.json.batch.SettlementBatch;
+import io.mojaloop.settlement.jmeter.plugin.rest.client.json.matrix.AddRemoveBatchFromStaticMatrix;
+import io.mojaloop.settlement.jmeter.plugin.rest.client.json.matrix.CreateDynamicSettlementMatrix;
+import io.mojaloop.settlement.jmeter.plugin.rest.client.json.matrix.CreateStaticSettlementMatrix;
+import io.mojaloop.settlement.jmeter.plugin.rest.client.json.matrix.SettlementMatrix;
+import io.mojaloop.settlement.jmeter.plugin.runner.handler.ABaseActionHandler;
+import lombok.RequiredArgsConstructor;
+import org.json.JSONArray;
+import org.json.JSONObject;
+import org.slf4j.Logger;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+/**
+ * Persists the {@code FixtureStore} to a local file and reloads it for a subsequent run.
+ *
+ * Every entry is validated against Settlement-BC when loaded. Entries that no longer exist,
+ * or are in a state where the consuming action would fail (e.g. a settled matrix), are skipped.
+ */
+@RequiredArgsConstructor
+public class FixtureCatalog {
+	public static final int VERSION = 1;
+
+	private static boolean loaded = false;
+
+	private final Logger logger;
+	private final SettlementBCRestClient settleClient;
+	private final File catalogFile;
+
+	/**
+	 * Mapping of the catalog file.
+	 */
+	public static class JSONMapping {
+		public static final String VERSION = "version";
+		public static final String SAVED_AT = "savedAt";
+		public static final String VALID_BATCHES = "validBatches";
+		public static final String STATIC_MATRICES = "staticMatrices";
+		public static final String DYNAMIC_MATRICES = "dynamicMatrices";
+		public static final String BATCHES_ADDED = "batchesAdded";
+		public static final String MATRIX_CLOSED = "matrixClosed";
+		public static final String MATRIX_LOCKED = "matrixLocked";
+	}
+
+	/**
+	 * Loads the catalog once per JVM. A missing catalog file is not an error.
+	 *
+	 * @param logger The logger.
+	 * @param settleClient REST client used to validate the entries.
+	 * @param catalogFile The catalog file.
+	 */
+	public static synchronized void loadOnce(
+			Logger logger,
+			SettlementBCRestClient settleClient,
+			File catalogFile
+	) {
+		if (loaded) return;
+
+		new FixtureCatalog(logger, settleClient, catalogFile).load();
+		loaded = true;
+	}
+
+	public static synchronized void reset() {
+		loaded = false;
+	}
+
+	/**
+	 * Writes the current {@code FixtureStore} content to the catalog file.
+	 * The file is replaced atomically, so an interrupted save never corrupts the previous catalog.
+	 */
+	public void save() {
+		JSONObject catalog = new JSONObject();
+		catalog.put(JSONMapping.VERSION, VERSION);
+		catalog.put(JSONMapping.SAVED_AT, System.currentTimeMillis());
+		catalog.put(JSONMapping.VALID_BATCHES, toArray(FixtureStore.validBatches));
+		catalog.put(JSONMapping.STATIC_MATRICES, toArray(FixtureStore.staticMatrices));
+		catalog.put(JSONMapping.DYNAMIC_MATRICES, toArray(FixtureStore.dynamicMatrices));
+		catalog.put(JSONMapping.BATCHES_ADDED, toArray(FixtureStore.batchesAdded));
+		catalog.put(JSONMapping.MATRIX_CLOSED, toArray(FixtureStore.matrixClosed));
+		catalog.put(JSONMapping.MATRIX_LOCKED, toArray(FixtureStore.matrixLocked));
+
+		File absolute = this.catalogFile.getAbsoluteFile();
+		File tmpFile = new File(absolute.getParentFile(), absolute.getName() + ".tmp");
+		try {
+			Files.write(tmpFile.toPath(), catalog.toString().getBytes(StandardCharsets.UTF_8));
+			Files.move(tmpFile.toPath(), absolute.toPath(),
+					StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+		} catch (IOException ioErr) {
+			throw new IllegalStateException(String.format(
+					"Unable to write to '%s'. %s.",
+					absolute.getAbsolutePath(), ioErr.getMessage()), ioErr);
+		}
+		this.logger.info("Fixture catalog '{}' saved [batches:{}, static:{}, dynamic:{}, added:{}, closed:{}, locked:{}].",
+				absolute, FixtureStore.validBatches.size(), FixtureStore.staticMatrices.size(),
+				FixtureStore.dynamicMatrices.size(), FixtureStore.batchesAdded.size(),
+				FixtureStore.matrixClosed.size(), FixtureStore.matrixLocked.size());
+	}
+
+	/**
+	 * Reads the catalog file, validates each entry and adds the valid entries to the {@code FixtureStore}.
+	 */
+	public void load() {
+		if (!this.catalogFile.exists()) {
+			this.logger.info("Fixture catalog '{}' does not exist, starting without fixtures.", this.catalogFile);
+			return;
+		}
+
+		JSONObject catalog;
+		try {
+			catalog = new JSONObject(new String(Files.readAllBytes(this.catalogFile.toPath()), StandardCharsets.UTF_8));
+		} catch (IOException ioErr) {
+			throw new IllegalStateException(String.format(
+					"Unable to read from '%s'. %s.",
+					this.catalogFile.getAbsolutePath(), ioErr.getMessage()), ioErr);
+		}
+		int version = catalog.optInt(JSONMapping.VERSION, -1);
+		if (version != VERSION) {
+			this.logger.warn("Fixture catalog '{}' version {} not supported, ignoring.", this.catalogFile, version);
+			return;
+		}
+
+		final long started = System.currentTimeMillis();
+		Map<String, Optional<SettlementMatrix>> matrixLookup = new HashMap<>();
+
+		List<SettlementBatch> batches = fromArray(catalog, JSONMapping.VALID_BATCHES, SettlementBatch::new);
+		int batchCount = this.addValid(FixtureStore.validBatches, this.validBatches(batches),
+				batches.size(), JSONMapping.VALID_BATCHES);
+
+		int staticCount = this.addValid(FixtureStore.staticMatrices,
+				fromArray(catalog, JSONMapping.STATIC_MATRICES, CreateStaticSettlementMatrix::new),
+				itm -> this.matrixInState(matrixLookup, itm.getMatrixId(), state -> state != SettlementMatrix.State.FINALIZED),
+				JSONMapping.STATIC_MATRICES);
+		int dynamicCount = this.addValid(FixtureStore.dynamicMatrices,
+				fromArray(catalog, JSONMapping.DYNAMIC_MATRICES, CreateDynamicSettlementMatrix::new),
+				itm -> this.matrixInState(matrixLookup, itm.getMatrixId(), state -> state != SettlementMatrix.State.FINALIZED),
+				JSONMapping.DYNAMIC_MATRICES);
+		int addedCount = this.addValid(FixtureStore.batchesAdded,
+				fromArray(catalog, JSONMapping.BATCHES_ADDED, AddRemoveBatchFromStaticMatrix::new),
+				itm -> this.matrixInState(matrixLookup, itm.getMatrixId(), state -> state != SettlementMatrix.State.FINALIZED),
+				JSONMapping.BATCHES_ADDED);
+		int closedCount = this.addValid(FixtureStore.matrixClosed,
+				fromArray(catalog, JSONMapping.MATRIX_CLOSED, SettlementMatrix::new),
+				itm -> this.matrixInState(matrixLookup, itm.getId(),
+						state -> state != SettlementMatrix.State.FINALIZED && state != SettlementMatrix.State.LOCKED),
+				JSONMapping.MATRIX_CLOSED);
+		int lockedCount = this.addValid(FixtureStore.matrixLocked,
+				fromArray(catalog, JSONMapping.MATRIX_LOCKED, SettlementMatrix::new),
+				itm -> this.matrixInState(matrixLookup, itm.getId(), state -> state == SettlementMatrix.State.LOCKED),
+				JSONMapping.MATRIX_LOCKED);
+
+		this.logger.info("Fixture catalog '{}' loaded in {}ms [batches:{}, static:{}, dynamic:{}, added:{}, closed:{}, locked:{}].",
+				this.catalogFile, System.currentTimeMillis() - started, batchCount, staticCount,
+				dynamicCount, addedCount, closedCount, lockedCount);
+	}
+
+	/**
+	 * Batches are validated per settlement model, with a single search covering the oldest catalog batch.
+	 * The current server copy of the batch replaces the catalog copy.
+	 *
+	 * @param batches The batches from the catalog.
+	 * @return The batches still available for settlement.
+	 */
+	private List<SettlementBatch> validBatches(List<SettlementBatch> batches) {
+		Map<String, Long> oldestByModel = new HashMap<>();
+		batches.stream()
+				.filter(itm -> itm.getSettlementModel() != null && itm.getTimestamp() != null)
+				.forEach(itm -> oldestByModel.merge(itm.getSettlementModel(), itm.getTimestamp().getTime(), Math::min));
+
+		Map<String, SettlementBatch> current = new HashMap<>();
+		long now = System.currentTimeMillis();
+		oldestByModel.forEach((model, oldest) -> {
+			int minutesBack = (int) TimeUnit.MILLISECONDS.toMinutes(now - oldest) + ABaseActionHandler.TIME_BACK_MIN;
+			try {
+				this.settleClient.settlementBatches(model, minutesBack).getItems()
+						.forEach(itm -> current.put(itm.getId(), itm));
+			} catch (RESTClientException except) {
+				if (except.getErrorCode() != RESTClientException.ErrorCode.NO_RESULT) throw except;
+			}
+		});
+
+		List<SettlementBatch> returnVal = new ArrayList<>();
+		for (SettlementBatch batch : batches) {
+			SettlementBatch serverBatch = current.get(batch.getId());
+			if (serverBatch != null && !"SETTLED".equals(serverBatch.getState())) returnVal.add(serverBatch);
+		}
+		return returnVal;
+	}
+
+	private boolean matrixInState(
+			Map<String, Optional<SettlementMatrix>> matrixLookup,
+			String matrixId,
+			Predicate<SettlementMatrix.State> validState
+	) {
+		if (matrixId == null) return false;
+
+		Optional<SettlementMatrix> matrix = matrixLookup.computeIfAbsent(matrixId, id -> {
+			try {
+				return Optional.of(this.settleClient.getMatrixById(id));
+			} catch (RESTClientException except) {
+				if (except.getErrorCode() != RESTClientException.ErrorCode.NO_RESULT) throw except;
+				return Optional.empty();
+			}
+		});
+		return matrix.isPresent() && matrix.get().getState() != null && validState.test(matrix.get().getState());
+	}
+
+	private <T> int addValid(Queue<T> target, List<T> entries, Predicate<T> isValid, String name) {
+		List<T> valid = new ArrayList<>(entries.size());
+		for (T entry : entries) if (isValid.test(entry)) valid.add(entry);
+		return this.addValid(target, valid, entries.size(), name);
+	}
+
+	private <T> int addValid(Queue<T> target, List<T> valid, int total, String name) {
+		target.addAll(valid);
+		if (valid.size() < total) {
+			this.logger.info("Fixture catalog '{}': skipped {} of {} stale entries.", name, total - valid.size(), total);
+		}
+		return valid.size();
+	}
+
+	private static JSONArray toArray(Collection<? extends ABaseJSONObject> items) {
+		JSONArray returnVal = new JSONArray();
+		items.forEach(itm -> returnVal.put(itm.toJsonObject()));
+		return returnVal;
+	}
+
+	private static <T> List<T> fromArray(JSONObject catalog, String key, Function<JSONObject, T> mapper) {
+		List<T> returnVal = new ArrayList<>();
+		JSONArray array = catalog.optJSONArray(key);
+		if (array == null) return returnVal;
+
+		for (int index = 0; index < array.length(); index++) returnVal.add(mapper.apply(array.getJSONObject(index)));
+		return returnVal;
+	}
+}
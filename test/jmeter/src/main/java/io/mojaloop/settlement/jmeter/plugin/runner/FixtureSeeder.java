@@ -0,0 +1,217 @@
+package io.mojaloop.settlement.jmeter.plugin.runner;
+
+import io.mojaloop.settlement.jmeter.plugin.rest.client.RESTClientException;
+import io.mojaloop.settlement.jmeter.plugin.rest.client.SettlementBCRestClient;
+import io.mojaloop.settlement.jmeter.plugin.rest.client.json.batch.BatchSearchResults;
+import io.mojaloop.settlement.jmeter.plugin.rest.client.json.batch.SettlementBatch;
+import io.mojaloop.settlement.jmeter.plugin.rest.client.json.matrix.CreateDynamicSettlementMatrix;
+import io.mojaloop.settlement.jmeter.plugin.rest.client.json.matrix.CreateStaticSettlementMatrix;
+import io.mojaloop.settlement.jmeter.plugin.rest.client.json.matrix.SettlementMatrix;
+import io.mojaloop.settlement.jmeter.plugin.rest.client.json.testdata.TestPlanConfig;
+import io.mojaloop.settlement.jmeter.plugin.runner.handler.ABaseActionHandler;
+import org.json.JSONObject;
+import org.slf4j.Logger;
+
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.stream.Collectors;
+
+/**
+ * Creates the fixtures configured in {@code TestPlanConfig.Seed} before measurement starts.
+ *
+ * Settlement models, transfers (and therefore batches), static and dynamic matrices are created
+ * via {@code SettlementBCRestClient} and published to the {@code FixtureStore}, so read actions
+ * run against realistic data volumes from the first sample.
+ */
+public class FixtureSeeder {
+	private static final String SEED_MODEL_PREFIX = "SEED_MODEL_";
+	private static final long MATRIX_READY_TIMEOUT_MS = TimeUnit.SECONDS.toMillis(60);
+
+	private static boolean seeded = false;
+
+	private final Logger logger;
+	private final SettlementBCRestClient settleClient;
+	private final TestPlanConfig planConfig;
+	private final FixtureBuilder fixtures;
+
+	public FixtureSeeder(Logger logger, SettlementBCRestClient settleClient, TestPlanConfig planConfig) {
+		this.logger = logger;
+		this.settleClient = settleClient;
+		this.planConfig = planConfig;
+		this.fixtures = new FixtureBuilder(logger, settleClient);
+	}
+
+	/**
+	 * Seeds the fixtures once per JVM. Callers block until seeding completed.
+	 *
+	 * @param logger The logger.
+	 * @param settleClient REST client for Settlement-BC.
+	 * @param planConfig Plan configuration with the {@code seed} section.
+	 */
+	public static synchronized void seedOnce(
+			Logger logger,
+			SettlementBCRestClient settleClient,
+			TestPlanConfig planConfig
+	) {
+		if (seeded) return;
+
+		new FixtureSeeder(logger, settleClient, planConfig).seed();
+		seeded = true;
+	}
+
+	public static synchronized void reset() {
+		seeded = false;
+	}
+
+	/**
+	 * Creates all the configured fixtures.
+	 */
+	public void seed() {
+		TestPlanConfig.Seed seed = this.planConfig.getSeed();
+		if (seed == null || seed.isEmpty()) return;
+
+		seed.validate();
+		this.planConfig.getSettlementTransfer().validate();
+
+		final long started = System.currentTimeMillis();
+		this.logger.info("Seeding fixtures [models:{}, transfers:{}, static:{}, dynamic:{}] with concurrency {}.",
+				seed.getSettlementModels(), seed.getTransfers(), seed.getStaticMatrices(),
+				seed.getDynamicMatrices(), seed.getConcurrency());
+
+		ExecutorService executor = Executors.newFixedThreadPool(seed.getConcurrency());
+		try {
+			List<String> models = this.seedSettlementModels(seed.getSettlementModels());
+			this.fixtures.postTransfers(executor, this.planConfig.getSettlementTransfer(), seed.getTransfers(), models);
+
+			long minutesBack = TimeUnit.MILLISECONDS.toMinutes(System.currentTimeMillis() - started) + 1;
+			List<SettlementBatch> batches = this.loadBatches(models, (int) minutesBack + ABaseActionHandler.TIME_BACK_MIN);
+
+			this.seedStaticMatrices(executor, seed.getStaticMatrices(), seed.getBatchesPerStaticMatrix(), batches);
+			this.seedDynamicMatrices(executor, seed.getDynamicMatrices(), models);
+		} finally {
+			executor.shutdownNow();
+		}
+
+		this.logger.info("Seeding COMPLETE in {}ms [batches:{}, static:{}, dynamic:{}].",
+				System.currentTimeMillis() - started, FixtureStore.validBatches.size(),
+				FixtureStore.staticMatrices.size(), FixtureStore.dynamicMatrices.size());
+	}
+
+	private List<String> seedSettlementModels(int count) {
+		List<String> returnVal = new ArrayList<>(this.planConfig.getSettlementTransfer().getSettlementModels());
+		for (int index = 0; index < count; index++) {
+			String name = SEED_MODEL_PREFIX + index;
+			try {
+				this.fixtures.createSettlementModel(name, "jmeter-seed");
+			} catch (RESTClientException except) {
+				// Models survive between runs, an existing model is not a failure:
+				this.logger.warn("Settlement model '{}' not created. {}", name, except.getMessage());
+			}
+			returnVal.add(name);
+		}
+		return returnVal;
+	}
+
+	private List<SettlementBatch> loadBatches(List<String> models, int minutesBack) {
+		Map<String, SettlementBatch> byId = new LinkedHashMap<>();
+		for (String model : models) {
+			try {
+				BatchSearchResults results = this.settleClient.settlementBatches(model, minutesBack);
+				results.getItems().forEach(itm -> byId.put(itm.getId(), itm));
+			} catch (RESTClientException except) {
+				this.logger.warn("No batches for model '{}'. {}", model, except.getMessage());
+			}
+		}
+		List<SettlementBatch> returnVal = new ArrayList<>(byId.values());
+		FixtureStore.validBatches.addAll(returnVal);
+		return returnVal;
+	}
+
+	private void seedStaticMatrices(
+			ExecutorService executor,
+			int count,
+			int batchesPerMatrix,
+			List<SettlementBatch> batches
+	) {
+		if (count > 0 && batches.isEmpty()) {
+			this.logger.warn("No batches available, static matrices will be seeded without batches.");
+		}
+
+		List<CreateStaticSettlementMatrix> created = Collections.synchronizedList(new ArrayList<>());
+		this.fixtures.runParallel(executor, "static matrices", count, index -> {
+			CreateStaticSettlementMatrix staticMatrix = new CreateStaticSettlementMatrix(new JSONObject());
+			staticMatrix.setType(SettlementMatrix.Type.STATIC);
+			staticMatrix.setMatrixId(UUID.randomUUID().toString());
+			for (int batchNo = 0; batchNo < batchesPerMatrix && !batches.isEmpty(); batchNo++) {
+				SettlementBatch batch = batches.get((index * batchesPerMatrix + batchNo) % batches.size());
+				if (!staticMatrix.getBatchIds().contains(batch.getId())) staticMatrix.getBatchIds().add(batch.getId());
+			}
+
+			CreateStaticSettlementMatrix rsp = this.settleClient.createMatrix(staticMatrix);
+			if (rsp.getMatrixId() != null) staticMatrix.setMatrixId(rsp.getMatrixId());
+			created.add(staticMatrix);
+		});
+
+		Set<String> ready = this.awaitMatrices("static", created.stream()
+				.map(CreateStaticSettlementMatrix::getMatrixId).collect(Collectors.toList()));
+		created.stream().filter(itm -> ready.contains(itm.getMatrixId())).forEach(FixtureStore.staticMatrices::add);
+	}
+
+	private void seedDynamicMatrices(ExecutorService executor, int count, List<String> models) {
+		List<String> currencies = this.planConfig.getSettlementTransfer().getCurrencies();
+		List<CreateDynamicSettlementMatrix> created = Collections.synchronizedList(new ArrayList<>());
+		this.fixtures.runParallel(executor, "dynamic matrices", count, index -> {
+			CreateDynamicSettlementMatrix dynamicMatrix = new CreateDynamicSettlementMatrix(new JSONObject());
+			dynamicMatrix.setType(SettlementMatrix.Type.DYNAMIC);
+			dynamicMatrix.setMatrixId(UUID.randomUUID().toString());
+			dynamicMatrix.setSettlementModel(models.get(index % models.size()));
+			dynamicMatrix.setCurrencyCodes(new ArrayList<>(currencies));
+
+			CreateDynamicSettlementMatrix rsp = this.settleClient.createMatrix(dynamicMatrix);
+			if (rsp.getMatrixId() != null) dynamicMatrix.setMatrixId(rsp.getMatrixId());
+			created.add(dynamicMatrix);
+		});
+
+		Set<String> ready = this.awaitMatrices("dynamic", created.stream()
+				.map(CreateDynamicSettlementMatrix::getMatrixId).collect(Collectors.toList()));
+		created.stream().filter(itm -> ready.contains(itm.getMatrixId())).forEach(FixtureStore.dynamicMatrices::add);
+	}
+
+	/**
+	 * Matrices are created asynchronously via the command handler, in parallel, so they become readable
+	 * in any order. Every matrix is polled until it is readable, or the timeout passed.
+	 *
+	 * @param what The kind of matrix, for logging.
+	 * @param matrixIds The matrices to wait for.
+	 * @return The matrices that are readable, only those are published.
+	 */
+	private Set<String> awaitMatrices(String what, List<String> matrixIds) {
+		Set<String> returnVal = new HashSet<>();
+		Set<String> pending = new LinkedHashSet<>(matrixIds);
+		long deadline = System.currentTimeMillis() + MATRIX_READY_TIMEOUT_MS;
+		while (!pending.isEmpty()) {
+			for (Iterator<String> iterator = pending.iterator(); iterator.hasNext();) {
+				String matrixId = iterator.next();
+				try {
+					this.settleClient.getMatrixById(matrixId);
+					returnVal.add(matrixId);
+					iterator.remove();
+				} catch (RESTClientException except) {
+					if (except.getErrorCode() != RESTClientException.ErrorCode.NO_RESULT) throw except;
+				}
+			}
+			if (pending.isEmpty() || System.currentTimeMillis() >= deadline) break;
+			try {
+				Thread.sleep(250L);
+			} catch (InterruptedException eParam) {
+				Thread.currentThread().interrupt();
+				break;
+			}
+		}
+		if (!pending.isEmpty()) {
+			this.logger.warn("{} of {} {} matrices not available after {}ms and not used, e.g. '{}'.",
+					pending.size(), matrixIds.size(), what, MATRIX_READY_TIMEOUT_MS, pending.iterator().next());
+		}
+		return returnVal;
+	}
+}
@@ -0,0 +1,36 @@
+package io.mojaloop.settlement.jmeter.plugin.runner;
+
+import io.mojaloop.settlement.jmeter.plugin.rest.client.json.batch.SettlementBatch;
+import io.mojaloop.settlement.jmeter.plugin.rest.client.json.matrix.AddRemoveBatchFromStaticMatrix;
+import io.mojaloop.settlement.jmeter.plugin.rest.client.json.matrix.CreateDynamicSettlementMatrix;
+import io.mojaloop.settlement.jmeter.plugin.rest.client.json.matrix.CreateStaticSettlementMatrix;
+import io.mojaloop.settlement.jmeter.plugin.rest.client.json.matrix.SettlementMatrix;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/**
+ * JVM-wide fixtures created during a run and consumed by subsequent actions.
+ *
+ * All the sampler threads share the same queues.
+ */
+public final class FixtureStore {
+	public static final Queue<SettlementBatch> validBatches = new ConcurrentLinkedQueue<>();
+	public static final Queue<CreateStaticSettlementMatrix> staticMatrices = new ConcurrentLinkedQueue<>();
+	public static final Queue<CreateDynamicSettlementMatrix> dynamicMatrices = new ConcurrentLinkedQueue<>();
+	public static final Queue<AddRemoveBatchFromStaticMatrix> batchesAdded = new ConcurrentLinkedQueue<>();
+	public static final Queue<SettlementMatrix> matrixClosed = new ConcurrentLinkedQueue<>();
+	public static final Queue<SettlementMatrix> matrixLocked = new ConcurrentLinkedQueue<>();
+
+	private FixtureStore() {
+	}
+
+	public static void clear() {
+		validBatches.clear();
+		staticMatrices.clear();
+		dynamicMatrices.clear();
+		batchesAdded.clear();
+		matrixLocked.clear();
+		matrixClosed.clear();
+	}
+}
@@ -0,0 +1,135 @@
+package io.mojaloop.settlement.jmeter.plugin.runner;
+
+import io.mojaloop.settlement.jmeter.plugin.rest.client.RESTClientException;
+import io.mojaloop.settlement.jmeter.plugin.rest.client.SettlementBCRestClient;
+import io.mojaloop.settlement.jmeter.plugin.rest.client.json.matrix.SettlementMatrix;
+import io.mojaloop.settlement.jmeter.plugin.rest.client.json.testdata.TestDataCarrier;
+import lombok.Getter;
+
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Waits for an asynchronous matrix command to be completed by the command handler.
+ *
+ * Matrix actions are accepted by the API and executed later, the matrix is {@code BUSY} while the
+ * action runs and its {@code updatedAt} moves once the action completed. The matrix is polled with
+ * {@code GET /matrices/{id}} until it was updated after the action was sent and is no longer {@code BUSY}.
+ *
+ * Polling backs off adaptively: the first poll is made after half of the recent completion time of
+ * the action (a moving average per {@code ActionType}), after which the interval grows by half up to
+ * {@link #MAX_POLL_MS}. Fast actions are detected quickly, slow actions are not polled needlessly.
+ */
+public class MatrixCompletion {
+	public static final long MIN_POLL_MS = 10L;
+	public static final long MAX_POLL_MS = 1000L;
+
+	private final SettlementBCRestClient settleClient;
+	@Getter
+	private final long timeoutMillis;
+	private final AtomicLongArray averageMillis = new AtomicLongArray(TestDataCarrier.ActionType.values().length);
+
+	/**
+	 * Result of a completed action.
+	 */
+	@Getter
+	public static class Outcome {
+		private final SettlementMatrix matrix;
+		private final int polls;
+
+		Outcome(SettlementMatrix matrix, int polls) {
+			this.matrix = matrix;
+			this.polls = polls;
+		}
+	}
+
+	/**
+	 * @param settleClient REST client for Settlement-BC.
+	 * @param timeoutSecs Maximum time to wait for an action to complete.
+	 */
+	public MatrixCompletion(SettlementBCRestClient settleClient, int timeoutSecs) {
+		if (timeoutSecs < 1) throw new IllegalArgumentException("Matrix completion timeout must be positive.");
+
+		this.settleClient = settleClient;
+		this.timeoutMillis = TimeUnit.SECONDS.toMillis(timeoutSecs);
+	}
+
+	/**
+	 * Reads the {@code updatedAt} of the matrix before an action is sent.
+	 *
+	 * @param matrixId The matrix the action is sent to.
+	 * @param actionType The action that will be sent.
+	 * @return The last update or {@code null} when the matrix does not exist (yet).
+	 */
+	public Date updatedAt(String matrixId, TestDataCarrier.ActionType actionType) {
+		try {
+			return this.settleClient.getMatrixById(matrixId, actionType).getUpdatedAt();
+		} catch (RESTClientException except) {
+			if (except.getErrorCode() == RESTClientException.ErrorCode.NO_RESULT) return null;
+			throw except;
+		}
+	}
+
+	/**
+	 * Polls the matrix until the action sent after {@code updatedBefore} completed.
+	 *
+	 * @param matrixId The matrix.
+	 * @param actionType The action that was sent, used to adapt the poll interval.
+	 * @param updatedBefore The {@code updatedAt} before the action was sent, {@code null} when the matrix is created.
+	 * @param sentNanos {@code System.nanoTime()} when the action was sent.
+	 * @return The matrix in its terminal state with the number of polls made.
+	 * @throws IllegalStateException When the action did not complete within the timeout.
+	 */
+	public Outcome await(
+			String matrixId,
+			TestDataCarrier.ActionType actionType,
+			Date updatedBefore,
+			long sentNanos
+	) {
+		long deadline = sentNanos + TimeUnit.MILLISECONDS.toNanos(this.timeoutMillis);
+		long pollMs = Math.max(MIN_POLL_MS, Math.min(MAX_POLL_MS, this.averageMillis.get(actionType.ordinal()) / 2));
+		int polls = 0;
+		SettlementMatrix matrix = null;
+		while (true) {
+			long remainingMs = TimeUnit.NANOSECONDS.toMillis(deadline - System.nanoTime());
+			if (remainingMs <= 0L) break;
+			try {
+				Thread.sleep(Math.min(pollMs, remainingMs));
+			} catch (InterruptedException eParam) {
+				Thread.currentThread().interrupt();
+				throw new IllegalStateException(String.format("Interrupted waiting for matrix '%s' to %s.",
+						matrixId, actionType), eParam);
+			}
+
+			polls++;
+			try {
+				matrix = this.settleClient.getMatrixById(matrixId, actionType);
+			} catch (RESTClientException except) {
+				if (except.getErrorCode() != RESTClientException.ErrorCode.NO_RESULT) throw except;
+			}
+			if (matrix != null && isCompleted(matrix, updatedBefore)) {
+				this.learn(actionType, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - sentNanos));
+				return new Outcome(matrix, polls);
+			}
+			pollMs = Math.min(MAX_POLL_MS, pollMs + pollMs / 2);
+		}
+		throw new IllegalStateException(String.format("Matrix '%s' action '%s' not completed within %dms after %d polls (state %s).",
+				matrixId, actionType, this.timeoutMillis, polls, matrix == null ? "unknown" : matrix.getState()));
+	}
+
+	private static boolean isCompleted(SettlementMatrix matrix, Date updatedBefore) {
+		if (matrix.getState() == SettlementMatrix.State.BUSY) return false;
+		if (updatedBefore == null) return true;
+		return matrix.getUpdatedAt() != null && matrix.getUpdatedAt().after(updatedBefore);
+	}
+
+	/**
+	 * Moving average of the completion time, the latest completion weighs a quarter.
+	 * Concurrent updates may overwrite each other, which only delays adapting.
+	 */
+	private void learn(TestDataCarrier.ActionType actionType, long completionMillis) {
+		long previous = this.averageMillis.get(actionType.ordinal());
+		this.averageMillis.set(actionType.ordinal(), previous == 0L ? completionMillis : (previous * 3 + completionMillis) / 4);
+	}
+}
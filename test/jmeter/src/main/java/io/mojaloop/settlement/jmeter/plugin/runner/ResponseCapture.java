@@ -0,0 +1,77 @@
+package io.mojaloop.settlement.jmeter.plugin.runner;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Policy deciding which samples record their request and response text on the {@code SampleResult}.
+ *
+ * Supported values for the {@code responseCapture} sampler argument:
+ * <ul>
+ *     <li>{@code none} - Never record request or response text.</li>
+ *     <li>{@code errors} - Only record failed samples (default).</li>
+ *     <li>{@code 1-in-N} - Record every failed sample and one in {@code N} successful samples.</li>
+ *     <li>{@code full} - Record every sample, for debugging a plan.</li>
+ * </ul>
+ * Byte counts are always recorded, regardless of the policy.
+ */
+@RequiredArgsConstructor
+@Getter
+public final class ResponseCapture {
+	public static final String NONE = "none";
+	public static final String ERRORS = "errors";
+	public static final String FULL = "full";
+	public static final String SAMPLED_PREFIX = "1-in-";
+
+	public enum Mode {
+		NONE, ERRORS, SAMPLED, FULL
+	}
+
+	private final Mode mode;
+	private final int sampleEvery;
+
+	/**
+	 * Parses the policy from the sampler argument value.
+	 *
+	 * @param value One of {@code none}, {@code errors}, {@code 1-in-N} or {@code full}.
+	 * @return The capture policy, {@code errors} when {@code value} is empty.
+	 */
+	public static ResponseCapture parse(String value) {
+		if (value == null || value.trim().isEmpty()) return new ResponseCapture(Mode.ERRORS, 0);
+
+		String lower = value.trim().toLowerCase();
+		switch (lower) {
+			case NONE: return new ResponseCapture(Mode.NONE, 0);
+			case ERRORS: return new ResponseCapture(Mode.ERRORS, 0);
+			case FULL: return new ResponseCapture(Mode.FULL, 1);
+			default:
+				if (lower.startsWith(SAMPLED_PREFIX)) {
+					try {
+						int every = Integer.parseInt(lower.substring(SAMPLED_PREFIX.length()));
+						if (every > 0) return new ResponseCapture(Mode.SAMPLED, every);
+					} catch (NumberFormatException nfe) {
+						// Fall through to the error below.
+					}
+				}
+				throw new IllegalStateException(String.format(
+						"Response capture '%s' not supported. Use '%s', '%s', '%sN' or '%s'.",
+						value, NONE, ERRORS, SAMPLED_PREFIX, FULL));
+		}
+	}
+
+	/**
+	 * Whether the sample with sequence {@code sampleNo} should be recorded.
+	 *
+	 * @param success Whether the sample succeeded.
+	 * @param sampleNo Per-thread sample sequence number.
+	 * @return {@code true} when the request and response text should be recorded.
+	 */
+	public boolean shouldCapture(boolean success, long sampleNo) {
+		switch (this.mode) {
+			case FULL: return true;
+			case ERRORS: return !success;
+			case SAMPLED: return !success || (sampleNo % this.sampleEvery) == 0;
+			default: return false;
+		}
+	}
+}
@@ -0,0 +1,212 @@
+package io.mojaloop.settlement.jmeter.plugin.runner;
+
+import io.mojaloop.settlement.jmeter.plugin.rest.client.ExchangeMetrics;
+import io.mojaloop.settlement.jmeter.plugin.rest.client.json.ABaseJSONObject;
+import lombok.Getter;
+import org.apache.jmeter.samplers.SampleResult;
+
+import java.net.HttpURLConnection;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-thread state for the sample currently being executed.
+ *
+ * A single instance is owned by each {@code SamplerRunner} and reset
+ * before every sample, so the hot path does not allocate.
+ * Client time is captured between {@link #sampleStart(SampleResult)} and
+ * {@link #sampleEnd(SampleResult)}, everything else is harness overhead.
+ * Actions that wait for asynchronous completion also report the time from the
+ * sample start until {@link #completionEnd(SampleResult, boolean)} as a separate sample.
+ * The exchanges made to wait for the completion, before and after the client call, are kept
+ * out of the sample's {@code ExchangeMetrics} and are not counted as harness overhead.
+ */
+public final class SampleContext {
+	private Object contentToSend;
+	@Getter
+	private String matrixId;
+	@Getter
+	private String batchId;
+
+	private long clientStartNanos;
+	@Getter
+	private long clientNanos;
+	private boolean started;
+	private boolean ended;
+	@Getter
+	private long completionNanos;
+	@Getter
+	private boolean completionSuccessful;
+	private long completionStartNanos;
+	private long clientEndNanos;
+	@Getter
+	private long completionWaitNanos;
+	private final ExchangeMetrics sampleExchange = new ExchangeMetrics();
+	private final ExchangeMetrics completionExchange = new ExchangeMetrics();
+
+	void reset(Object defaultContent) {
+		this.contentToSend = defaultContent;
+		this.matrixId = null;
+		this.batchId = null;
+		this.clientStartNanos = 0L;
+		this.clientNanos = 0L;
+		this.started = false;
+		this.ended = false;
+		this.completionNanos = 0L;
+		this.completionSuccessful = false;
+		this.completionStartNanos = 0L;
+		this.clientEndNanos = 0L;
+		this.completionWaitNanos = 0L;
+		this.sampleExchange.reset();
+		this.completionExchange.reset();
+	}
+
+	/**
+	 * Sets the text sent for {@code this} sample.
+	 *
+	 * @param contentToSend Request text.
+	 */
+	public void setContentToSend(String contentToSend) {
+		this.contentToSend = contentToSend;
+	}
+
+	/**
+	 * Sets the object sent for {@code this} sample.
+	 * The JSON text is only rendered when the sample is captured.
+	 *
+	 * @param contentToSend Request object.
+	 */
+	public void setContentToSend(ABaseJSONObject contentToSend) {
+		this.contentToSend = contentToSend;
+	}
+
+	/**
+	 * Sets the matrix {@code this} sample applies to, reported with the JFR sample event.
+	 *
+	 * @param matrixId Matrix identifier.
+	 */
+	public void setMatrixId(String matrixId) {
+		this.matrixId = matrixId;
+	}
+
+	/**
+	 * Sets the batch {@code this} sample applies to, reported with the JFR sample event.
+	 *
+	 * @param batchId Batch identifier.
+	 */
+	public void setBatchId(String batchId) {
+		this.batchId = batchId;
+	}
+
+	/**
+	 * Renders the request text sent for {@code this} sample.
+	 *
+	 * @return Request text or {@code "{}"} when nothing was sent.
+	 */
+	public String getContentToSend() {
+		if (this.contentToSend == null) return "{}";
+		if (this.contentToSend instanceof ABaseJSONObject) {
+			return ((ABaseJSONObject) this.contentToSend).toJsonString();
+		}
+		return this.contentToSend.toString();
+	}
+
+	/**
+	 * Marks the start of the exchanges made before the client call to wait for its completion.
+	 */
+	public void completionStart() {
+		this.completionStartNanos = System.nanoTime();
+	}
+
+	/**
+	 * Marks the start of the client call for both JMeter and the harness.
+	 *
+	 * @param result The JMeter sample result.
+	 */
+	public void sampleStart(SampleResult result) {
+		ExchangeMetrics exchange = ExchangeMetrics.current();
+		if (this.completionStartNanos > 0L) {
+			this.completionWaitNanos += System.nanoTime() - this.completionStartNanos;
+			this.completionExchange.addFrom(exchange);
+		}
+		exchange.reset();
+
+		this.started = true;
+		result.sampleStart();
+		this.clientStartNanos = System.nanoTime();
+	}
+
+	/**
+	 * Marks the end of the client call for both JMeter and the harness.
+	 *
+	 * @param result The JMeter sample result.
+	 */
+	public void sampleEnd(SampleResult result) {
+		if (this.ended) return;
+
+		this.clientEndNanos = System.nanoTime();
+		this.clientNanos = this.clientEndNanos - this.clientStartNanos;
+		result.sampleEnd();
+		this.ended = true;
+
+		ExchangeMetrics exchange = ExchangeMetrics.current();
+		this.sampleExchange.copyFrom(exchange);
+		exchange.reset();
+	}
+
+	/**
+	 * The exchange metrics of the client call.
+	 *
+	 * @param current The thread-local metrics, used while the client call has not ended.
+	 * @return Metrics of the exchanges between {@link #sampleStart(SampleResult)} and {@link #sampleEnd(SampleResult)}.
+	 */
+	ExchangeMetrics sampleExchange(ExchangeMetrics current) {
+		return this.ended ? this.sampleExchange : current;
+	}
+
+	/**
+	 * Marks the end of the exchanges made after the client call to wait for its completion,
+	 * when the completion is not reported.
+	 */
+	public void completionWaitEnd() {
+		ExchangeMetrics exchange = ExchangeMetrics.current();
+		this.completionWaitNanos += System.nanoTime() - this.clientEndNanos;
+		this.completionExchange.addFrom(exchange);
+		exchange.reset();
+	}
+
+	/**
+	 * Marks the completion of an asynchronous action, measured from the start of the client call.
+	 * The completion is added to {@code result} as a sub-result labelled {@code <label>:completion},
+	 * carrying the bytes of the exchanges made to wait for it. The time, bytes and outcome of
+	 * {@code result} remain those of the client call.
+	 *
+	 * @param result The JMeter sample result of the accepted action.
+	 * @param successful Whether the action completed.
+	 */
+	public void completionEnd(SampleResult result, boolean successful) {
+		this.completionWaitEnd();
+		this.completionNanos = System.nanoTime() - this.clientStartNanos;
+		this.completionSuccessful = successful;
+
+		SampleResult completion = new SampleResult();
+		completion.setSampleLabel(String.format("%s:completion", result.getSampleLabel()));
+		completion.setStampAndTime(result.getStartTime(), TimeUnit.NANOSECONDS.toMillis(this.completionNanos));
+		completion.setSuccessful(successful);
+		completion.setResponseCode(successful ? Integer.toString(HttpURLConnection.HTTP_OK) : "500");
+		completion.setResponseMessage(successful ? "COMPLETED" : "NOT COMPLETED");
+		completion.setSentBytes(this.completionExchange.getSentBytes());
+		completion.setBodySize(this.completionExchange.getReceivedBytes());
+		result.addRawSubResult(completion);
+	}
+
+	/**
+	 * Ends the sample when an action failed, starting it first if the action
+	 * failed before reaching the client call.
+	 *
+	 * @param result The JMeter sample result.
+	 */
+	void sampleEndOnError(SampleResult result) {
+		if (!this.started) this.sampleStart(result);
+		this.sampleEnd(result);
+	}
+}
@@ -0,0 +1,79 @@
+package io.mojaloop.settlement.jmeter.plugin.runner.handler;
+
+import io.mojaloop.settlement.jmeter.plugin.kafka.TxnProducer;
+import io.mojaloop.settlement.jmeter.plugin.rest.client.SettlementBCRestClient;
+import io.mojaloop.settlement.jmeter.plugin.rest.client.json.testdata.TestDataCarrier;
+import io.mojaloop.settlement.jmeter.plugin.runner.SampleContext;
+import lombok.Getter;
+import org.apache.jmeter.samplers.SampleResult;
+import org.json.JSONObject;
+
+/**
+ * Base class for all the handlers that execute a single {@code ActionType}.
+ *
+ * Handlers are created once per sampler (in {@code setupTest}) and reused for
+ * every sample, so implementations must not keep per-sample state in fields.
+ *
+ * @see io.mojaloop.settlement.jmeter.plugin.runner.ActionHandlerRegistry
+ */
+public abstract class ABaseActionHandler {
+	public static final int TIME_BACK_MIN = 20;
+
+	@Getter
+	private final TestDataCarrier.ActionType actionType;
+	@Getter
+	private final String urlPostfix;
+	private final String headerPrefix;
+
+	protected final SettlementBCRestClient settleClient;
+	protected final TxnProducer txnProducer;
+
+	/**
+	 * Creates the handler for {@code actionType}.
+	 *
+	 * @param actionType The action handled by {@code this} handler.
+	 * @param urlPostfix The URL postfix reported in the request headers.
+	 * @param settleClient REST client for Settlement-BC.
+	 * @param txnProducer Kafka producer, {@code null} when running over REST.
+	 */
+	protected ABaseActionHandler(
+			TestDataCarrier.ActionType actionType,
+			String urlPostfix,
+			SettlementBCRestClient settleClient,
+			TxnProducer txnProducer
+	) {
+		this.actionType = actionType;
+		this.urlPostfix = urlPostfix;
+		this.settleClient = settleClient;
+		this.txnProducer = txnProducer;
+		this.headerPrefix = String.format("Action-Type: %s\nURL: %s\nTest Data Index: ", actionType, urlPostfix);
+	}
+
+	/**
+	 * Request header text for the data row at {@code testDataIndex}.
+	 *
+	 * @param testDataIndex Index of the test data row.
+	 * @return Header text for the {@code SampleResult}.
+	 */
+	public String requestHeaders(int testDataIndex) {
+		return this.headerPrefix.concat(Integer.toString(testDataIndex));
+	}
+
+	/**
+	 * Executes the action for {@code testData}.
+	 *
+	 * The client call must be wrapped with {@link SampleContext#sampleStart(SampleResult)}
+	 * and {@link SampleContext#sampleEnd(SampleResult)}.
+	 *
+	 * @param testData The test data row.
+	 * @param result The JMeter sample result.
+	 * @param ctx The reusable per-thread sample context.
+	 * @return The response from the server.
+	 * @throws Exception When the action fails.
+	 */
+	public abstract JSONObject handle(
+			TestDataCarrier testData,
+			SampleResult result,
+			SampleContext ctx
+	) throws Exception;
+}
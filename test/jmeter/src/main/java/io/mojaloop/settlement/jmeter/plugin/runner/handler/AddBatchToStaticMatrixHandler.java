@@ -0,0 +1,51 @@
+package io.mojaloop.settlement.jmeter.plugin.runner.handler;
+
+import io.mojaloop.settlement.jmeter.plugin.kafka.TxnProducer;
+import io.mojaloop.settlement.jmeter.plugin.rest.client.SettlementBCRestClient;
+import io.mojaloop.settlement.jmeter.plugin.rest.client.json.batch.SettlementBatch;
+import io.mojaloop.settlement.jmeter.plugin.rest.client.json.matrix.AddRemoveBatchFromStaticMatrix;
+import io.mojaloop.settlement.jmeter.plugin.rest.client.json.matrix.CreateStaticSettlementMatrix;
+import io.mojaloop.settlement.jmeter.plugin.rest.client.json.testdata.TestDataCarrier;
+import io.mojaloop.settlement.jmeter.plugin.runner.FixtureStore;
+import io.mojaloop.settlement.jmeter.plugin.runner.SampleContext;
+import org.apache.jmeter.samplers.SampleResult;
+import org.json.JSONObject;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Adds a known batch to an existing static matrix.
+ */
+public class AddBatchToStaticMatrixHandler extends ABaseActionHandler {
+
+	public AddBatchToStaticMatrixHandler(SettlementBCRestClient settleClient, TxnProducer txnProducer) {
+		super(TestDataCarrier.ActionType.add_batch_to_static_matrix, "/add_batch_to_static_matrix",
+				settleClient, txnProducer);
+	}
+
+	@Override
+	public JSONObject handle(TestDataCarrier testData, SampleResult result, SampleContext ctx) {
+		SettlementBatch existingBatch = FixtureStore.validBatches.poll();
+		if (existingBatch == null) throw new IllegalStateException("No valid batches available to add");
+		CreateStaticSettlementMatrix existingMatrixStat = FixtureStore.staticMatrices.poll();
+		if (existingMatrixStat == null) throw new IllegalStateException("No existing static matrix to add batch to");
+
+		AddRemoveBatchFromStaticMatrix addBatch = new AddRemoveBatchFromStaticMatrix(new JSONObject());
+		addBatch.setMatrixId(existingMatrixStat.getMatrixId());
+		List<String> batchToAdd = new ArrayList<>();
+		batchToAdd.add(existingBatch.getId());
+		addBatch.setBatchIds(batchToAdd);
+
+		ctx.setContentToSend(addBatch);
+		ctx.setMatrixId(addBatch.getMatrixId());
+		ctx.setBatchId(existingBatch.getId());
+
+		ctx.sampleStart(result);
+		AddRemoveBatchFromStaticMatrix addedRsp = this.settleClient.addBatchToStaticMatrix(addBatch);
+		ctx.sampleEnd(result);
+
+		FixtureStore.batchesAdded.add(addBatch);
+		return addedRsp.toJsonObject();
+	}
+}
@@ -0,0 +1,41 @@
+package io.mojaloop.settlement.jmeter.plugin.runner.handler;
+
+import io.mojaloop.settlement.jmeter.plugin.kafka.TxnProducer;
+import io.mojaloop.settlement.jmeter.plugin.rest.client.SettlementBCRestClient;
+import io.mojaloop.settlement.jmeter.plugin.rest.client.json.batch.BatchSearchResults;
+import io.mojaloop.settlement.jmeter.plugin.rest.client.json.batch.SettlementBatch;
+import io.mojaloop.settlement.jmeter.plugin.rest.client.json.testdata.TestDataCarrier;
+import io.mojaloop.settlement.jmeter.plugin.runner.FixtureStore;
+import io.mojaloop.settlement.jmeter.plugin.runner.SampleContext;
+import org.apache.jmeter.samplers.SampleResult;
+import org.json.JSONObject;
+
+/**
+ * Retrieves the recent batches for a settlement model and keeps them for static matrices.
+ */
+public class BatchesByModelHandler extends ABaseActionHandler {
+
+	public BatchesByModelHandler(SettlementBCRestClient settleClient, TxnProducer txnProducer) {
+		super(TestDataCarrier.ActionType.get_batches_by_model, "/batches", settleClient, txnProducer);
+	}
+
+	@Override
+	public JSONObject handle(TestDataCarrier testData, SampleResult result, SampleContext ctx) {
+		SettlementBatch getBatchReq = (SettlementBatch) testData.getRequest();
+
+		ctx.sampleStart(result);
+		BatchSearchResults batchSrRsp = this.settleClient.settlementBatches(
+				getBatchReq.getSettlementModel(),
+				TIME_BACK_MIN
+		);
+		ctx.sampleEnd(result);
+
+		if (batchSrRsp.getItems().isEmpty()) {
+			throw new IllegalStateException(String.format("No batches available for model '%s'",
+					getBatchReq.getSettlementModel()));
+		}
+
+		FixtureStore.validBatches.addAll(batchSrRsp.getItems());
+		return batchSrRsp.toJsonObject();
+	}
+}
@@ -0,0 +1,42 @@
+package io.mojaloop.settlement.jmeter.plugin.runner.handler;
+
+import io.mojaloop.settlement.jmeter.plugin.kafka.TxnProducer;
+import io.mojaloop.settlement.jmeter.plugin.rest.client.SettlementBCRestClient;
+import io.mojaloop.settlement.jmeter.plugin.rest.client.json.matrix.CreateDynamicSettlementMatrix;
+import io.mojaloop.settlement.jmeter.plugin.rest.client.json.matrix.SettlementMatrix;
+import io.mojaloop.settlement.jmeter.plugin.rest.client.json.testdata.TestDataCarrier;
+import io.mojaloop.settlement.jmeter.plugin.runner.FixtureStore;
+import io.mojaloop.settlement.jmeter.plugin.runner.SampleContext;
+import org.apache.jmeter.samplers.SampleResult;
+import org.json.JSONObject;
+
+import java.util.UUID;
+
+/**
+ * Creates a dynamic matrix for the settlement model of the test data.
+ */
+public class CreateDynamicMatrixHandler extends ABaseActionHandler {
+
+	public CreateDynamicMatrixHandler(SettlementBCRestClient settleClient, TxnProducer txnProducer) {
+		super(TestDataCarrier.ActionType.create_dynamic_matrix_model, "/create_dynamic_matrix_model",
+				settleClient, txnProducer);
+	}
+
+	@Override
+	public JSONObject handle(TestDataCarrier testData, SampleResult result, SampleContext ctx) {
+		SettlementMatrix settlementMatrix = (SettlementMatrix) testData.getRequest();
+		CreateDynamicSettlementMatrix dynamicMatrix = new CreateDynamicSettlementMatrix(new JSONObject());
+		dynamicMatrix.setType(SettlementMatrix.Type.DYNAMIC);
+		dynamicMatrix.setMatrixId(UUID.randomUUID().toString());
+		dynamicMatrix.setSettlementModel(settlementMatrix.getSettlementModel());
+		ctx.setContentToSend(dynamicMatrix);
+		ctx.setMatrixId(dynamicMatrix.getMatrixId());
+
+		ctx.sampleStart(result);
+		CreateDynamicSettlementMatrix dynamicModelCreateRsp = this.settleClient.createMatrix(dynamicMatrix);
+		ctx.sampleEnd(result);
+
+		FixtureStore.dynamicMatrices.add(dynamicMatrix);
+		return dynamicModelCreateRsp.toJsonObject();
+	}
+}
@@ -0,0 +1,39 @@
+package io.mojaloop.settlement.jmeter.plugin.runner.handler;
+
+import io.mojaloop.settlement.jmeter.plugin.kafka.TxnProducer;
+import io.mojaloop.settlement.jmeter.plugin.rest.client.SettlementBCRestClient;
+import io.mojaloop.settlement.jmeter.plugin.rest.client.json.matrix.CreateStaticSettlementMatrix;
+import io.mojaloop.settlement.jmeter.plugin.rest.client.json.matrix.SettlementMatrix;
+import io.mojaloop.settlement.jmeter.plugin.rest.client.json.testdata.TestDataCarrier;
+import io.mojaloop.settlement.jmeter.plugin.runner.FixtureStore;
+import io.mojaloop.settlement.jmeter.plugin.runner.SampleContext;
+import org.apache.jmeter.samplers.SampleResult;
+import org.json.JSONObject;
+
+import java.util.UUID;
+
+/**
+ * Creates a new, empty static matrix.
+ */
+public class CreateStaticMatrixHandler extends ABaseActionHandler {
+
+	public CreateStaticMatrixHandler(SettlementBCRestClient settleClient, TxnProducer txnProducer) {
+		super(TestDataCarrier.ActionType.create_static_matrix, "/create_static_matrix", settleClient, txnProducer);
+	}
+
+	@Override
+	public JSONObject handle(TestDataCarrier testData, SampleResult result, SampleContext ctx) {
+		CreateStaticSettlementMatrix staticMatrix = new CreateStaticSettlementMatrix(new JSONObject());
+		staticMatrix.setType(SettlementMatrix.Type.STATIC);
+		staticMatrix.setMatrixId(UUID.randomUUID().toString());
+		ctx.setContentToSend(staticMatrix);
+		ctx.setMatrixId(staticMatrix.getMatrixId());
+
+		ctx.sampleStart(result);
+		CreateStaticSettlementMatrix staticCreateRsp = this.settleClient.createMatrix(staticMatrix);
+		ctx.sampleEnd(result);
+
+		FixtureStore.staticMatrices.add(staticMatrix);
+		return staticCreateRsp.toJsonObject();
+	}
+}
@@ -0,0 +1,34 @@
+package io.mojaloop.settlement.jmeter.plugin.runner.handler;
+
+import io.mojaloop.settlement.jmeter.plugin.kafka.TxnProducer;
+import io.mojaloop.settlement.jmeter.plugin.rest.client.SettlementBCRestClient;
+import io.mojaloop.settlement.jmeter.plugin.rest.client.json.matrix.SettlementMatrix;
+import io.mojaloop.settlement.jmeter.plugin.rest.client.json.testdata.TestDataCarrier;
+import io.mojaloop.settlement.jmeter.plugin.runner.SampleContext;
+import org.apache.jmeter.samplers.SampleResult;
+import org.json.JSONObject;
+
+/**
+ * Retrieves the dynamic matrices for the settlement model of the test data.
+ */
+public class GetDynamicMatrixHandler extends ABaseActionHandler {
+
+	public GetDynamicMatrixHandler(SettlementBCRestClient settleClient, TxnProducer txnProducer) {
+		super(TestDataCarrier.ActionType.get_dynamic_matrix_model, "/get_dynamic_matrix_model",
+				settleClient, txnProducer);
+	}
+
+	@Override
+	public JSONObject handle(TestDataCarrier testData, SampleResult result, SampleContext ctx) {
+		SettlementMatrix matrixForGetDyn = (SettlementMatrix) testData.getRequest();
+
+		ctx.sampleStart(result);
+		SettlementMatrix dynamicByModelRsp = this.settleClient.getMatrixByModel(
+				matrixForGetDyn.getSettlementModel(),
+				TIME_BACK_MIN,
+				this.getActionType()
+		);
+		ctx.sampleEnd(result);
+		return dynamicByModelRsp.toJsonObject();
+	}
+}
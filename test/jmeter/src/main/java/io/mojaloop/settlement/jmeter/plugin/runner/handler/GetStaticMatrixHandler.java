@@ -0,0 +1,35 @@
+package io.mojaloop.settlement.jmeter.plugin.runner.handler;
+
+import io.mojaloop.settlement.jmeter.plugin.kafka.TxnProducer;
+import io.mojaloop.settlement.jmeter.plugin.rest.client.SettlementBCRestClient;
+import io.mojaloop.settlement.jmeter.plugin.rest.client.json.matrix.CreateStaticSettlementMatrix;
+import io.mojaloop.settlement.jmeter.plugin.rest.client.json.matrix.SettlementMatrix;
+import io.mojaloop.settlement.jmeter.plugin.rest.client.json.testdata.TestDataCarrier;
+import io.mojaloop.settlement.jmeter.plugin.runner.FixtureStore;
+import io.mojaloop.settlement.jmeter.plugin.runner.SampleContext;
+import org.apache.jmeter.samplers.SampleResult;
+import org.json.JSONObject;
+
+/**
+ * Retrieves a previously created static matrix by id.
+ */
+public class GetStaticMatrixHandler extends ABaseActionHandler {
+
+	public GetStaticMatrixHandler(SettlementBCRestClient settleClient, TxnProducer txnProducer) {
+		super(TestDataCarrier.ActionType.get_static_matrix, "/get_static_matrix", settleClient, txnProducer);
+	}
+
+	@Override
+	public JSONObject handle(TestDataCarrier testData, SampleResult result, SampleContext ctx) {
+		CreateStaticSettlementMatrix existingStatic = FixtureStore.staticMatrices.poll();
+		if (existingStatic == null) throw new IllegalStateException("No static matrices available");
+
+		ctx.setContentToSend(existingStatic);
+		ctx.setMatrixId(existingStatic.getMatrixId());
+
+		ctx.sampleStart(result);
+		SettlementMatrix staticByIdRsp = this.settleClient.getMatrixById(existingStatic.getMatrixId(), this.getActionType());
+		ctx.sampleEnd(result);
+		return staticByIdRsp.toJsonObject();
+	}
+}
@@ -0,0 +1,179 @@
+package io.mojaloop.settlement.jmeter.plugin.runner.handler;
+
+import io.mojaloop.settlement.jmeter.plugin.kafka.TxnProducer;
+import io.mojaloop.settlement.jmeter.plugin.rest.client.SettlementBCRestClient;
+import io.mojaloop.settlement.jmeter.plugin.rest.client.json.matrix.CreateDynamicSettlementMatrix;
+import io.mojaloop.settlement.jmeter.plugin.rest.client.json.matrix.SettlementMatrix;
+import io.mojaloop.settlement.jmeter.plugin.rest.client.json.testdata.TestDataCarrier;
+import io.mojaloop.settlement.jmeter.plugin.runner.FixtureStore;
+import io.mojaloop.settlement.jmeter.plugin.runner.MatrixCompletion;
+import io.mojaloop.settlement.jmeter.plugin.runner.SampleContext;
+import org.apache.jmeter.samplers.SampleResult;
+import org.json.JSONObject;
+
+import java.util.Date;
+
+/**
+ * Performs a state action ({@code recalculate}, {@code close}, {@code dispute}, {@code lock},
+ * {@code unlock}, {@code settle}) on a dynamic matrix. One instance is registered per action type.
+ *
+ * The matrix is taken from the {@code FixtureStore} queue of the state the action requires, and
+ * returned to the queue of the state the action leaves it in. An action that was not accepted returns
+ * the matrix to the queue it was taken from. Recalculated and disputed matrices stay idle and are
+ * returned for further actions once the action completed, so recalculation runs for the whole test.
+ *
+ * Actions are executed asynchronously by the command handler, so by default the sample is the
+ * acceptance of the action. With a {@code MatrixCompletion} the handler also waits for the action
+ * to complete, and the completion is reported as a separate sample. A matrix whose action did not
+ * complete is in an unknown state and is retired from the run, the acceptance remains successful.
+ * Recalculate and dispute always wait for the completion, without reporting it when no
+ * {@code MatrixCompletion} is configured.
+ */
+public class MatrixActionHandler extends ABaseActionHandler {
+	public static final int IDLE_TIMEOUT_SECS = 60;
+
+	private final MatrixCompletion completion;
+	private final boolean reportCompletion;
+
+	public MatrixActionHandler(
+			TestDataCarrier.ActionType actionType,
+			SettlementBCRestClient settleClient,
+			TxnProducer txnProducer
+	) {
+		this(actionType, settleClient, txnProducer, null);
+	}
+
+	public MatrixActionHandler(
+			TestDataCarrier.ActionType actionType,
+			SettlementBCRestClient settleClient,
+			TxnProducer txnProducer,
+			MatrixCompletion completion
+	) {
+		super(actionType, String.format("/%s_dynamic_matrix", actionType), settleClient, txnProducer);
+		this.reportCompletion = completion != null;
+		if (completion == null && isIdleAfter(actionType)) {
+			completion = new MatrixCompletion(settleClient, IDLE_TIMEOUT_SECS);
+		}
+		this.completion = completion;
+	}
+
+	@Override
+	public JSONObject handle(TestDataCarrier testData, SampleResult result, SampleContext ctx) {
+		TestDataCarrier.ActionType actionType = this.getActionType();
+		SettlementMatrix matrixPerReq = null;
+		CreateDynamicSettlementMatrix dynMat = null;
+		switch (actionType) {
+			case matrix_lock:
+				matrixPerReq = FixtureStore.matrixClosed.poll();
+			break;
+			case matrix_settle:
+			case matrix_unlock:
+				matrixPerReq = FixtureStore.matrixLocked.poll();
+			break;
+			default:
+				dynMat = FixtureStore.dynamicMatrices.poll();
+				if (dynMat != null) {
+					matrixPerReq = new SettlementMatrix(new JSONObject());
+					matrixPerReq.setId(dynMat.getMatrixId());
+				}
+		}
+		if (matrixPerReq == null) throw new IllegalStateException("No dynamic matrix to '"+actionType+"'.");
+		ctx.setContentToSend(matrixPerReq);
+		ctx.setMatrixId(matrixPerReq.getId());
+
+		Date updatedBefore = null;
+		long sentNanos;
+		SettlementMatrix actionRsp;
+		try {
+			if (this.completion != null) {
+				ctx.completionStart();
+				updatedBefore = this.completion.updatedAt(matrixPerReq.getId(), actionType);
+			}
+
+			ctx.sampleStart(result);
+			sentNanos = System.nanoTime();
+			actionRsp = this.settleClient.actionMatrix(matrixPerReq.getId(), actionType);
+			ctx.sampleEnd(result);
+		} catch (RuntimeException except) {
+			requeue(actionType, matrixPerReq, dynMat);
+			throw except;
+		}
+		if (this.completion == null) {
+			release(actionType, actionRsp, dynMat);
+			return actionRsp.toJsonObject();
+		}
+
+		MatrixCompletion.Outcome outcome;
+		try {
+			outcome = this.completion.await(matrixPerReq.getId(), actionType, updatedBefore, sentNanos);
+		} catch (RuntimeException except) {
+			this.completionEnd(result, ctx, false);
+			return actionRsp.toJsonObject()
+					.put("completionError", String.valueOf(except.getMessage()))
+					.put("retired", true);
+		}
+		this.completionEnd(result, ctx, true);
+		release(actionType, actionRsp, dynMat);
+		return this.reportCompletion ?
+				outcome.getMatrix().toJsonObject().put("polls", outcome.getPolls()) : actionRsp.toJsonObject();
+	}
+
+	private void completionEnd(SampleResult result, SampleContext ctx, boolean successful) {
+		if (this.reportCompletion) ctx.completionEnd(result, successful);
+		else ctx.completionWaitEnd();
+	}
+
+	/**
+	 * Whether {@code actionType} leaves the matrix idle, to be offered for further actions.
+	 */
+	private static boolean isIdleAfter(TestDataCarrier.ActionType actionType) {
+		return actionType == TestDataCarrier.ActionType.matrix_recalculate ||
+				actionType == TestDataCarrier.ActionType.matrix_dispute;
+	}
+
+	/**
+	 * Returns a matrix the action was not accepted for to the queue it was taken from.
+	 */
+	private static void requeue(
+			TestDataCarrier.ActionType actionType,
+			SettlementMatrix matrix,
+			CreateDynamicSettlementMatrix dynMat
+	) {
+		switch (actionType) {
+			case matrix_lock:
+				FixtureStore.matrixClosed.add(matrix);
+			break;
+			case matrix_settle:
+			case matrix_unlock:
+				FixtureStore.matrixLocked.add(matrix);
+			break;
+			default:
+				FixtureStore.dynamicMatrices.add(dynMat);
+		}
+	}
+
+	/**
+	 * Offers a matrix the action was accepted (and, when tracked, completed) for to the next actions.
+	 * Settled matrices leave the run.
+	 */
+	private static void release(
+			TestDataCarrier.ActionType actionType,
+			SettlementMatrix actionRsp,
+			CreateDynamicSettlementMatrix dynMat
+	) {
+		switch (actionType) {
+			case matrix_lock:
+				FixtureStore.matrixLocked.add(actionRsp);
+			break;
+			case matrix_close:
+			case matrix_unlock:
+				FixtureStore.matrixClosed.add(actionRsp);
+			break;
+			case matrix_recalculate:
+			case matrix_dispute:
+				FixtureStore.dynamicMatrices.add(dynMat);
+			break;
+			default:
+		}
+	}
+}
@@ -0,0 +1,38 @@
+package io.mojaloop.settlement.jmeter.plugin.runner.handler;
+
+import io.mojaloop.settlement.jmeter.plugin.kafka.TxnProducer;
+import io.mojaloop.settlement.jmeter.plugin.rest.client.SettlementBCRestClient;
+import io.mojaloop.settlement.jmeter.plugin.rest.client.json.matrix.AddRemoveBatchFromStaticMatrix;
+import io.mojaloop.settlement.jmeter.plugin.rest.client.json.testdata.TestDataCarrier;
+import io.mojaloop.settlement.jmeter.plugin.runner.FixtureStore;
+import io.mojaloop.settlement.jmeter.plugin.runner.SampleContext;
+import org.apache.jmeter.samplers.SampleResult;
+import org.json.JSONObject;
+
+/**
+ * Removes a previously added batch from its static matrix.
+ */
+public class RemoveBatchFromStaticMatrixHandler extends ABaseActionHandler {
+
+	public RemoveBatchFromStaticMatrixHandler(SettlementBCRestClient settleClient, TxnProducer txnProducer) {
+		super(TestDataCarrier.ActionType.remove_batch_from_static_matrix, "/remove_batch_from_static_matrix",
+				settleClient, txnProducer);
+	}
+
+	@Override
+	public JSONObject handle(TestDataCarrier testData, SampleResult result, SampleContext ctx) {
+		AddRemoveBatchFromStaticMatrix addedBatch = FixtureStore.batchesAdded.poll();
+		if (addedBatch == null) throw new IllegalStateException("No batches added to remove from matrix");
+
+		ctx.setContentToSend(addedBatch);
+		ctx.setMatrixId(addedBatch.getMatrixId());
+		if (addedBatch.getBatchIds() != null && !addedBatch.getBatchIds().isEmpty()) {
+			ctx.setBatchId(addedBatch.getBatchIds().get(0));
+		}
+
+		ctx.sampleStart(result);
+		AddRemoveBatchFromStaticMatrix removedRsp = this.settleClient.removeBatchFromStaticMatrix(addedBatch);
+		ctx.sampleEnd(result);
+		return removedRsp.toJsonObject();
+	}
+}
@@ -0,0 +1,57 @@
+package io.mojaloop.settlement.jmeter.plugin.runner.handler;
+
+import io.mojaloop.settlement.jmeter.plugin.exception.FailedResponseCodeException;
+import io.mojaloop.settlement.jmeter.plugin.kafka.TxnProducer;
+import io.mojaloop.settlement.jmeter.plugin.rest.client.ExchangeMetrics;
+import io.mojaloop.settlement.jmeter.plugin.rest.client.SettlementBCRestClient;
+import io.mojaloop.settlement.jmeter.plugin.rest.client.json.testdata.TestDataCarrier;
+import io.mojaloop.settlement.jmeter.plugin.rest.client.json.transfer.TransferReq;
+import io.mojaloop.settlement.jmeter.plugin.rest.client.json.transfer.TransferReqOverlay;
+import io.mojaloop.settlement.jmeter.plugin.rest.client.json.transfer.TransferRsp;
+import io.mojaloop.settlement.jmeter.plugin.runner.SampleContext;
+import io.mojaloop.settlement.jmeter.plugin.util.id.IdGenerators;
+import org.apache.jmeter.samplers.SampleResult;
+import org.apache.kafka.clients.producer.RecordMetadata;
+import org.json.JSONObject;
+
+import java.util.Date;
+
+/**
+ * Submits a settlement transfer via REST or via the Kafka command topic.
+ *
+ * The shared test data row is never modified, each sample sends an overlay with a new id and timestamp.
+ */
+public class TransferHandler extends ABaseActionHandler {
+
+	public TransferHandler(SettlementBCRestClient settleClient, TxnProducer txnProducer) {
+		super(TestDataCarrier.ActionType.transfer, "/transfers", settleClient, txnProducer);
+	}
+
+	@Override
+	public JSONObject handle(TestDataCarrier testData, SampleResult result, SampleContext ctx) throws Exception {
+		TransferReq row = (TransferReq) testData.getRequest();
+		TransferReqOverlay fundTransfer = row.overlay(
+				IdGenerators.current().nextId(),
+				new Date(System.currentTimeMillis())
+		);
+		ctx.setContentToSend(fundTransfer);
+
+		JSONObject responseJSON;
+		ctx.sampleStart(result);
+		if (this.txnProducer == null) {
+			TransferRsp fundTransferRsp = this.settleClient.settlementTransfer(fundTransfer);
+			ctx.sampleEnd(result);
+			responseJSON = fundTransferRsp.toJsonObject();
+			if (!fundTransferRsp.isSuccess()) throw new FailedResponseCodeException("401", responseJSON);
+		} else {
+			RecordMetadata metadata = this.txnProducer.send(fundTransfer);
+			ExchangeMetrics.current().addSentBytes(
+					Math.max(0, metadata.serializedKeySize()) + Math.max(0, metadata.serializedValueSize()));
+			ctx.sampleEnd(result);
+			responseJSON = new JSONObject();
+			responseJSON.put("timestamp", metadata.timestamp());
+			responseJSON.put("topic", metadata.topic());
+		}
+		return responseJSON;
+	}
+}
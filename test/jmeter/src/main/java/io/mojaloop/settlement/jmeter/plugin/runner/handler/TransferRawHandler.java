@@ -0,0 +1,35 @@
+package io.mojaloop.settlement.jmeter.plugin.runner.handler;
+
+import io.mojaloop.settlement.jmeter.plugin.exception.FailedResponseCodeException;
+import io.mojaloop.settlement.jmeter.plugin.kafka.TxnProducer;
+import io.mojaloop.settlement.jmeter.plugin.rest.client.SettlementBCRestClient;
+import io.mojaloop.settlement.jmeter.plugin.rest.client.json.testdata.TestDataCarrier;
+import io.mojaloop.settlement.jmeter.plugin.rest.client.json.transfer.TransferRsp;
+import io.mojaloop.settlement.jmeter.plugin.runner.SampleContext;
+import org.apache.jmeter.samplers.SampleResult;
+import org.json.JSONObject;
+
+/**
+ * Submits a pre-built raw transfer body as-is.
+ */
+public class TransferRawHandler extends ABaseActionHandler {
+
+	public TransferRawHandler(SettlementBCRestClient settleClient, TxnProducer txnProducer) {
+		super(TestDataCarrier.ActionType.transfer_raw, "/transfers_raw", settleClient, txnProducer);
+	}
+
+	@Override
+	public JSONObject handle(TestDataCarrier testData, SampleResult result, SampleContext ctx) throws Exception {
+		String contentToSend = testData.getRequestRaw();
+		ctx.setContentToSend(contentToSend);
+
+		ctx.sampleStart(result);
+		JSONObject responseJSON = this.settleClient.settlementTransferRaw(contentToSend);
+		ctx.sampleEnd(result);
+
+		TransferRsp fundTransferRspRaw = new TransferRsp(responseJSON);
+		if (!fundTransferRspRaw.isSuccess()) throw new FailedResponseCodeException("401", responseJSON);
+
+		return responseJSON;
+	}
+}
@@ -0,0 +1,94 @@
+package io.mojaloop.settlement.jmeter.plugin.runner.handler;
+
+import io.mojaloop.settlement.jmeter.plugin.kafka.TxnProducer;
+import io.mojaloop.settlement.jmeter.plugin.metrics.LatencyHistogram;
+import io.mojaloop.settlement.jmeter.plugin.metrics.RunRecorder;
+import io.mojaloop.settlement.jmeter.plugin.metrics.TimeSeriesRecorder;
+import io.mojaloop.settlement.jmeter.plugin.rest.client.SettlementBCRestClient;
+import io.mojaloop.settlement.jmeter.plugin.rest.client.json.batch.SettlementBatch;
+import io.mojaloop.settlement.jmeter.plugin.rest.client.json.testdata.TestDataCarrier;
+import io.mojaloop.settlement.jmeter.plugin.rest.client.json.transfer.BatchTransferSearchResults;
+import io.mojaloop.settlement.jmeter.plugin.rest.client.json.transfer.TransfersByBatchIdReq;
+import io.mojaloop.settlement.jmeter.plugin.runner.FixtureStore;
+import io.mojaloop.settlement.jmeter.plugin.runner.SampleContext;
+import org.apache.jmeter.samplers.SampleResult;
+import org.json.JSONObject;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Retrieves the transfers of a batch with cursor pagination.
+ *
+ * By default a sample is the first page of the batch. When {@code allPages} is set, the sample
+ * walks every page of the batch and the response reports the page count, transfer count,
+ * full-scan throughput and the per-page latency. Each page is also recorded as action
+ * {@code transfers_by_batch_id_page} by the {@code RunRecorder} and {@code TimeSeriesRecorder}.
+ */
+public class TransfersByBatchIdHandler extends ABaseActionHandler {
+
+	public TransfersByBatchIdHandler(SettlementBCRestClient settleClient, TxnProducer txnProducer) {
+		super(TestDataCarrier.ActionType.transfers_by_batch_id, "/transfers_by_batch_id", settleClient, txnProducer);
+	}
+
+	@Override
+	public JSONObject handle(TestDataCarrier testData, SampleResult result, SampleContext ctx) {
+		TransfersByBatchIdReq req = testData.getRequest() instanceof TransfersByBatchIdReq ?
+				(TransfersByBatchIdReq) testData.getRequest() : new TransfersByBatchIdReq(new JSONObject());
+
+		String batchId = req.getBatchId();
+		if (batchId == null) {
+			SettlementBatch existingBatch = FixtureStore.validBatches.poll();
+			if (existingBatch == null) throw new IllegalStateException("No batch available to fetch transfers from");
+
+			batchId = existingBatch.getId();
+			FixtureStore.validBatches.add(existingBatch);
+		}
+		ctx.setContentToSend(batchId);
+		ctx.setBatchId(batchId);
+
+		if (!req.isAllPages()) {
+			ctx.sampleStart(result);
+			BatchTransferSearchResults page = this.settleClient.getTransfersByBatchId(batchId, null, req.getPageSize());
+			ctx.sampleEnd(result);
+			return page.toJsonObject();
+		}
+
+		LatencyHistogram pageLatency = new LatencyHistogram();
+		long transfers = 0L;
+		String cursor = null;
+		ctx.sampleStart(result);
+		long scanStart = System.nanoTime();
+		do {
+			long pageStart = System.nanoTime();
+			BatchTransferSearchResults page;
+			try {
+				page = this.settleClient.getTransfersByBatchId(batchId, cursor, req.getPageSize());
+			} catch (RuntimeException except) {
+				this.recordPage(System.nanoTime() - pageStart, false);
+				throw except;
+			}
+			long pageNanos = System.nanoTime() - pageStart;
+			pageLatency.recordNanos(pageNanos);
+			this.recordPage(pageNanos, true);
+			transfers += page.getItems().size();
+			cursor = page.getNextCursor();
+		} while (cursor != null);
+		long scanNanos = System.nanoTime() - scanStart;
+		ctx.sampleEnd(result);
+
+		return new JSONObject()
+				.put("batchId", batchId)
+				.put("pages", pageLatency.getCount())
+				.put("transfers", transfers)
+				.put("scanMillis", TimeUnit.NANOSECONDS.toMillis(scanNanos))
+				.put("transfersPerSec", scanNanos < 1L ? 0d : transfers * 1e9d / scanNanos)
+				.put("pageP50Millis", pageLatency.getPercentileMillis(50))
+				.put("pageP99Millis", pageLatency.getPercentileMillis(99))
+				.put("pageMaxMillis", pageLatency.getMaxMicros() / 1000d);
+	}
+
+	private void recordPage(long pageNanos, boolean successful) {
+		RunRecorder.recordPage(this.getActionType(), pageNanos, successful);
+		TimeSeriesRecorder.recordPage(this.getActionType(), pageNanos, successful);
+	}
+}
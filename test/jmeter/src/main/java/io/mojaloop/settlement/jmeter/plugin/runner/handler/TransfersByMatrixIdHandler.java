@@ -0,0 +1,46 @@
+package io.mojaloop.settlement.jmeter.plugin.runner.handler;
+
+import io.mojaloop.settlement.jmeter.plugin.kafka.TxnProducer;
+import io.mojaloop.settlement.jmeter.plugin.rest.client.SettlementBCRestClient;
+import io.mojaloop.settlement.jmeter.plugin.rest.client.json.matrix.CreateDynamicSettlementMatrix;
+import io.mojaloop.settlement.jmeter.plugin.rest.client.json.matrix.CreateStaticSettlementMatrix;
+import io.mojaloop.settlement.jmeter.plugin.rest.client.json.testdata.TestDataCarrier;
+import io.mojaloop.settlement.jmeter.plugin.rest.client.json.transfer.BatchTransferSearchResults;
+import io.mojaloop.settlement.jmeter.plugin.runner.FixtureStore;
+import io.mojaloop.settlement.jmeter.plugin.runner.SampleContext;
+import org.apache.jmeter.samplers.SampleResult;
+import org.json.JSONObject;
+
+/**
+ * Retrieves the transfers for an existing static or dynamic matrix.
+ */
+public class TransfersByMatrixIdHandler extends ABaseActionHandler {
+
+	public TransfersByMatrixIdHandler(SettlementBCRestClient settleClient, TxnProducer txnProducer) {
+		super(TestDataCarrier.ActionType.transfers_by_matrix_id, "/transfers_by_matrix_id", settleClient, txnProducer);
+	}
+
+	@Override
+	public JSONObject handle(TestDataCarrier testData, SampleResult result, SampleContext ctx) {
+		String matrixId = null;
+		CreateStaticSettlementMatrix existingStaticTxnFetch = FixtureStore.staticMatrices.poll();
+		if (existingStaticTxnFetch != null) {
+			matrixId = existingStaticTxnFetch.getMatrixId();
+			FixtureStore.staticMatrices.add(existingStaticTxnFetch);
+		}
+		CreateDynamicSettlementMatrix existingDynamic = FixtureStore.dynamicMatrices.poll();
+		if (existingDynamic != null) {
+			matrixId = existingDynamic.getMatrixId();
+			FixtureStore.dynamicMatrices.add(existingDynamic);
+		}
+		if (matrixId == null) throw new IllegalStateException("No matrix available to fetch from");
+
+		ctx.setContentToSend(matrixId);
+		ctx.setMatrixId(matrixId);
+
+		ctx.sampleStart(result);
+		BatchTransferSearchResults txnLookupRsp = this.settleClient.getTransfersByMatrixId(matrixId);
+		ctx.sampleEnd(result);
+		return txnLookupRsp.toJsonObject();
+	}
+}
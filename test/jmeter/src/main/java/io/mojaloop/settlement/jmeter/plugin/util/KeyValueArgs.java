@@ -0,0 +1,42 @@
+package io.mojaloop.settlement.jmeter.plugin.util;
+
+/**
+ * Parser for the {@code key=value} options of the command line tools.
+ *
+ * Keys and values are trimmed, the value may contain {@code '='}.
+ */
+public final class KeyValueArgs {
+
+	/**
+	 * Applies a single option to the config being parsed.
+	 */
+	@FunctionalInterface
+	public interface Option {
+		/**
+		 * @param key The option name.
+		 * @param value The option value, may be empty.
+		 * @throws IllegalArgumentException When the option is unknown or its value invalid.
+		 */
+		void apply(String key, String value);
+	}
+
+	private KeyValueArgs() {
+	}
+
+	/**
+	 * Passes every {@code key=value} argument from {@code offset} to {@code option}.
+	 *
+	 * @param args The arguments.
+	 * @param offset Index of the first {@code key=value} argument.
+	 * @param option Applies each option.
+	 * @throws IllegalArgumentException When an argument is not {@code key=value}.
+	 */
+	public static void parse(String[] args, int offset, Option option) {
+		for (int index = offset; index < args.length; index++) {
+			int separator = args[index].indexOf('=');
+			if (separator < 1) throw new IllegalArgumentException(String.format("Expected 'key=value', got '%s'.", args[index]));
+
+			option.apply(args[index].substring(0, separator).trim(), args[index].substring(separator + 1).trim());
+		}
+	}
+}
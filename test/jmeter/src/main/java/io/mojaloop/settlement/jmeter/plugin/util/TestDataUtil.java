@@ -5,20 +5,25 @@ import io.mojaloop.settlement.jmeter.plugin.rest.client.json.matrix.SettlementMa
 import io.mojaloop.settlement.jmeter.plugin.rest.client.json.testdata.TestDataCarrier;
 import io.mojaloop.settlement.jmeter.plugin.rest.client.json.testdata.TestPlanConfig;
 import io.mojaloop.settlement.jmeter.plugin.rest.client.json.transfer.TransferReq;
+import io.mojaloop.settlement.jmeter.plugin.rest.client.json.transfer.TransfersByBatchIdReq;
 import org.json.JSONArray;
 import org.json.JSONObject;
 
 import java.io.*;
 import java.math.BigDecimal;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.Date;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ThreadLocalRandom;
 import java.util.stream.Collectors;
 
 public class TestDataUtil {
-
+	private static final Map<String, List<TestDataCarrier>> SHARED_TEST_DATA = new ConcurrentHashMap<>();
 
 	public static List<TestDataCarrier> readRawTestDataFromFile(File testData) {
 		if (testData == null) return new ArrayList<>();
@@ -49,12 +54,7 @@ public class TestDataUtil {
 			}
 		}
 
-		return returnVal.stream().map(itm -> {
-			TestDataCarrier returnValTDC = new TestDataCarrier(new JSONObject());
-			returnValTDC.setRequestRaw(itm);
-			returnValTDC.setActionType(TestDataCarrier.ActionType.transfer_raw);
-			return returnValTDC;
-		}).collect(Collectors.toList());
+		return returnVal.stream().map(TestDataCarrier::new).collect(Collectors.toList());
 	}
 
 	public static List<TestDataCarrier> readTestDataFromFile(File testData) {
@@ -70,11 +70,7 @@ public class TestDataUtil {
 				content.append(line);
 				content.append("\n");
 			}
-			JSONArray array = new JSONArray(content.toString());
-			for (int index = 0; index < array.length(); index++) {
-				TestDataCarrier toAdd = new TestDataCarrier(array.getJSONObject(index));
-				returnVal.add(toAdd);
-			}
+			returnVal.addAll(parseTestData(content.toString()));
 		} catch (IOException ioErr) {
 			throw new IllegalStateException(String.format(
 					"Unable to read from '%s'. %s.",
@@ -83,6 +79,48 @@ public class TestDataUtil {
 		return returnVal;
 	}
 
+	/**
+	 * Parses the rows of a test data file.
+	 *
+	 * @param testDataJson JSON array of rows.
+	 * @return The rows.
+	 * @see io.mojaloop.settlement.jmeter.plugin.rest.client.json.ABaseJSONObject#setRetainSource(boolean)
+	 */
+	public static List<TestDataCarrier> parseTestData(String testDataJson) {
+		List<TestDataCarrier> returnVal = new ArrayList<>();
+		JSONArray array = new JSONArray(testDataJson);
+		for (int index = 0; index < array.length(); index++) {
+			TestDataCarrier toAdd = new TestDataCarrier(array.getJSONObject(index));
+			returnVal.add(toAdd);
+		}
+		return returnVal;
+	}
+
+	/**
+	 * Reads the test data from {@code testData} once per JVM and shares the rows between all callers.
+	 *
+	 * The returned list is unmodifiable and the rows are immutable. Transfer rows
+	 * are pre-encoded while loading, before they are published to other threads.
+	 *
+	 * @param testData The test data file.
+	 * @return Shared, read-only test data.
+	 */
+	public static List<TestDataCarrier> readSharedTestDataFromFile(File testData) {
+		if (testData == null) return new ArrayList<>();
+
+		return SHARED_TEST_DATA.computeIfAbsent(testData.getAbsolutePath(), path -> {
+			List<TestDataCarrier> loaded = readTestDataFromFile(testData);
+			loaded.stream()
+					.filter(itm -> itm.getRequest() instanceof TransferReq)
+					.forEach(itm -> ((TransferReq) itm.getRequest()).fixedFieldsJson());
+			return Collections.unmodifiableList(loaded);
+		});
+	}
+
+	public static void clearSharedTestData() {
+		SHARED_TEST_DATA.clear();
+	}
+
 	public static List<TestDataCarrier> filterForType(
 		List<TestDataCarrier> source,
 		TestDataCarrier.ActionType type
@@ -108,11 +146,11 @@ public class TestDataUtil {
 		return new TestPlanConfig(new JSONObject(data));
 	}
 
-	public static void generateTestData(File testPlanConfigPath, File outputFile) {
-		TestDataUtil.generateTestData(readTestPlanConfig(testPlanConfigPath), outputFile);
+	public static List<TestDataCarrier> generateTestData(File testPlanConfigPath, File outputFile) {
+		return TestDataUtil.generateTestData(readTestPlanConfig(testPlanConfigPath), outputFile);
 	}
 
-	public static void generateTestData(TestPlanConfig testPlanConfig, File outputFile) {
+	public static List<TestDataCarrier> generateTestData(TestPlanConfig testPlanConfig, File outputFile) {
 		try (FileWriter fw = new FileWriter(outputFile, false)) {
 			List<TestDataCarrier> testData = TestDataUtil.genTestDataFrom(testPlanConfig);
 			JSONArray array = new JSONArray();
@@ -124,6 +162,7 @@ public class TestDataUtil {
 				throw new IllegalStateException(String.format("Unable to write '%s' ", content));
 			}
 			fw.flush();
+			return testData;
 		} catch (IOException ioErr) {
 			throw new IllegalStateException(String.format(
 					"Unable to write to '%s'. %s.",
@@ -145,212 +184,267 @@ public class TestDataUtil {
 			List<TestDataCarrier> carriers,
 			TestPlanConfig tpc
 	) {
+		if (tpc.getScenario() == null) {
+			genLegacySequence(carriers, tpc);
+			return;
+		}
+
 		TestPlanConfig.SettlementTransfer settleTransfer = tpc.getSettlementTransfer();
+		TestPlanConfig.Scenario scenario = tpc.getScenario();
+		List<String> settlementModels = settleTransfer.getSettlementModels();
+
+		// Scenario#validate ensures every action leads back to a transfer, so this completes:
+		String settlementModel = settlementModels.get(randomNumberBetween(0, settlementModels.size() - 1));
+		TestDataCarrier.ActionType previous = null;
+		for (int transfers = 0; transfers < settleTransfer.getCount();) {
+			TestDataCarrier.ActionType actionType = nextAction(scenario, previous);
+			if (actionType == TestDataCarrier.ActionType.transfer) {
+				settlementModel = settlementModels.get(randomNumberBetween(0, settlementModels.size() - 1));
+				carriers.add(new TestDataCarrier(
+						TestDataCarrier.ActionType.transfer, randomTransfer(settleTransfer, settlementModel), 0L));
+				transfers++;
+			} else {
+				// Other actions use the settlement model of the last transfer:
+				genAction(carriers, actionType, settleTransfer, settlementModel);
+			}
 
-		for (int index = 0; index < settleTransfer.getCount(); index++) {
-			TestDataCarrier toAdd = new TestDataCarrier(new JSONObject());
-			toAdd.setActionType(TestDataCarrier.ActionType.transfer);
-
-			int currencyIndex = randomNumberBetween(0, settleTransfer.getCurrencies().size() - 1);
-			String currency = settleTransfer.getCurrencies().get(currencyIndex);
-			int amount = randomNumberBetween(
-					settleTransfer.getAmountMin(),
-					settleTransfer.getAmountMax()
-			);
-
-			int payerIndex = randomNumberBetween(0, settleTransfer.getParticipants().size() - 1);
-			int payeeIndex;
-			do {
-				payeeIndex = randomNumberBetween(0, settleTransfer.getParticipants().size() - 1);
-			} while (payerIndex == payeeIndex);
-			String payee = settleTransfer.getParticipants().get(payeeIndex);
-			String payer = settleTransfer.getParticipants().get(payerIndex);
-			String settlementModel = settleTransfer.getSettlementModels().get(
-					randomNumberBetween(0, settleTransfer.getSettlementModels().size() - 1)
-			);
-
-			TransferReq settleTransferToAdd = new TransferReq(new JSONObject());
-			settleTransferToAdd.setTransferId(uuidNoDash());
-			settleTransferToAdd.setPayerFspId(payer);
-			settleTransferToAdd.setPayeeFspId(payee);
-			settleTransferToAdd.setCurrencyCode(currency);
-			settleTransferToAdd.setAmount(Integer.toString(amount));
-			settleTransferToAdd.setTimestamp(new Date());
-			settleTransferToAdd.setSettlementModel(settlementModel);
-
-			// first add the settlement transfer:
-			toAdd.setRequest(settleTransferToAdd);
-			carriers.add(toAdd);
-
-			addInBetweenCalls(tpc, carriers, index, settlementModel);
+			int[] thinkTimeMs = scenario.thinkTimeMsFor(actionType);
+			int last = carriers.size() - 1;
+			carriers.set(last, carriers.get(last).withThinkTimeMs(randomNumberBetween(thinkTimeMs[0], thinkTimeMs[1])));
+			previous = actionType;
 		}
 	}
 
-	private static void addInBetweenCalls(
-			TestPlanConfig tpc,
-			List<TestDataCarrier> carriers,
-			int index,
-			String settlementModel
-	) {
+	/**
+	 * Without a scenario, every transfer is followed by the actions whose 'every N transfers' count
+	 * applies to the transfer, in a fixed order. The sequence of an existing plan configuration is
+	 * the same as before scenarios were introduced.
+	 */
+	private static void genLegacySequence(List<TestDataCarrier> carriers, TestPlanConfig tpc) {
 		TestPlanConfig.SettlementTransfer settleTransfer = tpc.getSettlementTransfer();
 		TestPlanConfig.SettlementMatrix matrix = tpc.getSettlementMatrix();
 		TestPlanConfig.SettlementBatch batch = tpc.getSettlementBatch();
 
-		int getTxnBatchId = settleTransfer.getGetByBatchId();
-		int getTxnMatrixId = settleTransfer.getGetByMatrixId();
-		int getBatchesByModel = batch.getGetByModel();
-		int cntStatic = matrix.getCreateStatic();
-		int cntStaticAdd = matrix.getAddBatchToStatic();
-		int cntStaticRemove = matrix.getRemoveBatchFromStatic();
-		int cntGetStatic = matrix.getGetStatic();
-		int cntDynamicModel = matrix.getCreateDynamicModel();
-		int cntGetDynamicModel = matrix.getGetDynamicModel();
-		int cntStlClose = matrix.getClose();
-		int cntStlLock = matrix.getLock();
-		int cntStlSettle = matrix.getSettle();
-		int cntStlRecalc = matrix.getSettle();
-
-		// Batches By Model:
-		if (isApplicable(index, getBatchesByModel)) {
-			genBatchByModel(carriers, settlementModel);
-		}
-
-		// Transfers Get By Matrix:
-		if (isApplicable(index, getTxnMatrixId)) {
-			genTxnByMatrix(carriers);
-		}
-
-		// Static:
-		if (isApplicable(index, cntStatic)) {
-			genCreateStaticMatrix(carriers);
-		}
-
-		// Static - Add Batch:
-		if (isApplicable(index, cntStaticAdd)) {
-			genAddBatchToStaticMatrix(carriers);
-		}
+		Map<TestDataCarrier.ActionType, Integer> counts = new LinkedHashMap<>();
+		counts.put(TestDataCarrier.ActionType.get_batches_by_model, batch.getGetByModel());
+		counts.put(TestDataCarrier.ActionType.transfers_by_matrix_id, settleTransfer.getGetByMatrixId());
+		counts.put(TestDataCarrier.ActionType.create_static_matrix, matrix.getCreateStatic());
+		counts.put(TestDataCarrier.ActionType.add_batch_to_static_matrix, matrix.getAddBatchToStatic());
+		counts.put(TestDataCarrier.ActionType.remove_batch_from_static_matrix, matrix.getRemoveBatchFromStatic());
+		counts.put(TestDataCarrier.ActionType.get_static_matrix, matrix.getGetStatic());
+		counts.put(TestDataCarrier.ActionType.create_dynamic_matrix_model, matrix.getCreateDynamicModel());
+		counts.put(TestDataCarrier.ActionType.get_dynamic_matrix_model, matrix.getGetDynamicModel());
+		counts.put(TestDataCarrier.ActionType.matrix_close, matrix.getClose());
+		counts.put(TestDataCarrier.ActionType.matrix_lock, matrix.getLock());
+		counts.put(TestDataCarrier.ActionType.matrix_settle, matrix.getSettle());
+		// Actions added later go last, so they do not change the order of the existing actions:
+		counts.put(TestDataCarrier.ActionType.transfers_by_batch_id, settleTransfer.getGetByBatchId());
+		counts.put(TestDataCarrier.ActionType.matrix_recalculate, matrix.getRecalculate());
+		counts.put(TestDataCarrier.ActionType.matrix_dispute, matrix.getDispute());
+		counts.put(TestDataCarrier.ActionType.matrix_unlock, matrix.getUnlock());
+
+		List<String> settlementModels = settleTransfer.getSettlementModels();
+		for (int index = 0; index < settleTransfer.getCount(); index++) {
+			String settlementModel = settlementModels.get(randomNumberBetween(0, settlementModels.size() - 1));
+			carriers.add(new TestDataCarrier(
+					TestDataCarrier.ActionType.transfer, randomTransfer(settleTransfer, settlementModel), 0L));
 
-		// Static - Remove Batch:
-		if (isApplicable(index, cntStaticRemove)) {
-			genRemoveBatchFromStaticMatrix(carriers);
+			for (Map.Entry<TestDataCarrier.ActionType, Integer> count : counts.entrySet()) {
+				if (isApplicable(index, count.getValue())) genAction(carriers, count.getKey(), settleTransfer, settlementModel);
+			}
 		}
+	}
 
-		// Static - Get:
-		if (isApplicable(index, cntGetStatic)) {
-			genGetStaticMatrix(carriers);
-		}
+	private static boolean isApplicable(int index, int count) {
+		if (count < 1) return false;
+		if (index < count) return false;
+		return ((index % count) == 0);
+	}
 
-		// Dynamic - Model:
-		if (isApplicable(index, cntDynamicModel)) {
-			genCreateDynamicMatrixModel(carriers, settlementModel);
+	/**
+	 * Draws the next action from the transitions of {@code previous}, falling back to the
+	 * weights for the probability not covered by the transitions.
+	 */
+	private static TestDataCarrier.ActionType nextAction(
+			TestPlanConfig.Scenario scenario,
+			TestDataCarrier.ActionType previous
+	) {
+		Map<TestDataCarrier.ActionType, Double> transitions = previous == null ? null : scenario.getTransitions().get(previous);
+		if (transitions != null) {
+			TestDataCarrier.ActionType next = draw(transitions, 1d, false);
+			if (next != null) return next;
 		}
 
-		// Dynamic - Get by Model:
-		if (isApplicable(index, cntGetDynamicModel)) {
-			genGetDynamicMatrixModel(carriers, settlementModel);
-		}
+		double totalWeight = 0d;
+		for (double weight : scenario.getWeights().values()) totalWeight += weight;
+		return draw(scenario.getWeights(), totalWeight, true);
+	}
 
-		// Settlement Matrix - Close:
-		if (isApplicable(index, cntStlClose)) {
-			genSettlementMatrixAction(carriers, TestDataCarrier.ActionType.matrix_close);
+	/**
+	 * Draws an action with probability {@code value / total}. When {@code exhaustive} the values
+	 * add up to {@code total} and the last action is returned for rounding errors, otherwise
+	 * {@code null} is returned for the remainder of the probability.
+	 */
+	private static TestDataCarrier.ActionType draw(
+			Map<TestDataCarrier.ActionType, Double> probabilities,
+			double total,
+			boolean exhaustive
+	) {
+		double random = ThreadLocalRandom.current().nextDouble() * total, cumulative = 0d;
+		TestDataCarrier.ActionType last = null;
+		for (Map.Entry<TestDataCarrier.ActionType, Double> entry : probabilities.entrySet()) {
+			if (entry.getValue() <= 0d) continue;
+
+			last = entry.getKey();
+			cumulative += entry.getValue();
+			if (random < cumulative) return last;
 		}
+		return exhaustive ? last : null;
+	}
 
-		// Settlement Matrix - Lock:
-		if (isApplicable(index, cntStlLock)) {
-			genSettlementMatrixAction(carriers, TestDataCarrier.ActionType.matrix_lock);
+	private static void genAction(
+			List<TestDataCarrier> carriers,
+			TestDataCarrier.ActionType actionType,
+			TestPlanConfig.SettlementTransfer settleTransfer,
+			String settlementModel
+	) {
+		switch (actionType) {
+			case transfers_by_matrix_id:
+				genTxnByMatrix(carriers);
+			break;
+			case transfers_by_batch_id:
+				genTxnByBatch(carriers, settleTransfer);
+			break;
+			case get_batches_by_model:
+				genBatchByModel(carriers, settlementModel);
+			break;
+			case create_static_matrix:
+				genCreateStaticMatrix(carriers);
+			break;
+			case add_batch_to_static_matrix:
+				genAddBatchToStaticMatrix(carriers);
+			break;
+			case remove_batch_from_static_matrix:
+				genRemoveBatchFromStaticMatrix(carriers);
+			break;
+			case get_static_matrix:
+				genGetStaticMatrix(carriers);
+			break;
+			case create_dynamic_matrix_model:
+				genCreateDynamicMatrixModel(carriers, settlementModel);
+			break;
+			case get_dynamic_matrix_model:
+				genGetDynamicMatrixModel(carriers, settlementModel);
+			break;
+			case matrix_recalculate:
+			case matrix_close:
+			case matrix_dispute:
+			case matrix_lock:
+			case matrix_unlock:
+			case matrix_settle:
+				genSettlementMatrixAction(carriers, actionType);
+			break;
+			default:
+				throw new IllegalStateException(String.format("Action '%s' can not be generated!", actionType));
 		}
+	}
 
-		// Settlement Matrix - Settle:
-		if (isApplicable(index, cntStlSettle)) {
-			genSettlementMatrixAction(carriers, TestDataCarrier.ActionType.matrix_settle);
-		}
+	/**
+	 * Creates a transfer with a random amount, currency, payer and payee from {@code settleTransfer}.
+	 *
+	 * @param settleTransfer The transfer plan configuration.
+	 * @param settlementModel The settlement model for the transfer.
+	 * @return New transfer request.
+	 */
+	public static TransferReq randomTransfer(
+			TestPlanConfig.SettlementTransfer settleTransfer,
+			String settlementModel
+	) {
+		int currencyIndex = randomNumberBetween(0, settleTransfer.getCurrencies().size() - 1);
+		String currency = settleTransfer.getCurrencies().get(currencyIndex);
+		int amount = randomNumberBetween(
+				settleTransfer.getAmountMin(),
+				settleTransfer.getAmountMax()
+		);
+
+		int payerIndex = randomNumberBetween(0, settleTransfer.getParticipants().size() - 1);
+		int payeeIndex;
+		do {
+			payeeIndex = randomNumberBetween(0, settleTransfer.getParticipants().size() - 1);
+		} while (payerIndex == payeeIndex);
+		String payee = settleTransfer.getParticipants().get(payeeIndex);
+		String payer = settleTransfer.getParticipants().get(payerIndex);
+
+		return new TransferReq(
+				uuidNoDash(),
+				payer,
+				payee,
+				currency,
+				Integer.toString(amount),
+				new Date(),
+				settlementModel
+		);
 	}
 
 	private static void genTxnByMatrix(List<TestDataCarrier> carriers) {
-		TestDataCarrier toAdd = new TestDataCarrier(new JSONObject());
-		toAdd.setActionType(TestDataCarrier.ActionType.transfers_by_matrix_id);
 		TransferReq settleTransferToAdd = new TransferReq(new JSONObject());
-		toAdd.setRequest(settleTransferToAdd);
-		carriers.add(toAdd);
+		carriers.add(new TestDataCarrier(TestDataCarrier.ActionType.transfers_by_matrix_id, settleTransferToAdd, 0L));
+	}
+
+	private static void genTxnByBatch(List<TestDataCarrier> carriers, TestPlanConfig.SettlementTransfer settleTransfer) {
+		TransfersByBatchIdReq txnByBatchToAdd = new TransfersByBatchIdReq(new JSONObject());
+		txnByBatchToAdd.setPageSize(settleTransfer.getGetByBatchIdPageSize());
+		txnByBatchToAdd.setAllPages(settleTransfer.isGetByBatchIdAllPages());
+		carriers.add(new TestDataCarrier(TestDataCarrier.ActionType.transfers_by_batch_id, txnByBatchToAdd, 0L));
 	}
 
 	private static void genBatchByModel(List<TestDataCarrier> carriers, String model) {
-		TestDataCarrier toAdd = new TestDataCarrier(new JSONObject());
-		toAdd.setActionType(TestDataCarrier.ActionType.get_batches_by_model);
 		SettlementBatch batchToAdd = new SettlementBatch(new JSONObject());
 		batchToAdd.setSettlementModel(model);
-		toAdd.setRequest(batchToAdd);
-		carriers.add(toAdd);
+		carriers.add(new TestDataCarrier(TestDataCarrier.ActionType.get_batches_by_model, batchToAdd, 0L));
 	}
 
 	private static void genCreateStaticMatrix(List<TestDataCarrier> carriers) {
-		TestDataCarrier toAdd = new TestDataCarrier(new JSONObject());
-		toAdd.setActionType(TestDataCarrier.ActionType.create_static_matrix);
 		SettlementMatrix matrixToAdd = new SettlementMatrix(new JSONObject());
 		matrixToAdd.setType(SettlementMatrix.Type.STATIC);
-		toAdd.setRequest(matrixToAdd);
-		carriers.add(toAdd);
+		carriers.add(new TestDataCarrier(TestDataCarrier.ActionType.create_static_matrix, matrixToAdd, 0L));
 	}
 
 	private static void genGetStaticMatrix(List<TestDataCarrier> carriers) {
-		TestDataCarrier toAdd = new TestDataCarrier(new JSONObject());
-		toAdd.setActionType(TestDataCarrier.ActionType.get_static_matrix);
 		SettlementMatrix matrixToAdd = new SettlementMatrix(new JSONObject());
-		toAdd.setRequest(matrixToAdd);
-		carriers.add(toAdd);
+		carriers.add(new TestDataCarrier(TestDataCarrier.ActionType.get_static_matrix, matrixToAdd, 0L));
 	}
 
 	private static void genCreateDynamicMatrixModel(List<TestDataCarrier> carriers, String model) {
-		TestDataCarrier toAdd = new TestDataCarrier(new JSONObject());
-		toAdd.setActionType(TestDataCarrier.ActionType.create_dynamic_matrix_model);
 		SettlementMatrix matrixToAdd = new SettlementMatrix(new JSONObject());
 		matrixToAdd.setType(SettlementMatrix.Type.DYNAMIC);
 		matrixToAdd.setSettlementModel(model);
-		toAdd.setRequest(matrixToAdd);
-		carriers.add(toAdd);
+		carriers.add(new TestDataCarrier(TestDataCarrier.ActionType.create_dynamic_matrix_model, matrixToAdd, 0L));
 	}
 
 	private static void genGetDynamicMatrixModel(List<TestDataCarrier> carriers, String model) {
-		TestDataCarrier toAdd = new TestDataCarrier(new JSONObject());
-		toAdd.setActionType(TestDataCarrier.ActionType.get_dynamic_matrix_model);
 		SettlementMatrix matrixToAdd = new SettlementMatrix(new JSONObject());
 		matrixToAdd.setType(SettlementMatrix.Type.DYNAMIC);
 		matrixToAdd.setSettlementModel(model);
-		toAdd.setRequest(matrixToAdd);
-		carriers.add(toAdd);
+		carriers.add(new TestDataCarrier(TestDataCarrier.ActionType.get_dynamic_matrix_model, matrixToAdd, 0L));
 	}
 
 	private static void genSettlementMatrixAction(
 			List<TestDataCarrier> carriers,
 			TestDataCarrier.ActionType actType
 	) {
-		TestDataCarrier toAdd = new TestDataCarrier(new JSONObject());
-		toAdd.setActionType(actType);
 		SettlementMatrix matrixToAdd = new SettlementMatrix(new JSONObject());
-		toAdd.setRequest(matrixToAdd);
-		carriers.add(toAdd);
+		carriers.add(new TestDataCarrier(actType, matrixToAdd, 0L));
 	}
 
 	private static void genAddBatchToStaticMatrix(List<TestDataCarrier> carriers) {
-		TestDataCarrier toAdd = new TestDataCarrier(new JSONObject());
-		toAdd.setActionType(TestDataCarrier.ActionType.add_batch_to_static_matrix);
 		SettlementBatch batchToAdd = new SettlementBatch(new JSONObject());
-		toAdd.setRequest(batchToAdd);
-		carriers.add(toAdd);
+		carriers.add(new TestDataCarrier(TestDataCarrier.ActionType.add_batch_to_static_matrix, batchToAdd, 0L));
 	}
 
 	private static void genRemoveBatchFromStaticMatrix(List<TestDataCarrier> carriers) {
-		TestDataCarrier toAdd = new TestDataCarrier(new JSONObject());
-		toAdd.setActionType(TestDataCarrier.ActionType.remove_batch_from_static_matrix);
 		SettlementBatch batchToAdd = new SettlementBatch(new JSONObject());
-		toAdd.setRequest(batchToAdd);
-		carriers.add(toAdd);
-	}
-
-	private static boolean isApplicable(int index, int count) {
-		if (count < 1) return false;
-		if (index < count) return false;
-		return ((index % count) == 0);
+		carriers.add(new TestDataCarrier(TestDataCarrier.ActionType.remove_batch_from_static_matrix, batchToAdd, 0L));
 	}
 
 	private static int calculatePercentage(double amount, double fee) {
@@ -0,0 +1,30 @@
+package io.mojaloop.settlement.jmeter.plugin.util.id;
+
+import java.util.UUID;
+
+/**
+ * Creates the ids sent per sample, the {@code transferId} of a transfer and the {@code X-Correlation-ID} of a request.
+ *
+ * Implementations are shared between threads.
+ *
+ * @see IdGenerators
+ */
+public interface IdGenerator {
+
+	/**
+	 * @return The name used to select the generator.
+	 */
+	String getName();
+
+	/**
+	 * @return A new id.
+	 */
+	UUID next();
+
+	/**
+	 * @return A new id in the canonical {@code 8-4-4-4-12} form.
+	 */
+	default String nextId() {
+		return this.next().toString();
+	}
+}
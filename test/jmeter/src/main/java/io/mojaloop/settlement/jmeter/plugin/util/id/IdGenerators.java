@@ -0,0 +1,44 @@
+package io.mojaloop.settlement.jmeter.plugin.util.id;
+
+/**
+ * The process-wide {@code IdGenerator} for transfer and correlation ids.
+ *
+ * Defaults to {@link SecureRandomIdGenerator}, selected with the {@code idGenerator} argument.
+ */
+public final class IdGenerators {
+	private static volatile IdGenerator current = SecureRandomIdGenerator.INSTANCE;
+
+	private IdGenerators() {
+		super();
+	}
+
+	public static IdGenerator current() {
+		return current;
+	}
+
+	/**
+	 * @param name {@code secure}, {@code threadLocal} or {@code timeOrdered}.
+	 * @return The generator.
+	 * @throws IllegalArgumentException When there is no generator named {@code name}.
+	 */
+	public static IdGenerator forName(String name) {
+		String trimmed = name == null ? "" : name.trim();
+		if (trimmed.isEmpty() || SecureRandomIdGenerator.NAME.equalsIgnoreCase(trimmed)) return SecureRandomIdGenerator.INSTANCE;
+		if (ThreadLocalRandomIdGenerator.NAME.equalsIgnoreCase(trimmed)) return ThreadLocalRandomIdGenerator.INSTANCE;
+		if (TimeOrderedIdGenerator.NAME.equalsIgnoreCase(trimmed)) return TimeOrderedIdGenerator.INSTANCE;
+
+		throw new IllegalArgumentException(String.format("Id generator '%s' not supported, use '%s', '%s' or '%s'.",
+				name, SecureRandomIdGenerator.NAME, ThreadLocalRandomIdGenerator.NAME, TimeOrderedIdGenerator.NAME));
+	}
+
+	/**
+	 * Selects the generator for all subsequent samples.
+	 *
+	 * @param name See {@link #forName(String)}, empty for the default.
+	 * @return The generator now in use.
+	 */
+	public static IdGenerator use(String name) {
+		current = forName(name);
+		return current;
+	}
+}
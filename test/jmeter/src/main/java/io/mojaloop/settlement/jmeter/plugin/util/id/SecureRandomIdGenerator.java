@@ -0,0 +1,27 @@
+package io.mojaloop.settlement.jmeter.plugin.util.id;
+
+import java.util.UUID;
+
+/**
+ * Random (version 4) ids from {@link UUID#randomUUID()}.
+ *
+ * All threads share the one {@code SecureRandom} of {@code UUID}, which serialises the threads under load.
+ */
+public final class SecureRandomIdGenerator implements IdGenerator {
+	public static final String NAME = "secure";
+	public static final SecureRandomIdGenerator INSTANCE = new SecureRandomIdGenerator();
+
+	private SecureRandomIdGenerator() {
+		super();
+	}
+
+	@Override
+	public String getName() {
+		return NAME;
+	}
+
+	@Override
+	public UUID next() {
+		return UUID.randomUUID();
+	}
+}
@@ -0,0 +1,31 @@
+package io.mojaloop.settlement.jmeter.plugin.util.id;
+
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Random (version 4) ids from the {@link ThreadLocalRandom} of the calling thread.
+ *
+ * The ids are unique for a load run, not unpredictable, and are created without contention between threads.
+ */
+public final class ThreadLocalRandomIdGenerator implements IdGenerator {
+	public static final String NAME = "threadLocal";
+	public static final ThreadLocalRandomIdGenerator INSTANCE = new ThreadLocalRandomIdGenerator();
+
+	private ThreadLocalRandomIdGenerator() {
+		super();
+	}
+
+	@Override
+	public String getName() {
+		return NAME;
+	}
+
+	@Override
+	public UUID next() {
+		ThreadLocalRandom random = ThreadLocalRandom.current();
+		long msb = (random.nextLong() & 0xffffffffffff0fffL) | 0x0000000000004000L;
+		long lsb = (random.nextLong() & 0x3fffffffffffffffL) | 0x8000000000000000L;
+		return new UUID(msb, lsb);
+	}
+}
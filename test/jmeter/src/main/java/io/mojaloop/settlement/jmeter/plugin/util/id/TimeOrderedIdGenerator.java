@@ -0,0 +1,41 @@
+package io.mojaloop.settlement.jmeter.plugin.util.id;
+
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Time ordered ids in the UUID version 7 layout: a 48 bit epoch millisecond timestamp,
+ * followed by random bits from the {@link ThreadLocalRandom} of the calling thread.
+ *
+ * Ids created in a later millisecond sort after the earlier ones, also as strings, so inserts
+ * append to the right edge of a {@code transferId} index instead of landing on random pages.
+ */
+public final class TimeOrderedIdGenerator implements IdGenerator {
+	public static final String NAME = "timeOrdered";
+	public static final TimeOrderedIdGenerator INSTANCE = new TimeOrderedIdGenerator();
+
+	private TimeOrderedIdGenerator() {
+		super();
+	}
+
+	@Override
+	public String getName() {
+		return NAME;
+	}
+
+	@Override
+	public UUID next() {
+		return this.next(System.currentTimeMillis());
+	}
+
+	/**
+	 * @param epochMillis The creation time, e.g. to model ids created at a given rate.
+	 * @return A new id for {@code epochMillis}.
+	 */
+	public UUID next(long epochMillis) {
+		ThreadLocalRandom random = ThreadLocalRandom.current();
+		long msb = (epochMillis << 16) | 0x7000L | (random.nextInt() & 0x0fffL);
+		long lsb = (random.nextLong() & 0x3fffffffffffffffL) | 0x8000000000000000L;
+		return new UUID(msb, lsb);
+	}
+}
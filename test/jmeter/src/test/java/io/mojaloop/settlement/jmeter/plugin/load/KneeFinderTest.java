@@ -0,0 +1,149 @@
+package io.mojaloop.settlement.jmeter.plugin.load;
+
+import io.mojaloop.settlement.jmeter.plugin.rest.client.json.testdata.TestDataCarrier;
+import org.junit.Test;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.DoubleUnaryOperator;
+
+import static org.junit.Assert.*;
+
+public class KneeFinderTest {
+	/**
+	 * Driver without workers, every window has {@code 100 * level} samples at the scripted latency.
+	 */
+	private static class ScriptedDriver extends LoadDriver {
+		private final DoubleUnaryOperator latencyMs;
+		private final DoubleUnaryOperator errorRate;
+		private final List<Double> levels = new ArrayList<>();
+		private final List<Integer> maxWorkers = new ArrayList<>();
+		private double level;
+		private boolean stopped;
+
+		ScriptedDriver(DoubleUnaryOperator latencyMs, DoubleUnaryOperator errorRate) {
+			super(LoggerFactory.getLogger(KneeFinderTest.class),
+					Collections.singletonList(new TestDataCarrier("{}")), null, null);
+			this.latencyMs = latencyMs;
+			this.errorRate = errorRate;
+		}
+
+		@Override
+		public synchronized void setConcurrency(int concurrency) {
+			this.level = concurrency;
+			this.levels.add(this.level);
+		}
+
+		@Override
+		public synchronized void setRate(double ratePerSec, int maxWorkers) {
+			this.level = ratePerSec;
+			this.levels.add(this.level);
+			this.maxWorkers.add(maxWorkers);
+		}
+
+		@Override
+		public void resetPacing() {
+		}
+
+		@Override
+		public synchronized Window snapshot() {
+			Window returnVal = new Window(TimeUnit.SECONDS.toNanos(1));
+			int samples = (int) (100 * this.level);
+			int errors = (int) Math.round(samples * this.errorRate.applyAsDouble(this.level));
+			long latencyNanos = TimeUnit.MICROSECONDS.toNanos((long) (this.latencyMs.applyAsDouble(this.level) * 1000));
+			for (int index = 0; index < samples; index++) returnVal.record(latencyNanos, index >= errors);
+			return returnVal;
+		}
+
+		@Override
+		public void stop() {
+			this.stopped = true;
+		}
+	}
+
+	private static KneeFinder.Config config(String... args) {
+		// Windows of 0s, so the search does not sleep:
+		List<String> all = new ArrayList<>();
+		Collections.addAll(all, "windowSecs=0", "maxHoldSecs=0", "p99Ms=500", "maxErrorRate=0.01");
+		Collections.addAll(all, args);
+		return KneeFinder.Config.parse(all.toArray(new String[0]), 0);
+	}
+
+	@Test
+	public void kneeIsHighestThroughputBeforeLatencyBreach() throws InterruptedException {
+		ScriptedDriver driver = new ScriptedDriver(level -> level < 12 ? level * 2.5 : 600, level -> 0);
+		KneeFinder finder = new KneeFinder(LoggerFactory.getLogger(KneeFinderTest.class), driver,
+				config("start=4", "step=4", "max=32"));
+
+		KneeFinder.Step knee = finder.search();
+
+		assertNotNull(knee);
+		assertEquals(8d, knee.getLevel(), 0d);
+		assertEquals(800d, knee.getWindow().getThroughput(), 0.001);
+		assertTrue(knee.isStable());
+		assertEquals(3, finder.getCurve().size());
+		assertFalse(finder.getCurve().get(2).isWithinLimits());
+		assertEquals(Arrays.asList(4d, 8d, 12d), driver.levels);
+		assertTrue(driver.stopped);
+	}
+
+	@Test
+	public void errorRateBreachStopsSearch() throws InterruptedException {
+		ScriptedDriver driver = new ScriptedDriver(level -> 10, level -> level >= 8 ? 0.05 : 0);
+		KneeFinder finder = new KneeFinder(LoggerFactory.getLogger(KneeFinderTest.class), driver,
+				config("start=4", "step=4", "max=32"));
+
+		KneeFinder.Step knee = finder.search();
+
+		assertEquals(4d, knee.getLevel(), 0d);
+		assertEquals(2, finder.getCurve().size());
+		assertEquals(0.05, finder.getCurve().get(1).getWindow().getErrorRate(), 0.001);
+		assertFalse(finder.getCurve().get(1).isWithinLimits());
+	}
+
+	@Test
+	public void noStepWithinLimits() throws InterruptedException {
+		ScriptedDriver driver = new ScriptedDriver(level -> 1_000, level -> 0);
+		KneeFinder finder = new KneeFinder(LoggerFactory.getLogger(KneeFinderTest.class), driver, config("start=4"));
+
+		assertNull(finder.search());
+		assertEquals(1, finder.getCurve().size());
+		assertTrue(driver.stopped);
+	}
+
+	@Test
+	public void rateModeGrowsGeometrically() throws InterruptedException {
+		ScriptedDriver driver = new ScriptedDriver(level -> 10, level -> 0);
+		KneeFinder finder = new KneeFinder(LoggerFactory.getLogger(KneeFinderTest.class), driver,
+				config("mode=rate", "start=10", "growth=2", "max=80", "threads=16"));
+
+		KneeFinder.Step knee = finder.search();
+
+		assertEquals(Arrays.asList(10d, 20d, 40d, 80d), driver.levels);
+		assertEquals(Collections.nCopies(4, 16), driver.maxWorkers);
+		assertEquals(80d, knee.getLevel(), 0d);
+	}
+
+	@Test
+	public void parseConfig() {
+		KneeFinder.Config config = KneeFinder.Config.parse(
+				new String[] {"ignored", "mode=RATE", "start=2", "step=3", "p99Ms=250", "out=curve.csv"}, 1);
+
+		assertEquals(KneeFinder.Mode.rate, config.getMode());
+		assertEquals(2d, config.getStart(), 0d);
+		assertEquals(5d, config.next(2), 0d);
+		assertEquals(250d, config.getP99Ms(), 0d);
+		assertEquals("curve.csv", config.getOut());
+		assertEquals(256, config.getMaxConcurrency());
+		assertEquals(301, KneeFinder.Config.parse(new String[] {"max=300.5"}, 0).getMaxConcurrency());
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void parseConfigRejectsUnknownKey() {
+		KneeFinder.Config.parse(new String[] {"p95Ms=100"}, 0);
+	}
+}
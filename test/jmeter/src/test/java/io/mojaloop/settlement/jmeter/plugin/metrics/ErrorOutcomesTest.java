@@ -0,0 +1,128 @@
+package io.mojaloop.settlement.jmeter.plugin.metrics;
+
+import io.mojaloop.settlement.jmeter.plugin.exception.FailedResponseCodeException;
+import io.mojaloop.settlement.jmeter.plugin.rest.client.RESTClientException;
+import io.mojaloop.settlement.jmeter.plugin.rest.client.json.Error;
+import io.mojaloop.settlement.jmeter.plugin.rest.client.json.testdata.TestDataCarrier;
+import org.json.JSONObject;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.net.ConnectException;
+import java.util.Map;
+
+import static org.junit.Assert.*;
+
+public class ErrorOutcomesTest {
+	private static final TestDataCarrier.ActionType ACTION = TestDataCarrier.ActionType.matrix_close;
+
+	@Before
+	@After
+	public void reset() {
+		ErrorOutcomes.reset();
+	}
+
+	private static ErrorOutcomes.OutcomeKey single() {
+		Map<ErrorOutcomes.OutcomeKey, Long> outcomes = ErrorOutcomes.outcomes();
+		assertEquals(1, outcomes.size());
+		return outcomes.keySet().iterator().next();
+	}
+
+	@Test
+	public void classNameInMessage() {
+		assertEquals("CannotCloseSettlementMatrixError",
+				ErrorOutcomes.errorClassOf("{\"message\":\"CannotCloseSettlementMatrixError: matrix 42 is BUSY\"}"));
+		assertEquals("IllegalStateException", ErrorOutcomes.errorClassOf("java.lang.IllegalStateException: failed"));
+	}
+
+	@Test
+	public void errorInformationDescription() {
+		JSONObject body = new JSONObject().put(Error.JSONMapping.ERROR_INFO,
+				new JSONObject().put(Error.JSONMapping.ERROR_DESC, "Matrix 7 not found"));
+
+		assertEquals("Matrix # not found", ErrorOutcomes.errorClassOf(body.toString()));
+	}
+
+	@Test
+	public void messageIsMasked() {
+		assertEquals("Batch # of matrix # failed after #ms",
+				ErrorOutcomes.errorClassOf("Batch  3f2c1a9e-1b2c-4d5e-8f90-123456789abc of matrix 12 failed\nafter 250ms"));
+		assertEquals(ErrorOutcomes.MAX_ERROR_CLASS_LENGTH, ErrorOutcomes.errorClassOf(new String(new char[200]).replace('\0', 'x')).length());
+		// Whitespace is kept, as seeding failures are counted by the masked message as is:
+		assertEquals("Model # of  #", ErrorOutcomes.maskVariables("Model 3F2C1A9E-1B2C-4D5E-8F90-123456789ABC of  7"));
+	}
+
+	@Test
+	public void emptyAndInvalidJson() {
+		assertEquals(ErrorOutcomes.CLASS_EMPTY, ErrorOutcomes.errorClassOf(null));
+		assertEquals(ErrorOutcomes.CLASS_EMPTY, ErrorOutcomes.errorClassOf("  "));
+		assertEquals("{not json", ErrorOutcomes.errorClassOf("{not json"));
+	}
+
+	@Test
+	public void serverErrorKeepsStatusAndBodyClass() {
+		ErrorOutcomes.record(ACTION, new RESTClientException("Unexpected response status: 422",
+				RESTClientException.ErrorCode.IO_ERROR, 422, "{\"message\":\"InvalidBatchSettlementModelError\"}"));
+
+		ErrorOutcomes.OutcomeKey key = single();
+		assertEquals(ACTION, key.getActionType());
+		assertEquals("IO_ERROR", key.getErrorCode());
+		assertEquals(422, key.getHttpStatus());
+		assertEquals("InvalidBatchSettlementModelError", key.getErrorClass());
+	}
+
+	@Test
+	public void failedResponseIsHttpOk() {
+		ErrorOutcomes.record(ACTION, new FailedResponseCodeException("401", new JSONObject().put("error", "Unauthorized")));
+
+		ErrorOutcomes.OutcomeKey key = single();
+		assertEquals(HarnessMetrics.ERROR_FAILED_RESPONSE, key.getErrorCode());
+		assertEquals(200, key.getHttpStatus());
+		assertEquals("Unauthorized", key.getErrorClass());
+	}
+
+	@Test
+	public void clientErrorIsClassedByRootCause() {
+		RESTClientException error = new RESTClientException("Unable to reach server",
+				new IOException("I/O", new ConnectException("Connection refused")), RESTClientException.ErrorCode.IO_ERROR);
+		ErrorOutcomes.record(ACTION, error);
+		ErrorOutcomes.record(ACTION, error);
+
+		ErrorOutcomes.OutcomeKey key = single();
+		assertEquals(0, key.getHttpStatus());
+		assertEquals("ConnectException", key.getErrorClass());
+		assertEquals(Long.valueOf(2L), ErrorOutcomes.outcomes().get(key));
+	}
+
+	@Test
+	public void distinctClassesAreCapped() {
+		for (int index = 0; index < ErrorOutcomes.MAX_ERROR_CLASSES; index++) {
+			String errorClass = String.format("Matrix%c%cError", 'A' + index / 26, 'A' + index % 26);
+			assertEquals(errorClass, ErrorOutcomes.errorClassOf(errorClass));
+		}
+
+		assertEquals(ErrorOutcomes.CLASS_OTHER, ErrorOutcomes.errorClassOf("one more"));
+		// Known classes are still counted as themselves:
+		assertEquals("MatrixAAError", ErrorOutcomes.errorClassOf("MatrixAAError"));
+	}
+
+	@Test
+	public void reportMostFrequentFirst() {
+		ErrorOutcomes.record(TestDataCarrier.ActionType.matrix_lock, new IllegalStateException("No matrix"));
+		for (int index = 0; index < 3; index++) {
+			ErrorOutcomes.record(ACTION, new RESTClientException("busy", RESTClientException.ErrorCode.IO_ERROR, 409, "Busy"));
+		}
+
+		String[] lines = ErrorOutcomes.report().split("\\R");
+		assertEquals(3, lines.length);
+		assertTrue(lines[1], lines[1].contains(ACTION.name()) && lines[1].contains("409") && lines[1].contains(" 3  Busy"));
+		assertTrue(lines[2], lines[2].contains("matrix_lock") && lines[2].contains(" - ") && lines[2].endsWith("IllegalStateException"));
+	}
+
+	@Test
+	public void reportWithoutErrors() {
+		assertTrue(ErrorOutcomes.report().endsWith(" none"));
+	}
+}
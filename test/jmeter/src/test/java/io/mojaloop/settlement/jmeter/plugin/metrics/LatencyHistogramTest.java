@@ -0,0 +1,104 @@
+package io.mojaloop.settlement.jmeter.plugin.metrics;
+
+import org.junit.Test;
+
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class LatencyHistogramTest {
+	private static LatencyHistogram record(long... micros) {
+		LatencyHistogram returnVal = new LatencyHistogram();
+		for (long value : micros) returnVal.recordMicros(value);
+		return returnVal;
+	}
+
+	@Test
+	public void smallValuesAreExact() {
+		for (long micros = 0; micros < 128; micros++) {
+			int index = LatencyHistogram.bucketIndex(micros);
+			assertEquals(micros, LatencyHistogram.bucketLowerMicros(index));
+			assertEquals(micros, LatencyHistogram.bucketUpperMicros(index));
+		}
+	}
+
+	@Test
+	public void bucketsAreContiguousAndWithinErrorBound() {
+		long previousUpper = -1L;
+		for (int index = 0; LatencyHistogram.bucketUpperMicros(index) < LatencyHistogram.MAX_TRACKABLE_MICROS; index++) {
+			long lower = LatencyHistogram.bucketLowerMicros(index), upper = LatencyHistogram.bucketUpperMicros(index);
+			assertEquals(previousUpper + 1, lower);
+			assertEquals(index, LatencyHistogram.bucketIndex(lower));
+			assertEquals(index, LatencyHistogram.bucketIndex(upper));
+			assertTrue(String.format("Bucket %d [%d, %d]", index, lower, upper), (upper - lower) <= lower / 64.0);
+			previousUpper = upper;
+		}
+	}
+
+	@Test
+	public void percentileIsUpperBoundCappedAtMax() {
+		LatencyHistogram histogram = record(100, 200, 300, 10_000);
+
+		assertEquals(100L, histogram.getPercentileMicros(25));
+		assertEquals(LatencyHistogram.bucketUpperMicros(LatencyHistogram.bucketIndex(300)), histogram.getPercentileMicros(75));
+		assertEquals(10_000L, histogram.getPercentileMicros(100));
+		assertEquals(100L, histogram.getMinMicros());
+		assertEquals(2650d, histogram.getMeanMicros(), 0d);
+	}
+
+	@Test
+	public void encodeDecodeRoundTrip() {
+		LatencyHistogram histogram = record(0, 5, 127, 128, 1_000, 65_000, 3_000_000);
+		LatencyHistogram decoded = LatencyHistogram.decode(histogram.encode());
+
+		assertEquals(histogram.encode(), decoded.encode());
+		assertEquals(histogram.getCount(), decoded.getCount());
+		assertEquals(histogram.getMinMicros(), decoded.getMinMicros());
+		assertEquals(histogram.getMaxMicros(), decoded.getMaxMicros());
+		assertEquals(histogram.getMeanMicros(), decoded.getMeanMicros(), 0d);
+		for (double percentile : new double[] {1, 50, 90, 99, 100}) {
+			assertEquals(histogram.getPercentileMicros(percentile), decoded.getPercentileMicros(percentile));
+		}
+	}
+
+	@Test
+	public void decodeEmpty() {
+		LatencyHistogram decoded = LatencyHistogram.decode(new LatencyHistogram().encode());
+
+		assertEquals(0L, decoded.getCount());
+		assertEquals(0L, decoded.getMinMicros());
+		// The min of an empty histogram must not win a merge:
+		assertEquals(42L, decoded.merge(record(42)).getMinMicros());
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void decodeInvalid() {
+		LatencyHistogram.decode("1;2;3");
+	}
+
+	@Test
+	public void mergeIsLosslessAndOrderIndependent() {
+		Random random = new Random(7L);
+		LatencyHistogram all = new LatencyHistogram(), first = new LatencyHistogram(), second = new LatencyHistogram();
+		for (int index = 0; index < 10_000; index++) {
+			long micros = (long) Math.abs(random.nextGaussian() * 50_000);
+			all.recordMicros(micros);
+			(index % 3 == 0 ? first : second).recordMicros(micros);
+		}
+
+		String firstThenSecond = first.copy().merge(second).encode();
+		String secondThenFirst = second.copy().merge(first).encode();
+		assertEquals(all.encode(), firstThenSecond);
+		assertEquals(firstThenSecond, secondThenFirst);
+		assertEquals(all.encode(), LatencyHistogram.decode(first.encode()).merge(LatencyHistogram.decode(second.encode())).encode());
+	}
+
+	@Test
+	public void countAbove() {
+		LatencyHistogram histogram = record(10, 20, 30, 5_000);
+
+		assertEquals(2L, histogram.getCountAbove(20));
+		assertEquals(0L, histogram.getCountAbove(5_000));
+	}
+}
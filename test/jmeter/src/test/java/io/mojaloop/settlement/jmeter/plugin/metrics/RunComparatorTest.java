@@ -0,0 +1,117 @@
+package io.mojaloop.settlement.jmeter.plugin.metrics;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class RunComparatorTest {
+	private static RunResult run(long durationMillis, String action, long success, long errors, long micros) {
+		LatencyHistogram histogram = new LatencyHistogram();
+		for (long index = 0; index < success + errors; index++) histogram.recordMicros(micros + index % 100);
+		RunResult returnVal = new RunResult(durationMillis);
+		returnVal.add(action, histogram, success, errors);
+		return returnVal;
+	}
+
+	private static RunComparator.Delta delta(RunComparator comparator, String metric) {
+		return comparator.getComparisons().get(0).getDeltas().stream()
+				.filter(itm -> itm.getMetric().equals(metric)).findFirst().orElseThrow(IllegalStateException::new);
+	}
+
+	@Test
+	public void normalCdf() {
+		assertEquals(0.5, RunComparator.normalCdf(0), 1e-7);
+		assertEquals(0.9750021, RunComparator.normalCdf(1.96), 1e-6);
+		assertEquals(0.0249979, RunComparator.normalCdf(-1.96), 1e-6);
+		assertEquals(0.9986501, RunComparator.normalCdf(3), 1e-6);
+	}
+
+	@Test
+	public void proportionIncrease() {
+		// 1% vs. 3% of 1000: z = 0.02 / sqrt(0.02 * 0.98 * 0.002) = 3.194
+		assertEquals(0.000701, RunComparator.proportionIncrease(10, 1000, 30, 1000), 1e-5);
+		assertEquals(0.999299, RunComparator.proportionIncrease(30, 1000, 10, 1000), 1e-5);
+		assertEquals(0.5, RunComparator.proportionIncrease(20, 1000, 20, 1000), 1e-7);
+		// Undefined when either run is empty or the pooled proportion is 0 or 1:
+		assertEquals(1d, RunComparator.proportionIncrease(0, 0, 5, 10), 0d);
+		assertEquals(1d, RunComparator.proportionIncrease(0, 10, 0, 10), 0d);
+		assertEquals(1d, RunComparator.proportionIncrease(10, 10, 10, 10), 0d);
+	}
+
+	@Test
+	public void rateDecrease() {
+		// 100/s vs. 80/s over 10s: z = -20 / sqrt(1000 / 100 + 800 / 100) = -4.714
+		assertEquals(1.2e-6, RunComparator.rateDecrease(1000, 10, 800, 10), 1e-6);
+		assertEquals(0.5, RunComparator.rateDecrease(1000, 10, 1000, 10), 1e-7);
+		assertTrue(RunComparator.rateDecrease(800, 10, 1000, 10) > 0.99);
+		assertEquals(1d, RunComparator.rateDecrease(1000, 0, 1000, 10), 0d);
+	}
+
+	@Test
+	public void sameRunIsNoRegression() {
+		RunComparator comparator = new RunComparator(new RunComparator.Config());
+
+		assertFalse(comparator.compare(run(10_000, "A", 1000, 5, 10_000), run(10_000, "A", 1000, 5, 10_000)));
+		assertEquals(RunComparator.VERDICT_OK, comparator.getComparisons().get(0).getVerdict());
+	}
+
+	@Test
+	public void slowerCandidateRegresses() {
+		RunComparator comparator = new RunComparator(new RunComparator.Config());
+
+		assertTrue(comparator.compare(run(10_000, "A", 1000, 0, 10_000), run(10_000, "A", 1000, 0, 20_000)));
+		assertTrue(delta(comparator, "p50").isRegression());
+		assertEquals(100d, delta(comparator, "p50").getChangePercent(), 2d);
+		assertFalse(delta(comparator, "throughput").isRegression());
+		assertEquals(RunComparator.VERDICT_REGRESSION, comparator.getComparisons().get(0).getVerdict());
+	}
+
+	@Test
+	public void changeBelowThresholdIsNoRegression() {
+		RunComparator comparator = new RunComparator(RunComparator.Config.parse(new String[] {"latency=200"}, 0));
+
+		assertFalse(comparator.compare(run(10_000, "A", 1000, 0, 10_000), run(10_000, "A", 1000, 0, 20_000)));
+		assertTrue(delta(comparator, "p50").getPValue() < 0.01);
+	}
+
+	@Test
+	public void throughputAndErrorRegression() {
+		RunComparator comparator = new RunComparator(new RunComparator.Config());
+
+		assertTrue(comparator.compare(run(10_000, "A", 1000, 0, 10_000), run(10_000, "A", 700, 50, 10_000)));
+		assertTrue(delta(comparator, "throughput").isRegression());
+		assertTrue(delta(comparator, "errors%").isRegression());
+	}
+
+	@Test
+	public void fewSamplesNeverRegress() {
+		RunComparator comparator = new RunComparator(new RunComparator.Config());
+
+		assertFalse(comparator.compare(run(10_000, "A", 50, 0, 10_000), run(10_000, "A", 50, 0, 50_000)));
+		assertEquals(RunComparator.VERDICT_INSUFFICIENT, comparator.getComparisons().get(0).getVerdict());
+	}
+
+	@Test
+	public void missingAction() {
+		RunComparator comparator = new RunComparator(new RunComparator.Config());
+
+		assertFalse(comparator.compare(run(10_000, "A", 1000, 0, 10_000), run(10_000, "B", 1000, 0, 10_000)));
+		assertEquals(2, comparator.getComparisons().size());
+		comparator.getComparisons().forEach(itm -> assertEquals(RunComparator.VERDICT_MISSING, itm.getVerdict()));
+	}
+
+	@Test
+	public void parsePercentileThresholds() {
+		RunComparator.Config config = RunComparator.Config.parse(new String[] {"percentiles=50,99", "p99.9=25", "p50=5"}, 0);
+
+		assertArrayEquals(new double[] {50, 99, 99.9}, config.getPercentiles(), 0d);
+		assertEquals(5d, config.latencyThreshold(50), 0d);
+		assertEquals(10d, config.latencyThreshold(99), 0d);
+		assertEquals(25d, config.latencyThreshold(99.9), 0d);
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void parseRejectsUnknownKey() {
+		RunComparator.Config.parse(new String[] {"latencyMs=5"}, 0);
+	}
+}
@@ -0,0 +1,105 @@
+package io.mojaloop.settlement.jmeter.plugin.metrics;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+
+import static org.junit.Assert.*;
+
+public class RunResultTest {
+	@Rule
+	public TemporaryFolder folder = new TemporaryFolder();
+
+	private File write(String... lines) throws IOException {
+		File returnVal = this.folder.newFile();
+		Files.write(returnVal.toPath(), String.join("\n", lines).getBytes(StandardCharsets.UTF_8));
+		return returnVal;
+	}
+
+	private static LatencyHistogram histogram(long... micros) {
+		LatencyHistogram returnVal = new LatencyHistogram();
+		for (long value : micros) returnVal.recordMicros(value);
+		return returnVal;
+	}
+
+	@Test
+	public void actionOfSamplerLabel() {
+		assertEquals("settlement_transfer", RunResult.actionOf("[http://localhost:3600]:[settlement_transfer]"));
+		assertEquals("settlement_transfer", RunResult.actionOf("[http://localhost:3600]:[settlement_transfer]:500"));
+		assertEquals("matrix_lock_completion", RunResult.actionOf("[http://localhost:3600]:[matrix_lock]:completion"));
+		assertEquals("custom label", RunResult.actionOf("custom label"));
+	}
+
+	@Test
+	public void readJMeterLog() throws IOException {
+		RunResult run = RunResult.read(this.write(
+				"timeStamp,elapsed,label,responseCode,success,bytes",
+				"1000,10,[http://localhost:3600]:[settlement_transfer],200,true,10",
+				"1500,20,[http://localhost:3600]:[settlement_transfer],200,true,10",
+				"\"2000\",30,\"[http://localhost:3600]:[settlement_transfer]:500\",500,false,10",
+				"2500,100,[http://localhost:3600]:[get_matrix],200,true,10",
+				"truncated,row"
+		));
+
+		assertEquals(2, run.getActions().size());
+		RunResult.ActionStats transfer = run.getActions().get("settlement_transfer");
+		assertEquals(2L, transfer.getSuccess());
+		assertEquals(1L, transfer.getErrors());
+		assertEquals(30_000L, transfer.getHistogram().getMaxMicros());
+		assertEquals(10_000L, transfer.getHistogram().getMinMicros());
+		// From the start of the first (990) to the end of the last sample (2500):
+		assertEquals(1510L, run.getDurationMillis());
+		assertEquals(3 * 1000d / 1510, run.getThroughput("settlement_transfer"), 1e-9);
+		assertEquals(0d, run.getThroughput("unknown"), 0d);
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void readJMeterLogWithoutRequiredFields() throws IOException {
+		RunResult.read(this.write("timeStamp,label,success", "1000,a,true"));
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void readUnknownFormat() throws IOException {
+		RunResult.read(this.write("a,b,c", "1,2,3"));
+	}
+
+	@Test
+	public void harnessFileRoundTrip() throws IOException {
+		RunResult run = new RunResult(60_000L);
+		run.add("a", histogram(100, 200, 300), 3, 0);
+		run.add("b", histogram(5_000), 0, 1);
+		File resultFile = this.folder.newFile();
+		run.write(resultFile);
+
+		RunResult read = RunResult.read(resultFile);
+
+		assertEquals(60_000L, read.getDurationMillis());
+		assertEquals(run.getActions().keySet(), read.getActions().keySet());
+		assertEquals(run.getActions().get("a").getHistogram().encode(), read.getActions().get("a").getHistogram().encode());
+		assertEquals(1L, read.getActions().get("b").getErrors());
+	}
+
+	@Test
+	public void jsonRoundTripAndMerge() {
+		RunResult first = new RunResult(10_000L);
+		first.add("a", histogram(100, 200), 2, 0);
+		RunResult second = RunResult.fromJsonObject(new RunResult(12_000L).toJsonObject());
+		second.add("a", histogram(300), 0, 1);
+		second.add("b", histogram(400), 1, 0);
+
+		RunResult merged = RunResult.fromJsonObject(first.toJsonObject()).merge(second);
+
+		assertEquals(12_000L, merged.getDurationMillis());
+		assertEquals(3L, merged.getActions().get("a").getCount());
+		assertEquals(1L, merged.getActions().get("a").getErrors());
+		assertEquals(histogram(100, 200, 300).encode(), merged.getActions().get("a").getHistogram().encode());
+		assertEquals(1L, merged.getActions().get("b").getCount());
+		// The added histogram is copied, not shared:
+		assertEquals(2L, first.getActions().get("a").getCount());
+	}
+}
@@ -0,0 +1,131 @@
+package io.mojaloop.settlement.jmeter.plugin.rest.client.json.codec;
+
+import io.mojaloop.settlement.jmeter.plugin.rest.client.json.batch.SettlementBatch;
+import io.mojaloop.settlement.jmeter.plugin.rest.client.json.matrix.SettlementMatrix;
+import org.json.JSONArray;
+import org.json.JSONObject;
+import org.junit.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.*;
+
+public class LazyJSONListTest {
+	private static final int BATCHES = 50;
+	private static final int THREADS = 8;
+
+	/**
+	 * Counts the elements created, slowly enough for concurrent readers to overlap the decode.
+	 */
+	private static JSONType<SettlementBatch> countingType(AtomicInteger created) {
+		return JSONType.of(jsonObject -> {
+			created.incrementAndGet();
+			Thread.yield();
+			return new SettlementBatch(jsonObject);
+		}, () -> {
+			created.incrementAndGet();
+			Thread.yield();
+			return new SettlementBatch();
+		});
+	}
+
+	private static JSONArray batches(int count) {
+		JSONArray returnVal = new JSONArray();
+		for (int index = 0; index < count; index++) {
+			returnVal.put(new JSONObject().put(SettlementBatch.JSONMapping.ID, "batch-" + index));
+		}
+		return returnVal;
+	}
+
+	private static void assertBatches(int count, List<SettlementBatch> decoded) {
+		assertEquals(count, decoded.size());
+		for (int index = 0; index < count; index++) assertEquals("batch-" + index, decoded.get(index).getId());
+	}
+
+	@Test
+	public void fromTreeDecodesOnFirstAccessOnly() {
+		AtomicInteger created = new AtomicInteger();
+		LazyJSONList<SettlementBatch> list = LazyJSONList.fromTree(batches(3), countingType(created));
+
+		assertFalse(list.isDecoded());
+		assertEquals(0, created.get());
+
+		List<SettlementBatch> decoded = list.get();
+		assertTrue(list.isDecoded());
+		assertBatches(3, decoded);
+		assertSame(decoded, list.get());
+		assertEquals(3, created.get());
+	}
+
+	@Test
+	public void fromBytesDecodesRangeOfSource() {
+		AtomicInteger created = new AtomicInteger();
+		String array = batches(2).toString();
+		byte[] source = ("{\"before\":1,\"batches\":" + array + ",\"after\":2}").getBytes(StandardCharsets.UTF_8);
+		int offset = ("{\"before\":1,\"batches\":").length();
+		LazyJSONList<SettlementBatch> list = LazyJSONList.fromBytes(source, offset, array.length(), countingType(created));
+
+		assertFalse(list.isDecoded());
+		assertBatches(2, list.get());
+		assertEquals(2, created.get());
+	}
+
+	@Test
+	public void nullIsEmptyAndDecoded() {
+		assertTrue(LazyJSONList.fromTree(null, SettlementBatch.JSON_TYPE).isDecoded());
+		assertTrue(LazyJSONList.fromTree(null, SettlementBatch.JSON_TYPE).get().isEmpty());
+		assertTrue(LazyJSONList.of(null).get().isEmpty());
+	}
+
+	@Test
+	public void concurrentAccessDecodesOnce() throws Exception {
+		ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+		try {
+			for (int round = 0; round < 20; round++) {
+				AtomicInteger created = new AtomicInteger();
+				boolean streamed = round % 2 == 0;
+				String array = batches(BATCHES).toString();
+				LazyJSONList<SettlementBatch> list = streamed ?
+						LazyJSONList.fromBytes(array.getBytes(StandardCharsets.UTF_8), 0, array.length(), countingType(created)) :
+						LazyJSONList.fromTree(batches(BATCHES), countingType(created));
+
+				CyclicBarrier start = new CyclicBarrier(THREADS);
+				List<Future<List<SettlementBatch>>> results = new ArrayList<>();
+				for (int thread = 0; thread < THREADS; thread++) {
+					results.add(executor.submit(() -> {
+						start.await();
+						return list.get();
+					}));
+				}
+
+				List<SettlementBatch> first = results.get(0).get(10, TimeUnit.SECONDS);
+				for (Future<List<SettlementBatch>> result : results) assertSame(first, result.get(10, TimeUnit.SECONDS));
+				assertBatches(BATCHES, first);
+				assertEquals(String.format("Round %d (streamed %s)", round, streamed), BATCHES, created.get());
+			}
+		} finally {
+			executor.shutdownNow();
+		}
+	}
+
+	@Test
+	public void streamedMatrixDecodesBatchesOnAccess() {
+		byte[] json = new JSONObject()
+				.put(SettlementMatrix.JSONMapping.ID, "matrix-1")
+				.put(SettlementMatrix.JSONMapping.BATCHES, batches(2))
+				.toString().getBytes(StandardCharsets.UTF_8);
+
+		SettlementMatrix matrix = StreamingJSONCodec.INSTANCE.decode(json, SettlementMatrix.JSON_TYPE);
+
+		assertEquals("matrix-1", matrix.getId());
+		assertBatches(2, matrix.getBatches());
+	}
+}
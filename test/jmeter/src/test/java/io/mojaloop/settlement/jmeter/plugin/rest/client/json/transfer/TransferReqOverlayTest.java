@@ -0,0 +1,83 @@
+package io.mojaloop.settlement.jmeter.plugin.rest.client.json.transfer;
+
+import io.mojaloop.settlement.jmeter.plugin.rest.client.json.codec.JSONCodecs;
+import io.mojaloop.settlement.jmeter.plugin.rest.client.json.codec.OrgJSONCodec;
+import io.mojaloop.settlement.jmeter.plugin.rest.client.json.codec.StreamingJSONCodec;
+import io.mojaloop.settlement.jmeter.plugin.rest.client.json.testdata.TestDataCarrier;
+import org.json.JSONObject;
+import org.junit.After;
+import org.junit.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Date;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+
+public class TransferReqOverlayTest {
+	private static final Date ROW_TIME = new Date(1_700_000_000_000L);
+	private static final Date SAMPLE_TIME = new Date(1_700_000_123_456L);
+
+	private static TransferReq row() {
+		return new TransferReq("row-id", "payer", "payee", "USD", "100", ROW_TIME, "DEFAULT");
+	}
+
+	@After
+	public void resetCodec() {
+		JSONCodecs.use(OrgJSONCodec.NAME);
+	}
+
+	@Test
+	public void overlayReadsFixedFieldsFromRow() {
+		TransferReq row = row();
+		TransferReqOverlay overlay = row.overlay("sample-id", SAMPLE_TIME);
+
+		assertEquals("sample-id", overlay.getTransferId());
+		assertEquals(SAMPLE_TIME, overlay.getTimestamp());
+		assertEquals("payer", overlay.getPayerFspId());
+		assertEquals("payee", overlay.getPayeeFspId());
+		assertEquals("USD", overlay.getCurrencyCode());
+		assertEquals("100", overlay.getAmount());
+		assertEquals("DEFAULT", overlay.getSettlementModel());
+		assertSame(row, overlay.getRow());
+
+		assertEquals("row-id", row.getTransferId());
+		assertEquals(ROW_TIME, row.getTimestamp());
+	}
+
+	@Test
+	public void overlayJsonMatchesRowWithSampleFields() {
+		TransferReqOverlay overlay = row().overlay("sample-id", SAMPLE_TIME);
+		JSONObject expected = new TransferReq("sample-id", "payer", "payee", "USD", "100", SAMPLE_TIME, "DEFAULT").toJsonObject();
+
+		assertEquals(expected.toMap(), new JSONObject(overlay.toJsonString()).toMap());
+		assertEquals(expected.toMap(), overlay.toJsonObject().toMap());
+	}
+
+	@Test
+	public void streamingEncodingMatchesRowWithSampleFields() {
+		JSONCodecs.use(StreamingJSONCodec.NAME);
+		TransferReqOverlay overlay = row().overlay("sample-id", SAMPLE_TIME);
+		JSONObject expected = new TransferReq("sample-id", "payer", "payee", "USD", "100", SAMPLE_TIME, "DEFAULT").toJsonObject();
+
+		String encoded = new String(overlay.toJsonBytes(), StandardCharsets.UTF_8);
+		assertEquals(expected.toMap(), new JSONObject(encoded).toMap());
+	}
+
+	@Test
+	public void testDataRowKeepsParsedRequest() {
+		JSONObject json = new JSONObject()
+				.put(TestDataCarrier.JSONMapping.ACTION_TYPE, TestDataCarrier.ActionType.transfer.name())
+				.put(TestDataCarrier.JSONMapping.REQUEST, row().toJsonObject())
+				.put(TestDataCarrier.JSONMapping.RESPONSE, new JSONObject())
+				.put(TestDataCarrier.JSONMapping.THINK_TIME_MS, 25L);
+
+		TestDataCarrier carrier = new TestDataCarrier(json);
+		TestDataCarrier thinking = carrier.withThinkTimeMs(50L);
+
+		assertEquals(25L, carrier.getThinkTimeMs());
+		assertEquals(50L, thinking.getThinkTimeMs());
+		assertSame(carrier.getRequest(), thinking.getRequest());
+		assertEquals("payer", ((TransferReq) carrier.getRequest()).getPayerFspId());
+	}
+}
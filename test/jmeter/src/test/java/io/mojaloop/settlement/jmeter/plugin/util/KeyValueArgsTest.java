@@ -0,0 +1,32 @@
+package io.mojaloop.settlement.jmeter.plugin.util;
+
+import org.junit.Test;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static org.junit.Assert.*;
+
+public class KeyValueArgsTest {
+	@Test
+	public void keysAndValuesFromOffset() {
+		Map<String, String> options = new LinkedHashMap<>();
+		KeyValueArgs.parse(new String[] {"command", " out = a=b.csv ", "empty="}, 1, options::put);
+
+		assertEquals(2, options.size());
+		assertEquals("a=b.csv", options.get("out"));
+		assertEquals("", options.get("empty"));
+	}
+
+	@Test
+	public void missingKeyIsRejected() {
+		for (String arg : new String[] {"value", "=value"}) {
+			try {
+				KeyValueArgs.parse(new String[] {arg}, 0, (key, value) -> fail(key));
+				fail(arg);
+			} catch (IllegalArgumentException except) {
+				assertEquals(String.format("Expected 'key=value', got '%s'.", arg), except.getMessage());
+			}
+		}
+	}
+}
@@ -0,0 +1,131 @@
+package io.mojaloop.settlement.jmeter.plugin.util;
+
+import io.mojaloop.settlement.jmeter.plugin.rest.client.json.testdata.TestDataCarrier;
+import io.mojaloop.settlement.jmeter.plugin.rest.client.json.testdata.TestPlanConfig;
+import org.json.JSONObject;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+public class TestDataUtilTest {
+	@Rule
+	public TemporaryFolder folder = new TemporaryFolder();
+
+	private static JSONObject planConfig(int transfers) {
+		return new JSONObject()
+				.put("settlement-transfer", new JSONObject()
+						.put("count", transfers)
+						.put("min-max-amount", Arrays.asList(10, 1000))
+						.put("currencies", Arrays.asList("USD"))
+						.put("settlement-models", Arrays.asList("DEFAULT"))
+						.put("participants", Arrays.asList("12345", "67890")))
+				.put("settlement-matrix", new JSONObject())
+				.put("batch", new JSONObject());
+	}
+
+	private static TestPlanConfig withScenario(String scenarioJson) {
+		return new TestPlanConfig(planConfig(200).put("scenario", new JSONObject(scenarioJson)));
+	}
+
+	private List<TestDataCarrier> generate(TestPlanConfig config) throws IOException {
+		File output = this.folder.newFile();
+		List<TestDataCarrier> returnVal = TestDataUtil.generateTestData(config, output);
+		assertEquals(actions(returnVal), actions(TestDataUtil.readTestDataFromFile(output)));
+		return returnVal;
+	}
+
+	private static List<TestDataCarrier.ActionType> actions(List<TestDataCarrier> testData) {
+		List<TestDataCarrier.ActionType> returnVal = new ArrayList<>();
+		testData.forEach(carrier -> returnVal.add(carrier.getActionType()));
+		return returnVal;
+	}
+
+	@Test
+	public void certainChainLeadsBackThroughWeights() throws IOException {
+		// Actions without transitions fall back to the weights, which include the transfer:
+		TestPlanConfig config = withScenario("{" +
+				"\"weights\": {\"transfer\": 10, \"create_static_matrix\": 1}," +
+				"\"transitions\": {" +
+				"  \"create_static_matrix\": {\"matrix_recalculate\": 1.0}," +
+				"  \"matrix_recalculate\": {\"get_static_matrix\": 1.0}" +
+				"}}");
+
+		List<TestDataCarrier.ActionType> actions = actions(this.generate(config));
+
+		assertEquals(200, actions.stream().filter(action -> action == TestDataCarrier.ActionType.transfer).count());
+		assertTrue(actions.contains(TestDataCarrier.ActionType.create_static_matrix));
+		for (int index = 0; index < actions.size(); index++) {
+			if (actions.get(index) != TestDataCarrier.ActionType.create_static_matrix) continue;
+
+			if (index + 1 < actions.size()) assertEquals(TestDataCarrier.ActionType.matrix_recalculate, actions.get(index + 1));
+			if (index + 2 < actions.size()) assertEquals(TestDataCarrier.ActionType.get_static_matrix, actions.get(index + 2));
+		}
+	}
+
+	@Test
+	public void cycleWithoutTransferIsRejected() {
+		TestPlanConfig config = withScenario("{" +
+				"\"weights\": {\"transfer\": 10, \"get_static_matrix\": 1}," +
+				"\"transitions\": {" +
+				"  \"get_static_matrix\": {\"matrix_recalculate\": 1.0}," +
+				"  \"matrix_recalculate\": {\"get_static_matrix\": 1.0}" +
+				"}}");
+
+		try {
+			config.validate();
+			fail("Cycle accepted.");
+		} catch (IllegalStateException except) {
+			assertTrue(except.getMessage(), except.getMessage().contains("never lead back to a 'transfer'"));
+		}
+	}
+
+	@Test
+	public void partialTransitionsFallBackToWeights() {
+		withScenario("{" +
+				"\"weights\": {\"transfer\": 10, \"get_static_matrix\": 1}," +
+				"\"transitions\": {" +
+				"  \"get_static_matrix\": {\"matrix_recalculate\": 1.0}," +
+				"  \"matrix_recalculate\": {\"get_static_matrix\": 0.5}" +
+				"}}").validate();
+	}
+
+	@Test(expected = IllegalStateException.class)
+	public void transferWeightIsRequired() {
+		withScenario("{\"weights\": {\"get_static_matrix\": 1}}").validate();
+	}
+
+	@Test(expected = IllegalStateException.class)
+	public void transitionsAddingUpToMoreThanOneAreRejected() {
+		withScenario("{" +
+				"\"weights\": {\"transfer\": 1}," +
+				"\"transitions\": {\"transfer\": {\"get_static_matrix\": 0.6, \"matrix_close\": 0.6}}" +
+				"}").validate();
+	}
+
+	@Test
+	public void legacySequenceWithoutScenario() throws IOException {
+		JSONObject json = planConfig(7);
+		json.getJSONObject("settlement-matrix").put("get-static", 3).put("create-static", 3);
+		json.getJSONObject("batch").put("get-by-model", 2);
+
+		List<TestDataCarrier.ActionType> actions = actions(this.generate(new TestPlanConfig(json)));
+
+		TestDataCarrier.ActionType transfer = TestDataCarrier.ActionType.transfer;
+		assertEquals(Arrays.asList(
+				transfer, transfer, transfer,
+				TestDataCarrier.ActionType.get_batches_by_model, transfer,
+				TestDataCarrier.ActionType.create_static_matrix, TestDataCarrier.ActionType.get_static_matrix, transfer,
+				TestDataCarrier.ActionType.get_batches_by_model, transfer, transfer,
+				TestDataCarrier.ActionType.get_batches_by_model,
+				TestDataCarrier.ActionType.create_static_matrix, TestDataCarrier.ActionType.get_static_matrix
+		), actions);
+	}
+}
@@ -0,0 +1,69 @@
+package io.mojaloop.settlement.jmeter.plugin.util.id;
+
+import org.junit.Test;
+
+import java.util.HashSet;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.junit.Assert.*;
+
+public class TimeOrderedIdGeneratorTest {
+	private static final long EPOCH_MILLIS = 1_700_000_123_456L;
+
+	@Test
+	public void versionAndVariant() {
+		for (int index = 0; index < 1_000; index++) {
+			UUID id = TimeOrderedIdGenerator.INSTANCE.next(EPOCH_MILLIS);
+			assertEquals(7, id.version());
+			assertEquals(2, id.variant());
+			assertEquals(id, UUID.fromString(id.toString()));
+		}
+	}
+
+	@Test
+	public void timestampIsTheTop48Bits() {
+		UUID id = TimeOrderedIdGenerator.INSTANCE.next(EPOCH_MILLIS);
+
+		assertEquals(EPOCH_MILLIS, id.getMostSignificantBits() >>> 16);
+		// The canonical form starts with the 12 hex digits of the timestamp:
+		assertEquals(String.format("%012x", EPOCH_MILLIS), id.toString().replace("-", "").substring(0, 12));
+	}
+
+	@Test
+	public void laterMillisecondSortsAfter() {
+		for (int index = 0; index < 1_000; index++) {
+			UUID earlier = TimeOrderedIdGenerator.INSTANCE.next(EPOCH_MILLIS + index);
+			UUID later = TimeOrderedIdGenerator.INSTANCE.next(EPOCH_MILLIS + index + 1);
+
+			assertTrue(Long.compareUnsigned(earlier.getMostSignificantBits(), later.getMostSignificantBits()) < 0);
+			assertTrue(earlier.toString().compareTo(later.toString()) < 0);
+		}
+	}
+
+	@Test
+	public void idsWithinMillisecondAreRandom() {
+		Set<UUID> ids = new HashSet<>();
+		Set<Long> randA = new HashSet<>();
+		for (int index = 0; index < 10_000; index++) {
+			UUID id = TimeOrderedIdGenerator.INSTANCE.next(EPOCH_MILLIS);
+			ids.add(id);
+			randA.add(id.getMostSignificantBits() & 0x0fffL);
+		}
+
+		assertEquals(10_000, ids.size());
+		// The 12 'rand_a' bits are used, not only the 62 bits of the least significant half:
+		assertTrue(randA.size() > 1_000);
+	}
+
+	@Test
+	public void selectedByName() {
+		assertSame(TimeOrderedIdGenerator.INSTANCE, IdGenerators.forName(" TIMEORDERED "));
+		assertSame(SecureRandomIdGenerator.INSTANCE, IdGenerators.forName(""));
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void unknownName() {
+		IdGenerators.forName("sequential");
+	}
+}